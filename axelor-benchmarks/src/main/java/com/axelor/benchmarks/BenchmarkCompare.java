@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH results with a baseline.
+ *
+ * <p>Usage: {@code BenchmarkCompare <baseline.json> <results.json> [threshold]}
+ *
+ * <p>Both files are JMH results in JSON format, like the ones written by the {@code jmh} task. A
+ * benchmark regresses when it is slower than the baseline by more than the threshold, in percent
+ * (10 by default). The process exits with status 1 if any benchmark regressed, so it can be used
+ * to check upgrades in a build.
+ */
+public final class BenchmarkCompare {
+
+  private static final String FORMAT = "%-70s %14s %14s %9s %s%n";
+
+  private record Result(String mode, double score, String unit) {
+
+    boolean isThroughput() {
+      return "thrpt".equals(mode);
+    }
+  }
+
+  private BenchmarkCompare() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BenchmarkCompare <baseline.json> <results.json> [threshold]");
+      System.exit(2);
+    }
+
+    final Path baselineFile = Path.of(args[0]);
+    final Path resultsFile = Path.of(args[1]);
+    final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+    if (Files.notExists(baselineFile)) {
+      System.err.println("Baseline not found: " + baselineFile);
+      System.exit(2);
+    }
+
+    final Map<String, Result> baseline = read(baselineFile);
+    final Map<String, Result> results = read(resultsFile);
+
+    int regressions = 0;
+
+    System.out.printf(FORMAT, "Benchmark", "Baseline", "Current", "Change", "");
+
+    for (Map.Entry<String, Result> entry : results.entrySet()) {
+      final String name = entry.getKey();
+      final Result result = entry.getValue();
+      final Result base = baseline.get(name);
+
+      if (base == null) {
+        System.out.printf(FORMAT, name, "-", format(result), "-", "(new)");
+        continue;
+      }
+
+      final double change = (result.score() - base.score()) / base.score() * 100;
+      final double slowdown = result.isThroughput() ? -change : change;
+      final boolean regressed = slowdown > threshold;
+
+      if (regressed) {
+        regressions++;
+      }
+
+      System.out.printf(
+          FORMAT,
+          name,
+          format(base),
+          format(result),
+          String.format("%+.1f%%", change),
+          regressed ? "REGRESSION" : "");
+    }
+
+    if (regressions > 0) {
+      System.err.printf("%d benchmark(s) regressed by more than %.1f%%.%n", regressions, threshold);
+      System.exit(1);
+    }
+  }
+
+  private static String format(Result result) {
+    return String.format("%.3f %s", result.score(), result.unit());
+  }
+
+  private static Map<String, Result> read(Path file) throws IOException {
+    final Map<String, Result> results = new LinkedHashMap<>();
+    for (JsonNode node : new ObjectMapper().readTree(file.toFile())) {
+      final StringBuilder name = new StringBuilder(node.path("benchmark").asText());
+      final Map<String, String> params = new TreeMap<>();
+      node.path("params").properties().forEach(e -> params.put(e.getKey(), e.getValue().asText()));
+      if (!params.isEmpty()) {
+        name.append(params);
+      }
+      final JsonNode metric = node.path("primaryMetric");
+      results.put(
+          name.toString(),
+          new Result(
+              node.path("mode").asText(),
+              metric.path("score").asDouble(),
+              metric.path("scoreUnit").asText()));
+    }
+    return results;
+  }
+}
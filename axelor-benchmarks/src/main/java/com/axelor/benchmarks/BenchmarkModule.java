@@ -0,0 +1,32 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.app.AppModule;
+import com.axelor.auth.AuthModule;
+import com.axelor.db.JpaModule;
+import com.axelor.rpc.ObjectMapperProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.AbstractModule;
+import com.google.inject.servlet.RequestScoped;
+import com.google.inject.servlet.ServletScopes;
+
+/** The Guice module of the benchmarks, using an in-memory HSQL database. */
+public class BenchmarkModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    bind(ObjectMapper.class).toProvider(ObjectMapperProvider.class);
+    bindScope(RequestScoped.class, ServletScopes.REQUEST);
+
+    install(
+        new JpaModule("benchUnit")
+            .scan("com.axelor.auth.db")
+            .scan("com.axelor.meta.db")
+            .scan("com.axelor.benchmarks.db"));
+    install(new AuthModule());
+    install(new AppModule());
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Address;
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.benchmarks.db.Title;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.test.fixture.Fixture;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.servlet.RequestScoper;
+import com.google.inject.servlet.ServletScopes;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The shared state of the benchmarks.
+ *
+ * <p>It starts the container, loads the fixtures and generates the demo records once per trial.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+  public static final int CONTACTS = 1000;
+
+  private static final String[] CITIES = {"Paris", "Lyon", "London", "Berlin", "Madrid"};
+
+  private Injector injector;
+
+  private RequestScoper.CloseableScope requestScope;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    injector = Guice.createInjector(new BenchmarkModule());
+    requestScope = ServletScopes.scopeRequest(Collections.emptyMap()).open();
+    JPA.runInTransaction(
+        () -> {
+          if (JPA.all(Contact.class).count() == 0) {
+            fixture("bench-data.yml");
+            generate();
+          }
+        });
+    JPA.em().clear();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    requestScope.close();
+    injector.getInstance(EntityManagerFactory.class).close();
+  }
+
+  private void fixture(String name) {
+    try {
+      new Fixture().load(name, JPA::model, bean -> JPA.manage((Model) bean));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void generate() {
+    final List<Title> titles = JPA.all(Title.class).fetch();
+    for (int i = 0; i < CONTACTS; i++) {
+      final Contact contact = new Contact("First" + i, "Last" + i);
+      contact.setTitle(titles.get(i % titles.size()));
+      contact.setEmail("contact" + i + "@example.com");
+      contact.setCredit(BigDecimal.valueOf(i * 10L));
+      contact.setDateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i));
+      for (int j = 0; j < 2; j++) {
+        final Address address = new Address(i + " Main Street", CITIES[(i + j) % CITIES.length]);
+        address.setZip(String.valueOf(10000 + i));
+        contact.addAddress(address);
+      }
+      JPA.em().persist(contact);
+      if (i % 100 == 0) {
+        JPA.em().flush();
+        JPA.em().clear();
+        titles.replaceAll(title -> JPA.em().getReference(Title.class, title.getId()));
+      }
+    }
+  }
+
+  /**
+   * Creates a detached contact with its title and addresses, for benchmarks that don't need the
+   * database.
+   *
+   * @return a new contact
+   */
+  public static Contact newContact() {
+    final Title title = new Title();
+    title.setCode("mr");
+    title.setName("Mr.");
+
+    final Contact contact = new Contact("John", "Smith");
+    contact.setTitle(title);
+    contact.setEmail("john.smith@example.com");
+    contact.setCredit(new BigDecimal("1250.50"));
+    contact.setDateOfBirth(LocalDate.of(1980, 5, 12));
+    contact.addAddress(new Address("1 Main Street", "Paris"));
+    contact.addAddress(new Address("2 High Street", "London"));
+    return contact;
+  }
+
+  /**
+   * Creates the values of a contact, as sent by the web client.
+   *
+   * @return the contact values
+   */
+  public static Map<String, Object> newValues() {
+    final Map<String, Object> title = new HashMap<>();
+    title.put("code", "mr");
+    title.put("name", "Mr.");
+
+    final List<Map<String, Object>> addresses = new ArrayList<>();
+    addresses.add(new HashMap<>(Map.of("street", "1 Main Street", "city", "Paris")));
+    addresses.add(new HashMap<>(Map.of("street", "2 High Street", "city", "London")));
+
+    final Map<String, Object> values = new HashMap<>();
+    values.put("firstName", "John");
+    values.put("lastName", "Smith");
+    values.put("email", "john.smith@example.com");
+    values.put("credit", "1250.50");
+    values.put("dateOfBirth", "1980-05-12");
+    values.put("title", title);
+    values.put("addresses", addresses);
+    return values;
+  }
+}
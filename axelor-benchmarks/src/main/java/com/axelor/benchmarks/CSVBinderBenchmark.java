@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.data.csv.CSVBind;
+import com.axelor.data.csv.CSVBinder;
+import com.axelor.data.csv.CSVInput;
+import com.axelor.db.JPA;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of the {@link CSVBinder} row binding, with auto binding, expressions and search. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CSVBinderBenchmark {
+
+  private static final String[] FIELDS = {
+    "firstName", "lastName", "email", "credit", "dateOfBirth", "titleCode"
+  };
+
+  private static final String[] VALUES = {
+    "John", "Smith", "John.Smith@Example.com", "1250.50", "1980-05-12", "mr"
+  };
+
+  private CSVBinder binder;
+
+  @Setup
+  public void setUp(BenchmarkState state) {
+    final CSVBind email = new CSVBind();
+    email.setField("email");
+    email.setColumn("email");
+    email.setExpression("email.toLowerCase()");
+
+    final CSVBind title = new CSVBind();
+    title.setField("title");
+    title.setSearch("self.code = :titleCode");
+
+    final CSVInput input = new CSVInput();
+    input.setBindings(new ArrayList<>(List.of(email, title)));
+
+    binder = new CSVBinder(Contact.class, FIELDS, input);
+  }
+
+  @Benchmark
+  public Object bind() {
+    final Object bean = binder.bind(VALUES, new HashMap<>());
+    JPA.em().clear();
+    return bean;
+  }
+}
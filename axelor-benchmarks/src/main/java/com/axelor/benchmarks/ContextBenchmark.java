@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.rpc.Context;
+import com.axelor.rpc.ContextHandlerFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of the {@link Context} proxies created by the {@link ContextHandlerFactory}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ContextBenchmark {
+
+  private Map<String, Object> values;
+
+  @Setup
+  public void setUp(BenchmarkState state) {
+    values = BenchmarkState.newValues();
+  }
+
+  @Benchmark
+  public Context create() {
+    return new Context(values, Contact.class);
+  }
+
+  @Benchmark
+  public Object asType() {
+    final Contact contact = new Context(values, Contact.class).asType(Contact.class);
+    return contact.getFullName();
+  }
+
+  @Benchmark
+  public Object get() {
+    return new Context(values, Contact.class).get("fullName");
+  }
+}
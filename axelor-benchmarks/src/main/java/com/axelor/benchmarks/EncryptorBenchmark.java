@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.common.crypto.BytesEncryptor;
+import com.axelor.common.crypto.StringEncryptor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the encrypted values, as read and written by the encrypted field converters.
+ *
+ * <p>The values are encrypted with another encryptor, so decrypting them uses a salt different
+ * from the one of the decrypting encryptor, like values written before a restart.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EncryptorBenchmark {
+
+  private static final String PASSWORD = "MySuperSecretKey";
+
+  @Param({"CBC", "GCM"})
+  private String algorithm;
+
+  private StringEncryptor encryptor;
+
+  private String encrypted;
+
+  private StringEncryptor newEncryptor() {
+    return new StringEncryptor(
+        "GCM".equals(algorithm) ? BytesEncryptor.gcm(PASSWORD) : BytesEncryptor.cbc(PASSWORD));
+  }
+
+  @Setup
+  public void setUp() {
+    encryptor = newEncryptor();
+    encrypted = newEncryptor().encrypt("john.doe@example.com");
+  }
+
+  @Benchmark
+  public String encrypt() {
+    return encryptor.encrypt("john.doe@example.com");
+  }
+
+  @Benchmark
+  public String decrypt() {
+    return encryptor.decrypt(encrypted);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.db.mapper.Mapper;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of the {@link Mapper} property access and conversions. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+  private Mapper mapper;
+
+  private Contact contact;
+
+  private Map<String, Object> values;
+
+  @Setup
+  public void setUp() {
+    mapper = Mapper.of(Contact.class);
+    contact = BenchmarkState.newContact();
+    values = BenchmarkState.newValues();
+  }
+
+  @Benchmark
+  public Object get() {
+    return mapper.get(contact, "lastName");
+  }
+
+  @Benchmark
+  public Object getComputed() {
+    return mapper.get(contact, "fullName");
+  }
+
+  @Benchmark
+  public Object set() {
+    return mapper.set(contact, "lastName", "Doe");
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return Mapper.toMap(contact);
+  }
+
+  @Benchmark
+  public Contact toBean() {
+    return Mapper.toBean(Contact.class, values);
+  }
+}
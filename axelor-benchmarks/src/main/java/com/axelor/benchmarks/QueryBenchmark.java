@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.db.JPA;
+import com.axelor.db.Query;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of {@link Query} building, including the join parsing, and fetching. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+  @Benchmark
+  public String parse(BenchmarkState state) {
+    return Query.of(Contact.class)
+        .filter("self.title.code = :code AND self.addresses.city = :city")
+        .order("-title.name")
+        .order("lastName")
+        .toString();
+  }
+
+  @Benchmark
+  public List<Contact> fetch(BenchmarkState state) {
+    final List<Contact> contacts =
+        Query.of(Contact.class)
+            .filter("self.title.code = :code AND self.credit > :credit")
+            .bind("code", "mrs")
+            .bind("credit", 5000)
+            .order("lastName")
+            .fetch(20);
+    JPA.em().clear();
+    return contacts;
+  }
+
+  @Benchmark
+  public long count(BenchmarkState state) {
+    return Query.of(Contact.class)
+        .filter("self.addresses.city = :city")
+        .bind("city", "Paris")
+        .count();
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.rpc.Resource;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of the {@link Resource} record serialization. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResourceBenchmark {
+
+  private static final String[] FIELDS = {
+    "firstName", "lastName", "fullName", "email", "credit", "title.name", "addresses"
+  };
+
+  private Contact contact;
+
+  @Setup
+  public void setUp(BenchmarkState state) {
+    contact = BenchmarkState.newContact();
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return Resource.toMap(contact, FIELDS);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMapCompact() {
+    return Resource.toMapCompact(contact);
+  }
+}
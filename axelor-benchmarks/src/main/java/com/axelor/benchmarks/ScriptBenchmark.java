@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.benchmarks.db.Contact;
+import com.axelor.rpc.Context;
+import com.axelor.script.ELScriptHelper;
+import com.axelor.script.GroovyScriptHelper;
+import com.axelor.script.JavaScriptScriptHelper;
+import com.axelor.script.ScriptHelper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of the expression evaluation with the Groovy, EL and JavaScript script helpers. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScriptBenchmark {
+
+  private ScriptHelper groovy;
+
+  private ScriptHelper el;
+
+  private ScriptHelper js;
+
+  @Setup
+  public void setUp(BenchmarkState state) {
+    final Context context = new Context(BenchmarkState.newValues(), Contact.class);
+    groovy = new GroovyScriptHelper(context);
+    el = new ELScriptHelper(context);
+    js = new JavaScriptScriptHelper(context);
+  }
+
+  @Benchmark
+  public Object groovy() {
+    return groovy.eval("firstName + ' ' + lastName + ' (' + addresses.size() + ')'");
+  }
+
+  @Benchmark
+  public boolean groovyTest() {
+    return groovy.test("credit > 1000 && title.code == 'mr'");
+  }
+
+  @Benchmark
+  public Object el() {
+    return el.eval("firstName.concat(' ').concat(lastName)");
+  }
+
+  @Benchmark
+  public boolean elTest() {
+    return el.test("credit > 1000 && title.code == 'mr'");
+  }
+
+  @Benchmark
+  public Object js() {
+    return js.eval("firstName + ' ' + lastName");
+  }
+
+  @Benchmark
+  public boolean jsTest() {
+    return js.test("credit > 1000 && title.code == 'mr'");
+  }
+}
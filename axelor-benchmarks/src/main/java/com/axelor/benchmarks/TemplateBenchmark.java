@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.benchmarks;
+
+import com.axelor.text.StringTemplates;
+import com.axelor.text.Template;
+import com.axelor.text.Templates;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks of the {@link StringTemplates} parsing and rendering. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateBenchmark {
+
+  private static final String TEMPLATE =
+      """
+      Dear <title.name> <firstName> <lastName>,
+      your credit is <credit> and your addresses are:
+      <addresses:{it | <it.street>, <it.city>}; separator=" / ">
+      """;
+
+  private Templates templates;
+
+  private Template template;
+
+  private Map<String, Object> values;
+
+  @Setup
+  public void setUp(BenchmarkState state) {
+    templates = new StringTemplates();
+    template = templates.fromText(TEMPLATE);
+    values = BenchmarkState.newValues();
+  }
+
+  @Benchmark
+  public String render() {
+    return template.make(values).render();
+  }
+
+  @Benchmark
+  public String parseAndRender() {
+    return templates.fromText(TEMPLATE).make(values).render();
+  }
+}
@@ -5,11 +5,16 @@
 package com.axelor.common.crypto;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.primitives.Bytes;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.security.spec.AlgorithmParameterSpec;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
@@ -18,6 +23,13 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 
+/**
+ * The {@link BytesEncryptor} can be used to encrypt/decrypt byte arrays with AES.
+ *
+ * <p>The key is derived from the password and a random salt stored in the encrypted payload. The
+ * derived keys are cached by password and salt, and the {@link Cipher} instances are pooled, so
+ * that decrypting values doesn't derive the key again each time.
+ */
 public class BytesEncryptor implements Encryptor<byte[], byte[]> {
 
   private static final String AES_ALGORITHM = "AES";
@@ -29,9 +41,19 @@ public class BytesEncryptor implements Encryptor<byte[], byte[]> {
   private static final int SALT_SIZE = 8;
   private static final int TAG_BIT_LENGTH = 128;
 
+  private static final int MAX_CACHED_KEYS = 1000;
+  private static final int MAX_POOLED_CIPHERS = 32;
+
   static final String PREFIX = "$AES$";
   static final byte[] PREFIX_BYTES = PREFIX.getBytes();
 
+  private record KeyId(String password, ByteBuffer salt) {}
+
+  private static final Cache<KeyId, SecretKey> KEYS =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_KEYS).build();
+
+  private final BlockingQueue<Cipher> ciphers = new ArrayBlockingQueue<>(MAX_POOLED_CIPHERS);
+
   private final OperationMode mode;
   private final String password;
   private final String transformation;
@@ -46,7 +68,7 @@ public class BytesEncryptor implements Encryptor<byte[], byte[]> {
     this.password = password;
     this.transformation = "%s/%s/%s".formatted(AES_ALGORITHM, mode, paddingScheme);
     this.encryptionSalt = generateRandomBytes(SALT_SIZE);
-    this.encryptionKey = newSecretKey(password, this.encryptionSalt);
+    this.encryptionKey = findSecretKey(password, this.encryptionSalt);
     this.payloadSize =
         mode == OperationMode.CBC
             ? PREFIX_BYTES.length + SALT_SIZE
@@ -75,7 +97,14 @@ public class BytesEncryptor implements Encryptor<byte[], byte[]> {
     return bytes;
   }
 
-  private SecretKey newSecretKey(String password, byte[] salt) {
+  private static SecretKey findSecretKey(String password, byte[] salt) {
+    return KEYS.asMap()
+        .computeIfAbsent(
+            new KeyId(password, ByteBuffer.wrap(salt.clone())),
+            id -> newSecretKey(password, salt));
+  }
+
+  private static SecretKey newSecretKey(String password, byte[] salt) {
     try {
       final PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, 1024, 256);
       final SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(KEY_ALGORITHM);
@@ -92,20 +121,16 @@ public class BytesEncryptor implements Encryptor<byte[], byte[]> {
         : new GCMParameterSpec(TAG_BIT_LENGTH, iv);
   }
 
-  private Cipher newCipher(int mode, SecretKey key, byte[] iv) {
-    try {
-      final AlgorithmParameterSpec paramSpec = newParameterSpec(iv);
-      final Cipher cipher = Cipher.getInstance(this.transformation);
-      cipher.init(mode, key, paramSpec);
-      return cipher;
-    } catch (Exception e) {
-      throw new EncryptorException(e);
-    }
-  }
-
-  private byte[] doFinal(Cipher cipher, byte[] data) {
+  private byte[] doFinal(int mode, SecretKey key, byte[] iv, byte[] data) {
+    Cipher cipher = ciphers.poll();
     try {
-      return cipher.doFinal(data);
+      if (cipher == null) {
+        cipher = Cipher.getInstance(this.transformation);
+      }
+      cipher.init(mode, key, newParameterSpec(iv));
+      final byte[] result = cipher.doFinal(data);
+      ciphers.offer(cipher);
+      return result;
     } catch (Exception e) {
       throw new EncryptorException(e);
     }
@@ -129,8 +154,7 @@ public class BytesEncryptor implements Encryptor<byte[], byte[]> {
 
     final byte[] iv =
         this.mode == OperationMode.CBC ? new byte[IV_SIZE] : generateRandomBytes(IV_SIZE);
-    final Cipher cipher = newCipher(Cipher.ENCRYPT_MODE, this.encryptionKey, iv);
-    final byte[] encrypted = doFinal(cipher, bytes);
+    final byte[] encrypted = doFinal(Cipher.ENCRYPT_MODE, this.encryptionKey, iv, bytes);
 
     return this.mode == OperationMode.CBC
         ? Bytes.concat(PREFIX_BYTES, this.encryptionSalt, encrypted)
@@ -156,9 +180,11 @@ public class BytesEncryptor implements Encryptor<byte[], byte[]> {
       index += section.length;
     }
 
-    final SecretKey key = newSecretKey(password, salt);
-    final Cipher cipher = newCipher(Cipher.DECRYPT_MODE, key, iv);
-    return doFinal(cipher, data);
+    final SecretKey key =
+        Arrays.equals(salt, this.encryptionSalt)
+            ? this.encryptionKey
+            : findSecretKey(password, salt);
+    return doFinal(Cipher.DECRYPT_MODE, key, iv, data);
   }
 
   @Override
@@ -0,0 +1,243 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.common.reflections;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * The build-time index of the classes and resources of a module.
+ *
+ * <p>The index is generated by the Gradle plugin once the module is compiled and is packaged with
+ * the module as {@value #INDEX_FILE}. It records the super types and annotations of each top-level
+ * class and the name of each file, so that {@link ClassFinder} and {@link ResourceFinder} can
+ * search indexed modules without walking the class path and reading every class.
+ *
+ * <p>Only the indexes packaged in jars are used. The classes of a directory may be recompiled
+ * without updating its index, so directories are always scanned.
+ */
+public final class ClassIndex {
+
+  /** The name of the index resource. */
+  public static final String INDEX_FILE = "META-INF/axelor-index.txt";
+
+  private static final String CLASS_PREFIX = "C ";
+  private static final String RESOURCE_PREFIX = "R ";
+  private static final String CLASS_SUFFIX = ".class";
+  private static final String JAR_PROTOCOL = "jar";
+
+  private final String root;
+  private final Map<String, ClassScanner.Collector> classes;
+  private final List<String> resources;
+
+  private ClassIndex(
+      String root, Map<String, ClassScanner.Collector> classes, List<String> resources) {
+    this.root = root;
+    this.classes = classes;
+    this.resources = resources;
+  }
+
+  /**
+   * Gets the class path root containing this index.
+   *
+   * @return the root url
+   */
+  String getRoot() {
+    return root;
+  }
+
+  /**
+   * Gets the indexed top-level classes with their super types and annotations.
+   *
+   * @return the indexed classes by name
+   */
+  Map<String, ClassScanner.Collector> getClasses() {
+    return classes;
+  }
+
+  /**
+   * Gets the names of all the indexed files, including class files.
+   *
+   * @return the resource names
+   */
+  List<String> getResources() {
+    return resources;
+  }
+
+  /**
+   * Finds all the indexes packaged in the jars visible from the given class loader.
+   *
+   * @param loader the class loader
+   * @return the list of indexes, empty if no index is found
+   */
+  static List<ClassIndex> findAll(ClassLoader loader) {
+    final List<ClassIndex> all = new ArrayList<>();
+    try {
+      final Enumeration<URL> urls = loader.getResources(INDEX_FILE);
+      while (urls.hasMoreElements()) {
+        final URL url = urls.nextElement();
+        if (JAR_PROTOCOL.equals(url.getProtocol())) {
+          all.add(read(url));
+        }
+      }
+    } catch (IOException e) {
+      // ignore the indexes, the class path will be scanned instead
+      return Collections.emptyList();
+    }
+    return all;
+  }
+
+  /**
+   * Checks whether the given indexes cover every class path entry of the given class loader.
+   *
+   * <p>This is only possible to check for {@link URLClassLoader} without parent, like the one used
+   * to search within modules.
+   *
+   * @param loader the class loader
+   * @param indexes the indexes found with the class loader
+   * @return true if the class path doesn't need to be scanned
+   */
+  static boolean isComplete(ClassLoader loader, List<ClassIndex> indexes) {
+    if (indexes.isEmpty()
+        || !(loader instanceof URLClassLoader urlLoader)
+        || loader.getParent() != null) {
+      return false;
+    }
+    final Set<String> roots = indexes.stream().map(ClassIndex::getRoot).collect(Collectors.toSet());
+    return Stream.of(urlLoader.getURLs()).map(ClassIndex::toRoot).allMatch(roots::contains);
+  }
+
+  private static String toRoot(URL url) {
+    final String path = url.toString();
+    if (path.endsWith(".jar")) {
+      return "jar:" + path + "!/";
+    }
+    return path.endsWith("/") ? path : path + "/";
+  }
+
+  private static ClassIndex read(URL url) throws IOException {
+    final String path = url.toString();
+    final String root = path.substring(0, path.length() - INDEX_FILE.length());
+    final Map<String, ClassScanner.Collector> classes = new LinkedHashMap<>();
+    final List<String> resources = new ArrayList<>();
+
+    try (InputStream is = url.openStream();
+        BufferedReader reader =
+            new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(RESOURCE_PREFIX)) {
+          resources.add(line.substring(RESOURCE_PREFIX.length()));
+        } else if (line.startsWith(CLASS_PREFIX)) {
+          final String[] parts = line.substring(CLASS_PREFIX.length()).split("\\|", -1);
+          classes.put(parts[0], new ClassScanner.Collector(toSet(parts[1]), toSet(parts[2])));
+        }
+      }
+    }
+
+    return new ClassIndex(root, classes, resources);
+  }
+
+  private static Set<String> toSet(String names) {
+    if (names.isEmpty()) {
+      return null;
+    }
+    return Set.of(names.split(","));
+  }
+
+  /**
+   * Writes the index of the given class path roots.
+   *
+   * @param roots the class and resource output directories of the module
+   * @param output the index file to write
+   * @throws IOException if the roots can't be read or the index can't be written
+   */
+  public static void write(Collection<Path> roots, Path output) throws IOException {
+    final Map<String, ClassScanner.Collector> classes = new TreeMap<>();
+    final Set<String> resources = new TreeSet<>();
+
+    for (Path root : roots) {
+      if (!Files.isDirectory(root)) {
+        continue;
+      }
+      final List<Path> files;
+      try (Stream<Path> stream = Files.walk(root)) {
+        files = stream.filter(Files::isRegularFile).toList();
+      }
+      for (Path file : files) {
+        final String name = root.relativize(file).toString().replace('\\', '/');
+        if (name.equals(INDEX_FILE)) {
+          continue;
+        }
+        resources.add(name);
+        if (isTopLevelClass(name)) {
+          final String className =
+              name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.');
+          classes.computeIfAbsent(className, k -> collect(file));
+        }
+      }
+    }
+
+    Files.createDirectories(output.getParent());
+    try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, ClassScanner.Collector> entry : classes.entrySet()) {
+        final ClassScanner.Collector collector = entry.getValue();
+        writer
+            .append(CLASS_PREFIX)
+            .append(entry.getKey())
+            .append('|')
+            .append(join(collector.getSuperNames()))
+            .append('|')
+            .append(join(collector.getAnnotations()))
+            .append('\n');
+      }
+      for (String name : resources) {
+        writer.append(RESOURCE_PREFIX).append(name).append('\n');
+      }
+    }
+  }
+
+  private static boolean isTopLevelClass(String name) {
+    return name.endsWith(CLASS_SUFFIX)
+        && name.indexOf('$') == -1
+        && !name.endsWith("package-info.class")
+        && !name.endsWith("module-info.class");
+  }
+
+  private static ClassScanner.Collector collect(Path file) {
+    try (InputStream is = Files.newInputStream(file)) {
+      final ClassScanner.Collector collector = new ClassScanner.Collector();
+      new ClassReader(is).accept(collector, ClassScanner.ASM_FLAGS);
+      return collector;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String join(Set<String> names) {
+    return names == null ? "" : String.join(",", new TreeSet<>(names));
+  }
+}
@@ -13,11 +13,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -26,10 +29,17 @@ import org.objectweb.asm.Opcodes;
 /**
  * The {@link ClassScanner} uses ASM and guava's ClassPath API to search for types based on super
  * type or annotations.
+ *
+ * <p>Classes of the entries listed in a {@link ClassIndex} are not read again. The class path is
+ * only scanned if some of its entries are not indexed, in which case the classes of these entries
+ * are read in parallel and take precedence over the indexed ones.
+ *
+ * <p>The super types are collected across the whole class path, the package names only restrict
+ * the returned classes.
  */
 final class ClassScanner {
 
-  private static final int ASM_FLAGS =
+  static final int ASM_FLAGS =
       ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
 
   private static final String OBJECT_CLASS_NAME = "java.lang.Object";
@@ -38,6 +48,8 @@ final class ClassScanner {
   private ClassLoader loader;
 
   private Map<String, Collector> collectors = new ConcurrentHashMap<>();
+  private Set<String> scanned = ConcurrentHashMap.newKeySet();
+  private Set<String> indexedRoots = Set.of();
   private Set<String> packages = new LinkedHashSet<>();
   private Set<Pattern> pathPatterns = new LinkedHashSet<>();
 
@@ -79,6 +91,9 @@ final class ClassScanner {
       throw new RuntimeException(e);
     }
     for (String sub : types) {
+      if (!isWithinPackages(sub)) {
+        continue;
+      }
       try {
         Class<?> found = loader.loadClass(sub);
         classes.add(found.asSubclass(type));
@@ -103,7 +118,7 @@ final class ClassScanner {
       if (my == null) {
         continue;
       }
-      if (my.contains(annotation.getName())) {
+      if (my.contains(annotation.getName()) && isWithinPackages(klass)) {
         try {
           classes.add(loader.loadClass(klass));
         } catch (Throwable e) {
@@ -134,6 +149,22 @@ final class ClassScanner {
   }
 
   private void scan() throws IOException {
+    // indexes can't be used to match class urls
+    final List<ClassIndex> indexes =
+        pathPatterns.isEmpty() ? ClassIndex.findAll(loader) : List.of();
+
+    // in case of duplicate classes, first index would win, all the classes are kept so that the
+    // super types outside the packages are known
+    for (ClassIndex index : indexes) {
+      index.getClasses().forEach(collectors::putIfAbsent);
+    }
+
+    if (ClassIndex.isComplete(loader, indexes)) {
+      return;
+    }
+
+    indexedRoots = indexes.stream().map(ClassIndex::getRoot).collect(Collectors.toSet());
+
     final ClassPath classPath = ClassPath.from(loader);
     final Map<String, ClassInfo> classes = new HashMap<>();
 
@@ -144,34 +175,55 @@ final class ClassScanner {
       }
     }
 
-    if (packages.isEmpty()) {
-      for (ClassInfo info : classes.values()) {
-        try {
-          scan(info, classes);
-        } catch (ClassNotFoundException e) {
-        }
-      }
-    } else {
-      for (String pkg : packages) {
-        for (ClassInfo info : classPath.getTopLevelClassesRecursive(pkg)) {
-          try {
-            scan(info, classes);
-          } catch (ClassNotFoundException e) {
-          }
-        }
-      }
-    }
+    final Stream<ClassInfo> candidates =
+        packages.isEmpty()
+            ? classes.values().stream()
+            : packages.stream()
+                .flatMap(pkg -> classPath.getTopLevelClassesRecursive(pkg).stream());
+
+    candidates
+        .parallel()
+        .forEach(
+            info -> {
+              try {
+                scan(info, classes);
+              } catch (ClassNotFoundException e) {
+              }
+            });
+  }
+
+  private boolean isIndexed(ClassInfo info, URL resource) {
+    final String path = resource.toString();
+    final String root = path.substring(0, path.length() - info.getResourceName().length());
+    return indexedRoots.contains(root);
+  }
+
+  private boolean isWithinPackages(String className) {
+    return packages.isEmpty() || packages.stream().anyMatch(pkg -> className.startsWith(pkg + "."));
   }
 
   private void scan(final ClassInfo info, final Map<String, ClassInfo> classes)
       throws ClassNotFoundException {
-    if (info == null
-        || OBJECT_CLASS_NAME.equals(info.getName())
-        || collectors.containsKey(info.getName())) {
+    if (info == null || OBJECT_CLASS_NAME.equals(info.getName())) {
+      return;
+    }
+
+    if (!scanned.add(info.getName())) {
       return;
     }
 
     final URL resource = info.url();
+    if (isIndexed(info, resource)) {
+      // already collected from the index, only its super types may need to be scanned
+      final Collector indexed = collectors.get(info.getName());
+      if (indexed != null && indexed.superNames != null) {
+        for (String base : indexed.superNames) {
+          scan(classes.get(base), classes);
+        }
+      }
+      return;
+    }
+
     boolean matched =
         pathPatterns.isEmpty()
             || pathPatterns.stream()
@@ -198,15 +250,29 @@ final class ClassScanner {
     }
   }
 
-  private static class Collector extends ClassVisitor {
+  static class Collector extends ClassVisitor {
 
     private Set<String> superNames;
     private Set<String> annotations;
 
-    public Collector() {
+    Collector() {
       super(Opcodes.ASM9);
     }
 
+    Collector(Set<String> superNames, Set<String> annotations) {
+      this();
+      this.superNames = superNames;
+      this.annotations = annotations;
+    }
+
+    Set<String> getSuperNames() {
+      return superNames;
+    }
+
+    Set<String> getAnnotations() {
+      return annotations;
+    }
+
     private void acceptSuper(String name) {
       if (name == null) {
         return;
@@ -18,6 +18,7 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /** The {@link ResourceFinder} class provides fluent api to search for resources. */
 public final class ResourceFinder {
@@ -100,8 +101,7 @@ public final class ResourceFinder {
     final ClassLoader classLoader =
         loader == null ? Thread.currentThread().getContextClassLoader() : loader;
     try {
-      for (ResourceInfo info : ClassPath.from(classLoader).getResources()) {
-        String name = info.getResourceName();
+      for (String name : findResourceNames(classLoader)) {
         Matcher matcher = pattern.matcher(name);
         boolean matched = matchFunc.test(matcher);
         if (matched) {
@@ -116,4 +116,16 @@ public final class ResourceFinder {
     }
     return Collections.unmodifiableList(all);
   }
+
+  private static Set<String> findResourceNames(ClassLoader loader) throws IOException {
+    final List<ClassIndex> indexes = ClassIndex.findAll(loader);
+    if (ClassIndex.isComplete(loader, indexes)) {
+      final Set<String> names = new LinkedHashSet<>();
+      indexes.forEach(index -> names.addAll(index.getResources()));
+      return names;
+    }
+    return ClassPath.from(loader).getResources().stream()
+        .map(ResourceInfo::getResourceName)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
 }
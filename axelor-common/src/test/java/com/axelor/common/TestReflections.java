@@ -9,10 +9,24 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.common.bar.MyBase;
+import com.axelor.common.bar.MyClass1;
+import com.axelor.common.bar.MyModel;
+import com.axelor.common.foo.MyClass2;
+import com.axelor.common.foo.MyClass3;
+import com.axelor.common.foo.MyClass4;
+import com.axelor.common.reflections.ClassIndex;
 import com.axelor.common.reflections.Reflections;
+import java.io.IOException;
 import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -46,11 +60,85 @@ public class TestReflections implements Serializable {
     all =
         Reflections.findSubTypesOf(MyBase.class).having(Disabled.class).within("com.axelor").find();
 
+    // scan by sub type within a package, through a super type of another package
+    all = Reflections.findSubTypesOf(MyBase.class).within("com.axelor.common.foo").find();
+
+    assertEquals(Set.of(MyClass2.class, MyClass3.class, MyClass4.class), all);
+
     // scan by url pattern
     all = Reflections.findSubTypesOf(Map.class).byURL(".*/axelor-common/.*").find();
 
     assertNotNull(all);
-    assertEquals(4, all.size());
+    assertEquals(6, all.size());
+  }
+
+  private static Path classesDir() throws Exception {
+    return Path.of(MyBase.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+  }
+
+  private static Path toJar(Path index) throws IOException {
+    final Path jar = Files.createTempFile("axelor", ".jar");
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(ClassIndex.INDEX_FILE));
+      Files.copy(index, out);
+      out.closeEntry();
+    }
+    return jar;
+  }
+
+  private static ClassLoader newLoader(Path... paths) throws IOException {
+    final URL[] urls = new URL[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      urls[i] = paths[i].toUri().toURL();
+    }
+    final ClassLoader context = Thread.currentThread().getContextClassLoader();
+    return new URLClassLoader(urls, null) {
+      @Override
+      public Class<?> loadClass(String name) throws ClassNotFoundException {
+        return context.loadClass(name);
+      }
+    };
+  }
+
+  @Test
+  public void testClassIndex() throws Exception {
+    final Path index = Files.createTempDirectory("axelor").resolve(ClassIndex.INDEX_FILE);
+
+    ClassIndex.write(List.of(classesDir()), index);
+
+    // the loader only sees the index, so classes can only be found from it
+    final ClassLoader loader = newLoader(toJar(index));
+
+    assertEquals(
+        Set.of(MyClass1.class, MyClass2.class, MyClass3.class, MyModel.class, MyClass4.class),
+        Reflections.findSubTypesOf(MyBase.class, loader).find());
+
+    assertEquals(
+        Set.of(MyClass1.class, MyClass2.class),
+        Reflections.findSubTypesOf(MyBase.class, loader).having(Disabled.class).find());
+
+    // super types outside the package are followed
+    assertEquals(
+        Set.of(MyClass2.class, MyClass3.class, MyClass4.class),
+        Reflections.findSubTypesOf(MyBase.class, loader).within("com.axelor.common.foo").find());
+  }
+
+  @Test
+  public void testStaleClassIndex() throws Exception {
+    final Path dir = Files.createTempDirectory("axelor");
+    final Path index = dir.resolve(ClassIndex.INDEX_FILE);
+
+    ClassIndex.write(List.of(classesDir()), index);
+
+    // indexes of directories are ignored, they may be outdated
+    assertEquals(Set.of(), Reflections.findSubTypesOf(MyBase.class, newLoader(dir)).find());
+
+    // scanned classes take precedence over an outdated index
+    Files.writeString(index, "C com.axelor.common.foo.MyClass3||\n");
+
+    assertEquals(
+        Set.of(MyClass1.class, MyClass2.class, MyClass3.class, MyModel.class, MyClass4.class),
+        Reflections.findSubTypesOf(MyBase.class, newLoader(classesDir(), toJar(index))).find());
   }
 
   @Test
@@ -0,0 +1,7 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.common.bar;
+
+public abstract class MyModel extends MyBase {}
@@ -73,4 +73,21 @@ public class TestEncryptors {
   public void testStringGCM() {
     testStringEncryptor(StringEncryptor.gcm(SECRET_KEY));
   }
+
+  @Test
+  public void testDecryptOtherSalt() {
+    final byte[] value = generateRandomBytes(18);
+
+    // each encryptor uses its own random salt
+    final byte[] encrypted = BytesEncryptor.gcm(SECRET_KEY).encrypt(value);
+    final BytesEncryptor encryptor = BytesEncryptor.gcm(SECRET_KEY);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(Arrays.equals(value, encryptor.decrypt(encrypted)));
+      assertTrue(Arrays.equals(value, encryptor.decrypt(encryptor.encrypt(value))));
+    }
+
+    final String message = StringEncryptor.cbc(SECRET_KEY).encrypt("Hello World!!!");
+    assertEquals("Hello World!!!", StringEncryptor.cbc(SECRET_KEY).decrypt(message));
+  }
 }
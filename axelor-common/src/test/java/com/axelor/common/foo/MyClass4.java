@@ -0,0 +1,9 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.common.foo;
+
+import com.axelor.common.bar.MyModel;
+
+public abstract class MyClass4 extends MyModel {}
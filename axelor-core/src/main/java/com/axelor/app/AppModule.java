@@ -6,6 +6,7 @@ package com.axelor.app;
 
 import com.axelor.cache.CacheBuilder;
 import com.axelor.db.audit.HibernateListenerConfigurator;
+import com.axelor.dms.db.repo.DMSFileHierarchyObserver;
 import com.axelor.event.EventModule;
 import com.axelor.inject.Beans;
 import com.axelor.inject.logger.LoggerModule;
@@ -14,9 +15,16 @@ import com.axelor.meta.db.repo.MetaJsonReferenceUpdater;
 import com.axelor.meta.loader.ModuleManager;
 import com.axelor.meta.loader.ViewObserver;
 import com.axelor.meta.loader.ViewWatcherObserver;
+import com.axelor.meta.service.MetaJsonIndexService;
 import com.axelor.meta.service.ViewProcessor;
 import com.axelor.meta.theme.MetaThemeService;
 import com.axelor.meta.theme.MetaThemeServiceImpl;
+import com.axelor.metrics.ActionMetricsCollector;
+import com.axelor.metrics.CacheMetrics;
+import com.axelor.metrics.DataSourceMetrics;
+import com.axelor.metrics.HibernateMetrics;
+import com.axelor.metrics.MailMetrics;
+import com.axelor.metrics.MetricsCollector;
 import com.axelor.report.ReportEngineProvider;
 import com.axelor.script.ScriptPolicyConfigurator;
 import com.axelor.ui.QuickMenuCreator;
@@ -51,6 +59,9 @@ public class AppModule extends AbstractModule {
     // Observe updates to fix m2o names in json values
     bind(MetaJsonReferenceUpdater.class);
 
+    // Synchronize json field indexes on startup
+    bind(MetaJsonIndexService.class);
+
     // Logger injection support
     install(new LoggerModule());
 
@@ -65,9 +76,13 @@ public class AppModule extends AbstractModule {
 
     bind(AppSettingsObserver.class);
     bind(ViewWatcherObserver.class);
+    bind(DMSFileHierarchyObserver.class);
 
     bind(MetaThemeService.class).to(MetaThemeServiceImpl.class);
 
+    // metrics collectors
+    configureMetrics();
+
     final List<Class<? extends AxelorModule>> moduleClasses =
         ModuleManager.getResolution().stream()
             .flatMap(name -> MetaScanner.findSubTypesOf(name, AxelorModule.class).find().stream())
@@ -96,6 +111,16 @@ public class AppModule extends AbstractModule {
     log.info("Cache provider: {}", cacheProviderInfo.getProvider());
   }
 
+  private void configureMetrics() {
+    Multibinder<MetricsCollector> metricsBinder =
+        Multibinder.newSetBinder(binder(), MetricsCollector.class);
+    metricsBinder.addBinding().to(CacheMetrics.class);
+    metricsBinder.addBinding().to(DataSourceMetrics.class);
+    metricsBinder.addBinding().to(HibernateMetrics.class);
+    metricsBinder.addBinding().to(MailMetrics.class);
+    metricsBinder.addBinding().to(ActionMetricsCollector.class);
+  }
+
   private void configureViewProcessors() {
     Multibinder<ViewProcessor> viewProcessorBinder =
         Multibinder.newSetBinder(binder(), ViewProcessor.class);
@@ -26,6 +26,11 @@ public interface AvailableAppSettings {
   String APPLICATION_BASE_URL = "application.base-url";
   String APPLICATION_CONFIG_PROVIDER = "application.config-provider";
   String CONFIG_MULTI_TENANCY = "application.multi-tenancy";
+  String CONFIG_MULTI_TENANCY_SHARED_POOL = "application.multi-tenancy.shared-pool";
+  String CONFIG_MULTI_TENANCY_MAX_CONNECTIONS = "application.multi-tenancy.max-connections";
+  String CONFIG_MULTI_TENANCY_TENANT_MAX_CONNECTIONS =
+      "application.multi-tenancy.tenant-max-connections";
+  String CONFIG_MULTI_TENANCY_CONFIG_CACHE_TIME = "application.multi-tenancy.config-cache-time";
   String APPLICATION_POLLING_INTERVAL = "application.polling-interval";
 
   @Deprecated
@@ -39,6 +44,14 @@ public interface AvailableAppSettings {
   String APPLICATION_SCRIPT_CACHE_EXPIRE_TIME = "application.script.cache.expire-time";
   String APPLICATION_SCRIPT_TIMEOUT = "application.script.timeout";
 
+  String APPLICATION_EXECUTOR_MAX_CONCURRENCY = "application.executor.max-concurrency";
+
+  String APPLICATION_PROFILER_ENABLED = "application.profiler.enabled";
+  String APPLICATION_PROFILER_SLOW_THRESHOLD = "application.profiler.slow-threshold";
+  String APPLICATION_PROFILER_REPEATED_STATEMENTS = "application.profiler.repeated-statements";
+
+  String APPLICATION_METRICS_ENABLED = "application.metrics.enabled";
+
   String APPLICATION_DOMAIN_BLOCKLIST_PATTERN = "application.domain-blocklist-pattern";
 
   String APPLICATION_OPENAPI_ENABLED = "application.openapi.enabled";
@@ -92,6 +105,9 @@ public interface AvailableAppSettings {
 
   String REPORTS_DESIGN_DIR = "reports.design-dir";
   String REPORTS_FONTS_CONFIG = "reports.fonts-config";
+  String REPORTS_DESIGN_CACHE_SIZE = "reports.design-cache.size";
+  String REPORTS_EXECUTOR_POOL_SIZE = "reports.executor.pool-size";
+  String REPORTS_EXECUTOR_QUEUE_SIZE = "reports.executor.queue-size";
 
   String TEMPLATE_SEARCH_DIR = "template.search-dir";
 
@@ -152,6 +168,8 @@ public interface AvailableAppSettings {
   String QUARTZ_JOB_STORE_PREFIX = "quartz.job-store.";
   String QUARTZ_JOB_STORE_CLASS = QUARTZ_JOB_STORE_PREFIX + "class";
   String QUARTZ_DATA_SOURCE_PREFIX = "quartz.data-source.";
+  String QUARTZ_BATCH_WORKERS = "quartz.batch.workers";
+  String QUARTZ_BATCH_LEASE_TIMEOUT = "quartz.batch.lease-timeout";
 
   String USER_PASSWORD_PATTERN = "user.password.pattern";
   String USER_PASSWORD_PATTERN_TITLE = /*$$(*/ "user.password.pattern-title" /*)*/;
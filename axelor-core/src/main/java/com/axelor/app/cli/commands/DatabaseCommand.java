@@ -63,11 +63,17 @@ public class DatabaseCommand extends AbstractCliCommand {
 
     @ParentCommand DatabaseCommand parent;
 
+    @Option(names = "--restart", description = "Ignore the progress of an interrupted run.")
+    private boolean restart;
+
     @Override
     public void run() {
       parent.run(
           () -> {
             EncryptedFieldService service = Beans.get(EncryptedFieldService.class);
+            if (restart) {
+              service.clearCheckpoint();
+            }
             log.info("Start field value encryption...");
             System.setProperty("axelor.task.database", "encrypt");
             service.migrate();
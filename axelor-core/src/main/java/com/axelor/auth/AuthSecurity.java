@@ -17,6 +17,7 @@ import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -180,6 +181,39 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
     return filter.build(model).count() == ids.length;
   }
 
+  @Override
+  public Set<Long> findPermitted(
+      AccessType type, Class<? extends Model> model, Collection<Long> ids) {
+    final User user = getUser();
+    if (user == null || ids.isEmpty()) {
+      return new HashSet<>(ids);
+    }
+
+    final Set<Permission> permissions = authResolver.resolve(user, model.getName(), type);
+    if (permissions.isEmpty()) {
+      return new HashSet<>();
+    }
+
+    // check whether non-conditional permissions are granted
+    for (Permission permission : permissions) {
+      if (permission.getCondition() == null && authResolver.hasAccess(permission, type)) {
+        return new HashSet<>(ids);
+      }
+    }
+
+    final Set<Long> permitted = new HashSet<>();
+    final Filter filter = this.getFilter(type, model, ids.toArray(Long[]::new));
+    if (filter == null) {
+      permitted.addAll(ids);
+      return permitted;
+    }
+
+    for (List<?> row : filter.build(model).select().values(0, 0)) {
+      permitted.add((Long) row.get(0));
+    }
+    return permitted;
+  }
+
   @Override
   public void check(AccessType type, Class<? extends Model> model, Long... ids) {
     if (isPermitted(type, model, ids)) {
@@ -14,15 +14,66 @@ import jakarta.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.shiro.SecurityUtils;
 import org.apache.shiro.UnavailableSecurityManagerException;
 import org.apache.shiro.session.InvalidSessionException;
 import org.apache.shiro.subject.Subject;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class AuthUtils {
 
+  private static final Logger log = LoggerFactory.getLogger(AuthUtils.class);
+
   private static final ThreadLocal<User> CURRENT_USER = new ThreadLocal<>();
 
+  /**
+   * The user resolved last in the current session, so that it's not queried again each time it's
+   * required while processing a request.
+   */
+  private static final ThreadLocal<SessionUser> SESSION_USER = new ThreadLocal<>();
+
+  private static final LongAdder USER_LOOKUPS = new LongAdder();
+  private static final LongAdder USER_QUERIES = new LongAdder();
+
+  private static final class SessionUser implements SessionEventListener {
+
+    private final Session session;
+    private User user;
+    private long lookups;
+    private long queries;
+
+    private SessionUser(Session session) {
+      this.session = session;
+    }
+
+    private User find(String code) {
+      if (user != null && code.equals(user.getCode()) && session.contains(user)) {
+        return user;
+      }
+      return null;
+    }
+
+    @Override
+    public void end() {
+      if (SESSION_USER.get() == this) {
+        SESSION_USER.remove();
+      }
+      log.debug("User lookups: {}, queries: {}", lookups, queries);
+    }
+  }
+
+  /**
+   * Statistics of the user lookups.
+   *
+   * @param lookups the number of calls to {@link AuthUtils#getUser(String)}
+   * @param queries the number of calls which had to query the user
+   */
+  public record UserLookupStats(long lookups, long queries) {}
+
   /** For internal use only. */
   public static void setCurrentUser(User user) {
     CURRENT_USER.set(user);
@@ -69,16 +120,59 @@ public class AuthUtils {
     return null;
   }
 
+  /**
+   * Finds the user with the given code.
+   *
+   * <p>The user is memoized in the current session: it is only queried again when another user is
+   * requested, or when it's not managed by the session anymore, for example once removed.
+   *
+   * @param code the user code
+   * @return the user if found; otherwise null
+   */
   public static User getUser(String code) {
     if (code == null) {
       return null;
     }
-    return JpaRepository.of(User.class)
-        .all()
-        .filter("self.code = ?", code)
-        .cacheable()
-        .autoFlush(false)
-        .fetchOne();
+
+    final Session session = JPA.em().unwrap(Session.class);
+
+    SessionUser sessionUser = SESSION_USER.get();
+    if (sessionUser == null || sessionUser.session != session) {
+      sessionUser = new SessionUser(session);
+      session.addEventListeners(sessionUser);
+      SESSION_USER.set(sessionUser);
+    }
+
+    USER_LOOKUPS.increment();
+    sessionUser.lookups++;
+
+    final User found = sessionUser.find(code);
+    if (found != null) {
+      return found;
+    }
+
+    USER_QUERIES.increment();
+    sessionUser.queries++;
+
+    final User user =
+        JpaRepository.of(User.class)
+            .all()
+            .filter("self.code = ?", code)
+            .cacheable()
+            .autoFlush(false)
+            .fetchOne();
+
+    sessionUser.user = user;
+    return user;
+  }
+
+  /**
+   * Gets the statistics of the user lookups since the application started.
+   *
+   * @return the user lookup statistics
+   */
+  public static UserLookupStats getUserLookupStats() {
+    return new UserLookupStats(USER_LOOKUPS.sum(), USER_QUERIES.sum());
   }
 
   public static boolean isActive(final User user) {
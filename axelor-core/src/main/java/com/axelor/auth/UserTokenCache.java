@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import com.axelor.auth.db.UserToken;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.event.Observes;
+import com.axelor.events.ShutdownEvent;
+import jakarta.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the recently verified API keys and of their usage.
+ *
+ * <p>Verifying an API key against its stored digest is costly, so the keys verified recently are
+ * remembered for a short time, in memory only. A remembered key is only trusted while the token
+ * found by its key part still has the digest it was verified against, so that rotated or revoked
+ * tokens are never accepted.
+ *
+ * <p>The "last used" date of the tokens is buffered and written periodically in batch, instead of
+ * updating the token on each request.
+ */
+@Singleton
+public class UserTokenCache {
+
+  private static final Logger log = LoggerFactory.getLogger(UserTokenCache.class);
+
+  private static final Duration VERIFIED_DURATION = Duration.ofMinutes(1);
+  private static final int VERIFIED_MAX_SIZE = 10_000;
+  private static final long FLUSH_INTERVAL_SECONDS = 30;
+
+  private static final String UPDATE_LAST_USED =
+      """
+      UPDATE UserToken self SET self.lastUsedAt = :lastUsedAt \
+      WHERE self.id = :id AND (self.lastUsedAt IS NULL OR self.lastUsedAt < :lastUsedAt)""";
+
+  private record Usage(String tenantId, Long tokenId) {}
+
+  private final AxelorCache<String, String> verified =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(VERIFIED_MAX_SIZE)
+          .expireAfterWrite(VERIFIED_DURATION)
+          .build();
+
+  private final Map<Usage, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService scheduler;
+
+  public UserTokenCache() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "axelor-token-usage");
+              thread.setDaemon(true);
+              return thread;
+            });
+    // a periodic task is cancelled on its first failure, so never let flush errors escape
+    scheduler.scheduleWithFixedDelay(
+        this::safeFlush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  protected void onAppShutdown(@Observes ShutdownEvent event) {
+    scheduler.shutdownNow();
+    safeFlush();
+  }
+
+  /**
+   * Checks whether the given API key has been verified recently against the digest of the given
+   * token.
+   *
+   * @param apiKey the API key
+   * @param userToken the token found by the key part of the API key
+   * @return true if the API key doesn't need to be verified again
+   */
+  public boolean isVerified(String apiKey, UserToken userToken) {
+    final String digest = verified.get(cacheKey(apiKey));
+    return digest != null && digest.equals(userToken.getTokenDigest());
+  }
+
+  /**
+   * Remembers that the given API key matches the digest of the given token.
+   *
+   * @param apiKey the API key
+   * @param userToken the token found by the key part of the API key
+   */
+  public void setVerified(String apiKey, UserToken userToken) {
+    verified.put(cacheKey(apiKey), userToken.getTokenDigest());
+  }
+
+  /**
+   * Records that the given token is used now. The "last used" date is written on next flush.
+   *
+   * @param userToken the token
+   */
+  public void setUsed(UserToken userToken) {
+    pending.put(
+        new Usage(TenantResolver.currentTenantIdentifier(), userToken.getId()),
+        LocalDateTime.now());
+  }
+
+  /** Writes the pending "last used" dates, one transaction per tenant. */
+  public void flush() {
+    final Map<String, Map<Long, LocalDateTime>> byTenant = new HashMap<>();
+    for (Usage usage : pending.keySet()) {
+      final LocalDateTime lastUsedAt = pending.remove(usage);
+      if (lastUsedAt != null) {
+        byTenant
+            .computeIfAbsent(usage.tenantId(), key -> new HashMap<>())
+            .put(usage.tokenId(), lastUsedAt);
+      }
+    }
+
+    byTenant.forEach(
+        (tenantId, usages) ->
+            ContextAwareExecutors.shared()
+                .execute(
+                    ContextAware.of(tenantId).withTransaction(true).build(() -> update(usages))));
+  }
+
+  private void safeFlush() {
+    try {
+      flush();
+    } catch (Exception e) {
+      log.error("Unable to flush the last used date of API keys", e);
+    }
+  }
+
+  private void update(Map<Long, LocalDateTime> usages) {
+    try {
+      final var query = JPA.em().createQuery(UPDATE_LAST_USED);
+      usages.forEach(
+          (id, lastUsedAt) ->
+              query.setParameter("id", id).setParameter("lastUsedAt", lastUsedAt).executeUpdate());
+    } catch (Exception e) {
+      log.error("Unable to update the last used date of API keys", e);
+    }
+  }
+
+  private static String cacheKey(String apiKey) {
+    try {
+      final MessageDigest md = MessageDigest.getInstance("SHA-256");
+      final String tenantId = Objects.toString(TenantResolver.currentTenantIdentifier(), "");
+      md.update(tenantId.getBytes(StandardCharsets.UTF_8));
+      md.update((byte) 0);
+      return HexFormat.of().formatHex(md.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -8,11 +8,11 @@ import static com.axelor.auth.UserTokenService.TOKEN_KEY_LENGTH;
 
 import com.axelor.auth.AuthService;
 import com.axelor.auth.AuthUtils;
+import com.axelor.auth.UserTokenCache;
 import com.axelor.auth.db.UserToken;
 import com.axelor.auth.db.repo.UserTokenRepository;
 import com.axelor.common.StringUtils;
 import com.google.inject.Inject;
-import com.google.inject.persist.Transactional;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import org.pac4j.core.context.CallContext;
@@ -40,6 +40,10 @@ import org.pac4j.core.util.Pac4jConstants;
  *
  * <p>When authentication is successful, the authenticator updates the "last used" of the token and
  * creates a user profile for the authenticated user.
+ *
+ * <p>The API keys verified recently and the "last used" updates are handled by {@link
+ * UserTokenCache}, so that frequent requests with the same key don't verify the token digest and
+ * update the token each time.
  */
 public class AxelorApiKeyAuthenticator implements Authenticator {
   public static final String UNSUPPORTED_CREDENTIALS = "Unsupported credentials";
@@ -47,6 +51,7 @@ public class AxelorApiKeyAuthenticator implements Authenticator {
   public static final String INVALID_API_KEY = "Invalid or expired API key";
   public static final String USER_DISABLED = "User is disabled.";
   @Inject UserTokenRepository userTokenRepository;
+  @Inject UserTokenCache userTokenCache;
 
   @Override
   public Optional<Credentials> validate(CallContext ctx, Credentials credentials) {
@@ -68,8 +73,11 @@ public class AxelorApiKeyAuthenticator implements Authenticator {
       }
       AuthService authService = AuthService.getInstance();
 
-      if (!authService.match(token, userToken.getTokenDigest())) {
-        throw new AccountNotFoundException(INVALID_API_KEY);
+      if (!userTokenCache.isVerified(apiKey, userToken)) {
+        if (!authService.match(token, userToken.getTokenDigest())) {
+          throw new AccountNotFoundException(INVALID_API_KEY);
+        }
+        userTokenCache.setVerified(apiKey, userToken);
       }
       if (userToken.getExpiresAt().isBefore(LocalDateTime.now())) {
         throw new AccountNotFoundException(INVALID_API_KEY);
@@ -91,8 +99,7 @@ public class AxelorApiKeyAuthenticator implements Authenticator {
     }
   }
 
-  @Transactional
   public void setUserTokenLastUsed(UserToken userToken) {
-    userToken.setLastUsedAt(LocalDateTime.now());
+    userTokenCache.setUsed(userToken);
   }
 }
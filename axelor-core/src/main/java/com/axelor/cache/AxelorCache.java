@@ -137,6 +137,17 @@ public interface AxelorCache<K, V> extends Iterable<Map.Entry<K, V>>, Closeable
     // Do nothing by default
   }
 
+  /**
+   * Returns the statistics of this cache.
+   *
+   * <p>Statistics are local to the current node, and empty if not supported by the cache provider.
+   *
+   * @return the cache statistics
+   */
+  default CacheStats stats() {
+    return CacheStats.EMPTY;
+  }
+
   /**
    * Returns key-specific lock for this cache.
    *
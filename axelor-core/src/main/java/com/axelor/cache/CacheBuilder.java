@@ -6,7 +6,19 @@ package com.axelor.cache;
 
 import com.axelor.cache.caffeine.CaffeineCacheBuilder;
 import com.axelor.cache.event.RemovalListener;
+import com.axelor.metrics.MetricsRegistry;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
 /**
  * A builder of {@link AxelorCache} instances
@@ -44,6 +56,27 @@ public abstract class CacheBuilder<K, V> {
   private static final StackWalker stackWalker =
       StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
 
+  /** The built caches, weakly referenced so that discarded caches can be collected. */
+  private static final Queue<CacheReference> caches = new ConcurrentLinkedQueue<>();
+
+  private static final ReferenceQueue<AxelorCache<?, ?>> collectedCaches = new ReferenceQueue<>();
+
+  /** The statistics of the collected caches by cache name, so that counters never go down. */
+  private static final Map<String, CacheStats> collectedStats = new HashMap<>();
+
+  private static class CacheReference extends WeakReference<AxelorCache<?, ?>> {
+
+    private final String name;
+
+    private final Supplier<CacheStats> stats;
+
+    CacheReference(String name, AxelorCache<?, ?> cache, Supplier<CacheStats> stats) {
+      super(cache, collectedCaches);
+      this.name = name;
+      this.stats = stats;
+    }
+  }
+
   public static CacheType getCacheType() {
     return cacheType;
   }
@@ -89,7 +122,7 @@ public abstract class CacheBuilder<K, V> {
    * @return a new {@code CacheBuilder} instance
    */
   public static <K, V> CacheBuilder<K, V> newInMemoryBuilder() {
-    return new CaffeineCacheBuilder<>();
+    return new CaffeineCacheBuilder<>(stackWalker.getCallerClass().getName());
   }
 
   /**
@@ -108,6 +141,84 @@ public abstract class CacheBuilder<K, V> {
     return cacheType.getCacheBuilder(name);
   }
 
+  /**
+   * Returns the caches built and still in use, by cache name.
+   *
+   * <p>In-memory caches are named after the class which built them, so several caches may share a
+   * name.
+   *
+   * @return the caches by name
+   */
+  public static Map<String, List<AxelorCache<?, ?>>> getCaches() {
+    expungeCollected();
+
+    final Map<String, List<AxelorCache<?, ?>>> result = new LinkedHashMap<>();
+    for (CacheReference ref : caches) {
+      final AxelorCache<?, ?> cache = ref.get();
+      if (cache != null) {
+        result.computeIfAbsent(ref.name, k -> new ArrayList<>()).add(cache);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the statistics of the caches built since startup, by cache name.
+   *
+   * <p>The statistics of the caches sharing a name are summed, including the caches which have
+   * been collected since.
+   *
+   * @return the cache statistics by name
+   */
+  public static Map<String, CacheStats> getCacheStats() {
+    synchronized (collectedStats) {
+      expungeCollected();
+      final Map<String, CacheStats> result = new LinkedHashMap<>(collectedStats);
+      for (CacheReference ref : caches) {
+        result.merge(ref.name, ref.stats.get(), CacheStats::plus);
+      }
+      return result;
+    }
+  }
+
+  private static void expungeCollected() {
+    synchronized (collectedStats) {
+      for (Reference<?> ref; (ref = collectedCaches.poll()) != null; ) {
+        final CacheReference cacheRef = (CacheReference) ref;
+        if (caches.remove(cacheRef)) {
+          collectedStats.merge(cacheRef.name, cacheRef.stats.get(), CacheStats::plus);
+        }
+      }
+    }
+  }
+
+  /**
+   * Whether the built caches should record statistics, that is when metrics are enabled.
+   *
+   * @return true if the built caches are registered
+   */
+  protected boolean isMetricsEnabled() {
+    return cacheName != null && MetricsRegistry.isEnabled();
+  }
+
+  /**
+   * Registers the given cache if metrics are enabled, so that it is listed by {@link #getCaches()}.
+   *
+   * <p>The statistics supplier must not reference the cache, so that it can still be read once the
+   * cache is collected.
+   *
+   * @param cache the built cache
+   * @param stats the supplier of the cache statistics
+   * @return the given cache
+   */
+  protected <C extends AxelorCache<?, ?>> C register(C cache, Supplier<CacheStats> stats) {
+    if (isMetricsEnabled()) {
+      caches.add(new CacheReference(cacheName, cache, stats));
+      expungeCollected();
+    }
+    return cache;
+  }
+
   /**
    * Returns information about the current cache provider configuration.
    *
@@ -0,0 +1,28 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+/**
+ * Statistics of an {@link AxelorCache}, since it was built.
+ *
+ * @param hits the number of lookups which found a cached value
+ * @param misses the number of lookups which didn't find a cached value
+ * @param evictions the number of entries evicted because of size or expiration, if tracked by the
+ *     cache provider
+ */
+public record CacheStats(long hits, long misses, long evictions) {
+
+  public static final CacheStats EMPTY = new CacheStats(0, 0, 0);
+
+  /**
+   * Returns the sum of these statistics and the given ones.
+   *
+   * @param other the statistics to add
+   * @return the summed statistics
+   */
+  public CacheStats plus(CacheStats other) {
+    return new CacheStats(hits + other.hits, misses + other.misses, evictions + other.evictions);
+  }
+}
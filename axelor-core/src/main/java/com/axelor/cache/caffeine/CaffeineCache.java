@@ -5,6 +5,7 @@
 package com.axelor.cache.caffeine;
 
 import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheStats;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
@@ -69,6 +70,12 @@ public class CaffeineCache<K, V> implements AxelorCache<K, V> {
     cache.invalidateAll();
   }
 
+  @Override
+  public CacheStats stats() {
+    var stats = cache.stats();
+    return new CacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount());
+  }
+
   @Override
   public long estimatedSize() {
     return cache.estimatedSize();
@@ -7,10 +7,14 @@ package com.axelor.cache.caffeine;
 import com.axelor.cache.AxelorCache;
 import com.axelor.cache.CacheBuilder;
 import com.axelor.cache.CacheLoader;
+import com.axelor.cache.CacheStats;
 import com.axelor.cache.event.RemovalCause;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import java.util.function.Supplier;
 
 /**
  * Caffeine cache builder
@@ -35,28 +39,46 @@ public class CaffeineCacheBuilder<K, V> extends CacheBuilder<K, V> {
 
   @Override
   public <K1 extends K, V1 extends V> AxelorCache<K1, V1> build() {
-    var caffeine = newCaffeine();
+    var counter = newStatsCounter();
+    var caffeine = newCaffeine(counter);
 
     @SuppressWarnings("unchecked")
     var cache = (Cache<K1, V1>) caffeine.build();
 
-    return new CaffeineCache<>(cache);
+    return register(new CaffeineCache<>(cache), toStats(counter));
   }
 
   @Override
   public <K1 extends K, V1 extends V> AxelorCache<K1, V1> build(
       CacheLoader<? super K1, V1> loader) {
-    var caffeine = newCaffeine();
+    var counter = newStatsCounter();
+    var caffeine = newCaffeine(counter);
 
     @SuppressWarnings("unchecked")
     var cache = (LoadingCache<K1, V1>) caffeine.build(loader::load);
 
-    return new CaffeineLoadingCache<>(cache, loader);
+    return register(new CaffeineLoadingCache<>(cache, loader), toStats(counter));
   }
 
-  private Caffeine<K, V> newCaffeine() {
+  private StatsCounter newStatsCounter() {
+    return isMetricsEnabled() ? new ConcurrentStatsCounter() : StatsCounter.disabledStatsCounter();
+  }
+
+  private static Supplier<CacheStats> toStats(StatsCounter counter) {
+    return () -> {
+      var stats = counter.snapshot();
+      return new CacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount());
+    };
+  }
+
+  private Caffeine<K, V> newCaffeine(StatsCounter counter) {
     var builder = Caffeine.newBuilder();
 
+    // statistics have a cost, only record them when published
+    if (counter != StatsCounter.disabledStatsCounter()) {
+      builder.recordStats(() -> counter);
+    }
+
     if (getMaximumSize() > 0) {
       builder.maximumSize(getMaximumSize());
     }
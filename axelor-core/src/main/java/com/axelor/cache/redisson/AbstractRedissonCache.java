@@ -5,11 +5,14 @@
 package com.axelor.cache.redisson;
 
 import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheStats;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import org.redisson.api.RMap;
 
 /**
@@ -24,6 +27,9 @@ public abstract class AbstractRedissonCache<K, V, M extends RMap<K, V>>
 
   protected final M cache;
 
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
   protected AbstractRedissonCache(M cache) {
     this.cache = cache;
   }
@@ -36,12 +42,17 @@ public abstract class AbstractRedissonCache<K, V, M extends RMap<K, V>>
 
   @Override
   public V get(K key) {
-    return cache.get(key);
+    final V value = cache.get(key);
+    (value == null ? misses : hits).increment();
+    return value;
   }
 
   @Override
   public Map<K, V> getAll(Set<K> keys) {
-    return cache.getAll(keys);
+    final Map<K, V> values = cache.getAll(keys);
+    hits.add(values.size());
+    misses.add(keys.size() - values.size());
+    return values;
   }
 
   @Override
@@ -70,6 +81,22 @@ public abstract class AbstractRedissonCache<K, V, M extends RMap<K, V>>
     cache.destroy();
   }
 
+  /**
+   * Returns the hits and misses of the lookups done through this instance. Evictions happen on the
+   * Redis server and aren't tracked.
+   */
+  @Override
+  public CacheStats stats() {
+    return statsSupplier().get();
+  }
+
+  /** Returns a supplier of the statistics of this instance, not holding a reference to it. */
+  Supplier<CacheStats> statsSupplier() {
+    final LongAdder hitCount = hits;
+    final LongAdder missCount = misses;
+    return () -> new CacheStats(hitCount.sum(), missCount.sum(), 0);
+  }
+
   @Override
   public long estimatedSize() {
     return cache.size();
@@ -93,7 +93,7 @@ public abstract class AbstractRedissonCacheBuilder<
   private AbstractRedissonCache<K, V, M> newConfiguredCache(M cache) {
     var redissonCache = newRedissonCache(cache);
     configureCache(redissonCache);
-    return redissonCache;
+    return register(redissonCache, redissonCache.statsSupplier());
   }
 
   protected void configureCache(AbstractRedissonCache<K, V, M> cache) {
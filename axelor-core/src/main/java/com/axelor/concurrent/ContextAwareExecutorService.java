@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link ExecutorService} running tasks on virtual threads in a context-aware environment.
+ *
+ * <p>The context (tenant, user, base URL and language) of the submitting thread is captured when a
+ * task is submitted and applied to the virtual thread running the task. Tasks optionally run inside
+ * their own transaction. Tasks already built with {@link ContextAware} run with their own context
+ * and transaction settings.
+ *
+ * <p>Virtual threads are cheap, but the database connections they use are not. The number of tasks
+ * running at the same time is capped, extra tasks wait for a permit on their own virtual thread.
+ *
+ * @see ContextAwareExecutors
+ */
+public final class ContextAwareExecutorService extends AbstractExecutorService {
+
+  private final ExecutorService delegate;
+  private final Semaphore permits;
+  private final int maxConcurrency;
+  private final boolean withTransaction;
+  private final boolean shared;
+
+  ContextAwareExecutorService(
+      String name, int maxConcurrency, boolean withTransaction, boolean shared) {
+    final ThreadFactory factory = Thread.ofVirtual().name(name + "-", 0).factory();
+    this.delegate = Executors.newThreadPerTaskExecutor(factory);
+    this.maxConcurrency = maxConcurrency;
+    this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+    this.withTransaction = withTransaction;
+    this.shared = shared;
+  }
+
+  /**
+   * Returns the maximum number of tasks running at the same time.
+   *
+   * @return the concurrency cap, 0 if unbounded
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Whether the tasks run inside their own transaction.
+   *
+   * @return true if tasks are transactional
+   */
+  public boolean isWithTransaction() {
+    return withTransaction;
+  }
+
+  @Override
+  protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+    return new ContextAwareTask<>(wrap(callable));
+  }
+
+  <T> Callable<T> wrap(Callable<T> callable) {
+    // wrap the callable itself, so failures roll back the transaction
+    return callable instanceof ContextAwareCallable<T>
+        ? callable
+        : ContextAware.of().withTransaction(withTransaction).build(callable);
+  }
+
+  @Override
+  protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+    if (runnable instanceof ContextAwareRunnable) {
+      return new ContextAwareTask<>(Executors.callable(runnable, value));
+    }
+    return newTaskFor(Executors.callable(runnable, value));
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    final Runnable task =
+        command instanceof ContextAwareTask<?> || command instanceof ContextAwareRunnable
+            ? command
+            : ContextAware.of().withTransaction(withTransaction).build(command);
+    delegate.execute(
+        () -> {
+          try {
+            acquire();
+          } catch (RejectedExecutionException e) {
+            if (task instanceof ContextAwareTask<?> future) {
+              future.cancel(false);
+            }
+            throw e;
+          }
+          try {
+            task.run();
+          } finally {
+            release();
+          }
+        });
+  }
+
+  private void acquire() {
+    if (permits == null) {
+      return;
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting for a permit", e);
+    }
+  }
+
+  private void release() {
+    if (permits != null) {
+      permits.release();
+    }
+  }
+
+  /**
+   * A task already wrapped with the context, executed as is. It is cancelled if it can't get a
+   * permit, so its {@link #done()} hook runs whether the task ran or not.
+   */
+  static class ContextAwareTask<T> extends FutureTask<T> {
+
+    ContextAwareTask(Callable<T> callable) {
+      super(callable);
+    }
+  }
+
+  private void checkNotShared() {
+    if (shared) {
+      throw new IllegalStateException("The shared executor can't be shut down.");
+    }
+  }
+
+  void terminate() {
+    delegate.close();
+  }
+
+  @Override
+  public void shutdown() {
+    checkNotShared();
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    checkNotShared();
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public void close() {
+    checkNotShared();
+    delegate.close();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.concurrent;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Factory of context-aware executors running on virtual threads.
+ *
+ * <pre>{@code
+ * // Use the shared executor
+ * Future<Long> count = ContextAwareExecutors.shared().submit(() -> repo.all().count());
+ *
+ * // Fan out blocking calls and wait for all of them
+ * try (TaskScope scope = ContextAwareExecutors.newScope()) {
+ *   Supplier<Partner> partner = scope.fork(() -> partners.find(id));
+ *   Supplier<List<Invoice>> invoices = scope.fork(() -> invoices.findByPartner(id));
+ *   scope.join();
+ *   return toDto(partner.get(), invoices.get());
+ * }
+ * }</pre>
+ *
+ * <p>The concurrency of the shared executor is capped with {@code
+ * application.executor.max-concurrency}, defaulting to the JDBC connection pool size.
+ */
+public final class ContextAwareExecutors {
+
+  private static final int DEFAULT_POOL_SIZE = 20;
+
+  private static ContextAwareExecutorService shared;
+
+  private ContextAwareExecutors() {}
+
+  /**
+   * Returns the shared context-aware executor.
+   *
+   * <p>Tasks run inside their own transaction. The shared executor can't be shut down.
+   *
+   * @return the shared executor
+   */
+  public static synchronized ExecutorService shared() {
+    if (shared == null) {
+      shared = new ContextAwareExecutorService("axelor-task", getMaxConcurrency(), true, true);
+    }
+    return shared;
+  }
+
+  /**
+   * Creates a new context-aware executor with its own concurrency cap.
+   *
+   * <p>The returned executor should be shut down once done with it.
+   *
+   * @param name the name prefix of the threads
+   * @param maxConcurrency the maximum number of tasks running at the same time, 0 for no limit
+   * @param withTransaction whether tasks should run inside their own transaction
+   * @return a new executor
+   */
+  public static ContextAwareExecutorService newExecutor(
+      String name, int maxConcurrency, boolean withTransaction) {
+    return new ContextAwareExecutorService(name, maxConcurrency, withTransaction, false);
+  }
+
+  /**
+   * Opens a new {@link TaskScope} forking tasks on the shared executor.
+   *
+   * @return a new task scope
+   */
+  public static TaskScope newScope() {
+    return new TaskScope(shared());
+  }
+
+  /**
+   * Opens a new {@link TaskScope} forking tasks on the given executor.
+   *
+   * @param executor the executor to run tasks on
+   * @return a new task scope
+   */
+  public static TaskScope newScope(ExecutorService executor) {
+    return new TaskScope(executor);
+  }
+
+  /**
+   * Returns the maximum number of tasks the shared executor runs at the same time.
+   *
+   * @return the configured concurrency, or the JDBC connection pool size
+   */
+  public static int getMaxConcurrency() {
+    final AppSettings settings = AppSettings.get();
+    final int poolSize =
+        settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_MAXIMUM_POOL_SIZE, DEFAULT_POOL_SIZE);
+    return settings.getInt(AvailableAppSettings.APPLICATION_EXECUTOR_MAX_CONCURRENCY, poolSize);
+  }
+
+  /** Shuts down the shared executor, waiting for running tasks. */
+  public static synchronized void shutdown() {
+    if (shared != null) {
+      shared.terminate();
+      shared = null;
+    }
+  }
+}
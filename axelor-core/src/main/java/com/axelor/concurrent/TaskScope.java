@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * A scope to fan out tasks and wait for all of them.
+ *
+ * <p>Tasks forked in the scope run concurrently on a context-aware executor. {@link #join()} waits
+ * for all of them, and if one task fails, the others are cancelled and the failure is rethrown.
+ * Closing the scope cancels the tasks still running, so no task outlives its scope.
+ *
+ * <pre>{@code
+ * try (TaskScope scope = ContextAwareExecutors.newScope()) {
+ *   Supplier<Long> count = scope.fork(() -> repo.all().count());
+ *   Supplier<byte[]> logo = scope.fork(() -> store.read(path));
+ *   scope.join();
+ *   return Map.of("count", count.get(), "logo", logo.get());
+ * }
+ * }</pre>
+ *
+ * <p>This is a light alternative to the structured concurrency API which is still a preview
+ * feature of the JDK.
+ */
+public final class TaskScope implements AutoCloseable {
+
+  private final ExecutorService executor;
+  private final List<Future<?>> futures = new ArrayList<>();
+  private final Semaphore completed = new Semaphore(0);
+  private boolean joined;
+
+  TaskScope(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Forks a new task in this scope.
+   *
+   * @param <T> the result type of the task
+   * @param task the task to run
+   * @return a supplier of the task result, only usable after {@link #join()}
+   */
+  public synchronized <T> Supplier<T> fork(Callable<? extends T> task) {
+    if (joined) {
+      throw new IllegalStateException("Can't fork tasks after join.");
+    }
+    final Callable<T> callable =
+        executor instanceof ContextAwareExecutorService service
+            ? service.wrap(task::call)
+            : task::call;
+
+    // released when the task completes, fails or is cancelled before it starts
+    final ContextAwareExecutorService.ContextAwareTask<T> future =
+        new ContextAwareExecutorService.ContextAwareTask<>(callable) {
+          @Override
+          protected void done() {
+            completed.release();
+          }
+        };
+    executor.execute(future);
+    futures.add(future);
+    return () -> {
+      if (!joined) {
+        throw new IllegalStateException("The scope is not joined yet.");
+      }
+      try {
+        return future.resultNow();
+      } catch (IllegalStateException e) {
+        throw new CancellationException("The task has not completed successfully.");
+      }
+    };
+  }
+
+  /**
+   * Waits for all the forked tasks to complete.
+   *
+   * @throws ExecutionException with the failure of the first failed task
+   * @throws InterruptedException if interrupted while waiting
+   * @throws CancellationException if a task was cancelled before completing
+   */
+  public synchronized void join() throws ExecutionException, InterruptedException {
+    try {
+      for (int i = futures.size(); i > 0; i--) {
+        completed.acquire();
+        for (Future<?> future : futures) {
+          // fail fast on the first failed task
+          if (future.state() == Future.State.FAILED) {
+            future.get();
+          }
+        }
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException | InterruptedException | CancellationException e) {
+      cancelAll();
+      throw e;
+    } finally {
+      joined = true;
+    }
+  }
+
+  private void cancelAll() {
+    futures.forEach(future -> future.cancel(true));
+  }
+
+  @Override
+  public synchronized void close() {
+    cancelAll();
+  }
+}
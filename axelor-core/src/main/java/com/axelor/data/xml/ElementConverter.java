@@ -13,6 +13,7 @@ import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.naming.NoNameCoder;
 import com.thoughtworks.xstream.io.xml.DomWriter;
+import java.util.function.Consumer;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
 import org.w3c.dom.Document;
@@ -20,10 +21,23 @@ import org.w3c.dom.Element;
 
 public class ElementConverter implements Converter {
 
-  private XMLBinder binder;
+  private final Consumer<Document> handler;
+
+  private final Runnable finisher;
 
   public ElementConverter(XMLBinder binder) {
-    this.binder = binder;
+    this(binder::bind, binder::finish);
+  }
+
+  /**
+   * Create a converter passing each root element to the given handler.
+   *
+   * @param handler called with each root element, in document order
+   * @param finisher called whenever a run of root elements with the same name ends
+   */
+  public ElementConverter(Consumer<Document> handler, Runnable finisher) {
+    this.handler = handler;
+    this.finisher = finisher;
   }
 
   @Override
@@ -44,14 +58,14 @@ public class ElementConverter implements Converter {
         reader.moveDown();
         Document node = (Document) context.convertAnother(reader, Element.class);
         if (last != null && !last.equals(node.getFirstChild().getNodeName())) {
-          binder.finish();
+          finisher.run();
           last = node.getFirstChild().getNodeName();
         }
         if (last == null) {
           last = node.getFirstChild().getNodeName();
         }
         reader.moveUp();
-        binder.bind(node);
+        handler.accept(node);
       }
       return null;
     }
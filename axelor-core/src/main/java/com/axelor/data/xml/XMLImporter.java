@@ -4,6 +4,9 @@
  */
 package com.axelor.data.xml;
 
+import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
+import com.axelor.concurrent.TaskScope;
 import com.axelor.data.ImportException;
 import com.axelor.data.ImportTask;
 import com.axelor.data.Importer;
@@ -22,17 +25,30 @@ import jakarta.inject.Named;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import javax.xml.stream.XMLInputFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,9 +78,18 @@ import org.w3c.dom.Element;
  * 	}
  * }
  * </pre>
+ *
+ * <p>By default, each data file is imported in a single transaction. For large files, {@link
+ * #setCommitSize(int)} enables a streaming mode where the root elements are bound by chunks, each
+ * chunk committed in its own transaction. Chunks of root elements with the same name can be bound
+ * in parallel worker transactions with {@link #setParallelism(int)}, and the progress can be saved
+ * to a checkpoint file with {@link #setCheckpointFile(File)} so that a failed import continues
+ * where it stopped.
  */
 public class XMLImporter implements Importer {
 
+  private static final String CHECKPOINT_RANGES = ".ranges";
+
   private Logger log = LoggerFactory.getLogger(getClass());
 
   private File dataDir;
@@ -77,6 +102,12 @@ public class XMLImporter implements Importer {
 
   private boolean canClear = true;
 
+  private int commitSize;
+
+  private int parallelism = 1;
+
+  private File checkpointFile;
+
   @Inject
   public XMLImporter(
       @Named("axelor.data.config") String configFile, @Named("axelor.data.dir") String dataDir) {
@@ -122,9 +153,56 @@ public class XMLImporter implements Importer {
     this.canClear = canClear;
   }
 
+  /**
+   * Set the number of root elements committed together.
+   *
+   * <p>When set, the root elements are bound by chunks of the given size, each chunk in its own
+   * transaction, instead of importing each data file in a single transaction. The import fails with
+   * an {@link IllegalStateException} if a transaction is active when running it.
+   *
+   * @param commitSize the number of root elements per transaction, 0 to disable chunked commits
+   */
+  public void setCommitSize(int commitSize) {
+    Preconditions.checkArgument(commitSize >= 0, "Invalid commit size: " + commitSize);
+    this.commitSize = commitSize;
+  }
+
+  /**
+   * Set the number of chunks bound in parallel when chunked commits are enabled.
+   *
+   * <p>Chunks run in worker transactions on the shared executor, and only chunks of root elements
+   * having the same name run together. Elements of such runs should not depend on each other, and
+   * the listeners should be thread-safe.
+   *
+   * @param parallelism the number of chunks bound at the same time
+   */
+  public void setParallelism(int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "Invalid parallelism: " + parallelism);
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Set the file where the progress of chunked imports is saved.
+   *
+   * <p>The root elements committed for each input are saved after each commit, including the chunks
+   * committed next to a failed one, and the committed elements are skipped when running the import
+   * again. The file is removed once all the
+   * inputs are imported without error.
+   *
+   * @param checkpointFile the checkpoint file
+   */
+  public void setCheckpointFile(File checkpointFile) {
+    this.checkpointFile = checkpointFile;
+  }
+
   @Override
   public void run() {
 
+    checkTransaction();
+
+    final Properties checkpoint = loadCheckpoint();
+    boolean failed = false;
+
     for (XMLInput input : config.getInputs()) {
 
       String fileName = input.getFileName();
@@ -132,22 +210,33 @@ public class XMLImporter implements Importer {
 
       for (File file : files) {
         try {
-          this.process(input, file);
+          this.process(input, file, checkpoint);
         } catch (Exception e) {
+          failed = true;
           log.error("Error while importing {}.", file, e);
         }
       }
     }
+
+    if (!failed) {
+      clearCheckpoint();
+    }
   }
 
   public void run(ImportTask task) {
+    checkTransaction();
+
+    final Properties checkpoint = loadCheckpoint();
+    boolean failed = false;
     try {
       task.init();
       for (XMLInput input : config.getInputs()) {
+        int index = 0;
         for (Reader reader : task.getReader(input.getFileName())) {
           try {
-            process(input, reader);
+            process(input, reader, input.getFileName() + "#" + index++, checkpoint);
           } catch (ImportException e) {
+            failed = true;
             if (!task.handle(e)) {
               break;
             }
@@ -155,9 +244,13 @@ public class XMLImporter implements Importer {
         }
       }
     } catch (IOException e) {
+      failed = true;
       throw new IllegalArgumentException(e);
     } finally {
       task.close();
+      if (!failed) {
+        clearCheckpoint();
+      }
     }
   }
 
@@ -166,21 +259,21 @@ public class XMLImporter implements Importer {
    *
    * @param input input binding configuration
    * @param file data file
+   * @param checkpoint the saved progress
    * @throws ImportException
    */
-  private void process(XMLInput input, File file) throws ImportException {
+  private void process(XMLInput input, File file, Properties checkpoint) throws ImportException {
     try (final Reader reader =
         new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
       log.info("Importing: {}", file.getName());
-      this.process(input, reader);
+      this.process(input, reader, file.getName(), checkpoint);
     } catch (IOException e) {
       throw new ImportException(e);
     }
   }
 
-  private void process(XMLInput input, Reader reader) throws ImportException {
-
-    final int batchSize = DBHelper.getJdbcBatchSize();
+  private void process(XMLInput input, Reader reader, String key, Properties checkpoint)
+      throws ImportException {
 
     final WstxDriver driver =
         new WstxDriver() {
@@ -227,11 +320,68 @@ public class XMLImporter implements Importer {
       context.put("__path__", dataDir.toPath());
     }
 
+    final Counter counter = new Counter();
+
+    XStreamUtils.setupSecurity(stream);
+    stream.setMode(XStream.NO_REFERENCES);
+
+    if (commitSize > 0) {
+      final ChunkedImport chunked = new ChunkedImport(input, context, counter, key, checkpoint);
+      stream.registerConverter(new ElementConverter(chunked::add, chunked::finish));
+      try {
+        stream.fromXML(reader);
+        chunked.finish();
+      } catch (Exception e) {
+        throw new ImportException(e);
+      }
+      return;
+    }
+
+    final XMLBinder binder = newBinder(input, context, counter);
+    stream.registerConverter(new ElementConverter(binder));
+
+    final EntityManager em = JPA.em();
+    final EntityTransaction txn = em.getTransaction();
+    final boolean started = !txn.isActive();
+
+    if (canClear) {
+      em.setFlushMode(FlushModeType.COMMIT);
+    }
+    if (started) {
+      txn.begin();
+    }
+
+    try {
+      stream.fromXML(reader);
+      binder.finish();
+      if (txn.isActive() && started) {
+        txn.commit();
+        if (canClear) {
+          em.clear();
+        }
+      }
+    } catch (Exception e) {
+      if (txn.isActive() && started) {
+        txn.rollback();
+      }
+      throw new ImportException(e);
+    }
+  }
+
+  /** The number of imported root element bindings, shared by the binders of a data file. */
+  private static class Counter {
+    final AtomicInteger total = new AtomicInteger();
+    final AtomicInteger count = new AtomicInteger();
+  }
+
+  private XMLBinder newBinder(XMLInput input, Map<String, Object> context, Counter counter) {
+
+    final int batchSize = DBHelper.getJdbcBatchSize();
+
     final XMLBinder binder =
         new XMLBinder(input, context) {
 
-          int count = 0;
-          int total = 0;
+          int pending = 0;
 
           @Override
           protected void handle(Object bean, XMLBind binding, Map<String, Object> ctx) {
@@ -242,9 +392,11 @@ public class XMLImporter implements Importer {
               bean = binding.call(bean, ctx);
               if (bean != null) {
                 bean = JPA.manage((Model) bean);
-                count++;
-                for (Listener listener : listeners) {
-                  listener.imported((Model) bean);
+                counter.count.incrementAndGet();
+                synchronized (listeners) {
+                  for (Listener listener : listeners) {
+                    listener.imported((Model) bean);
+                  }
                 }
               }
             } catch (Exception e) {
@@ -260,11 +412,14 @@ public class XMLImporter implements Importer {
                 JPA.em().getTransaction().begin();
               }
 
-              for (Listener listener : listeners) {
-                listener.handle((Model) bean, e);
+              synchronized (listeners) {
+                for (Listener listener : listeners) {
+                  listener.handle((Model) bean, e);
+                }
               }
             }
-            if (++total % batchSize == 0) {
+            counter.total.incrementAndGet();
+            if (++pending % batchSize == 0) {
               JPA.flush();
               JPA.clear();
             }
@@ -273,7 +428,7 @@ public class XMLImporter implements Importer {
           @Override
           protected void finish() {
             for (Listener listener : listeners) {
-              listener.imported(total, count);
+              listener.imported(counter.total.get(), counter.count.get());
             }
           }
         };
@@ -289,35 +444,232 @@ public class XMLImporter implements Importer {
       binder.registerAdapter(adapter);
     }
 
-    XStreamUtils.setupSecurity(stream);
-    stream.setMode(XStream.NO_REFERENCES);
-    stream.registerConverter(new ElementConverter(binder));
+    return binder;
+  }
 
-    final EntityManager em = JPA.em();
-    final EntityTransaction txn = em.getTransaction();
-    final boolean started = !txn.isActive();
+  /**
+   * Binds the root elements of a data file by chunks, each chunk committed in its own transaction.
+   *
+   * <p>Up to {@link #parallelism} chunks are bound at the same time, then the committed root
+   * elements are saved to the checkpoint: the number of leading elements committed, and the ranges
+   * of the chunks committed after a failed one.
+   */
+  private class ChunkedImport {
+
+    private record Chunk(long start, long end, List<Document> items) {}
+
+    private final XMLInput input;
+    private final Map<String, Object> context;
+    private final Counter counter;
+    private final String key;
+    private final Properties checkpoint;
+    private long skip;
+
+    private final NavigableMap<Long, Long> committed = new TreeMap<>();
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private List<Document> chunk = new ArrayList<>();
+    private long start;
+    private long position;
+
+    ChunkedImport(
+        XMLInput input,
+        Map<String, Object> context,
+        Counter counter,
+        String key,
+        Properties checkpoint) {
+      this.input = input;
+      this.context = context;
+      this.counter = counter;
+      this.key = key;
+      this.checkpoint = checkpoint;
+      this.skip = Long.parseLong(checkpoint.getProperty(key, "0"));
+
+      final String ranges = checkpoint.getProperty(key + CHECKPOINT_RANGES, "");
+      for (String range : ranges.split(",")) {
+        if (!range.isEmpty()) {
+          final int index = range.indexOf('-');
+          final long from = Long.parseLong(range.substring(0, index));
+          committed.put(from, Long.parseLong(range.substring(index + 1)));
+        }
+      }
 
-    if (canClear) {
-      em.setFlushMode(FlushModeType.COMMIT);
+      if (skip > 0 || !committed.isEmpty()) {
+        log.info("Resuming {} after {} elements", key, skip);
+      }
     }
-    if (started) {
-      txn.begin();
+
+    private boolean isCommitted(long index) {
+      if (index < skip) {
+        return true;
+      }
+      final Map.Entry<Long, Long> range = committed.floorEntry(index);
+      return range != null && index < range.getValue();
     }
 
-    try {
-      stream.fromXML(reader);
-      binder.finish();
-      if (txn.isActive() && started) {
-        txn.commit();
+    void add(Document element) {
+      if (isCommitted(position++)) {
+        return;
+      }
+      if (chunk.isEmpty()) {
+        start = position - 1;
+      }
+      chunk.add(element);
+      if (chunk.size() >= commitSize) {
+        chunks.add(new Chunk(start, position, chunk));
+        chunk = new ArrayList<>();
+        if (chunks.size() >= parallelism) {
+          commit();
+        }
+      }
+    }
+
+    /** Commits the pending elements, called whenever a run of same named elements ends. */
+    void finish() {
+      if (!chunk.isEmpty()) {
+        chunks.add(new Chunk(start, position, chunk));
+        chunk = new ArrayList<>();
+      }
+      commit();
+      for (Listener listener : listeners) {
+        listener.imported(counter.total.get(), counter.count.get());
+      }
+    }
+
+    private void commit() {
+      if (chunks.isEmpty()) {
+        return;
+      }
+
+      if (chunks.size() == 1) {
+        final Chunk first = chunks.getFirst();
+        chunks.clear();
+        JPA.runInTransaction(() -> bind(first.items()));
         if (canClear) {
-          em.clear();
+          JPA.clear();
         }
+        save(List.of(first));
+        return;
       }
-    } catch (Exception e) {
-      if (txn.isActive() && started) {
-        txn.rollback();
+
+      // chunks commit on their own, the committed ones are saved even if others fail
+      final List<Chunk> done = Collections.synchronizedList(new ArrayList<>());
+      final List<RuntimeException> failures = Collections.synchronizedList(new ArrayList<>());
+      try (TaskScope scope = ContextAwareExecutors.newScope()) {
+        for (Chunk item : chunks) {
+          scope.fork(
+              ContextAware.of()
+                  .withTransaction(false)
+                  .build(
+                      () -> {
+                        try {
+                          JPA.runInTransaction(() -> bind(item.items()));
+                          done.add(item);
+                        } catch (RuntimeException e) {
+                          failures.add(e);
+                        }
+                        return null;
+                      }));
+        }
+        scope.join();
+      } catch (ExecutionException e) {
+        throw new PersistenceException(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PersistenceException(e);
+      } finally {
+        chunks.clear();
+        save(done);
+      }
+
+      if (!failures.isEmpty()) {
+        final PersistenceException error = new PersistenceException(failures.getFirst());
+        failures.stream().skip(1).forEach(error::addSuppressed);
+        throw error;
+      }
+    }
+
+    /** Saves the given committed chunks to the checkpoint. */
+    private void save(List<Chunk> done) {
+      done.forEach(item -> committed.put(item.start(), item.end()));
+
+      // merge the ranges following the committed elements
+      Map.Entry<Long, Long> next;
+      while ((next = committed.firstEntry()) != null && next.getKey() <= skip) {
+        skip = Math.max(skip, next.getValue());
+        committed.pollFirstEntry();
+      }
+      log.debug("Committed {} elements of {}", skip, key);
+
+      if (checkpointFile == null) {
+        return;
+      }
+
+      checkpoint.setProperty(key, String.valueOf(skip));
+      if (committed.isEmpty()) {
+        checkpoint.remove(key + CHECKPOINT_RANGES);
+      } else {
+        checkpoint.setProperty(
+            key + CHECKPOINT_RANGES,
+            committed.entrySet().stream()
+                .map(e -> e.getKey() + "-" + e.getValue())
+                .collect(Collectors.joining(",")));
+      }
+      saveCheckpoint(checkpoint);
+    }
+
+    private Void bind(List<Document> items) {
+      final XMLBinder binder = newBinder(input, context, counter);
+      for (Document item : items) {
+        binder.bind(item);
+      }
+      return null;
+    }
+  }
+
+  private void checkTransaction() {
+    if (commitSize > 0 && JPA.em().getTransaction().isActive()) {
+      throw new IllegalStateException("Chunked imports can't run inside an active transaction.");
+    }
+  }
+
+  private Properties loadCheckpoint() {
+    final Properties checkpoint = new Properties();
+    if (checkpointFile != null && checkpointFile.exists()) {
+      try (Reader reader =
+          Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+        checkpoint.load(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      log.info("Using checkpoint: {}", checkpointFile);
+    }
+    return checkpoint;
+  }
+
+  private void saveCheckpoint(Properties checkpoint) {
+    final Path file = checkpointFile.toPath();
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        checkpoint.store(writer, "XML import progress");
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void clearCheckpoint() {
+    if (checkpointFile != null) {
+      try {
+        Files.deleteIfExists(checkpointFile.toPath());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
       }
-      throw new ImportException(e);
     }
   }
 }
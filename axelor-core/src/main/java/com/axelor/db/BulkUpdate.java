@@ -0,0 +1,222 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import com.axelor.auth.db.AuditableModel;
+import com.axelor.auth.db.User;
+import com.axelor.common.ObjectUtils;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.LongConsumer;
+
+/**
+ * Batched mass update and delete of the records matched by a {@link Query}.
+ *
+ * <p>The ids of the matched records are streamed once in id order with keyset pagination, and
+ * records are updated or deleted by fixed-size batches of ids, reusing the same statements for
+ * each batch.
+ *
+ * <p>Each batch runs in its own transaction when there is no active transaction, so a bulk update
+ * can be run in background over millions of records without holding one long transaction.
+ *
+ * <pre>{@code
+ * int count = repo.all()
+ *     .filter("self.partner = :partner")
+ *     .bind("partner", partner)
+ *     .bulk()
+ *     .batchSize(5000)
+ *     .progress(done -> log.info("{} records updated", done))
+ *     .update(Map.of("status", "closed"), AuthUtils.getUser());
+ * }</pre>
+ *
+ * @param <T> the type of the records
+ */
+public class BulkUpdate<T extends Model> {
+
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private static final String LAST_ID = "bulkLastId";
+
+  private final Query<T> query;
+
+  private int batchSize = DEFAULT_BATCH_SIZE;
+
+  private LongConsumer progress;
+
+  BulkUpdate(Query<T> query) {
+    this.query = query;
+  }
+
+  /**
+   * Set the number of records updated or deleted per statement.
+   *
+   * @param batchSize the batch size
+   * @return the same instance
+   */
+  public BulkUpdate<T> batchSize(int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+    }
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * Set a listener notified with the number of records processed so far after each batch.
+   *
+   * @param progress the progress listener
+   * @return the same instance
+   */
+  public BulkUpdate<T> progress(LongConsumer progress) {
+    this.progress = progress;
+    return this;
+  }
+
+  /**
+   * Update the matched records with the given values.
+   *
+   * <p>If <code>updatedBy</code> user is null, perform non-versioned update otherwise performed
+   * versioned update. Only the records with at least one changed value are updated.
+   *
+   * @param values the key value map
+   * @param updatedBy the user to set "updatedBy" field
+   * @return total number of records updated
+   */
+  public int update(Map<String, Object> values, User updatedBy) {
+    if (ObjectUtils.isEmpty(values)) {
+      return 0;
+    }
+
+    final Map<String, Object> params = new HashMap<>();
+    final List<String> changed = new ArrayList<>();
+
+    for (final Entry<String, Object> entry : values.entrySet()) {
+      String name = entry.getKey().replaceFirst("^self\\.", "");
+      Object value = entry.getValue();
+      params.put(name, value);
+      if (value == null) {
+        changed.add("self." + name + " IS NOT NULL");
+      } else {
+        changed.add("(self." + name + " IS NULL OR " + "self." + name + " != :" + name + ")");
+      }
+    }
+
+    if (updatedBy != null && AuditableModel.class.isAssignableFrom(query.getBeanClass())) {
+      params.put("updatedBy", updatedBy);
+      params.put("updatedOn", LocalDateTime.now());
+    }
+
+    // the changed values check only applies to the current batch of ids
+    final String filter = "self.id IN (:ids) AND (" + String.join(" OR ", changed) + ")";
+    final String updateQuery = query.updateQuery(params, updatedBy != null, filter);
+
+    return execute(
+        ids -> {
+          final Map<String, Object> batchParams = new HashMap<>(params);
+          batchParams.put("ids", ids);
+          return QueryBinder.of(JPA.em().createQuery(updateQuery))
+              .bind(batchParams)
+              .getQuery()
+              .executeUpdate();
+        });
+  }
+
+  /**
+   * This is similar to {@link #update(Map, User)} but updates only single field without
+   * versioning.
+   *
+   * @param name the field name whose value needs to be changed
+   * @param value the new value
+   * @return total number of records updated
+   */
+  public int update(String name, Object value) {
+    return update(Collections.singletonMap(name, value), null);
+  }
+
+  /**
+   * Delete the matched records.
+   *
+   * @return total number of records deleted
+   */
+  public int delete() {
+    final String deleteQuery = query.deleteQuery("self.id IN (:ids)");
+    return execute(
+        ids -> {
+          final jakarta.persistence.Query dq = JPA.em().createQuery(deleteQuery);
+          dq.setParameter("ids", ids);
+          return dq.executeUpdate();
+        });
+  }
+
+  private interface BatchWork {
+    int execute(List<Long> ids);
+  }
+
+  private int execute(BatchWork work) {
+    final String selectQuery = idsQuery();
+
+    long lastId = Long.MIN_VALUE;
+    long processed = 0L;
+    int count = 0;
+
+    for (; ; ) {
+      final List<Long> ids = fetchIds(selectQuery, lastId);
+      if (ids.isEmpty()) {
+        break;
+      }
+
+      lastId = ids.getLast();
+      processed += ids.size();
+
+      count += JPA.callInTransaction(() -> work.execute(pad(ids)));
+
+      if (progress != null) {
+        progress.accept(processed);
+      }
+
+      if (ids.size() < batchSize) {
+        break;
+      }
+    }
+
+    return count;
+  }
+
+  private List<Long> fetchIds(String selectQuery, long lastId) {
+    final TypedQuery<Long> sq = JPA.em().createQuery(selectQuery, Long.class);
+    query.bind(sq);
+    sq.setParameter(LAST_ID, lastId);
+    sq.setMaxResults(batchSize);
+    return sq.getResultList();
+  }
+
+  private String idsQuery() {
+    return query.idsQuery("self.id > :" + LAST_ID);
+  }
+
+  /**
+   * Pad the given ids to the next power of two (up to the batch size) by repeating the last id, so
+   * that batches reuse a few SQL statements and their cached execution plans.
+   */
+  private List<Long> pad(List<Long> ids) {
+    final int size = Math.min(batchSize, Integer.highestOneBit(ids.size() - 1) << 1);
+    if (ids.size() >= size) {
+      return ids;
+    }
+    final List<Long> padded = new ArrayList<>(size);
+    padded.addAll(ids);
+    final Long last = ids.getLast();
+    while (padded.size() < size) {
+      padded.add(last);
+    }
+    return padded;
+  }
+}
@@ -296,6 +296,7 @@ public final class JPA {
     Set<Model> visited = new HashSet<>();
     Multimap<String, Long> edited = HashMultimap.create();
     try {
+      prefetch(klass, values);
       return _edit(klass, values, visited, edited);
     } finally {
       visited.clear();
@@ -303,6 +304,70 @@ public final class JPA {
     }
   }
 
+  /**
+   * Load the records referenced by the given values in bulk, so that they are found in the
+   * persistence context when binding the values.
+   */
+  private static void prefetch(Class<? extends Model> klass, Map<String, Object> values) {
+    final Map<Class<? extends Model>, Set<Long>> ids = new HashMap<>();
+    collectIds(klass, values, ids);
+    ids.forEach(
+        (target, targetIds) -> {
+          // a single record is loaded as fast with find
+          if (targetIds.size() > 1) {
+            findByIds(target, new ArrayList<>(targetIds));
+          }
+        });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void collectIds(
+      Class<? extends Model> klass,
+      Map<String, Object> values,
+      Map<Class<? extends Model>, Set<Long>> ids) {
+    if (values == null) {
+      return;
+    }
+
+    addId(klass, values.get("id"), ids);
+
+    final Mapper mapper = Mapper.of(klass);
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      final Property p = mapper.getProperty(entry.getKey());
+      if (p == null || p.getTarget() == null) continue;
+
+      final Class<? extends Model> target = (Class<? extends Model>) p.getTarget();
+      final Object value = entry.getValue();
+
+      if (p.isCollection() && value instanceof Collection<?> collection) {
+        for (Object item : collection) {
+          if (item instanceof Map<?, ?> map) {
+            collectIds(target, (Map<String, Object>) map, ids);
+          } else if (item instanceof Number) {
+            addId(target, item, ids);
+          }
+        }
+      } else if (p.isReference() && value instanceof Map<?, ?> map) {
+        collectIds(target, (Map<String, Object>) map, ids);
+      }
+    }
+  }
+
+  private static void addId(
+      Class<? extends Model> klass, Object value, Map<Class<? extends Model>, Set<Long>> ids) {
+    if (value == null) {
+      return;
+    }
+    try {
+      final long id = Long.parseLong(value.toString());
+      if (id > 0) {
+        ids.computeIfAbsent(klass, k -> new HashSet<>()).add(id);
+      }
+    } catch (NumberFormatException e) {
+      // invalid ids are reported when binding the values
+    }
+  }
+
   @SuppressWarnings("all")
   private static <T extends Model> T _edit(
       Class<T> klass,
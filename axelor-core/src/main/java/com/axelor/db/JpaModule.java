@@ -16,6 +16,10 @@ import com.axelor.db.tenants.TenantConnectionProvider;
 import com.axelor.db.tenants.TenantModule;
 import com.axelor.db.tenants.TenantResolver;
 import com.axelor.inject.Beans;
+import com.axelor.metrics.MetricsRegistry;
+import com.axelor.profiler.Profiler;
+import com.axelor.profiler.ProfilerSessionListener;
+import com.axelor.profiler.ProfilerStatementInspector;
 import com.google.inject.AbstractModule;
 import com.google.inject.persist.PersistService;
 import com.google.inject.persist.jpa.JpaPersistModule;
@@ -120,6 +124,17 @@ public class JpaModule extends AbstractModule {
       properties.put(AvailableAppSettings.HIBERNATE_HIKARI_IDLE_TIMEOUT, "300000");
     }
 
+    if (Profiler.isEnabled()) {
+      properties.put(Environment.STATEMENT_INSPECTOR, ProfilerStatementInspector.class.getName());
+      properties.put(
+          Environment.AUTO_SESSION_EVENTS_LISTENER, ProfilerSessionListener.class.getName());
+    }
+
+    if (MetricsRegistry.isEnabled()) {
+      properties.put(Environment.GENERATE_STATISTICS, "true");
+      properties.put(Environment.LOG_SESSION_METRICS, "false");
+    }
+
     // update properties with all hibernate.* settings from app configuration
     settings
         .getPropertiesKeysStartingWith("hibernate.")
@@ -6,6 +6,8 @@ package com.axelor.db;
 
 import com.axelor.i18n.I18n;
 import com.axelor.rpc.filter.Filter;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 
 public interface JpaSecurity {
@@ -46,5 +48,28 @@ public interface JpaSecurity {
 
   boolean isPermitted(AccessType type, Class<? extends Model> model, Long... ids);
 
+  /**
+   * Find the ids of the given records the current user is permitted to access.
+   *
+   * <p>This is the same as calling {@link #isPermitted(AccessType, Class, Long...)} for each id,
+   * which the default implementation does. Implementations should check all the ids with a
+   * single query.
+   *
+   * @param type the access type
+   * @param model the model class
+   * @param ids the ids of the records to check
+   * @return the permitted ids
+   */
+  default Set<Long> findPermitted(
+      AccessType type, Class<? extends Model> model, Collection<Long> ids) {
+    final Set<Long> permitted = new HashSet<>();
+    for (Long id : ids) {
+      if (isPermitted(type, model, id)) {
+        permitted.add(id);
+      }
+    }
+    return permitted;
+  }
+
   void check(AccessType type, Class<? extends Model> model, Long... ids);
 }
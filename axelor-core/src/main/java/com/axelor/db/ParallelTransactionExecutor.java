@@ -5,6 +5,7 @@
 package com.axelor.db;
 
 import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
 import com.axelor.db.internal.DBHelper;
 import com.axelor.db.tenants.TenantResolver;
 import java.lang.invoke.MethodHandles;
@@ -20,7 +21,6 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -69,14 +69,20 @@ public class ParallelTransactionExecutor {
   /**
    * Instantiates a parallel transaction executor with the specified number of workers.
    *
+   * <p>Workers run on virtual threads, so creating an executor per batch of commands is cheap. The
+   * number of workers is capped with the concurrency of the shared executor. Workers wait for each
+   * other between priorities, so they get their own context-aware executor instead of competing
+   * for the permits of the shared one.
+   *
    * @param tenantId
    * @param numWorkers
    */
   public ParallelTransactionExecutor(String tenantId, int numWorkers) {
     this.tenantId = tenantId;
-    this.numWorkers = numWorkers;
-    workerPool = Executors.newFixedThreadPool(numWorkers);
-    workerFutures = new ArrayList<>(numWorkers);
+    final int maxConcurrency = ContextAwareExecutors.getMaxConcurrency();
+    this.numWorkers = maxConcurrency > 0 ? Math.min(numWorkers, maxConcurrency) : numWorkers;
+    workerPool = ContextAwareExecutors.newExecutor("transaction-worker", this.numWorkers, false);
+    workerFutures = new ArrayList<>(this.numWorkers);
     commandsByPriority = new ConcurrentHashMap<>();
     commands = new ArrayList<>();
   }
@@ -18,6 +18,8 @@ import com.axelor.rpc.Resource;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.TypedQuery;
@@ -40,6 +42,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 
 /**
  * The {@code Query} class allows filtering and fetching records quickly.
@@ -69,6 +72,8 @@ public class Query<T extends Model> {
 
   private boolean translate;
 
+  private String fetchPlan;
+
   private FlushModeType flushMode = FlushModeType.AUTO;
 
   private static final String NAME_PATTERN = "((?:[a-zA-Z_]\\w+)(?:(?:\\[\\])?\\.\\w+)*)";
@@ -76,6 +81,8 @@ public class Query<T extends Model> {
   private static final Pattern PLACEHOLDER_PLAIN = Pattern.compile("(?<!\\?)\\?(?!(\\d+|\\?))");
   private static final Pattern PLACEHOLDER_INDEXED = Pattern.compile("\\?\\d+");
 
+  private static final int FETCH_BATCH_SIZE = 1000;
+
   /**
    * Create a new instance of {@code Query} with given bean class.
    *
@@ -286,6 +293,36 @@ public class Query<T extends Model> {
     return this;
   }
 
+  /**
+   * Load the records with the given fetch plan.
+   *
+   * <p>The fetch plan is a named entity graph, either defined with <code>fetch-plan</code> in the
+   * domain model, where it is named after the entity (for example, <code>grid</code> is the <code>
+   * Contact.grid</code> entity graph of <code>Contact</code>), or with the full entity graph name.
+   * The fields of the fetch plan are loaded with the records instead of one by one when accessed.
+   *
+   * <p>Prefer fetch plans with references only when fetching with a limit, as collections can't be
+   * paginated by the database.
+   *
+   * @param name the fetch plan name
+   * @return the same query instance
+   */
+  public Query<T> fetchPlan(String name) {
+    this.fetchPlan = name;
+    return this;
+  }
+
+  private EntityGraph<?> findFetchPlan() {
+    if (StringUtils.isBlank(fetchPlan)) {
+      return null;
+    }
+    try {
+      return em().getEntityGraph(beanClass.getSimpleName() + "." + fetchPlan);
+    } catch (IllegalArgumentException e) {
+      return em().getEntityGraph(fetchPlan);
+    }
+  }
+
   /**
    * Fetch all the matched records as {@link Stream}.
    *
@@ -385,6 +422,11 @@ public class Query<T extends Model> {
     if (readOnly) {
       binder.setReadOnly();
     }
+
+    final EntityGraph<?> graph = findFetchPlan();
+    if (graph != null) {
+      query.setHint(AvailableHints.HINT_SPEC_LOAD_GRAPH, graph);
+    }
     return query;
   }
 
@@ -429,6 +471,15 @@ public class Query<T extends Model> {
     return new Selector(names);
   }
 
+  /**
+   * Create a {@link BulkUpdate} to update or delete the matched records by batches.
+   *
+   * @return a new instance of {@link BulkUpdate}
+   */
+  public BulkUpdate<T> bulk() {
+    return new BulkUpdate<>(this);
+  }
+
   /**
    * Perform mass update on the matched records with the given values.
    *
@@ -492,7 +543,12 @@ public class Query<T extends Model> {
     namedParams.putAll(params);
 
     boolean versioned = updatedBy != null;
-    boolean notMySQL = !DBHelper.isMySQL();
+
+    // MySQL doesn't allow sub select on same table with UPDATE, and the changed values check
+    // of versioned updates can't use indexes, so update by batches of ids instead.
+    if (versioned || DBHelper.isMySQL()) {
+      return bulk().update(values, updatedBy);
+    }
 
     String whereClause = String.join(" OR ", where);
     String selectQuery = updateQuery().replaceFirst("SELECT self", "SELECT self.id");
@@ -505,39 +561,11 @@ public class Query<T extends Model> {
 
     selectQuery = selectQuery.replaceAll("\\bself", "that");
 
-    if (notMySQL) {
-      return QueryBinder.of(
-              em().createQuery(updateQuery(params, versioned, "self.id IN (" + selectQuery + ")")))
-          .bind(namedParams, this.params)
-          .getQuery()
-          .executeUpdate();
-    }
-
-    // MySQL doesn't allow sub select on same table with UPDATE also, JPQL doesn't
-    // support JOIN with UPDATE query so we have to update in batch.
-
-    String updateQuery = updateQuery(params, versioned, "self.id IN (:ids)");
-
-    int count = 0;
-    int limit = 1000;
-
-    TypedQuery<Long> sq = em().createQuery(selectQuery, Long.class);
-    jakarta.persistence.Query uq = em().createQuery(updateQuery);
-
-    QueryBinder.of(sq).bind(namedParams, this.params);
-    QueryBinder.of(uq).bind(namedParams, this.params);
-
-    sq.setFirstResult(0);
-    sq.setMaxResults(limit);
-
-    List<Long> ids = sq.getResultList();
-    while (!ids.isEmpty()) {
-      uq.setParameter("ids", ids);
-      count += uq.executeUpdate();
-      ids = sq.getResultList();
-    }
-
-    return count;
+    return QueryBinder.of(
+            em().createQuery(updateQuery(params, versioned, "self.id IN (" + selectQuery + ")")))
+        .bind(namedParams, this.params)
+        .getQuery()
+        .executeUpdate();
   }
 
   /**
@@ -574,28 +602,8 @@ public class Query<T extends Model> {
     }
 
     // MySQL doesn't allow sub select on same table with DELETE also, JPQL doesn't
-    // support JOIN with DELETE query so we have to update in batch.
-
-    TypedQuery<Long> sq = em().createQuery(selectQuery, Long.class);
-    jakarta.persistence.Query dq = em().createQuery(deleteQuery("self.id IN (:ids)"));
-
-    this.bind(sq);
-    this.bind(dq);
-
-    int count = 0;
-    int limit = 1000;
-
-    sq.setFirstResult(0);
-    sq.setMaxResults(limit);
-
-    List<Long> ids = sq.getResultList();
-    while (!ids.isEmpty()) {
-      dq.setParameter("ids", ids);
-      count += dq.executeUpdate();
-      ids = sq.getResultList();
-    }
-
-    return count;
+    // support JOIN with DELETE query so we have to delete in batch.
+    return bulk().delete();
   }
 
   /**
@@ -619,6 +627,10 @@ public class Query<T extends Model> {
     }
   }
 
+  Class<T> getBeanClass() {
+    return beanClass;
+  }
+
   protected String selectQuery(boolean update) {
     StringBuilder sb =
         new StringBuilder("SELECT self FROM ")
@@ -641,6 +653,25 @@ public class Query<T extends Model> {
     return selectQuery(true);
   }
 
+  /**
+   * Build the query selecting the distinct ids of the matched records, in id order.
+   *
+   * @param condition an extra condition, combined with the filter
+   * @return the ids query
+   */
+  String idsQuery(String condition) {
+    final StringBuilder sb =
+        new StringBuilder("SELECT DISTINCT self.id FROM ")
+            .append(beanClass.getSimpleName())
+            .append(" self")
+            .append(joinHelper.toString(false))
+            .append(" WHERE ");
+    if (filter != null && !filter.trim().isEmpty()) {
+      sb.append("(").append(filter).append(") AND ");
+    }
+    return sb.append(condition).append(" ORDER BY self.id").toString();
+  }
+
   protected String countQuery() {
     StringBuilder sb =
         new StringBuilder("SELECT COUNT(self.id) FROM ")
@@ -850,6 +881,11 @@ public class Query<T extends Model> {
       List<List> data = values(limit, offset);
       List<Map> result = new ArrayList<>();
 
+      final Map<Object, Map<String, List>> collectionValues =
+          collections.isEmpty()
+              ? Map.of()
+              : fetchCollections(data.stream().map(items -> items.getFirst()).toList());
+
       for (List items : data) {
         Map<String, Object> map = new HashMap<>();
         for (int i = 0; i < names.size(); i++) {
@@ -866,7 +902,7 @@ public class Query<T extends Model> {
           map.put(name, value);
         }
         if (collections.size() > 0) {
-          map.putAll(this.fetchCollections(items.getFirst()));
+          map.putAll(collectionValues.getOrDefault(items.getFirst(), Map.of()));
         }
         result.add(map);
       }
@@ -889,20 +925,64 @@ public class Query<T extends Model> {
       return value;
     }
 
+    /**
+     * Loads the selected collections of the given records.
+     *
+     * <p>The records are loaded together, with the fetch plan if any, then each collection not in
+     * the fetch plan is fetched for all the records with one query, instead of loading the records
+     * and their collections one by one.
+     */
     @SuppressWarnings("all")
-    private Map<String, List> fetchCollections(Object id) {
-      Map<String, List> result = new HashMap<>();
-      Object self = JPA.em().find(beanClass, id);
-      for (String name : collections) {
-        Collection<Model> items = (Collection<Model>) mapper.get(self, name);
-        if (items != null) {
-          List<Object> all = new ArrayList<>();
-          for (Model obj : items) {
-            all.add(Resource.toMapCompact(obj));
+    private Map<Object, Map<String, List>> fetchCollections(List<Object> ids) {
+      final Map<Object, Map<String, List>> result = new HashMap<>();
+      final EntityManager em = em();
+      final String select = "SELECT self FROM " + beanClass.getSimpleName() + " self";
+      final EntityGraph<?> plan = findFetchPlan();
+      final Set<String> planned =
+          plan == null
+              ? Set.of()
+              : plan.getAttributeNodes().stream()
+                  .map(AttributeNode::getAttributeName)
+                  .collect(Collectors.toSet());
+
+      for (List<Object> batch : Lists.partition(ids, FETCH_BATCH_SIZE)) {
+        final TypedQuery<T> query =
+            em.createQuery(select + " WHERE self.id IN :ids", beanClass)
+                .setParameter("ids", batch);
+        if (plan != null) {
+          query.setHint(AvailableHints.HINT_SPEC_LOAD_GRAPH, plan);
+        }
+        final List<T> records = query.getResultList();
+
+        // fetch the other direct collections, with one query for all the records each
+        for (String name : collections) {
+          if (name.indexOf('.') > -1 || planned.contains(name)) {
+            continue;
+          }
+          final EntityGraph<T> graph = em.createEntityGraph(beanClass);
+          graph.addAttributeNodes(name);
+          em.createQuery(select + " WHERE self.id IN :ids", beanClass)
+              .setParameter("ids", batch)
+              .setHint(AvailableHints.HINT_SPEC_LOAD_GRAPH, graph)
+              .getResultList();
+        }
+
+        for (T self : records) {
+          final Map<String, List> values = new HashMap<>();
+          for (String name : collections) {
+            Collection<Model> items = (Collection<Model>) mapper.get(self, name);
+            if (items != null) {
+              List<Object> all = new ArrayList<>();
+              for (Model obj : items) {
+                all.add(Resource.toMapCompact(obj));
+              }
+              values.put(name, all);
+            }
           }
-          result.put(name, all);
+          result.put(self.getId(), values);
         }
       }
+
       return result;
     }
 
@@ -5,6 +5,7 @@
 package com.axelor.db;
 
 import com.axelor.db.mapper.Property;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -115,4 +116,25 @@ public interface Repository<T extends Model> {
    * @return the json map itself
    */
   Map<String, Object> populate(Map<String, Object> json, Map<String, Object> context);
+
+  /**
+   * Populate the given page of json maps with additional data.
+   *
+   * <p>This method is called with all the records of a search result before returning them as
+   * response. The default implementation calls {@link #populate(Map, Map)} for each json map.
+   * Repositories can override it to compute the additional data of all the records with a few
+   * queries.
+   *
+   * @param items the json maps to populate
+   * @param context the context
+   * @return the populated json maps, in the same order
+   */
+  default List<Map<String, Object>> populateAll(
+      List<Map<String, Object>> items, Map<String, Object> context) {
+    final List<Map<String, Object>> result = new ArrayList<>(items.size());
+    for (Map<String, Object> json : items) {
+      result.add(populate(json, context));
+    }
+    return result;
+  }
 }
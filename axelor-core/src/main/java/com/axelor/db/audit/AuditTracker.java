@@ -522,10 +522,22 @@ public class AuditTracker implements BeforeTransactionCompletionProcess {
   }
 
   private void processDelete() {
-    final MetaFiles files = Beans.get(MetaFiles.class);
+    if (deleted.isEmpty()) {
+      return;
+    }
+
+    // group deleted records by model to clean up their attachments with set-based queries
+    final Map<Class<? extends Model>, List<Long>> deletedIds = new HashMap<>();
     for (Model entity : deleted) {
-      files.deleteAttachments(entity);
+      if (entity.getId() != null) {
+        deletedIds
+            .computeIfAbsent(EntityHelper.getEntityClass(entity), key -> new ArrayList<>())
+            .add(entity.getId());
+      }
     }
+
+    final MetaFiles files = Beans.get(MetaFiles.class);
+    deletedIds.forEach(files::deleteAttachments);
   }
 
   private void fireBeforeCompleteEvent() {
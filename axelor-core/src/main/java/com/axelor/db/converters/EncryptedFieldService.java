@@ -4,21 +4,40 @@
  */
 package com.axelor.db.converters;
 
+import com.axelor.common.crypto.Encryptor;
+import com.axelor.common.crypto.EncryptorException;
 import com.axelor.db.JPA;
-import com.axelor.db.Model;
-import com.axelor.db.Query;
-import com.axelor.db.QueryBinder;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
 import com.axelor.db.mapper.PropertyType;
-import com.google.inject.persist.Transactional;
-import jakarta.persistence.FlushModeType;
-import jakarta.persistence.TypedQuery;
+import com.axelor.file.temp.TempFiles;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,19 +61,141 @@ import org.slf4j.LoggerFactory;
  *   <li><code>encryption.algorithm</code> the new algorithm, empty if want to use default
  *   <li><code>encryption.password</code> the new password (required)
  * </ul>
+ *
+ * <p>The encrypted columns are read by id order in batches using plain JDBC, the values of each
+ * batch are decrypted and encrypted again in parallel and written back with a JDBC batch update,
+ * each batch in its own transaction. The last migrated id of each column is saved in a checkpoint
+ * file, so that an interrupted migration continues where it stopped. The checkpoint file is removed
+ * once the migration completes. It also records a marker encrypted with the encryption settings, a
+ * checkpoint saved with other settings is ignored.
  */
 public class EncryptedFieldService {
 
   private static final Logger LOG = LoggerFactory.getLogger(EncryptedFieldService.class);
 
-  @Transactional
+  private static final String CHECKPOINT_FILE = "encryption-checkpoint.properties";
+  private static final String CHECKPOINT_DONE = "done";
+  private static final String CHECKPOINT_SETTINGS = "settings";
+
+  private static final String SETTINGS_MARKER = "encrypted-fields";
+  private static final String NO_ENCRYPTOR = "-";
+
+  private static final int BATCH_SIZE = 1000;
+  private static final int LARGE_BATCH_SIZE = 40;
+
+  private record Column(String name, boolean binary) {}
+
+  private record Row(long id, Object[] values) {}
+
+  private final EncryptedStringConverter strings = new EncryptedStringConverter();
+  private final EncryptedBytesConverter bytes = new EncryptedBytesConverter();
+
+  /**
+   * Gets the file where the migration progress is saved.
+   *
+   * @return the checkpoint file
+   */
+  public Path getCheckpointFile() {
+    return TempFiles.getRootTempPath().resolve(CHECKPOINT_FILE);
+  }
+
+  /** Removes the saved progress, so that the next migration starts from the beginning. */
+  public void clearCheckpoint() {
+    try {
+      Files.deleteIfExists(getCheckpointFile());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   public void migrate() {
-    JPA.models().stream().forEach(this::migrate);
+    final Properties checkpoint = loadCheckpoint();
+    final Set<String> visited = new HashSet<>();
+    JPA.models().forEach(model -> migrate(model, checkpoint, visited, null));
+    clearCheckpoint();
   }
 
-  @SuppressWarnings("all")
-  @Transactional
   public void migrate(Class<?> model, String... fields) {
+    final Properties checkpoint = loadCheckpoint();
+    migrate(model, checkpoint, new HashSet<>(), fields).forEach(checkpoint::remove);
+    if (checkpoint.stringPropertyNames().equals(Set.of(CHECKPOINT_SETTINGS))) {
+      clearCheckpoint();
+    } else {
+      saveCheckpoint(checkpoint);
+    }
+  }
+
+  /**
+   * Gets the encryptor of the string fields.
+   *
+   * @param old whether to get the encryptor of the old settings
+   * @return the encryptor, null if not configured
+   */
+  Encryptor<String, String> getStringEncryptor(boolean old) {
+    return old ? strings.oldEncryptor() : strings.encryptor();
+  }
+
+  /**
+   * Gets the encryptor of the binary fields.
+   *
+   * @param old whether to get the encryptor of the old settings
+   * @return the encryptor, null if not configured
+   */
+  Encryptor<byte[], byte[]> getBytesEncryptor(boolean old) {
+    return old ? bytes.oldEncryptor() : bytes.encryptor();
+  }
+
+  /**
+   * Gets the number of records migrated in each transaction.
+   *
+   * @param large whether the migrated fields hold large values
+   * @return the batch size
+   */
+  int getBatchSize(boolean large) {
+    return large ? LARGE_BATCH_SIZE : BATCH_SIZE;
+  }
+
+  /**
+   * Gets the marker of the encryption settings saved with the checkpoint.
+   *
+   * <p>The marker is a known value encrypted with the old and the new settings, so that nothing is
+   * derived from the passwords but the encrypted values, like the ones of the migrated fields.
+   *
+   * @return the settings marker
+   */
+  String getSettingsMarker() {
+    return Stream.of(getStringEncryptor(true), getStringEncryptor(false))
+        .map(encryptor -> encryptor == null ? NO_ENCRYPTOR : encryptor.encrypt(SETTINGS_MARKER))
+        .collect(Collectors.joining(","));
+  }
+
+  /**
+   * Checks whether the given marker has been saved with the current encryption settings.
+   *
+   * @param marker the saved marker
+   * @return true if the settings are the same
+   */
+  boolean isSettingsMarker(String marker) {
+    final String[] parts = marker == null ? new String[0] : marker.split(",", -1);
+    return parts.length == 2
+        && isSettingsMarker(parts[0], getStringEncryptor(true))
+        && isSettingsMarker(parts[1], getStringEncryptor(false));
+  }
+
+  private static boolean isSettingsMarker(String value, Encryptor<String, String> encryptor) {
+    if (encryptor == null) {
+      return NO_ENCRYPTOR.equals(value);
+    }
+    try {
+      return encryptor.isEncrypted(value) && SETTINGS_MARKER.equals(encryptor.decrypt(value));
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  /** Migrates the given model, returns the checkpoint keys of the migrated columns. */
+  private List<String> migrate(
+      Class<?> model, Properties checkpoint, Set<String> visited, String[] fields) {
     final Mapper mapper = Mapper.of(model);
     final List<Property> encrypted = new ArrayList<>();
 
@@ -68,49 +209,237 @@ public class EncryptedFieldService {
     }
 
     if (encrypted.isEmpty()) {
-      return;
+      return List.of();
+    }
+
+    final AbstractEntityPersister persister = findPersister(model);
+    if (persister == null) {
+      return List.of();
+    }
+
+    final String idColumn = persister.getIdentifierColumnNames()[0];
+    final Map<String, List<Column>> tables = new LinkedHashMap<>();
+
+    // subclasses share the columns of their parent in single table inheritance
+    for (Property property : encrypted) {
+      final String table = persister.getPropertyTableName(property.getName());
+      final String column = persister.getPropertyColumnNames(property.getName())[0];
+      if (visited.add(table + "." + column)) {
+        tables
+            .computeIfAbsent(table, key -> new ArrayList<>())
+            .add(new Column(column, property.getType() == PropertyType.BINARY));
+      }
     }
 
-    boolean hasLarge =
+    final boolean hasLarge =
         encrypted.stream()
             .map(Property::getType)
             .anyMatch(t -> t == PropertyType.BINARY || t == PropertyType.TEXT);
 
-    List<String> names = encrypted.stream().map(Property::getName).collect(Collectors.toList());
+    LOG.info("Updating: {}", model.getName());
 
-    StringBuilder sb =
-        new StringBuilder("SELECT ")
-            .append("new Map(self.id as id,")
-            .append(
-                names.stream().map(n -> "self." + n + " as " + n).collect(Collectors.joining(", ")))
-            .append(") FROM ")
-            .append(model.getSimpleName())
-            .append(" self");
+    final int limit = getBatchSize(hasLarge);
+    final List<String> keys = new ArrayList<>();
+    tables.forEach(
+        (table, columns) -> keys.add(migrate(table, idColumn, columns, limit, checkpoint)));
+    return keys;
+  }
 
-    TypedQuery<Map> selectQuery = JPA.em().createQuery(sb.toString(), Map.class);
-    TypedQuery<Long> countQuery =
-        JPA.em().createQuery("SELECT COUNT(m.id) FROM " + model.getName() + " m", Long.class);
+  private String migrate(
+      String table, String idColumn, List<Column> columns, int limit, Properties checkpoint) {
+    final String key =
+        table + "." + columns.stream().map(Column::name).collect(Collectors.joining(","));
+    final String last = checkpoint.getProperty(key);
 
-    QueryBinder.of(selectQuery).setFlushMode(FlushModeType.COMMIT);
-    QueryBinder.of(countQuery).setFlushMode(FlushModeType.COMMIT);
+    if (CHECKPOINT_DONE.equals(last)) {
+      LOG.info("Already migrated: {}", key);
+      return key;
+    }
 
-    Query<?> updater =
-        Query.of(model.asSubclass(Model.class)).filter("self.id = :id").autoFlush(false);
+    final long[] lastId = {last == null ? Long.MIN_VALUE : Long.parseLong(last)};
+    if (last != null) {
+      LOG.info("Resuming {} after id {}", key, last);
+    }
 
-    long count = (Long) countQuery.getSingleResult();
-    long offset = 0;
-    int limit = hasLarge ? 40 : 1000;
+    final String names = columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    final String select =
+        "SELECT %s, %s FROM %s WHERE %s > ? ORDER BY %s"
+            .formatted(idColumn, names, table, idColumn, idColumn);
+    final String update =
+        "UPDATE %s SET %s WHERE %s = ?"
+            .formatted(
+                table,
+                columns.stream().map(c -> c.name() + " = ?").collect(Collectors.joining(", ")),
+                idColumn);
 
-    LOG.info("Updating: {}", model.getName());
-    LOG.info("Records: {}", count);
+    final long[] count = {0};
+    final boolean[] done = {false};
+
+    while (!done[0]) {
+      JPA.runInTransaction(
+          () ->
+              JPA.jdbcWork(
+                  connection -> {
+                    final List<Row> rows = select(connection, select, columns, lastId[0], limit);
+                    if (rows.isEmpty()) {
+                      done[0] = true;
+                      return;
+                    }
+                    final List<Row> changed =
+                        rows.parallelStream().map(row -> reencrypt(row, columns)).toList();
+                    update(connection, update, columns, changed);
+                    lastId[0] = rows.getLast().id();
+                    count[0] += rows.size();
+                  }));
+
+      checkpoint.setProperty(key, done[0] ? CHECKPOINT_DONE : String.valueOf(lastId[0]));
+      saveCheckpoint(checkpoint);
+
+      if (!done[0]) {
+        LOG.info("Records of {}: {}", key, count[0]);
+      }
+    }
+
+    return key;
+  }
+
+  private List<Row> select(
+      Connection connection, String sql, List<Column> columns, long lastId, int limit)
+      throws SQLException {
+    final List<Row> rows = new ArrayList<>();
+    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+      stmt.setLong(1, lastId);
+      stmt.setMaxRows(limit);
+      stmt.setFetchSize(limit);
+      try (ResultSet rs = stmt.executeQuery()) {
+        while (rs.next()) {
+          final Object[] values = new Object[columns.size()];
+          for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).binary() ? rs.getBytes(i + 2) : rs.getString(i + 2);
+          }
+          rows.add(new Row(rs.getLong(1), values));
+        }
+      }
+    }
+    return rows;
+  }
+
+  private void update(Connection connection, String sql, List<Column> columns, List<Row> rows)
+      throws SQLException {
+    if (rows.stream().allMatch(Objects::isNull)) {
+      return;
+    }
+    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+      for (Row row : rows) {
+        if (row == null) {
+          continue;
+        }
+        final Object[] values = row.values();
+        for (int i = 0; i < values.length; i++) {
+          final boolean binary = columns.get(i).binary();
+          if (values[i] == null) {
+            stmt.setNull(i + 1, binary ? Types.VARBINARY : Types.VARCHAR);
+          } else if (binary) {
+            stmt.setBytes(i + 1, (byte[]) values[i]);
+          } else {
+            stmt.setString(i + 1, (String) values[i]);
+          }
+        }
+        stmt.setLong(values.length + 1, row.id());
+        stmt.addBatch();
+      }
+      stmt.executeBatch();
+    }
+  }
+
+  /** Gets the row with the values encrypted with the new settings, or null if none changed. */
+  private Row reencrypt(Row row, List<Column> columns) {
+    final Object[] values = new Object[columns.size()];
+    boolean changed = false;
+    for (int i = 0; i < values.length; i++) {
+      final Object value = row.values()[i];
+      values[i] =
+          columns.get(i).binary()
+              ? reencrypt((byte[]) value, getBytesEncryptor(true), getBytesEncryptor(false))
+              : reencrypt((String) value, getStringEncryptor(true), getStringEncryptor(false));
+      changed = changed || !Objects.deepEquals(value, values[i]);
+    }
+    return changed ? new Row(row.id(), values) : null;
+  }
+
+  /**
+   * Decrypts the given value with the old encryptor and encrypts it with the new one.
+   *
+   * <p>Values already encrypted with the new encryptor, like the ones of a batch migrated just
+   * before an interruption, are returned as is.
+   */
+  static <T> T reencrypt(T value, Encryptor<T, T> oldEncryptor, Encryptor<T, T> newEncryptor) {
+    if (value == null) {
+      return null;
+    }
+
+    if (oldEncryptor == null && newEncryptor != null && newEncryptor.isEncrypted(value)) {
+      return value;
+    }
+
+    T plain = value;
 
-    selectQuery.setMaxResults(limit);
-    while (offset < count) {
-      selectQuery.setFirstResult((int) offset);
-      List<Map> values = selectQuery.getResultList();
-      LOG.info("Records from: {} to {}", offset, Math.min(count, (offset + limit)));
-      offset += limit;
-      values.forEach(map -> updater.bind("id", map.remove("id")).update(map));
+    if (oldEncryptor != null && oldEncryptor.isEncrypted(value)) {
+      try {
+        plain = oldEncryptor.decrypt(value);
+      } catch (EncryptorException e) {
+        if (newEncryptor == null) {
+          throw e;
+        }
+        newEncryptor.decrypt(value);
+        return value;
+      }
     }
+
+    return newEncryptor == null ? plain : newEncryptor.encrypt(plain);
+  }
+
+  private Properties loadCheckpoint() {
+    final Properties checkpoint = new Properties();
+    final Path file = getCheckpointFile();
+    if (Files.exists(file)) {
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        checkpoint.load(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (isSettingsMarker(checkpoint.getProperty(CHECKPOINT_SETTINGS))) {
+        LOG.info("Using checkpoint: {}", file);
+      } else {
+        LOG.warn("Ignoring checkpoint saved with other encryption settings: {}", file);
+        checkpoint.clear();
+      }
+    }
+    checkpoint.setProperty(CHECKPOINT_SETTINGS, getSettingsMarker());
+    return checkpoint;
+  }
+
+  private void saveCheckpoint(Properties checkpoint) {
+    final Path file = getCheckpointFile();
+    try {
+      Files.createDirectories(file.getParent());
+      final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        checkpoint.store(writer, "Encrypted field migration progress");
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private AbstractEntityPersister findPersister(Class<?> model) {
+    final EntityPersister persister =
+        JPA.em()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .findEntityDescriptor(model.getName());
+    return persister instanceof AbstractEntityPersister entityPersister ? entityPersister : null;
   }
 }
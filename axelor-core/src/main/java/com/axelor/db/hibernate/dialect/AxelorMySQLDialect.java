@@ -8,12 +8,17 @@ import static org.hibernate.type.SqlTypes.OTHER;
 
 import com.axelor.db.hibernate.dialect.function.MySQLJsonExtractFunction;
 import com.axelor.db.hibernate.dialect.function.MySQLJsonSetFunction;
+import java.util.List;
 import org.hibernate.boot.model.FunctionContributions;
 import org.hibernate.dialect.MySQLDialect;
 import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorMySQLDialect extends MySQLDialect {
+public class AxelorMySQLDialect extends MySQLDialect implements JsonIndexSupport {
+
+  public AxelorMySQLDialect() {
+    super();
+  }
 
   public AxelorMySQLDialect(DialectResolutionInfo info) {
     super(info);
@@ -54,4 +59,47 @@ public class AxelorMySQLDialect extends MySQLDialect {
             "json_extract_decimal",
             new MySQLJsonExtractFunction(StandardBasicTypes.BIG_DECIMAL, "decimal(64,4)"));
   }
+
+  /**
+   * Indexes the json attribute with a virtual generated column named after the index, the
+   * optimizer uses it for the queries using the same expression.
+   *
+   * <p>Text values are limited to 768 characters, the maximum length of an index key.
+   *
+   * <p>The column and its index are added in place without locking the table, the statement fails
+   * if the server can't do so.
+   */
+  @Override
+  public List<String> getCreateJsonIndexCommands(
+      String name, String table, String column, String attribute, String type) {
+    final String path = "'$." + attribute + "'";
+    final String cast =
+        switch (type) {
+          case "integer" -> "signed";
+          case "decimal" -> "decimal(64,4)";
+          default -> null;
+        };
+    final String columnType =
+        switch (type) {
+          case "integer" -> "bigint";
+          case "decimal" -> "decimal(64,4)";
+          default -> "varchar(768)";
+        };
+    // same expression as MySQLJsonExtractFunction
+    String expression = "json_unquote(json_extract(%s, %s))".formatted(column, path);
+    if (cast != null) {
+      expression = "CAST(NULLIF(%s, '') AS %s)".formatted(expression, cast);
+    }
+    return List.of(
+        """
+        ALTER TABLE %s ADD COLUMN %s %s GENERATED ALWAYS AS (%s) VIRTUAL, \
+        ADD INDEX %s (%s), ALGORITHM=INPLACE, LOCK=NONE"""
+            .formatted(table, name, columnType, expression, name, name));
+  }
+
+  @Override
+  public List<String> getDropJsonIndexCommands(String name, String table) {
+    return List.of(
+        "ALTER TABLE %s DROP COLUMN %s, ALGORITHM=INPLACE, LOCK=NONE".formatted(table, name));
+  }
 }
@@ -7,12 +7,17 @@ package com.axelor.db.hibernate.dialect;
 import static org.hibernate.type.SqlTypes.LONGVARCHAR;
 
 import com.axelor.db.hibernate.dialect.function.OracleJsonExtractFunction;
+import java.util.List;
 import org.hibernate.boot.model.FunctionContributions;
 import org.hibernate.dialect.OracleDialect;
 import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorOracleDialect extends OracleDialect {
+public class AxelorOracleDialect extends OracleDialect implements JsonIndexSupport {
+
+  public AxelorOracleDialect() {
+    super();
+  }
 
   public AxelorOracleDialect(DialectResolutionInfo info) {
     super(info);
@@ -53,4 +58,29 @@ public class AxelorOracleDialect extends OracleDialect {
             "json_extract_decimal",
             new OracleJsonExtractFunction(StandardBasicTypes.BIG_DECIMAL, "number"));
   }
+
+  @Override
+  public List<String> getCreateJsonIndexCommands(
+      String name, String table, String column, String attribute, String type) {
+    // same expression as OracleJsonExtractFunction
+    String expression = "json_value(%s, '$.%s')".formatted(column, attribute);
+    if (!"text".equals(type)) {
+      expression = "CAST(NULLIF(%s, '') AS number)".formatted(expression);
+    }
+    // ORA-00955: name is already used by an existing object
+    return List.of(ignoring("CREATE INDEX %s ON %s (%s)".formatted(name, table, expression), -955));
+  }
+
+  @Override
+  public List<String> getDropJsonIndexCommands(String name, String table) {
+    // ORA-01418: specified index does not exist
+    return List.of(ignoring("DROP INDEX " + name, -1418));
+  }
+
+  private static String ignoring(String sql, int code) {
+    return """
+        BEGIN EXECUTE IMMEDIATE q'[%s]'; \
+        EXCEPTION WHEN OTHERS THEN IF SQLCODE != %d THEN RAISE; END IF; END;"""
+        .formatted(sql, code);
+  }
 }
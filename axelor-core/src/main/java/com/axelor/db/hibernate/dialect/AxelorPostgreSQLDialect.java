@@ -9,12 +9,24 @@ import static org.hibernate.type.SqlTypes.OTHER;
 import com.axelor.db.hibernate.dialect.function.PostgreSQLJsonExtractFunction;
 import com.axelor.db.hibernate.dialect.function.PostgreSQLJsonSetFunction;
 import com.axelor.db.internal.DBHelper;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import org.hibernate.boot.model.FunctionContributions;
 import org.hibernate.dialect.PostgreSQLDialect;
 import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
 import org.hibernate.type.StandardBasicTypes;
 
-public class AxelorPostgreSQLDialect extends PostgreSQLDialect {
+public class AxelorPostgreSQLDialect extends PostgreSQLDialect implements JsonIndexSupport {
+
+  public AxelorPostgreSQLDialect() {
+    super();
+  }
 
   public AxelorPostgreSQLDialect(DialectResolutionInfo info) {
     super(info);
@@ -71,4 +83,55 @@ public class AxelorPostgreSQLDialect extends PostgreSQLDialect {
                   .resolve(StandardBasicTypes.STRING));
     }
   }
+
+  /**
+   * Indexes the json attribute with an expression index, built concurrently so that writes to the
+   * table aren't blocked. The statement can't run inside a transaction.
+   */
+  @Override
+  public List<String> getCreateJsonIndexCommands(
+      String name, String table, String column, String attribute, String type) {
+    final String path = "'" + String.join("', '", attribute.split("\\.")) + "'";
+    final String cast =
+        switch (type) {
+          case "boolean" -> "boolean";
+          case "integer" -> "integer";
+          case "decimal" -> "numeric";
+          default -> null;
+        };
+    // same expression as PostgreSQLJsonExtractFunction
+    String expression = "jsonb_extract_path_text(%s, %s)".formatted(column, path);
+    if (cast != null) {
+      expression = "CAST(NULLIF(%s, '') AS %s)".formatted(expression, cast);
+    }
+    return List.of(
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON %s ((%s))"
+            .formatted(name, table, expression));
+  }
+
+  @Override
+  public List<String> getDropJsonIndexCommands(String name, String table) {
+    return List.of("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+  }
+
+  @Override
+  public Set<String> findInvalidJsonIndexes(Connection connection, String table)
+      throws SQLException {
+    final Set<String> names = new HashSet<>();
+    try (PreparedStatement stmt =
+        connection.prepareStatement(
+            """
+            SELECT c.relname FROM pg_index i \
+            JOIN pg_class c ON c.oid = i.indexrelid \
+            JOIN pg_class t ON t.oid = i.indrelid \
+            WHERE NOT i.indisvalid AND t.relname = ? AND pg_table_is_visible(t.oid)""")) {
+      stmt.setString(1, table.toLowerCase(Locale.ROOT));
+      try (ResultSet rs = stmt.executeQuery()) {
+        while (rs.next()) {
+          names.add(rs.getString(1).toLowerCase(Locale.ROOT));
+        }
+      }
+    }
+    return names;
+  }
 }
@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.hibernate.dialect;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implemented by the dialects able to index the values of json fields.
+ *
+ * <p>The indexed expression must be the same as the one rendered by the <code>json_extract_*
+ * </code> functions of the dialect, otherwise the database won't use the index to filter or sort
+ * on the json field.
+ */
+public interface JsonIndexSupport {
+
+  /**
+   * Gets the statements creating an index on the given json attribute.
+   *
+   * @param name the index name
+   * @param table the table name
+   * @param column the json column name
+   * @param attribute the json attribute path, dot separated
+   * @param type the json value type, one of <code>text</code>, <code>boolean</code>, <code>
+   *     integer</code> or <code>decimal</code>
+   * @return the DDL statements
+   */
+  List<String> getCreateJsonIndexCommands(
+      String name, String table, String column, String attribute, String type);
+
+  /**
+   * Gets the statements dropping an index created with {@link #getCreateJsonIndexCommands}.
+   *
+   * @param name the index name
+   * @param table the table name
+   * @return the DDL statements
+   */
+  List<String> getDropJsonIndexCommands(String name, String table);
+
+  /**
+   * Finds the indexes of the given table left invalid by a failed or interrupted build.
+   *
+   * @param connection the connection to use
+   * @param table the table name
+   * @return the lower case names of the invalid indexes
+   * @throws SQLException if the indexes can't be read
+   */
+  default Set<String> findInvalidJsonIndexes(Connection connection, String table)
+      throws SQLException {
+    return Set.of();
+  }
+}
@@ -46,4 +46,24 @@ public interface TenantConfig {
 
   /** The JDBC password for the tenant. */
   String getJdbcPassword();
+
+  /**
+   * The database schema of the tenant.
+   *
+   * <p>If set, connections are switched to this schema, which allows tenants on the same server
+   * and credentials to share a connection pool.
+   */
+  default String getJdbcSchema() {
+    return null;
+  }
+
+  /**
+   * The database catalog of the tenant.
+   *
+   * <p>If set, connections are switched to this catalog, which allows tenants on the same server
+   * and credentials to share a connection pool.
+   */
+  default String getJdbcCatalog() {
+    return null;
+  }
 }
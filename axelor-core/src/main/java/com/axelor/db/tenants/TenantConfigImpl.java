@@ -60,6 +60,8 @@ public class TenantConfigImpl implements TenantConfig {
   private String jdbcUrl;
   private String jdbcUser;
   private String jdbcPassword;
+  private String jdbcSchema;
+  private String jdbcCatalog;
 
   private static final Pattern PATTERN_DB_NAME = Pattern.compile("db\\.(.*?)\\.name");
 
@@ -146,6 +148,8 @@ public class TenantConfigImpl implements TenantConfig {
           cfg.jdbcUrl = get(props, prefix, "url");
           cfg.jdbcUser = get(props, prefix, "user");
           cfg.jdbcPassword = get(props, prefix, "password");
+          cfg.jdbcSchema = get(props, prefix, "schema");
+          cfg.jdbcCatalog = get(props, prefix, "catalog");
 
           if (cfg.jndiDataSource == null && (cfg.jdbcDriver == null || cfg.jdbcUrl == null)) {
             return null;
@@ -226,6 +230,16 @@ public class TenantConfigImpl implements TenantConfig {
     return jdbcPassword;
   }
 
+  @Override
+  public String getJdbcSchema() {
+    return jdbcSchema;
+  }
+
+  @Override
+  public String getJdbcCatalog() {
+    return jdbcCatalog;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -234,6 +248,8 @@ public class TenantConfigImpl implements TenantConfig {
         .add("jndiDataSource", jndiDataSource)
         .add("jdbcDriver", jdbcDriver)
         .add("jdbcUrl", jdbcUrl)
+        .add("jdbcSchema", jdbcSchema)
+        .add("jdbcCatalog", jdbcCatalog)
         .omitNullValues()
         .toString();
   }
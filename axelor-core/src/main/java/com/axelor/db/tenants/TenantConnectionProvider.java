@@ -6,6 +6,7 @@ package com.axelor.db.tenants;
 
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
@@ -13,7 +14,10 @@ import com.google.common.base.Preconditions;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
 import javax.sql.DataSource;
 import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
 import org.hibernate.service.spi.ServiceRegistryAwareService;
@@ -22,7 +26,17 @@ import org.hibernate.service.spi.Stoppable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** The tenant connection provider. */
+/**
+ * The tenant connection provider.
+ *
+ * <p>By default, each tenant gets its own connection pool. With {@code
+ * application.multi-tenancy.shared-pool} enabled, tenants using the same server and credentials
+ * share one pool, and connections are switched to the tenant schema or catalog on checkout.
+ *
+ * <p>The total number of connections can be capped with {@code
+ * application.multi-tenancy.max-connections}, and the number of connections of a single tenant
+ * with {@code application.multi-tenancy.tenant-max-connections}.
+ */
 public class TenantConnectionProvider
     extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String>
     implements ServiceRegistryAwareService, Stoppable {
@@ -31,21 +45,64 @@ public class TenantConnectionProvider
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TenantConnectionProvider.class);
 
+  private static final int DEFAULT_POOL_SIZE = 20;
+
+  private static final long DEFAULT_CONNECTION_TIMEOUT = 30000;
+
+  /** Part of the connection timeout spent waiting for the connection budgets, if any. */
+  private static final long DEFAULT_PERMITS_TIMEOUT = DEFAULT_CONNECTION_TIMEOUT / 2;
+
   private transient TenantConfigProvider configProvider;
 
-  private final transient LoadingCache<String, HikariDataSource> dataSourceCache =
+  private transient boolean sharedPool;
+
+  private transient int poolSize;
+
+  private transient int tenantMaxConnections;
+
+  private transient Semaphore globalPermits;
+
+  /** Pool key of connections that can be shared between tenants. */
+  private record PoolKey(
+      String jndiDataSource,
+      String jdbcDriver,
+      String jdbcUrl,
+      String jdbcUser,
+      String jdbcPassword,
+      boolean switchSchema,
+      boolean switchCatalog) {
+
+    static PoolKey of(TenantConfig config, boolean shared) {
+      return new PoolKey(
+          config.getJndiDataSource(),
+          config.getJdbcDriver(),
+          config.getJdbcUrl(),
+          config.getJdbcUser(),
+          // never share pools between tenants when not asked to
+          shared ? config.getJdbcPassword() : config.getTenantId() + ":" + config.getJdbcPassword(),
+          config.getJdbcSchema() != null,
+          config.getJdbcCatalog() != null);
+    }
+  }
+
+  private final transient Cache<PoolKey, HikariDataSource> poolCache =
       Caffeine.newBuilder()
-          .weakValues()
           .expireAfterAccess(Duration.ofHours(1))
           .removalListener(
-              (String id, HikariDataSource source, RemovalCause cause) -> {
+              (PoolKey key, HikariDataSource source, RemovalCause cause) -> {
                 if (source != null) {
                   source.close();
                 }
               })
-          .build(
-              tenantIdentifier ->
-                  createDataSource(validate(configProvider.find(tenantIdentifier))));
+          .build();
+
+  private final transient LoadingCache<String, TenantDataSource> dataSourceCache =
+      Caffeine.newBuilder()
+          .expireAfterAccess(Duration.ofHours(1))
+          .build(tenantIdentifier -> createDataSource(validate(findConfig(tenantIdentifier))));
+
+  // missing tenants are not cached, as the loader returns null for them
+  private transient LoadingCache<String, TenantConfig> configCache;
 
   @Override
   protected final DataSource selectAnyDataSource() {
@@ -54,7 +111,7 @@ public class TenantConnectionProvider
 
   @Override
   protected final DataSource selectDataSource(String tenantIdentifier) {
-    if (configProvider.find(tenantIdentifier) == null) {
+    if (findConfig(tenantIdentifier) == null) {
       dataSourceCache.invalidate(tenantIdentifier);
       LOGGER.debug("no such tenant found: {}", tenantIdentifier);
       throw new TenantNotFoundException(tenantIdentifier);
@@ -63,9 +120,30 @@ public class TenantConnectionProvider
     return dataSourceCache.get(tenantIdentifier);
   }
 
-  private HikariDataSource createDataSource(TenantConfig config) {
+  private TenantConfig findConfig(String tenantIdentifier) {
+    return configCache.get(tenantIdentifier);
+  }
+
+  private TenantDataSource createDataSource(TenantConfig config) {
     LOGGER.debug("creating datasource for tenant config: {}", config);
 
+    final PoolKey key = PoolKey.of(config, sharedPool);
+    final Semaphore tenantPermits =
+        tenantMaxConnections > 0 ? new Semaphore(tenantMaxConnections, true) : null;
+
+    return new TenantDataSource(
+        config.getTenantId(),
+        config.getJdbcSchema(),
+        config.getJdbcCatalog(),
+        () -> poolCache.get(key, k -> createPool(config)),
+        tenantPermits,
+        globalPermits,
+        DEFAULT_PERMITS_TIMEOUT);
+  }
+
+  private HikariDataSource createPool(TenantConfig config) {
+    LOGGER.debug("creating connection pool for tenant config: {}", config);
+
     final AppSettings settings = AppSettings.get();
     final HikariConfig hc = new HikariConfig();
 
@@ -75,15 +153,24 @@ public class TenantConnectionProvider
     hc.setUsername(config.getJdbcUser());
     hc.setPassword(config.getJdbcPassword());
     hc.setAutoCommit(false);
+    // waiting for the connection budgets counts against the connection timeout
+    hc.setConnectionTimeout(
+        hasConnectionBudget()
+            ? DEFAULT_CONNECTION_TIMEOUT - DEFAULT_PERMITS_TIMEOUT
+            : DEFAULT_CONNECTION_TIMEOUT);
 
     hc.setIdleTimeout(settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_IDLE_TIMEOUT, 300000));
-    hc.setMaximumPoolSize(
-        settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_MAXIMUM_POOL_SIZE, 20));
+    hc.setMaximumPoolSize(poolSize);
     hc.setMinimumIdle(0);
+    hc.setPoolName("tenant-" + config.getTenantId());
 
     return new HikariDataSource(hc);
   }
 
+  private boolean hasConnectionBudget() {
+    return tenantMaxConnections > 0 || globalPermits != null;
+  }
+
   private TenantConfig validate(TenantConfig config) {
     Objects.requireNonNull(config, "invalid tenant config.");
     if (config.getJndiDataSource() != null) {
@@ -94,14 +181,58 @@ public class TenantConnectionProvider
     return config;
   }
 
+  /**
+   * Get the open connection pools, by pool name.
+   *
+   * <p>Pools are named after the tenant which opened them, which may be shared with other tenants
+   * when {@code application.multi-tenancy.shared-pool} is enabled.
+   *
+   * @return the connection pools
+   */
+  public Map<String, HikariDataSource> getPools() {
+    final Map<String, HikariDataSource> pools = new TreeMap<>();
+    poolCache.asMap().values().forEach(source -> pools.put(source.getPoolName(), source));
+    return pools;
+  }
+
   @Override
   public void stop() {
     dataSourceCache.invalidateAll();
+    poolCache.invalidateAll();
   }
 
   @Override
   public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+    final AppSettings settings = AppSettings.get();
+
     configProvider = TenantSupport.get().getConfigProvider();
+    configCache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(
+                Duration.ofSeconds(
+                    settings.getInt(
+                        AvailableAppSettings.CONFIG_MULTI_TENANCY_CONFIG_CACHE_TIME, 60)))
+            .build(configProvider::find);
+
+    final int maxConnections =
+        settings.getInt(AvailableAppSettings.CONFIG_MULTI_TENANCY_MAX_CONNECTIONS, 0);
+
+    sharedPool = settings.getBoolean(AvailableAppSettings.CONFIG_MULTI_TENANCY_SHARED_POOL, false);
+    poolSize =
+        settings.getInt(AvailableAppSettings.HIBERNATE_HIKARI_MAXIMUM_POOL_SIZE, DEFAULT_POOL_SIZE);
+    if (sharedPool && maxConnections > 0) {
+      poolSize = maxConnections;
+    }
+
+    tenantMaxConnections =
+        settings.getInt(AvailableAppSettings.CONFIG_MULTI_TENANCY_TENANT_MAX_CONNECTIONS, 0);
+    globalPermits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+
     LOGGER.debug("using tenant config provider: {}", configProvider.getClass().getName());
+    LOGGER.debug(
+        "shared pool: {}, max connections: {}, tenant max connections: {}",
+        sharedPool,
+        maxConnections,
+        tenantMaxConnections);
   }
 }
@@ -0,0 +1,216 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.tenants;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * A {@link DataSource} of a single tenant.
+ *
+ * <p>It borrows connections from a possibly shared pool, switches them to the tenant schema or
+ * catalog, and enforces the tenant connection budget as well as the global connection cap.
+ */
+class TenantDataSource implements DataSource {
+
+  private final String tenantId;
+  private final String schema;
+  private final String catalog;
+  private final Supplier<DataSource> pool;
+  private final Semaphore tenantPermits;
+  private final Semaphore globalPermits;
+  private final long timeoutMillis;
+
+  TenantDataSource(
+      String tenantId,
+      String schema,
+      String catalog,
+      Supplier<DataSource> pool,
+      Semaphore tenantPermits,
+      Semaphore globalPermits,
+      long timeoutMillis) {
+    this.tenantId = tenantId;
+    this.schema = schema;
+    this.catalog = catalog;
+    this.pool = pool;
+    this.tenantPermits = tenantPermits;
+    this.globalPermits = globalPermits;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    // both permits are waited for within the same timeout
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    acquire(tenantPermits, "tenant '" + tenantId + "'", deadline);
+    try {
+      acquire(globalPermits, "all tenants", deadline);
+    } catch (SQLException e) {
+      release(tenantPermits);
+      throw e;
+    }
+
+    final Connection connection;
+    try {
+      connection = pool.get().getConnection();
+      prepare(connection);
+    } catch (SQLException | RuntimeException e) {
+      release(globalPermits);
+      release(tenantPermits);
+      throw e;
+    }
+
+    if (tenantPermits == null && globalPermits == null) {
+      return connection;
+    }
+
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new ReleasingHandler(connection));
+  }
+
+  private void prepare(Connection connection) throws SQLException {
+    if (schema == null && catalog == null) {
+      return;
+    }
+    try {
+      if (catalog != null) {
+        connection.setCatalog(catalog);
+      }
+      if (schema != null) {
+        connection.setSchema(schema);
+      }
+      // some drivers switch schema with a statement, don't leave it in an open transaction
+      if (!connection.getAutoCommit()) {
+        connection.commit();
+      }
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+  }
+
+  private void acquire(Semaphore permits, String scope, long deadline) throws SQLException {
+    if (permits == null) {
+      return;
+    }
+    try {
+      if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Connection limit reached for " + scope + ", timed out after " + timeoutMillis + "ms");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+    }
+  }
+
+  private static void release(Semaphore permits) {
+    if (permits != null) {
+      permits.release();
+    }
+  }
+
+  private class ReleasingHandler implements InvocationHandler {
+
+    private final Connection delegate;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ReleasingHandler(Connection delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      final String name = method.getName();
+      if ("close".equals(name)) {
+        try {
+          delegate.close();
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            release(globalPermits);
+            release(tenantPermits);
+          }
+        }
+        return null;
+      }
+      if ("unwrap".equals(name) && args[0] == Connection.class) {
+        return proxy;
+      }
+      if ("isWrapperFor".equals(name) && args[0] == Connection.class) {
+        return true;
+      }
+      if ("equals".equals(name)) {
+        return proxy == args[0];
+      }
+      if ("hashCode".equals(name)) {
+        return System.identityHashCode(proxy);
+      }
+      try {
+        return method.invoke(delegate, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return pool.get().getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    pool.get().setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    pool.get().setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return pool.get().getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    return pool.get().unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || pool.get().isWrapperFor(iface);
+  }
+}
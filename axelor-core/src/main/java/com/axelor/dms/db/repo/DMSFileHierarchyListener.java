@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.dms.db.repo;
+
+import com.axelor.dms.db.DMSFile;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.hibernate.Session;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+
+/**
+ * Keeps the {@link DMSFile} closure table in sync when files are inserted, moved or deleted.
+ *
+ * <p>The closure table is updated from a child session sharing the connection and the transaction
+ * of the flushed session, so the changes are visible to the following queries and rolled back with
+ * the transaction.
+ */
+public class DMSFileHierarchyListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final String PARENT = "parent";
+
+  private void doWork(EventSource source, Consumer<Session> work) {
+    try (Session session =
+        source
+            .sessionWithOptions()
+            .connection()
+            .autoClose(false)
+            .connectionHandlingMode(
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION)
+            .openSession()) {
+      work.accept(session);
+      session.flush();
+    }
+  }
+
+  private static Long getParentId(EntityPersister persister, Object[] state) {
+    final Object parent = state[persister.getPropertyIndex(PARENT)];
+    return parent instanceof DMSFile file ? file.getId() : null;
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof DMSFile file) {
+      final Long parentId = getParentId(event.getPersister(), event.getState());
+      doWork(
+          event.getSession(),
+          session -> DMSFileHierarchyRepository.insert(session, file.getId(), parentId));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof DMSFile file)) {
+      return;
+    }
+    final EntityPersister persister = event.getPersister();
+    final Long parentId = getParentId(persister, event.getState());
+    final Object[] oldState = event.getOldState();
+    if (oldState != null && Objects.equals(getParentId(persister, oldState), parentId)) {
+      return;
+    }
+    doWork(
+        event.getSession(),
+        session -> DMSFileHierarchyRepository.update(session, file.getId(), parentId));
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof DMSFile file) {
+      doWork(
+          event.getSession(),
+          session -> DMSFileHierarchyRepository.remove(session, file.getId()));
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+}
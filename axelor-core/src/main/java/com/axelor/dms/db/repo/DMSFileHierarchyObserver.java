@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.dms.db.repo;
+
+import com.axelor.event.Observes;
+import com.axelor.events.StartupEvent;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes the {@link com.axelor.dms.db.DMSFile} records missing from the closure table when the
+ * application starts.
+ *
+ * <p>With multi-tenancy, only the default tenant is checked. Other tenants can be indexed with
+ * {@link DMSFileHierarchyRepository#rebuild()}.
+ */
+public class DMSFileHierarchyObserver {
+
+  private static final Logger log = LoggerFactory.getLogger(DMSFileHierarchyObserver.class);
+
+  @Inject private DMSFileHierarchyRepository hierarchy;
+
+  void onAppStartup(@Observes StartupEvent event) {
+    try {
+      hierarchy.rebuildIfNeeded();
+    } catch (Exception e) {
+      log.error("Unable to index DMS files: {}", e.getMessage(), e);
+    }
+  }
+}
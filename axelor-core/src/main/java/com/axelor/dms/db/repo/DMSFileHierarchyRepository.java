@@ -0,0 +1,346 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.dms.db.repo;
+
+import com.axelor.db.JPA;
+import com.axelor.db.JpaRepository;
+import com.axelor.dms.db.DMSFile;
+import com.axelor.dms.db.DMSFileHierarchy;
+import com.axelor.i18n.I18n;
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Repository of the {@link DMSFile} closure table.
+ *
+ * <p>The closure table stores one row per ancestor/descendant pair (including each file with
+ * itself at depth 0), so the ancestors or the descendants of a file can be found with a single
+ * query. It is kept in sync by {@link DMSFileHierarchyListener} whenever a file is inserted, moved
+ * or deleted, whatever the way it is saved.
+ *
+ * <p>Files created before the closure table existed are indexed by {@link #rebuildIfNeeded()},
+ * called when the application starts.
+ */
+public class DMSFileHierarchyRepository extends JpaRepository<DMSFileHierarchy> {
+
+  private static final Logger log = LoggerFactory.getLogger(DMSFileHierarchyRepository.class);
+
+  private static final int BATCH_SIZE = 1000;
+
+  private static final int MAX_DEPTH = 1000;
+
+  /** The depth of the row locked while the closure table is rebuilt. */
+  private static final int LOCK_DEPTH = -1;
+
+  public DMSFileHierarchyRepository() {
+    super(DMSFileHierarchy.class);
+  }
+
+  /**
+   * Gets a JPQL condition matching the descendants of the folder whose id is bound to the given
+   * named parameter.
+   *
+   * @param param the name of the parameter holding the folder id
+   * @return the JPQL condition
+   */
+  public static String descendantsOf(String param) {
+    return """
+        self.id IN (SELECT h.descendantId FROM DMSFileHierarchy h \
+        WHERE h.ancestorId = :%s AND h.depth > 0)"""
+        .formatted(param);
+  }
+
+  /**
+   * Finds the ids of the ancestors of the given file, the nearest first.
+   *
+   * @param id the file id
+   * @return the ancestor ids
+   */
+  public List<Long> findAncestorIds(Long id) {
+    flushPending();
+    return findAncestorIds(JPA.em(), id);
+  }
+
+  private static List<Long> findAncestorIds(EntityManager em, Long id) {
+    return em.createQuery(
+            """
+            SELECT self.ancestorId FROM DMSFileHierarchy self \
+            WHERE self.descendantId = :id AND self.depth > 0 \
+            ORDER BY self.depth""",
+            Long.class)
+        .setParameter("id", id)
+        .getResultList();
+  }
+
+  /**
+   * Finds the ids of the given files and all their descendants, grouped by level.
+   *
+   * <p>The first level contains the top-most files, each next level the children of the previous
+   * one.
+   *
+   * @param ids the file ids
+   * @return the ids by level
+   */
+  public List<List<Long>> findSubtreeLevels(Collection<Long> ids) {
+    flushPending();
+    final Map<Integer, List<Long>> levels = new TreeMap<>();
+    for (List<Long> batch : Lists.partition(new ArrayList<>(ids), BATCH_SIZE)) {
+      final List<Object[]> rows =
+          JPA.em()
+              .createQuery(
+                  """
+                  SELECT self.descendantId, MAX(self.depth) FROM DMSFileHierarchy self \
+                  WHERE self.ancestorId IN :ids \
+                  GROUP BY self.descendantId""",
+                  Object[].class)
+              .setParameter("ids", batch)
+              .getResultList();
+      for (Object[] row : rows) {
+        levels.computeIfAbsent((Integer) row[1], k -> new ArrayList<>()).add((Long) row[0]);
+      }
+    }
+    return new ArrayList<>(levels.values());
+  }
+
+  /** Flush the pending file changes, so that the listener indexes them before querying. */
+  private static void flushPending() {
+    final EntityManager em = JPA.em();
+    if (em.getTransaction().isActive()) {
+      em.flush();
+    }
+  }
+
+  /**
+   * Indexes a new file under the given parent.
+   *
+   * @param em the entity manager to use
+   * @param id the new file id
+   * @param parentId the parent id, may be null
+   */
+  static void insert(EntityManager em, Long id, Long parentId) {
+    persist(em, id, id, 0);
+    if (parentId == null) {
+      return;
+    }
+    final List<Object[]> ancestors =
+        em.createQuery(
+                """
+                SELECT self.ancestorId, self.depth FROM DMSFileHierarchy self \
+                WHERE self.descendantId = :id AND self.depth >= 0""",
+                Object[].class)
+            .setParameter("id", parentId)
+            .getResultList();
+    for (Object[] ancestor : ancestors) {
+      persist(em, (Long) ancestor[0], id, (Integer) ancestor[1] + 1);
+    }
+  }
+
+  private static void persist(EntityManager em, Long ancestorId, Long descendantId, int depth) {
+    final DMSFileHierarchy entry = new DMSFileHierarchy();
+    entry.setAncestorId(ancestorId);
+    entry.setDescendantId(descendantId);
+    entry.setDepth(depth);
+    em.persist(entry);
+  }
+
+  /**
+   * Indexes a saved file, either as a new file or as moved under a new parent.
+   *
+   * @param em the entity manager to use
+   * @param id the saved file id
+   * @param parentId the parent id, may be null
+   */
+  static void update(EntityManager em, Long id, Long parentId) {
+    final List<Long> current =
+        em.createQuery(
+                """
+                SELECT self.ancestorId FROM DMSFileHierarchy self \
+                WHERE self.descendantId = :id AND self.depth IN (0, 1) \
+                ORDER BY self.depth""",
+                Long.class)
+            .setParameter("id", id)
+            .getResultList();
+    if (current.isEmpty()) {
+      insert(em, id, parentId);
+    } else if (!Objects.equals(current.size() > 1 ? current.get(1) : null, parentId)) {
+      move(em, id, parentId);
+    }
+  }
+
+  /**
+   * Moves a file and its subtree under a new parent.
+   *
+   * @param em the entity manager to use
+   * @param id the moved file id
+   * @param parentId the new parent id, may be null
+   */
+  static void move(EntityManager em, Long id, Long parentId) {
+    final List<Long> subtree =
+        em.createQuery(
+                "SELECT self.descendantId FROM DMSFileHierarchy self WHERE self.ancestorId = :id",
+                Long.class)
+            .setParameter("id", id)
+            .getResultList();
+
+    if (parentId != null && subtree.contains(parentId)) {
+      throw new PersistenceException(I18n.get("A folder can't be moved into itself."));
+    }
+
+    // unlink the subtree from its old ancestors
+    final List<Long> ancestors = findAncestorIds(em, id);
+    if (!ancestors.isEmpty()) {
+      for (List<Long> batch : Lists.partition(subtree, BATCH_SIZE)) {
+        em.createQuery(
+                """
+                DELETE FROM DMSFileHierarchy self \
+                WHERE self.ancestorId IN :ancestors AND self.descendantId IN :ids""")
+            .setParameter("ancestors", ancestors)
+            .setParameter("ids", batch)
+            .executeUpdate();
+      }
+    }
+
+    // link the subtree to its new ancestors
+    if (parentId != null) {
+      em.createQuery(
+              """
+              INSERT INTO DMSFileHierarchy (ancestorId, descendantId, depth) \
+              SELECT a.ancestorId, d.descendantId, a.depth + d.depth + 1 \
+              FROM DMSFileHierarchy a, DMSFileHierarchy d \
+              WHERE a.descendantId = :parent AND a.depth >= 0 AND d.ancestorId = :id""")
+          .setParameter("parent", parentId)
+          .setParameter("id", id)
+          .executeUpdate();
+    }
+  }
+
+  /**
+   * Removes a deleted file from the closure table.
+   *
+   * @param em the entity manager to use
+   * @param id the deleted file id
+   */
+  static void remove(EntityManager em, Long id) {
+    em.createQuery("DELETE FROM DMSFileHierarchy self WHERE self.descendantId = :id")
+        .setParameter("id", id)
+        .executeUpdate();
+  }
+
+  /**
+   * Removes the given files from the closure table.
+   *
+   * <p>This is only needed when files are deleted with bulk queries, which don't notify the
+   * listener.
+   *
+   * @param ids the ids of the removed files
+   */
+  void removeAll(Collection<Long> ids) {
+    for (List<Long> batch : Lists.partition(new ArrayList<>(ids), BATCH_SIZE)) {
+      JPA.em()
+          .createQuery("DELETE FROM DMSFileHierarchy self WHERE self.descendantId IN :ids")
+          .setParameter("ids", batch)
+          .executeUpdate();
+    }
+  }
+
+  /**
+   * Rebuilds the closure table if some files are not indexed, for example after an upgrade.
+   *
+   * @see #rebuild()
+   */
+  public void rebuildIfNeeded() {
+    rebuild(false);
+  }
+
+  /**
+   * Rebuilds the closure table from the parent of each file, level by level.
+   *
+   * <p>The closure table is rebuilt in its own transaction, holding a database lock so that a
+   * single node rebuilds it at a time.
+   */
+  public void rebuild() {
+    rebuild(true);
+  }
+
+  private void rebuild(boolean force) {
+    final EntityManager em = JPA.em().getEntityManagerFactory().createEntityManager();
+    try {
+      em.getTransaction().begin();
+      lock(em);
+      if (force || countMissing(em) > 0) {
+        rebuild(em);
+      }
+      em.getTransaction().commit();
+    } catch (RuntimeException e) {
+      if (em.getTransaction().isActive()) {
+        em.getTransaction().rollback();
+      }
+      throw e;
+    } finally {
+      em.close();
+    }
+  }
+
+  private static void lock(EntityManager em) {
+    final List<DMSFileHierarchy> locks =
+        em.createQuery(
+                "SELECT self FROM DMSFileHierarchy self WHERE self.depth = :depth",
+                DMSFileHierarchy.class)
+            .setParameter("depth", LOCK_DEPTH)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList();
+    if (locks.isEmpty()) {
+      // concurrent inserts wait on the unique constraint until this transaction ends
+      persist(em, 0L, 0L, LOCK_DEPTH);
+      em.flush();
+    }
+  }
+
+  private static long countMissing(EntityManager em) {
+    return em.createQuery(
+            """
+            SELECT COUNT(self) FROM DMSFile self \
+            WHERE NOT EXISTS (SELECT 1 FROM DMSFileHierarchy h \
+            WHERE h.descendantId = self.id AND h.depth = 0)""",
+            Long.class)
+        .getSingleResult();
+  }
+
+  private static void rebuild(EntityManager em) {
+    log.info("Rebuilding DMS file hierarchy...");
+
+    em.createQuery("DELETE FROM DMSFileHierarchy self WHERE self.depth >= 0").executeUpdate();
+    em.createQuery(
+            """
+            INSERT INTO DMSFileHierarchy (ancestorId, descendantId, depth) \
+            SELECT self.id, self.id, 0 FROM DMSFile self""")
+        .executeUpdate();
+
+    for (int depth = 0; depth < MAX_DEPTH; depth++) {
+      final int count =
+          em.createQuery(
+                  """
+                  INSERT INTO DMSFileHierarchy (ancestorId, descendantId, depth) \
+                  SELECT h.ancestorId, self.id, h.depth + 1 \
+                  FROM DMSFileHierarchy h, DMSFile self \
+                  WHERE self.parent.id = h.descendantId AND h.depth = :depth""")
+              .setParameter("depth", depth)
+              .executeUpdate();
+      if (count == 0) {
+        break;
+      }
+    }
+  }
+}
@@ -10,10 +10,12 @@ import com.axelor.auth.db.User;
 import com.axelor.common.Inflector;
 import com.axelor.common.StringUtils;
 import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
 import com.axelor.db.JpaSecurity;
 import com.axelor.db.JpaSecurity.AccessType;
 import com.axelor.db.Model;
+import com.axelor.db.Query;
 import com.axelor.db.annotations.Track;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.dms.db.DMSFile;
@@ -44,10 +46,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.shiro.authz.UnauthorizedException;
 
 public class DMSFileRepository extends JpaRepository<DMSFile> {
@@ -273,16 +277,36 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
     return null;
   }
 
+  /**
+   * Finds all the files and folders under the given folder, at any depth.
+   *
+   * @param folder the folder
+   * @return the query of the descendants
+   */
+  public Query<DMSFile> findDescendants(DMSFile folder) {
+    return all()
+        .filter(DMSFileHierarchyRepository.descendantsOf("folder"))
+        .bind("folder", folder.getId());
+  }
+
   @Override
   public void remove(DMSFile entity) {
-    // remove all children
+    // remove folders with all their content using set-based queries
     if (Boolean.TRUE.equals(entity.getIsDirectory())) {
-      final List<DMSFile> children = all().filter("self.parent.id = ?", entity.getId()).fetch();
-      for (DMSFile child : children) {
-        if (child != entity) {
-          remove(child);
-        }
+      if (isTrackingFiles(entity.getRelatedModel())) {
+        all()
+            .filter(
+                DMSFileHierarchyRepository.descendantsOf("folder")
+                    + " AND self.metaFile IS NOT NULL")
+            .bind("folder", entity.getId())
+            .fetchStream()
+            .forEach(file -> createMessage(file, true));
+      }
+      if (JPA.em().contains(entity)) {
+        JPA.em().detach(entity);
       }
+      metaFiles.deleteDMSFiles(List.of(entity.getId()));
+      return;
     }
 
     // remove attached file
@@ -311,6 +335,18 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
     super.remove(entity);
   }
 
+  private boolean isTrackingFiles(String model) {
+    if (model == null) {
+      return false;
+    }
+    try {
+      final Track track = Class.forName(model).getAnnotation(Track.class);
+      return track != null && track.files();
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
   private DMSFile findFrom(Map<String, Object> json) {
     if (json == null || json.get("id") == null) {
       return null;
@@ -434,14 +470,7 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
       return json;
     }
 
-    boolean isFile = !Boolean.TRUE.equals(file.getIsDirectory());
-    LocalDateTime dt = file.getUpdatedOn();
-    if (dt == null) {
-      dt = file.getCreatedOn();
-    }
-
     final User user = AuthUtils.getUser();
-    final MetaFile metaFile = file.getMetaFile();
 
     boolean canShare =
         file.getCreatedBy() == user
@@ -456,14 +485,134 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
                     .count()
                 > 0;
 
+    return populate(json, file, canShare, canCreate(file), canOffline(file, user));
+  }
+
+  /**
+   * Populates a page of DMS files with a few queries: files are loaded at once, and the
+   * permissions of the current user on all of them are resolved with a single query.
+   */
+  @Override
+  public List<Map<String, Object>> populateAll(
+      List<Map<String, Object>> items, Map<String, Object> context) {
+    if (context != null && context.get("_populate") == Boolean.FALSE) {
+      return items;
+    }
+
+    final List<Long> ids =
+        items.stream()
+            .map(json -> json.get("id"))
+            .filter(Objects::nonNull)
+            .map(id -> Longs.tryParse(id.toString()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    if (ids.isEmpty()) {
+      return items;
+    }
+
+    final Map<Long, DMSFile> files = new HashMap<>();
+    JPA.em()
+        .createQuery(
+            """
+            SELECT DISTINCT self FROM DMSFile self \
+            LEFT JOIN FETCH self.metaFile \
+            LEFT JOIN FETCH self.tags \
+            WHERE self.id IN :ids""",
+            DMSFile.class)
+        .setParameter("ids", ids)
+        .getResultList()
+        .forEach(file -> files.put(file.getId(), file));
+
+    final User user = AuthUtils.getUser();
+    final Long userId = user == null ? null : user.getId();
+    final Long groupId = user == null || user.getGroup() == null ? null : user.getGroup().getId();
+    final boolean isAdmin = security.hasRole("role.super") || security.hasRole("role.admin");
+    final Set<Long> permitted = security.findPermitted(AccessType.CREATE, DMSFile.class, ids);
+
+    final Set<Long> restricted = new HashSet<>();
+    final Set<Long> fullAccess = new HashSet<>();
+    final Set<Long> writeAccess = new HashSet<>();
+    final Set<Long> offline = new HashSet<>();
+
+    final List<Object[]> permissions =
+        JPA.em()
+            .createQuery(
+                """
+                SELECT self.file.id, self.value, u.id, g.id, p.canWrite \
+                FROM DMSPermission self \
+                LEFT JOIN self.user u \
+                LEFT JOIN self.group g \
+                LEFT JOIN self.permission p \
+                WHERE self.file.id IN :ids""",
+                Object[].class)
+            .setParameter("ids", ids)
+            .getResultList();
+
+    for (Object[] row : permissions) {
+      final Long fileId = (Long) row[0];
+      final boolean matchUser = userId != null && userId.equals(row[2]);
+      final boolean matchGroup = matchUser || (groupId != null && groupId.equals(row[3]));
+      restricted.add(fileId);
+      if (matchGroup && "FULL".equals(row[1])) {
+        fullAccess.add(fileId);
+      }
+      if (matchGroup && Boolean.TRUE.equals(row[4])) {
+        writeAccess.add(fileId);
+      }
+      if (matchUser && "OFFLINE".equals(row[1])) {
+        offline.add(fileId);
+      }
+    }
+
+    final List<Map<String, Object>> result = new ArrayList<>(items.size());
+    for (Map<String, Object> json : items) {
+      final Object id = json.get("id");
+      final DMSFile file = id == null ? null : files.get(Longs.tryParse(id.toString()));
+      if (file == null) {
+        result.add(json);
+        continue;
+      }
+
+      final Long fileId = file.getId();
+      final boolean isOwner = file.getCreatedBy() == user;
+      final boolean canShare =
+          isOwner || permitted.contains(fileId) || fullAccess.contains(fileId);
+      final boolean canWrite =
+          isOwner || isAdmin || !restricted.contains(fileId) || writeAccess.contains(fileId);
+      final boolean canOffline =
+          !Boolean.TRUE.equals(file.getIsDirectory())
+              && file.getMetaFile() != null
+              && offline.contains(fileId);
+
+      result.add(populate(json, file, canShare, canWrite, canOffline));
+    }
+
+    return result;
+  }
+
+  private Map<String, Object> populate(
+      Map<String, Object> json,
+      DMSFile file,
+      boolean canShare,
+      boolean canWrite,
+      boolean canOffline) {
+    boolean isFile = !Boolean.TRUE.equals(file.getIsDirectory());
+    LocalDateTime dt = file.getUpdatedOn();
+    if (dt == null) {
+      dt = file.getCreatedOn();
+    }
+
+    final MetaFile metaFile = file.getMetaFile();
+
     json.put("typeIcon", isFile ? "file-earmark" : "folder-fill");
     json.put("downloadIcon", "download");
     json.put("detailsIcon", "info-circle");
 
     json.put("canShare", canShare);
-    json.put("canWrite", canCreate(file));
+    json.put("canWrite", canWrite);
 
-    if (canOffline(file, user)) {
+    if (canOffline) {
       json.put("offline", true);
     }
 
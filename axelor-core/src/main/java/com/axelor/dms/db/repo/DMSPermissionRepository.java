@@ -11,35 +11,32 @@ import com.axelor.auth.db.repo.PermissionRepository;
 import com.axelor.concurrent.ContextAware;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
-import com.axelor.db.Query;
-import com.axelor.db.internal.DBHelper;
 import com.axelor.dms.db.DMSFile;
 import com.axelor.dms.db.DMSPermission;
 import com.axelor.i18n.I18n;
 import com.google.common.collect.Lists;
 import jakarta.inject.Inject;
 import jakarta.persistence.PersistenceException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class DMSPermissionRepository extends JpaRepository<DMSPermission> {
 
   @Inject private PermissionRepository perms;
 
+  @Inject private DMSFileHierarchyRepository hierarchy;
+
   private final ExecutorService executor = Executors.newSingleThreadExecutor();
 
   private static final int BATCH_SIZE = 1000;
 
+  private static final Map<String, Integer> LEVELS = Map.of("READ", 1, "WRITE", 2, "FULL", 3);
+
   public DMSPermissionRepository() {
     super(DMSPermission.class);
   }
@@ -206,63 +203,80 @@ public class DMSPermissionRepository extends JpaRepository<DMSPermission> {
   }
 
   private void applyPermissionToParents(DMSPermission entity, Permission permission) {
-    for (DMSFile parentFile = entity.getFile().getParent();
-        parentFile != null;
-        parentFile = parentFile.getParent()) {
-      if (filterPermission(parentFile.getPermissions(), entity).findFirst().isEmpty()) {
+    final List<Long> ancestorIds = hierarchy.findAncestorIds(entity.getFile().getId());
+    if (ancestorIds.isEmpty()) {
+      return;
+    }
+
+    // find ancestors already shared with the same user or group
+    final List<Long> sharedIds =
+        JPA.em()
+            .createQuery(
+                """
+                SELECT self.file.id FROM DMSPermission self \
+                WHERE self.file.id IN :ids AND (self.user = :user OR self.group = :group)""",
+                Long.class)
+            .setParameter("ids", ancestorIds)
+            .setParameter("user", entity.getUser())
+            .setParameter("group", entity.getGroup())
+            .getResultList();
+
+    for (Long ancestorId : ancestorIds) {
+      if (!sharedIds.contains(ancestorId)) {
         final DMSPermission dmsPermission = new DMSPermission();
         dmsPermission.setUser(entity.getUser());
         dmsPermission.setGroup(entity.getGroup());
         dmsPermission.setValue("READ");
         dmsPermission.setPermission(permission);
-        dmsPermission.setFile(parentFile);
+        dmsPermission.setFile(JPA.em().getReference(DMSFile.class, ancestorId));
         JPA.em().persist(dmsPermission);
       }
     }
   }
 
   private void applySamePermissionToChildren(DMSPermission entity) {
-    final int valueLevel = getValueLevel(entity);
-    final List<Long> existingPermissionIds = new ArrayList<>();
-    final List<Long> createPermissionFileIds = new ArrayList<>();
-
-    processDMSFileChildren(
-        entity,
-        files ->
-            files.forEach(
-                file -> {
-                  final DMSPermission basePermission = find(entity.getId());
-                  final Optional<DMSPermission> existingPermissionOpt =
-                      filterPermission(file.getPermissions(), basePermission).findFirst();
-                  if (existingPermissionOpt.isPresent()) {
-                    final DMSPermission existingPermission = existingPermissionOpt.get();
-
-                    if (getValueLevel(existingPermission) < valueLevel) {
-                      existingPermissionIds.add(existingPermission.getId());
-                    }
-                  } else {
-                    createPermissionFileIds.add(file.getId());
-                  }
-                }));
-
-    Lists.partition(existingPermissionIds, BATCH_SIZE)
-        .forEach(
-            ids ->
-                executor.execute(
-                    ContextAware.of()
-                        .build(
-                            () -> {
-                              JPA.em()
-                                  .createQuery(
-                                      """
-                                      UPDATE DMSPermission self SET self.value = :value \
-                                  WHERE self.id IN :ids""")
-                                  .setParameter("value", entity.getValue())
-                                  .setParameter("ids", ids)
-                                  .executeUpdate();
-                              JPA.flush();
-                              JPA.clear();
-                            })));
+    final Long fileId = entity.getFile().getId();
+    final List<String> lowerValues =
+        Stream.of("READ", "WRITE", "FULL")
+            .filter(value -> LEVELS.get(value) < getValueLevel(entity))
+            .toList();
+
+    // find descendants not shared yet with the same user or group
+    final List<Long> createPermissionFileIds =
+        JPA.em()
+            .createQuery(
+                """
+                SELECT self.descendantId FROM DMSFileHierarchy self \
+                WHERE self.ancestorId = :file AND self.depth > 0 \
+                AND NOT EXISTS (SELECT 1 FROM DMSPermission p \
+                WHERE p.file.id = self.descendantId AND (p.user = :user OR p.group = :group))""",
+                Long.class)
+            .setParameter("file", fileId)
+            .setParameter("user", entity.getUser())
+            .setParameter("group", entity.getGroup())
+            .getResultList();
+
+    // upgrade lower permissions of descendants
+    if (!lowerValues.isEmpty()) {
+      executor.execute(
+          ContextAware.of()
+              .build(
+                  () ->
+                      JPA.em()
+                          .createQuery(
+                              """
+                              UPDATE DMSPermission self SET self.value = :value \
+                              WHERE %s \
+                              AND (self.user = :user OR self.group = :group) \
+                              AND self.value IN :values"""
+                                  .formatted(descendantFilesOf("file")))
+                          .setParameter("value", entity.getValue())
+                          .setParameter("file", fileId)
+                          .setParameter("user", entity.getUser())
+                          .setParameter("group", entity.getGroup())
+                          .setParameter("values", lowerValues)
+                          .executeUpdate()));
+    }
 
     Lists.partition(createPermissionFileIds, BATCH_SIZE)
         .forEach(
@@ -286,116 +300,77 @@ public class DMSPermissionRepository extends JpaRepository<DMSPermission> {
                                       .map(Permission::getId)
                                       .map(id -> JpaRepository.of(Permission.class).find(id))
                                       .orElse(null);
-                              JpaRepository.of(DMSFile.class)
-                                  .all()
-                                  .filter("self.id IN :ids")
-                                  .bind("ids", ids)
-                                  .fetch()
-                                  .forEach(
-                                      file -> {
-                                        final DMSPermission dmsPermission = new DMSPermission();
-                                        dmsPermission.setValue(entity.getValue());
-                                        dmsPermission.setFile(file);
-                                        dmsPermission.setGroup(group);
-                                        dmsPermission.setUser(user);
-                                        dmsPermission.setPermission(permission);
-                                        JPA.em().persist(dmsPermission);
-                                      });
+                              for (Long id : ids) {
+                                final DMSPermission dmsPermission = new DMSPermission();
+                                dmsPermission.setValue(entity.getValue());
+                                dmsPermission.setFile(JPA.em().getReference(DMSFile.class, id));
+                                dmsPermission.setGroup(group);
+                                dmsPermission.setUser(user);
+                                dmsPermission.setPermission(permission);
+                                JPA.em().persist(dmsPermission);
+                              }
                               JPA.flush();
                               JPA.clear();
                             })));
   }
 
   private void recursiveRemoveHavingSamePermission(DMSPermission entity) {
-    final JpaRepository<DMSFile> dmsFileRepo = JpaRepository.of(DMSFile.class);
-    final List<Long> entityIds = new ArrayList<>();
-    entityIds.add(entity.getId());
-
-    // Find orphan parent permissions.
-    for (DMSFile parentFile = entity.getFile().getParent();
-        parentFile != null;
-        parentFile = parentFile.getParent()) {
-      if (dmsFileRepo
-          .all()
-          .filter(
-              """
-              self.parent = :parent AND self != :baseFile \
-              AND (self.permissions.user = :user OR self.permissions.group = :group)""")
-          .bind("parent", parentFile)
-          .bind("baseFile", entity.getFile())
-          .bind("user", entity.getUser())
-          .bind("group", entity.getGroup())
-          .fetch(1)
-          .isEmpty()) {
-        filterPermission(parentFile.getPermissions(), entity)
-            .map(DMSPermission::getId)
-            .forEach(entityIds::add);
+    final Long fileId = entity.getFile().getId();
+    final List<Long> removedFileIds = new ArrayList<>();
+    removedFileIds.add(fileId);
+
+    // Find orphan parent permissions, the nearest first: a parent permission is kept if another
+    // file under the parent is still shared with the same user or group.
+    for (Long ancestorId : hierarchy.findAncestorIds(fileId)) {
+      final long count =
+          JPA.em()
+              .createQuery(
+                  """
+                  SELECT COUNT(self) FROM DMSPermission self \
+                  WHERE %s \
+                  AND self.file.id NOT IN (SELECT h.descendantId FROM DMSFileHierarchy h \
+                  WHERE h.ancestorId = :file) \
+                  AND self.file.id NOT IN :removed \
+                  AND (self.user = :user OR self.group = :group)"""
+                      .formatted(descendantFilesOf("ancestor")),
+                  Long.class)
+              .setParameter("ancestor", ancestorId)
+              .setParameter("file", fileId)
+              .setParameter("removed", removedFileIds)
+              .setParameter("user", entity.getUser())
+              .setParameter("group", entity.getGroup())
+              .getSingleResult();
+      if (count > 0) {
+        break;
       }
+      removedFileIds.add(ancestorId);
     }
 
-    // Find child permissions on the same user/group.
-    if (entity.getFile() != null && entity.getFile().getIsDirectory()) {
-      processDMSFileChildren(
-          entity,
-          files -> {
-            final DMSPermission basePermission = find(entity.getId());
-            files.forEach(
-                file ->
-                    filterPermission(file.getPermissions(), basePermission)
-                        .map(DMSPermission::getId)
-                        .forEach(entityIds::add));
-          });
-    }
-
+    // Remove the permission, the orphan parent permissions and the child permissions on the same
+    // user/group.
     JPA.em()
-        .createQuery("DELETE FROM DMSPermission self WHERE self.id IN (:entityIds)")
-        .setParameter("entityIds", entityIds)
+        .createQuery(
+            """
+            DELETE FROM DMSPermission self WHERE self.id = :id \
+            OR ((self.user = :user OR self.group = :group) \
+            AND (self.file.id IN :removed OR %s))"""
+                .formatted(descendantFilesOf("file")))
+        .setParameter("id", entity.getId())
+        .setParameter("user", entity.getUser())
+        .setParameter("group", entity.getGroup())
+        .setParameter("removed", removedFileIds)
+        .setParameter("file", fileId)
         .executeUpdate();
   }
 
-  private void processDMSFileChildren(DMSPermission entity, Consumer<List<DMSFile>> processor) {
-    final JpaRepository<DMSFile> dmsFileRepo = JpaRepository.of(DMSFile.class);
-    final Queue<Long> parentIds = new ArrayDeque<>();
-    parentIds.add(entity.getFile().getId());
-
-    while (!parentIds.isEmpty()) {
-      final Long parentId = parentIds.remove();
-
-      final Query<DMSFile> query =
-          dmsFileRepo
-              .all()
-              .filter("self.parent.id = :parentId")
-              .bind("parentId", parentId)
-              .order("id");
-
-      List<DMSFile> results;
-      int offset = 0;
-
-      while (!(results = query.fetch(DBHelper.getJdbcFetchSize(), offset)).isEmpty()) {
-        processor.accept(results);
-        results.stream()
-            .filter(DMSFile::getIsDirectory)
-            .map(DMSFile::getId)
-            .forEach(parentIds::add);
-        offset += results.size();
-        JPA.flush();
-        JPA.clear();
-      }
-    }
-  }
-
-  private Stream<DMSPermission> filterPermission(
-      List<DMSPermission> permissions, DMSPermission basePermission) {
-    return Optional.ofNullable(permissions).orElse(Collections.emptyList()).stream()
-        .filter(
-            permission ->
-                permission.getUser() != null
-                        && Objects.equals(permission.getUser(), basePermission.getUser())
-                    || permission.getGroup() != null
-                        && Objects.equals(permission.getGroup(), basePermission.getGroup()));
+  private static String descendantFilesOf(String param) {
+    return """
+        self.file.id IN (SELECT h.descendantId FROM DMSFileHierarchy h \
+        WHERE h.ancestorId = :%s AND h.depth > 0)"""
+        .formatted(param);
   }
 
   private int getValueLevel(DMSPermission entity) {
-    return Map.of("READ", 1, "WRITE", 2, "FULL", 3).getOrDefault(entity.getValue(), 0);
+    return LEVELS.getOrDefault(entity.getValue(), 0);
   }
 }
@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.events;
+
+import com.axelor.profiler.Profile;
+import java.util.Map;
+
+/** Event fired once a profiled request completes, see {@link com.axelor.profiler.Profiler}. */
+public class RequestProfiled {
+
+  private final Profile profile;
+  private final Map<String, Integer> repeatedStatements;
+  private final boolean slow;
+
+  public RequestProfiled(Profile profile, Map<String, Integer> repeatedStatements, boolean slow) {
+    this.profile = profile;
+    this.repeatedStatements = repeatedStatements;
+    this.slow = slow;
+  }
+
+  public Profile getProfile() {
+    return profile;
+  }
+
+  /** Get the statements flagged as probable N+1 selects, with their number of executions. */
+  public Map<String, Integer> getRepeatedStatements() {
+    return repeatedStatements;
+  }
+
+  /** Whether the request took longer than <code>application.profiler.slow-threshold</code>. */
+  public boolean isSlow() {
+    return slow;
+  }
+}
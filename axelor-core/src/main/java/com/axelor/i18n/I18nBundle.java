@@ -23,6 +23,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +37,8 @@ public class I18nBundle extends ResourceBundle {
   private static final AxelorCache<String, String> hashes =
       CacheBuilder.newBuilder("hashes").build(I18nBundle::computeHash);
 
+  private static final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+
   private static final Logger log = LoggerFactory.getLogger(I18nBundle.class);
 
   public I18nBundle(Locale locale) {
@@ -147,9 +150,21 @@ public class I18nBundle extends ResourceBundle {
     return hashes.get(locale.toLanguageTag());
   }
 
+  /**
+   * Registers a listener called whenever the messages are invalidated.
+   *
+   * <p>This can be used to clear values derived from the messages, like pre-serialized bundles.
+   *
+   * @param listener the listener to call
+   */
+  public static void addInvalidationListener(Runnable listener) {
+    invalidationListeners.add(listener);
+  }
+
   public static void invalidate() {
     ResourceBundle.clearCache();
     messages.invalidateAll();
     hashes.invalidateAll();
+    invalidationListeners.forEach(Runnable::run);
   }
 }
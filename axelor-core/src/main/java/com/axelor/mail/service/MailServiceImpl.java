@@ -79,6 +79,7 @@ import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,6 +98,8 @@ public class MailServiceImpl implements MailService, MailConstants {
 
   private ExecutorService executor = Executors.newCachedThreadPool();
 
+  private final AtomicInteger pending = new AtomicInteger();
+
   private Logger log = LoggerFactory.getLogger(MailService.class);
 
   private static final Object FETCH_LOCK = new Object();
@@ -474,14 +477,34 @@ public class MailServiceImpl implements MailService, MailConstants {
     }
 
     // send email using a separate process to void thread blocking
-    executor.submit(
-        ContextAware.of()
-            .withTransaction(false)
-            .build(
-                () -> {
-                  send(sender, email);
-                  return true;
-                }));
+    pending.incrementAndGet();
+    try {
+      executor.submit(
+          ContextAware.of()
+              .withTransaction(false)
+              .build(
+                  () -> {
+                    try {
+                      send(sender, email);
+                    } finally {
+                      pending.decrementAndGet();
+                    }
+                    return true;
+                  }));
+    } catch (RuntimeException e) {
+      // the email is not pending if it couldn't be submitted
+      pending.decrementAndGet();
+      throw e;
+    }
+  }
+
+  /**
+   * Get the number of emails waiting to be sent.
+   *
+   * @return the number of pending emails
+   */
+  public int getPendingCount() {
+    return pending.get();
   }
 
   @Transactional(rollbackOn = Exception.class)
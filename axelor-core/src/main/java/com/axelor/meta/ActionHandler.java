@@ -4,6 +4,8 @@
  */
 package com.axelor.meta;
 
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JPA;
@@ -20,6 +22,8 @@ import com.axelor.meta.db.MetaFilter;
 import com.axelor.meta.schema.actions.Action;
 import com.axelor.meta.schema.actions.ActionGroup;
 import com.axelor.meta.schema.actions.ActionMethod;
+import com.axelor.profiler.ActionTrace;
+import com.axelor.profiler.ActionTracer;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
 import com.axelor.rpc.Context;
@@ -473,13 +477,33 @@ public class ActionHandler {
 
   public ActionResponse execute() {
 
-    ActionResponse response = new ActionResponse();
-
     String name = request.getAction();
     if (name == null) {
       throw new NullPointerException("no action provided");
     }
 
+    final ActionTrace trace = ActionTracer.start(name);
+    final ActionResponse response;
+    try {
+      response = execute(name);
+    } finally {
+      ActionTracer.stop(trace);
+    }
+
+    if (trace != null && request.isTrace()) {
+      final User user = AuthUtils.getUser();
+      if (user != null && (AuthUtils.isAdmin(user) || AuthUtils.isTechnicalStaff(user))) {
+        response.setTrace(trace);
+      }
+    }
+
+    return response;
+  }
+
+  private ActionResponse execute(String name) {
+
+    ActionResponse response = new ActionResponse();
+
     String[] names = name.split(",");
     ActionGroup action = new ActionGroup();
 
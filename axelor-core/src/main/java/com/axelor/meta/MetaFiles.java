@@ -12,9 +12,13 @@ import com.axelor.app.AvailableAppSettings;
 import com.axelor.common.FileUtils;
 import com.axelor.common.MimeTypesUtils;
 import com.axelor.common.StringUtils;
+import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
 import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.dms.db.DMSFile;
+import com.axelor.dms.db.repo.DMSFileHierarchyRepository;
 import com.axelor.dms.db.repo.DMSFileRepository;
 import com.axelor.file.store.FileStoreFactory;
 import com.axelor.file.store.Store;
@@ -26,10 +30,12 @@ import com.axelor.meta.db.MetaAttachment;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.meta.db.repo.MetaAttachmentRepository;
 import com.axelor.meta.db.repo.MetaFileRepository;
+import com.google.common.collect.Lists;
 import com.google.inject.persist.Transactional;
 import jakarta.activation.MimeType;
 import jakarta.activation.MimeTypeParseException;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import jakarta.ws.rs.core.MediaType;
 import java.io.File;
@@ -37,12 +43,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** This class provides some helper methods to deal with files. */
 public class MetaFiles {
@@ -51,6 +64,10 @@ public class MetaFiles {
 
   private static final Object lock = new Object();
 
+  private static final int DELETE_BATCH_SIZE = 500;
+
+  private static final Logger log = LoggerFactory.getLogger(MetaFiles.class);
+
   private static final List<Pattern> WHITELIST_PATTERNS =
       AppSettings.get()
           .getList(AvailableAppSettings.FILE_UPLOAD_WHITELIST_PATTERN, Pattern::compile);
@@ -550,8 +567,185 @@ public class MetaFiles {
    */
   @Transactional
   public void deleteAttachments(Model entity) {
-    final DMSFileRepository dmsFileRepo = Beans.get(DMSFileRepository.class);
-    Optional.ofNullable(dmsFileRepo.findHomeByRelated(entity)).ifPresent(dmsFileRepo::remove);
+    deleteAttachments(EntityHelper.getEntityClass(entity), List.of(entity.getId()));
+  }
+
+  /**
+   * Deletes all attachments and related records (MetaFile, DMSFile, MetaAttachment) of the given
+   * records using set-based queries.
+   *
+   * <p>The real files are deleted in background once the current transaction is committed.
+   *
+   * @param model the model of the records
+   * @param ids the ids of the records
+   */
+  @Transactional
+  public void deleteAttachments(Class<? extends Model> model, Collection<Long> ids) {
+    final List<String> filePaths = new ArrayList<>();
+    for (List<Long> batch : Lists.partition(new ArrayList<>(ids), DELETE_BATCH_SIZE)) {
+      filePaths.addAll(deleteAttachmentRecords(model.getName(), batch));
+    }
+    deleteFilesAfterCommit(filePaths);
+  }
+
+  /**
+   * Deletes the given DMS files and folders with all their content using set-based queries.
+   *
+   * <p>The {@link MetaAttachment} and {@link MetaFile} records not referenced anymore are deleted
+   * as well, and the real files are deleted in background once the current transaction is
+   * committed.
+   *
+   * @param ids the ids of the DMS files to delete
+   */
+  @Transactional
+  public void deleteDMSFiles(Collection<Long> ids) {
+    final EntityManager em = JPA.em();
+    final Set<Long> fileIds = deleteDMSRecords(ids);
+    for (List<Long> batch : Lists.partition(new ArrayList<>(fileIds), DELETE_BATCH_SIZE)) {
+      em.createQuery(
+              """
+              DELETE FROM MetaAttachment self WHERE self.metaFile.id IN :ids \
+              AND NOT EXISTS (SELECT 1 FROM DMSFile d WHERE d.metaFile = self.metaFile)""")
+          .setParameter("ids", batch)
+          .executeUpdate();
+    }
+    deleteFilesAfterCommit(deleteOrphanFiles(fileIds));
+  }
+
+  private List<String> deleteAttachmentRecords(String model, List<Long> ids) {
+    final EntityManager em = JPA.em();
+
+    // find dms home folders of the records
+    final List<Long> homes =
+        em.createQuery(
+                """
+                SELECT self.id FROM DMSFile self \
+                WHERE COALESCE(self.isDirectory, FALSE) = TRUE \
+                AND self.relatedId IN :ids \
+                AND self.relatedModel = :model \
+                AND self.parent.relatedModel = :model \
+                AND COALESCE(self.parent.relatedId, 0) = 0""",
+                Long.class)
+            .setParameter("ids", ids)
+            .setParameter("model", model)
+            .getResultList();
+
+    // find linked files
+    final Set<Long> fileIds = new HashSet<>();
+    fileIds.addAll(
+        em.createQuery(
+                """
+                SELECT self.metaFile.id FROM MetaAttachment self \
+                WHERE self.objectName = :model AND self.objectId IN :ids""",
+                Long.class)
+            .setParameter("model", model)
+            .setParameter("ids", ids)
+            .getResultList());
+
+    fileIds.addAll(deleteDMSRecords(homes));
+
+    em.createQuery(
+            "DELETE FROM MetaAttachment self WHERE self.objectName = :model AND self.objectId IN :ids")
+        .setParameter("model", model)
+        .setParameter("ids", ids)
+        .executeUpdate();
+
+    return deleteOrphanFiles(fileIds);
+  }
+
+  /** Deletes the given DMS records with their content, returns the ids of their files. */
+  private Set<Long> deleteDMSRecords(Collection<Long> ids) {
+    final EntityManager em = JPA.em();
+    final DMSFileHierarchyRepository hierarchy = Beans.get(DMSFileHierarchyRepository.class);
+    final List<List<Long>> levels = ids.isEmpty() ? List.of() : hierarchy.findSubtreeLevels(ids);
+
+    final Set<Long> fileIds = new HashSet<>();
+    for (List<Long> level : levels) {
+      for (List<Long> batch : Lists.partition(level, DELETE_BATCH_SIZE)) {
+        fileIds.addAll(
+            em.createQuery(
+                    """
+                    SELECT self.metaFile.id FROM DMSFile self \
+                    WHERE self.id IN :ids AND self.metaFile IS NOT NULL""",
+                    Long.class)
+                .setParameter("ids", batch)
+                .getResultList());
+      }
+    }
+
+    // delete children first
+    for (List<Long> level : levels.reversed()) {
+      for (List<Long> batch : Lists.partition(level, DELETE_BATCH_SIZE)) {
+        em.createQuery("DELETE FROM DMSPermission self WHERE self.file.id IN :ids")
+            .setParameter("ids", batch)
+            .executeUpdate();
+        em.createQuery("DELETE FROM DMSFile self WHERE self.id IN :ids")
+            .setParameter("ids", batch)
+            .executeUpdate();
+      }
+      hierarchy.removeAll(level);
+    }
+
+    return fileIds;
+  }
+
+  /** Deletes the given files if not referenced anywhere else, returns their paths. */
+  private List<String> deleteOrphanFiles(Set<Long> fileIds) {
+    final EntityManager em = JPA.em();
+    final List<String> filePaths = new ArrayList<>();
+    for (List<Long> batch : Lists.partition(new ArrayList<>(fileIds), DELETE_BATCH_SIZE)) {
+      final List<Object[]> orphans =
+          em.createQuery(
+                  """
+                  SELECT self.id, self.filePath FROM MetaFile self \
+                  WHERE self.id IN :ids \
+                  AND NOT EXISTS (SELECT 1 FROM DMSFile d WHERE d.metaFile = self) \
+                  AND NOT EXISTS (SELECT 1 FROM MetaAttachment a WHERE a.metaFile = self)""",
+                  Object[].class)
+              .setParameter("ids", batch)
+              .getResultList();
+      if (orphans.isEmpty()) {
+        continue;
+      }
+      em.createQuery("DELETE FROM MetaFile self WHERE self.id IN :ids")
+          .setParameter("ids", orphans.stream().map(row -> (Long) row[0]).toList())
+          .executeUpdate();
+      orphans.stream().map(row -> (String) row[1]).filter(Objects::nonNull).forEach(filePaths::add);
+    }
+    return filePaths;
+  }
+
+  private void deleteFilesAfterCommit(List<String> filePaths) {
+    if (filePaths.isEmpty()) {
+      return;
+    }
+    JPA.em()
+        .unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess(
+            (AfterTransactionCompletionProcess)
+                (success, session) -> {
+                  if (success) {
+                    ContextAwareExecutors.shared()
+                        .execute(
+                            ContextAware.of()
+                                .withTransaction(false)
+                                .build(() -> deleteFiles(filePaths)));
+                  }
+                });
+  }
+
+  private static void deleteFiles(List<String> filePaths) {
+    final Store store = FileStoreFactory.getStore();
+    for (String filePath : filePaths) {
+      try {
+        if (store.hasFile(filePath)) {
+          store.deleteFile(filePath);
+        }
+      } catch (Exception e) {
+        log.error("Unable to delete file: {}", filePath, e);
+      }
+    }
   }
 
   public String fileTypeIcon(MetaFile file) {
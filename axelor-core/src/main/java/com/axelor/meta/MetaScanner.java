@@ -43,7 +43,8 @@ public final class MetaScanner {
           "build/classes/java/main",
           "build/classes/scala/main",
           "build/classes/kotlin/main",
-          "build/classes/groovy/main");
+          "build/classes/groovy/main",
+          "build/axelor-index/main");
 
   private static final List<String> BUILD_TEST_PATHS =
       Arrays.asList(
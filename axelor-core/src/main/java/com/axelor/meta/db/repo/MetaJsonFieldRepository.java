@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.db.repo;
+
+import com.axelor.db.JPA;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaJsonField;
+import com.axelor.meta.service.MetaJsonIndexService;
+import jakarta.persistence.FlushModeType;
+import java.util.List;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+
+public class MetaJsonFieldRepository extends AbstractMetaJsonFieldRepository {
+
+  @Override
+  public MetaJsonField save(MetaJsonField entity) {
+    final boolean wasIndexed = wasIndexed(entity);
+    final MetaJsonField saved = super.save(entity);
+    if (saved.getModel() != null && (wasIndexed || Boolean.TRUE.equals(saved.getIndexed()))) {
+      Beans.get(MetaJsonIndexService.class).syncAfterCommit(List.of(saved.getModel()));
+    }
+    return saved;
+  }
+
+  private boolean wasIndexed(MetaJsonField entity) {
+    if (entity.getId() == null) {
+      return false;
+    }
+    final EntityEntry entry =
+        JPA.em().unwrap(SessionImplementor.class).getPersistenceContextInternal().getEntry(entity);
+    if (entry != null) {
+      return Boolean.TRUE.equals(entry.getLoadedValue("indexed"));
+    }
+    return JPA.em()
+        .createQuery(
+            "SELECT self.indexed FROM MetaJsonField self WHERE self.id = :id", Boolean.class)
+        .setParameter("id", entity.getId())
+        .setFlushMode(FlushModeType.COMMIT)
+        .getResultStream()
+        .anyMatch(Boolean.TRUE::equals);
+  }
+
+  @Override
+  public void remove(MetaJsonField entity) {
+    final String model = entity.getModel();
+    super.remove(entity);
+    if (model != null && Boolean.TRUE.equals(entity.getIndexed())) {
+      Beans.get(MetaJsonIndexService.class).syncAfterCommit(List.of(model));
+    }
+  }
+}
@@ -9,6 +9,8 @@ import com.axelor.common.StringUtils;
 import com.axelor.db.JpaSecurity;
 import com.axelor.events.PostAction;
 import com.axelor.meta.ActionHandler;
+import com.axelor.profiler.ActionTrace;
+import com.axelor.profiler.ActionTracer;
 import com.axelor.rpc.ActionResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.MoreObjects;
@@ -84,11 +86,16 @@ public abstract class Action implements Serializable {
     if (StringUtils.isBlank(getName())) {
       result = evaluate(handler);
     } else {
-      checkPermission(handler);
-      handler.firePreEvent(getName());
-      final Object value = evaluate(handler);
-      PostAction event = handler.firePostEvent(getName(), value);
-      result = event.getResult();
+      final ActionTrace trace = ActionTracer.enter(getName(), getClass());
+      try {
+        checkPermission(handler);
+        handler.firePreEvent(getName());
+        final Object value = evaluate(handler);
+        PostAction event = handler.firePostEvent(getName(), value);
+        result = event.getResult();
+      } finally {
+        ActionTracer.exit(trace);
+      }
     }
 
     return result;
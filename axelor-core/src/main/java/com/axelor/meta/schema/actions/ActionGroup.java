@@ -17,6 +17,7 @@ import com.axelor.meta.schema.actions.validate.validator.Alert;
 import com.axelor.meta.schema.actions.validate.validator.Error;
 import com.axelor.meta.schema.actions.validate.validator.Info;
 import com.axelor.meta.schema.views.AbstractView;
+import com.axelor.profiler.ActionTracer;
 import com.axelor.rpc.ContextEntity;
 import com.axelor.rpc.Response;
 import com.google.common.base.Joiner;
@@ -191,6 +192,7 @@ public class ActionGroup extends ActionResumable {
           || "new".equals(name)) {
         if (!element.test(handler)) {
           log.debug("action '{}' doesn't meet the condition: {}", name, element.getCondition());
+          ActionTracer.skip(name);
           continue;
         }
         String pending = this.getPending(i);
@@ -215,6 +217,7 @@ public class ActionGroup extends ActionResumable {
             "action '{}' doesn't meet the condition: {}",
             element.getName(),
             element.getCondition());
+        ActionTracer.skip(name);
         continue;
       }
 
@@ -6,6 +6,7 @@ package com.axelor.meta.schema.actions;
 
 import com.axelor.app.internal.AppFilter;
 import com.axelor.common.StringUtils;
+import com.axelor.concurrent.ContextAware;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaSecurity;
 import com.axelor.db.Model;
@@ -13,7 +14,9 @@ import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.meta.ActionHandler;
 import com.axelor.meta.MetaFiles;
+import com.axelor.report.PendingReportService;
 import com.axelor.report.ReportGenerator;
+import com.axelor.report.tool.ReportExecutor;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.xml.bind.annotation.XmlAttribute;
@@ -28,8 +31,10 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Future;
 import org.apache.shiro.authz.UnauthorizedException;
 import org.eclipse.birt.core.exception.BirtException;
 
@@ -52,6 +57,8 @@ public class ActionReport extends Action {
 
   @XmlAttribute private Boolean attachment;
 
+  @XmlAttribute private Boolean async;
+
   @XmlElement(name = "param")
   private List<Parameter> parameters;
 
@@ -81,6 +88,10 @@ public class ActionReport extends Action {
     return attachment;
   }
 
+  public Boolean getAsync() {
+    return async;
+  }
+
   public List<Parameter> getParameters() {
     return parameters;
   }
@@ -114,7 +125,6 @@ public class ActionReport extends Action {
     log.debug("action-report: {}", getName());
 
     final Map<String, Object> params = new HashMap<>();
-    final ReportGenerator generator = Beans.get(ReportGenerator.class);
 
     if (parameters != null) {
       for (Parameter param : parameters) {
@@ -126,7 +136,6 @@ public class ActionReport extends Action {
 
     log.debug("with params: {}", params);
 
-    final Map<String, Object> result = new HashMap<>();
     final Class<?> klass = handler.getContext().getContextClass();
     final Long id = (Long) handler.getContext().get("id");
 
@@ -137,7 +146,29 @@ public class ActionReport extends Action {
             .replace("${name}", getName());
 
     final String fileName = "%s.%s".formatted(outputName, format);
-    final File output = generator.generate(designName, format, params, AppFilter.getLocale());
+    final Locale locale = AppFilter.getLocale();
+
+    if (Boolean.TRUE.equals(async)) {
+      final Future<Map<String, Object>> future =
+          ReportExecutor.submitReport(
+              ContextAware.of().build(() -> render(params, klass, id, fileName, locale)));
+      final Map<String, Object> result = new HashMap<>();
+      result.put("report", getName());
+      result.put("reportFile", fileName);
+      result.put("reportFormat", format);
+      result.put("reportToken", Beans.get(PendingReportService.class).add(future));
+      return result;
+    }
+
+    return render(params, klass, id, fileName, locale);
+  }
+
+  private Map<String, Object> render(
+      Map<String, Object> params, Class<?> klass, Long id, String fileName, Locale locale)
+      throws IOException, BirtException {
+    final Map<String, Object> result = new HashMap<>();
+    final ReportGenerator generator = Beans.get(ReportGenerator.class);
+    final File output = generator.generate(designName, format, params, locale);
 
     result.put("report", getName());
     result.put("reportFile", fileName);
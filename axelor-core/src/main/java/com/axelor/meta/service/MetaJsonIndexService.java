@@ -0,0 +1,327 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.service;
+
+import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
+import com.axelor.db.JPA;
+import com.axelor.db.Query;
+import com.axelor.db.hibernate.dialect.JsonIndexSupport;
+import com.axelor.event.Observes;
+import com.axelor.events.StartupEvent;
+import com.axelor.meta.db.MetaJsonField;
+import jakarta.inject.Singleton;
+import jakarta.persistence.PersistenceException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains the database indexes of the json fields marked as indexed.
+ *
+ * <p>The indexes are created with the expression used by the <code>json_extract_*</code> functions
+ * of the dialect (see {@link JsonIndexSupport}), so that filtering and sorting on indexed json
+ * fields don't need to scan the whole table. Nothing is done if the dialect doesn't support json
+ * indexes.
+ *
+ * <p>The managed indexes are named with the {@value #INDEX_PREFIX} prefix. When synchronizing a
+ * table, the managed indexes which don't match an indexed field anymore are dropped and the
+ * missing ones are created.
+ *
+ * <p>The indexes are synchronized outside of any transaction, one statement at a time, so that
+ * PostgreSQL can build them concurrently without locking the tables, and a failed statement
+ * doesn't prevent the next ones from running.
+ */
+@Singleton
+public class MetaJsonIndexService {
+
+  private static final Logger log = LoggerFactory.getLogger(MetaJsonIndexService.class);
+
+  static final String INDEX_PREFIX = "jx_";
+
+  // Oracle identifiers can't be longer than 30 characters
+  private static final int MAX_NAME_LENGTH = 30;
+
+  record JsonIndex(String name, String table, String column, String attribute, String type) {}
+
+  /**
+   * Synchronizes the indexes of the given models once the current transaction is committed.
+   *
+   * @param models the model names
+   */
+  public void syncAfterCommit(Collection<String> models) {
+    if (getSupport() == null) {
+      return;
+    }
+    final Set<String> names = new HashSet<>(models);
+    JPA.em()
+        .unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess(
+            (AfterTransactionCompletionProcess)
+                (success, session) -> {
+                  if (success) {
+                    ContextAwareExecutors.shared()
+                        .execute(ContextAware.of().build(() -> syncQuietly(names)));
+                  }
+                });
+  }
+
+  /**
+   * Synchronizes the indexes of all the models having json fields.
+   *
+   * <p>This is done when the application starts, to create the indexes of the fields imported with
+   * the modules.
+   */
+  public void syncAll() {
+    if (getSupport() == null) {
+      return;
+    }
+    final List<String> models =
+        JPA.em()
+            .createQuery("SELECT DISTINCT self.model FROM MetaJsonField self", String.class)
+            .getResultList();
+    sync(models);
+  }
+
+  void onAppStartup(@Observes StartupEvent event) {
+    try {
+      syncAll();
+    } catch (Exception e) {
+      log.error("Unable to synchronize json indexes: {}", e.getMessage(), e);
+    }
+  }
+
+  private void syncQuietly(Collection<String> models) {
+    try {
+      sync(models);
+    } catch (Exception e) {
+      log.error("Unable to synchronize json indexes: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Synchronizes the indexes of the json fields of the given models.
+   *
+   * @param models the model names
+   * @throws IllegalStateException if a transaction is active
+   * @throws PersistenceException if some indexes can't be created or dropped
+   */
+  public void sync(Collection<String> models) {
+    final JsonIndexSupport support = getSupport();
+    if (support == null) {
+      return;
+    }
+    if (JPA.em().getTransaction().isActive()) {
+      throw new IllegalStateException("Json indexes can't be synchronized within a transaction.");
+    }
+
+    final Set<String> tables = new HashSet<>();
+    for (String model : models) {
+      final AbstractEntityPersister persister = findPersister(model);
+      if (persister != null) {
+        tables.add(persister.getTableName());
+      }
+    }
+    if (tables.isEmpty()) {
+      return;
+    }
+
+    final Map<String, Map<String, JsonIndex>> expected = new HashMap<>();
+    for (JsonIndex index : findIndexes()) {
+      if (tables.contains(index.table())) {
+        expected.computeIfAbsent(index.table(), k -> new HashMap<>()).put(index.name(), index);
+      }
+    }
+
+    final List<SQLException> failures = new ArrayList<>();
+    JPA.jdbcWork(
+        connection -> {
+          final boolean autoCommit = connection.getAutoCommit();
+          connection.setAutoCommit(true);
+          try {
+            syncTables(connection, support, tables, expected, failures);
+          } finally {
+            connection.setAutoCommit(autoCommit);
+          }
+        });
+
+    if (!failures.isEmpty()) {
+      final PersistenceException error =
+          new PersistenceException(
+              "Unable to synchronize json indexes, %d statement(s) failed"
+                  .formatted(failures.size()));
+      failures.forEach(error::addSuppressed);
+      throw error;
+    }
+  }
+
+  private void syncTables(
+      Connection connection,
+      JsonIndexSupport support,
+      Set<String> tables,
+      Map<String, Map<String, JsonIndex>> expected,
+      List<SQLException> failures)
+      throws SQLException {
+    for (String table : tables) {
+      final Map<String, JsonIndex> wanted = expected.getOrDefault(table, Map.of());
+      final Set<String> existing = findExisting(connection, table);
+      for (String name : support.findInvalidJsonIndexes(connection, table)) {
+        // left by a failed concurrent build, it must be created again
+        if (existing.remove(name)) {
+          log.warn("Dropping invalid json index {} on {}", name, table);
+          execute(connection, support.getDropJsonIndexCommands(name, table), failures);
+        }
+      }
+      for (String name : existing) {
+        if (!wanted.containsKey(name)) {
+          log.info("Dropping json index {} on {}", name, table);
+          execute(connection, support.getDropJsonIndexCommands(name, table), failures);
+        }
+      }
+      for (JsonIndex index : wanted.values()) {
+        if (!existing.contains(index.name())) {
+          log.info("Creating json index {} on {}", index.name(), table);
+          execute(
+              connection,
+              support.getCreateJsonIndexCommands(
+                  index.name(), table, index.column(), index.attribute(), index.type()),
+              failures);
+        }
+      }
+    }
+  }
+
+  private List<JsonIndex> findIndexes() {
+    return Query.of(MetaJsonField.class)
+        .filter("self.indexed = true")
+        .autoFlush(false)
+        .fetch()
+        .stream()
+        .map(this::toIndex)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private JsonIndex toIndex(MetaJsonField field) {
+    final AbstractEntityPersister persister = findPersister(field.getModel());
+    if (persister == null || field.getType() == null) {
+      return null;
+    }
+
+    final boolean reference = field.getType().matches("(json-)?many-to-one");
+    final String attribute = reference ? field.getName() + ".id" : field.getName();
+    final String type =
+        switch (field.getType()) {
+          case "integer", "many-to-one", "json-many-to-one" -> "integer";
+          case "decimal" -> "decimal";
+          case "boolean" -> "boolean";
+          case "string", "datetime", "date", "time", "enum" -> "text";
+          default -> null;
+        };
+    if (type == null) {
+      return null;
+    }
+
+    final String table;
+    final String column;
+    try {
+      table = persister.getPropertyTableName(field.getModelField());
+      column = persister.getPropertyColumnNames(field.getModelField())[0];
+    } catch (Exception e) {
+      log.warn("Unable to index json field {}.{}", field.getModel(), field.getName());
+      return null;
+    }
+
+    return new JsonIndex(
+        indexName(table, column, attribute, type), table, column, attribute, type);
+  }
+
+  static String indexName(String table, String column, String attribute, String type) {
+    final CRC32 crc = new CRC32();
+    crc.update(
+        String.join("|", table, column, attribute, type)
+            .toLowerCase(Locale.ROOT)
+            .getBytes(StandardCharsets.UTF_8));
+    final String name =
+        INDEX_PREFIX
+            + String.format("%08x", crc.getValue())
+            + "_"
+            + attribute.replaceAll("\\W", "_").toLowerCase(Locale.ROOT);
+    return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+  }
+
+  Set<String> findExisting(Connection connection, String table) throws SQLException {
+    final DatabaseMetaData metaData = connection.getMetaData();
+    final String tableName =
+        metaData.storesUpperCaseIdentifiers()
+            ? table.toUpperCase(Locale.ROOT)
+            : metaData.storesLowerCaseIdentifiers() ? table.toLowerCase(Locale.ROOT) : table;
+    final Set<String> names = new HashSet<>();
+    try (ResultSet rs =
+        metaData.getIndexInfo(
+            connection.getCatalog(), connection.getSchema(), tableName, false, true)) {
+      while (rs.next()) {
+        final String name = rs.getString("INDEX_NAME");
+        if (name != null && name.toLowerCase(Locale.ROOT).startsWith(INDEX_PREFIX)) {
+          names.add(name.toLowerCase(Locale.ROOT));
+        }
+      }
+    }
+    return names;
+  }
+
+  private void execute(Connection connection, List<String> commands, List<SQLException> failures) {
+    for (String sql : commands) {
+      try (Statement stmt = connection.createStatement()) {
+        stmt.execute(sql);
+      } catch (SQLException e) {
+        log.error("Unable to execute: {}", sql, e);
+        failures.add(e);
+        // the next statements of the same index depend on this one
+        return;
+      }
+    }
+  }
+
+  private SessionFactoryImplementor getFactory() {
+    return JPA.em().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+  }
+
+  JsonIndexSupport getSupport() {
+    return getFactory().getJdbcServices().getDialect() instanceof JsonIndexSupport support
+        ? support
+        : null;
+  }
+
+  private AbstractEntityPersister findPersister(String model) {
+    if (model == null) {
+      return null;
+    }
+    final EntityPersister persister =
+        getFactory().getMappingMetamodel().findEntityDescriptor(model);
+    return persister instanceof AbstractEntityPersister entityPersister ? entityPersister : null;
+  }
+}
@@ -0,0 +1,304 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.service.menu;
+
+import static com.axelor.common.StringUtils.isBlank;
+
+import com.axelor.app.internal.AppFilter;
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.Group;
+import com.axelor.auth.db.Role;
+import com.axelor.auth.db.User;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.common.StringUtils;
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.meta.db.MetaHelp;
+import com.axelor.meta.db.MetaMenu;
+import com.axelor.script.CompositeScriptHelper;
+import com.axelor.script.ScriptBindings;
+import com.axelor.script.ScriptHelper;
+import jakarta.inject.Singleton;
+import jakarta.persistence.TypedQuery;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the menu tree shared by the users having the same group and roles.
+ *
+ * <p>The menus granted to a group and role set, not hidden and whose module is installed, are
+ * computed once per tenant and language and kept as detached {@link MenuEntry} values. Only the
+ * user menus and the conditions to check, which depend on the user, are evaluated on each request.
+ *
+ * <p>The cache is invalidated whenever a {@link MetaMenu}, {@link Group}, {@link Role} or {@link
+ * MetaHelp} is changed, see {@link MenuCacheListener}. As the cache is local to each node, entries
+ * also expire after a while, so that changes made from another node are eventually visible.
+ */
+@Singleton
+public class MenuCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MenuCache.class);
+
+  private static final Duration EXPIRE_DURATION = Duration.ofMinutes(10);
+  private static final int MAX_SIZE = 1000;
+
+  private record Key(
+      String tenantId, String group, Set<String> roles, boolean admin, String language) {}
+
+  private record Tree(List<MenuEntry> menus, Map<String, MenuEntry> byName) {}
+
+  /**
+   * A menu of the cached tree, with the values needed to render it.
+   *
+   * @param name the menu name
+   * @param parent the parent menu name, null for root menus
+   * @param user the id of the user the menu is restricted to, if any
+   * @param help the menu help in the language of the tree, if any
+   */
+  public record MenuEntry(
+      String name,
+      String parent,
+      Long user,
+      Integer order,
+      String title,
+      String icon,
+      String iconBackground,
+      String tag,
+      String tagGet,
+      boolean tagCount,
+      String tagStyle,
+      Boolean left,
+      Boolean mobile,
+      Boolean hidden,
+      String moduleToCheck,
+      String conditionToCheck,
+      String action,
+      String actionModel,
+      String help) {
+
+    public boolean hasTag() {
+      return StringUtils.notEmpty(tag) || StringUtils.notEmpty(tagGet) || tagCount;
+    }
+
+    private static MenuEntry of(MetaMenu menu, String help) {
+      return new MenuEntry(
+          menu.getName(),
+          menu.getParent() == null ? null : menu.getParent().getName(),
+          menu.getUser() == null ? null : menu.getUser().getId(),
+          menu.getOrder(),
+          menu.getTitle(),
+          menu.getIcon(),
+          menu.getIconBackground(),
+          menu.getTag(),
+          menu.getTagGet(),
+          Boolean.TRUE.equals(menu.getTagCount()),
+          menu.getTagStyle(),
+          menu.getLeft(),
+          menu.getMobile(),
+          menu.getHidden(),
+          menu.getModuleToCheck(),
+          menu.getConditionToCheck(),
+          menu.getAction() == null ? null : menu.getAction().getName(),
+          menu.getAction() == null ? null : menu.getAction().getModel(),
+          help);
+    }
+  }
+
+  private final AxelorCache<Key, Tree> trees =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(MAX_SIZE)
+          .expireAfterWrite(EXPIRE_DURATION)
+          .build();
+
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Get the menus the given user can see, in tree order.
+   *
+   * @param user the user
+   * @return list of {@link MenuEntry}
+   */
+  public List<MenuEntry> getMenus(User user) {
+    return getMenus(user, null);
+  }
+
+  /**
+   * Get the menus with the given names the user can see, in tree order.
+   *
+   * <p>Only the conditions of the given menus and of their parents are evaluated.
+   *
+   * @param user the user
+   * @param names the menu names, all the menus if null
+   * @return list of {@link MenuEntry}
+   */
+  public List<MenuEntry> getMenus(User user, Collection<String> names) {
+    final Tree tree = getTree(user);
+    final Checker checker = new Checker(tree, user);
+    final Set<String> filter = names == null ? null : new HashSet<>(names);
+    return tree.menus().stream()
+        .filter(menu -> filter == null || filter.contains(menu.name()))
+        .filter(checker::isVisible)
+        .collect(Collectors.toList());
+  }
+
+  /** Invalidate all the cached menu trees. */
+  public void invalidate() {
+    generation.incrementAndGet();
+    trees.invalidateAll();
+  }
+
+  private Tree getTree(User user) {
+    final Key key = keyOf(user);
+    Tree tree = trees.get(key);
+    if (tree == null) {
+      final long current = generation.get();
+      tree = build(user, key.language());
+      // don't cache a tree built concurrently with an invalidation
+      if (current == generation.get()) {
+        trees.put(key, tree);
+      }
+    }
+    return tree;
+  }
+
+  private Key keyOf(User user) {
+    final Set<String> roles = new HashSet<>();
+    if (user.getRoles() != null) {
+      user.getRoles().stream().map(Role::getName).forEach(roles::add);
+    }
+    if (user.getGroup() != null && user.getGroup().getRoles() != null) {
+      user.getGroup().getRoles().stream().map(Role::getName).forEach(roles::add);
+    }
+    return new Key(
+        TenantResolver.currentTenantIdentifier(),
+        user.getGroup() == null ? null : user.getGroup().getCode(),
+        Set.copyOf(roles),
+        AuthUtils.isAdmin(user),
+        AppFilter.getLocale().toLanguageTag());
+  }
+
+  private Tree build(User user, String language) {
+    final List<MetaMenu> metaMenus = MenuUtils.fetchMetaMenu(null);
+    if (metaMenus.isEmpty()) {
+      return new Tree(Collections.emptyList(), Collections.emptyMap());
+    }
+
+    final MenuChecker checker = new MenuChecker(metaMenus, user);
+    final Map<String, String> helps = getHelps(Locale.forLanguageTag(language));
+    final List<MenuEntry> menus = new ArrayList<>();
+
+    MenuNode.buildTree(metaMenus)
+        .traverse(
+            new SimpleMenuNodeVisitor() {
+
+              @Override
+              public MenuNodeResult preChildVisit(MenuNode childNode) {
+                final MetaMenu menu = childNode.getMetaMenu();
+                return checker.isGranted(menu) && checker.isAvailable(menu)
+                    ? MenuNodeResult.CONTINUE
+                    : MenuNodeResult.TERMINATE;
+              }
+
+              @Override
+              public MenuNodeResult visit(MenuNode node) {
+                if (!node.isRoot()) {
+                  final MetaMenu menu = node.getMetaMenu();
+                  menus.add(MenuEntry.of(menu, helps.get(menu.getName())));
+                }
+                return MenuNodeResult.CONTINUE;
+              }
+            });
+
+    final Map<String, MenuEntry> byName = new LinkedHashMap<>();
+    menus.forEach(menu -> byName.put(menu.name(), menu));
+
+    LOG.debug("Menu tree built with {} menus", menus.size());
+
+    return new Tree(List.copyOf(menus), Collections.unmodifiableMap(byName));
+  }
+
+  private Map<String, String> getHelps(Locale locale) {
+    final String lang = locale.toLanguageTag();
+    final String baseLang = locale.getLanguage();
+
+    final TypedQuery<Object[]> query =
+        JPA.em()
+            .createQuery(
+                """
+                SELECT self.menu, MAX(CASE WHEN self.language = :lang THEN self.help ELSE base.help END) \
+                FROM MetaHelp self \
+                LEFT JOIN MetaHelp base ON base.menu = self.menu AND base.language = :baseLang \
+                WHERE self.menu IS NOT NULL AND self.language IN (:lang, :baseLang) \
+                GROUP BY self.menu""",
+                Object[].class)
+            .setParameter("lang", lang)
+            .setParameter("baseLang", baseLang)
+            .setHint(AvailableHints.HINT_CACHEABLE, true);
+
+    final Map<String, String> helps = new HashMap<>();
+    query.getResultList().forEach(row -> helps.put((String) row[0], (String) row[1]));
+    return helps;
+  }
+
+  /** Evaluates the user specific checks of the menus of a cached tree. */
+  private static class Checker {
+
+    private final Tree tree;
+    private final User user;
+    private final Map<String, Boolean> visible = new HashMap<>();
+
+    private ScriptHelper scriptHelper;
+
+    Checker(Tree tree, User user) {
+      this.tree = tree;
+      this.user = user;
+    }
+
+    boolean isVisible(MenuEntry menu) {
+      Boolean result = visible.get(menu.name());
+      if (result == null) {
+        final MenuEntry parent = menu.parent() == null ? null : tree.byName().get(menu.parent());
+        result = (parent == null || isVisible(parent)) && test(menu);
+        visible.put(menu.name(), result);
+      }
+      return result;
+    }
+
+    private boolean test(MenuEntry menu) {
+      if (menu.user() != null && !Objects.equals(menu.user(), user.getId())) {
+        return false;
+      }
+      final String condition = menu.conditionToCheck();
+      if (isBlank(condition)) {
+        return true;
+      }
+      try {
+        if (scriptHelper == null) {
+          scriptHelper = new CompositeScriptHelper(new ScriptBindings(new HashMap<>()));
+        }
+        return scriptHelper.test(condition);
+      } catch (Exception e) {
+        LOG.error("Unable to evaluate menu {} : {}", menu.name(), e.getMessage());
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.service.menu;
+
+import com.axelor.auth.db.Group;
+import com.axelor.auth.db.Role;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaHelp;
+import com.axelor.meta.db.MetaMenu;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Invalidates the {@link MenuCache} once a transaction changing menus, groups, roles or helps
+ * completes.
+ */
+public class MenuCacheListener
+    implements PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  private boolean isMenuData(Object entity) {
+    return entity instanceof MetaMenu
+        || entity instanceof Group
+        || entity instanceof Role
+        || entity instanceof MetaHelp;
+  }
+
+  private void onChange(Object entity, EventSource session) {
+    if (isMenuData(entity)) {
+      // invalidate on rollback too, a tree may have been built from the flushed changes
+      session
+          .getActionQueue()
+          .registerProcess((success, s) -> Beans.get(MenuCache.class).invalidate());
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    onChange(event.getEntity(), event.getSession());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    onChange(event.getEntity(), event.getSession());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    onChange(event.getEntity(), event.getSession());
+  }
+
+  @Override
+  public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+    onChange(event.getAffectedOwnerOrNull(), event.getSession());
+  }
+
+  @Override
+  public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+    onChange(event.getAffectedOwnerOrNull(), event.getSession());
+  }
+
+  @Override
+  public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+    onChange(event.getAffectedOwnerOrNull(), event.getSession());
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+}
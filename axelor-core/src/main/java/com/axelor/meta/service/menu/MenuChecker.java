@@ -58,7 +58,19 @@ public class MenuChecker {
     if (item.getUser() != null && item.getUser() != user) {
       return false;
     }
+    return isGranted(item);
+  }
 
+  /**
+   * Check whether the given {@link MetaMenu} is granted to the group and roles of the {@link User}
+   *
+   * <p>Unlike {@link #isAllowed(MetaMenu)}, the user menus are not checked, so the result is the
+   * same for all the users having the same group and roles.
+   *
+   * @param item the meta menu to check
+   * @return true if the meta menu is granted, false otherwise
+   */
+  public boolean isGranted(MetaMenu item) {
     final Set<String> myGroups = menuGroups.get(item.getId());
     final Set<String> myRoles = menuRoles.get(item.getId());
 
@@ -87,6 +99,20 @@ public class MenuChecker {
     return scriptHelper.test(condition);
   }
 
+  /**
+   * Check whether the given {@link MetaMenu} is not hidden and its module to check is installed
+   *
+   * <p>Unlike {@link #canShow(MetaMenu)}, the condition to check is not evaluated, so the result is
+   * the same for all the users.
+   *
+   * @param item the meta menu to check
+   * @return true if the meta menu can be shown, false otherwise
+   */
+  public boolean isAvailable(MetaMenu item) {
+    final String module = item.getModuleToCheck();
+    return !Boolean.TRUE.equals(item.getHidden()) && (isBlank(module) || isInstalled(module));
+  }
+
   /**
    * Check whether the given {@link MetaMenu} can be shown
    *
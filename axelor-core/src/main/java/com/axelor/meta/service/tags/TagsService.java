@@ -16,10 +16,8 @@ import com.axelor.meta.MetaStore;
 import com.axelor.meta.db.MetaAction;
 import com.axelor.meta.db.MetaMenu;
 import com.axelor.meta.schema.actions.ActionView;
-import com.axelor.meta.service.menu.MenuChecker;
-import com.axelor.meta.service.menu.MenuNode;
-import com.axelor.meta.service.menu.MenuUtils;
-import com.axelor.meta.service.menu.SimpleMenuNodeVisitor;
+import com.axelor.meta.service.menu.MenuCache;
+import com.axelor.meta.service.menu.MenuCache.MenuEntry;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.filter.Filter;
 import com.axelor.rpc.filter.JPQLFilter;
@@ -38,6 +36,8 @@ public class TagsService {
 
   @Inject private ActionExecutor actionExecutor;
 
+  @Inject private MenuCache menuCache;
+
   public List<TagItem> get(List<String> names) {
     return get(names, AuthUtils.getUser());
   }
@@ -48,98 +48,51 @@ public class TagsService {
       return Collections.emptyList();
     }
 
-    // fetch menus
-    final List<MetaMenu> metaMenus = MenuUtils.fetchMetaMenu(names);
-    if (ObjectUtils.isEmpty(metaMenus)) {
-      return Collections.emptyList();
-    }
-
-    // add parent to metaMenu list in order to check perms and conditions
-    final List<MetaMenu> parentMetaMenus = new ArrayList<>();
-    for (MetaMenu metaMenu : metaMenus) {
-      while (metaMenu.getParent() != null) {
-        metaMenu = metaMenu.getParent();
-        if (!parentMetaMenus.contains(metaMenu)) {
-          parentMetaMenus.add(metaMenu);
-        }
+    final List<TagItem> tagItems = new ArrayList<>();
+    for (MenuEntry menu : menuCache.getMenus(user, names)) {
+      if (menu.hasTag()) {
+        tagItems.add(new TagItem(menu.name(), getTagValue(menu), menu.tagStyle()));
       }
     }
-    metaMenus.addAll(parentMetaMenus);
-
-    List<TagItem> tagItems = new ArrayList<>();
-    MenuChecker checker = new MenuChecker(metaMenus, user);
-
-    // build tree
-    MenuNode rootNode = MenuNode.buildTree(metaMenus);
-
-    // traverse tree
-    rootNode.traverse(
-        new SimpleMenuNodeVisitor() {
-
-          /** Check whether the node can be visited */
-          @Override
-          public MenuNodeResult preChildVisit(MenuNode childNode) {
-            try {
-              if (checker.isAllowed(childNode.getMetaMenu())
-                  && checker.canShow(childNode.getMetaMenu())) {
-                return MenuNodeResult.CONTINUE;
-              }
-            } catch (Exception e) {
-              LOG.error(
-                  "Unable to evaluate menu {} : {}",
-                  childNode.getMetaMenu().getName(),
-                  e.getMessage());
-            }
-            return MenuNodeResult.TERMINATE;
-          }
-
-          /** On each node visited */
-          @Override
-          public MenuNodeResult visit(MenuNode node) {
-            MetaMenu metaMenu = node.getMetaMenu();
-            if (!node.isRoot() && hasTag(metaMenu)) {
-              tagItems.add(buildTagItem(node.getMetaMenu()));
-            }
-            return MenuNodeResult.CONTINUE;
-          }
-        });
 
     return tagItems;
   }
 
   /**
-   * Check whether the {@link MetaMenu} has tag
+   * Get the tag value of the given {@link MetaMenu}
    *
-   * @param metaMenu the meta menu to check
-   * @return true if the meta menu has tag, false otherwise
+   * @param item the meta menu
+   * @return value of the meta menu
    */
-  private boolean hasTag(MetaMenu metaMenu) {
-    return StringUtils.notEmpty(metaMenu.getTag())
-        || StringUtils.notEmpty(metaMenu.getTagGet())
-        || metaMenu.getTagCount();
+  public String getTagValue(MetaMenu item) {
+    final MetaAction action = item.getAction();
+    return getTagValue(
+        item.getName(),
+        item.getTag(),
+        item.getTagGet(),
+        item.getTagCount(),
+        action == null ? null : action.getName(),
+        action == null ? null : action.getModel());
   }
 
   /**
-   * Build {@link TagItem} from the given {@link MetaMenu}
+   * Get the tag value of the given {@link MenuEntry}
    *
-   * @param metaMenu the meta menu
-   * @return created {@link TagItem}
+   * @param item the cached menu
+   * @return value of the menu
    */
-  private TagItem buildTagItem(MetaMenu metaMenu) {
-    return new TagItem(metaMenu.getName(), getTagValue(metaMenu), metaMenu.getTagStyle());
+  public String getTagValue(MenuEntry item) {
+    return getTagValue(
+        item.name(), item.tag(), item.tagGet(), item.tagCount(), item.action(), item.actionModel());
   }
 
-  /**
-   * Get the tag value of the given {@link MetaMenu}
-   *
-   * @param item the meta menu
-   * @return value of the meta menu
-   */
-  public String getTagValue(MetaMenu item) {
-
-    final String staticTag = item.getTag();
-    final String tagGetAction = item.getTagGet();
-    final Boolean hasTagCount = item.getTagCount();
+  private String getTagValue(
+      String name,
+      String staticTag,
+      String tagGetAction,
+      Boolean hasTagCount,
+      String action,
+      String actionModel) {
 
     if (staticTag != null) {
       return staticTag;
@@ -147,17 +100,17 @@ public class TagsService {
 
     try {
       if (tagGetAction != null) {
-        return callTagGet(item);
+        return callTagGet(tagGetAction);
       }
 
-      if (hasTagCount) {
-        if (item.getAction() != null) {
-          return callTagCount(item);
+      if (Boolean.TRUE.equals(hasTagCount)) {
+        if (action != null) {
+          return callTagCount(action, actionModel);
         }
-        LOG.error("No action defined on menu {} to get tag count", item.getName());
+        LOG.error("No action defined on menu {} to get tag count", name);
       }
     } catch (Exception e) {
-      LOG.error("Unable to read tag for menu: {}", item.getName());
+      LOG.error("Unable to read tag for menu: {}", name);
       LOG.trace("Error", e);
     }
 
@@ -165,23 +118,23 @@ public class TagsService {
   }
 
   /**
-   * Call tag-count of the given {@link MetaMenu}
+   * Call tag-count of the given menu action
    *
-   * @param item the meta menu
-   * @return result of the meta menu tag-count
+   * @param action the menu action name
+   * @param model the menu action model
+   * @return result of the menu tag-count
    */
   @SuppressWarnings("all")
-  private String callTagCount(MetaMenu item) {
-    final MetaAction action = item.getAction();
-    final ActionView act = (ActionView) MetaStore.getAction(action.getName());
+  private String callTagCount(String action, String model) {
+    final ActionView act = (ActionView) MetaStore.getAction(action);
 
     if (act == null) {
       return null;
     }
 
     final ActionRequest request = new ActionRequest();
-    request.setAction(action.getName());
-    request.setModel(action.getModel());
+    request.setAction(action);
+    request.setModel(model);
     request.setData(new HashMap<>());
 
     final JpaSecurity security = Beans.get(JpaSecurity.class);
@@ -213,14 +166,14 @@ public class TagsService {
   }
 
   /**
-   * Call tag-get of the given {@link MetaMenu}
+   * Call tag-get action of a menu
    *
-   * @param item the meta menu
-   * @return result of the meta menu tag-get
+   * @param tagGet the tag-get action
+   * @return result of the menu tag-get
    */
-  private String callTagGet(MetaMenu item) {
+  private String callTagGet(String tagGet) {
     final ActionRequest request = new ActionRequest();
-    request.setAction(item.getTagGet());
+    request.setAction(tagGet);
     return (String) actionExecutor.execute(request).getItem(0);
   }
 }
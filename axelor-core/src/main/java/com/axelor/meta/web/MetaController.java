@@ -38,6 +38,7 @@ import com.axelor.meta.schema.actions.ActionView;
 import com.axelor.meta.schema.actions.validate.ActionValidateBuilder;
 import com.axelor.meta.schema.actions.validate.validator.ValidatorType;
 import com.axelor.meta.service.MetaService;
+import com.axelor.meta.service.menu.MenuCache;
 import com.axelor.rpc.ActionRequest;
 import com.axelor.rpc.ActionResponse;
 import com.axelor.rpc.Context;
@@ -220,6 +221,7 @@ public class MetaController {
       }
     }
     MetaStore.clear();
+    Beans.get(MenuCache.class).invalidate();
   }
 
   public void removeUserCustomViews(ActionRequest request, ActionResponse response) {
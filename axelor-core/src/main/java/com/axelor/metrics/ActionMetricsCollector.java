@@ -0,0 +1,28 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.profiler.ActionMetrics;
+import java.util.Map;
+
+/**
+ * The latency of the actions, see {@link ActionMetrics}.
+ *
+ * <p>Actions are only measured when <code>application.profiler.enabled</code> is set.
+ */
+public class ActionMetricsCollector implements MetricsCollector {
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    ActionMetrics.getHistograms()
+        .forEach(
+            (name, histogram) ->
+                writer.histogram(
+                    "axelor_action_duration_seconds",
+                    "The execution time of the actions",
+                    Map.of("action", name),
+                    histogram));
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.cache.CacheStats;
+import com.axelor.cache.caffeine.CaffeineCache;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metrics of the {@link AxelorCache}s.
+ *
+ * <p>The statistics of the caches sharing a name are summed, including the caches collected since
+ * startup, so that counters never go down. The size of a distributed cache is only counted once,
+ * as all its instances share the same entries.
+ */
+public class CacheMetrics implements MetricsCollector {
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    final Map<String, CacheStats> stats = CacheBuilder.getCacheStats();
+    final Map<String, List<AxelorCache<?, ?>>> caches = CacheBuilder.getCaches();
+
+    final String gets = "axelor_cache_gets_total";
+    final String getsHelp = "The number of cache lookups";
+    stats.forEach(
+        (name, s) -> {
+          writer.counter(gets, getsHelp, Map.of("cache", name, "result", "hit"), s.hits());
+          writer.counter(gets, getsHelp, Map.of("cache", name, "result", "miss"), s.misses());
+        });
+
+    stats.forEach(
+        (name, s) ->
+            writer.counter(
+                "axelor_cache_evictions_total",
+                "The number of entries evicted by size or expiration",
+                Map.of("cache", name),
+                s.evictions()));
+
+    caches.forEach(
+        (name, instances) ->
+            writer.gauge(
+                "axelor_cache_size",
+                "The approximate number of cached entries",
+                Map.of("cache", name),
+                size(instances)));
+  }
+
+  private long size(List<AxelorCache<?, ?>> instances) {
+    long size = 0;
+    for (AxelorCache<?, ?> cache : instances) {
+      if (cache instanceof CaffeineCache) {
+        size += cache.estimatedSize();
+      } else {
+        return cache.estimatedSize();
+      }
+    }
+    return size;
+  }
+}
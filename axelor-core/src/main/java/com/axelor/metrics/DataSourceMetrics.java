@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.db.JPA;
+import com.axelor.db.tenants.TenantConnectionProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.util.Map;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+
+/**
+ * The metrics of the HikariCP connection pools.
+ *
+ * <p>With multi-tenancy, the pools are listed by {@link TenantConnectionProvider#getPools()}.
+ */
+public class DataSourceMetrics implements MetricsCollector {
+
+  private static final String DEFAULT_POOL = "default";
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    final Map<String, HikariDataSource> pools = getPools();
+
+    final String connections = "axelor_db_pool_connections";
+    final String connectionsHelp = "The number of connections of the pool";
+    pools.forEach(
+        (name, source) -> {
+          final HikariPoolMXBean pool = source.getHikariPoolMXBean();
+          if (pool != null) {
+            writer.gauge(
+                connections,
+                connectionsHelp,
+                Map.of("pool", name, "state", "active"),
+                pool.getActiveConnections());
+            writer.gauge(
+                connections,
+                connectionsHelp,
+                Map.of("pool", name, "state", "idle"),
+                pool.getIdleConnections());
+          }
+        });
+
+    pools.forEach(
+        (name, source) -> {
+          final HikariPoolMXBean pool = source.getHikariPoolMXBean();
+          if (pool != null) {
+            writer.gauge(
+                "axelor_db_pool_pending_threads",
+                "The number of threads waiting for a connection",
+                Map.of("pool", name),
+                pool.getThreadsAwaitingConnection());
+          }
+        });
+
+    pools.forEach(
+        (name, source) ->
+            writer.gauge(
+                "axelor_db_pool_max_connections",
+                "The maximum number of connections of the pool",
+                Map.of("pool", name),
+                source.getMaximumPoolSize()));
+  }
+
+  private Map<String, HikariDataSource> getPools() {
+    final ServiceRegistryImplementor registry =
+        JPA.em()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry();
+
+    final Object tenantProvider = registry.getService(MultiTenantConnectionProvider.class);
+    if (tenantProvider instanceof TenantConnectionProvider provider) {
+      return provider.getPools();
+    }
+
+    final ConnectionProvider provider = registry.getService(ConnectionProvider.class);
+    if (provider != null && provider.isUnwrappableAs(HikariDataSource.class)) {
+      return Map.of(DEFAULT_POOL, provider.unwrap(HikariDataSource.class));
+    }
+
+    return Map.of();
+  }
+}
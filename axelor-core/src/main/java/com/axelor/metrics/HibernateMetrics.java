@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.db.JPA;
+import java.util.Map;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+/**
+ * The Hibernate statistics, including the second-level and query caches.
+ *
+ * <p>Statistics are enabled with <code>application.metrics.enabled</code>.
+ */
+public class HibernateMetrics implements MetricsCollector {
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    final Statistics stats =
+        JPA.em()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getStatistics();
+
+    if (!stats.isStatisticsEnabled()) {
+      return;
+    }
+
+    final String requests = "axelor_hibernate_cache_requests_total";
+    final String requestsHelp = "The number of second-level and query cache lookups";
+    writer
+        .counter(
+            requests,
+            requestsHelp,
+            Map.of("cache", "second-level", "result", "hit"),
+            stats.getSecondLevelCacheHitCount())
+        .counter(
+            requests,
+            requestsHelp,
+            Map.of("cache", "second-level", "result", "miss"),
+            stats.getSecondLevelCacheMissCount())
+        .counter(
+            requests,
+            requestsHelp,
+            Map.of("cache", "query", "result", "hit"),
+            stats.getQueryCacheHitCount())
+        .counter(
+            requests,
+            requestsHelp,
+            Map.of("cache", "query", "result", "miss"),
+            stats.getQueryCacheMissCount());
+
+    final String puts = "axelor_hibernate_cache_puts_total";
+    final String putsHelp = "The number of entries put in the second-level and query caches";
+    writer
+        .counter(
+            puts, putsHelp, Map.of("cache", "second-level"), stats.getSecondLevelCachePutCount())
+        .counter(puts, putsHelp, Map.of("cache", "query"), stats.getQueryCachePutCount());
+
+    writer
+        .counter(
+            "axelor_hibernate_statements_total",
+            "The number of prepared statements",
+            Map.of(),
+            stats.getPrepareStatementCount())
+        .counter(
+            "axelor_hibernate_entity_loads_total",
+            "The number of loaded entities",
+            Map.of(),
+            stats.getEntityLoadCount())
+        .counter(
+            "axelor_hibernate_collection_loads_total",
+            "The number of loaded collections",
+            Map.of(),
+            stats.getCollectionLoadCount())
+        .counter(
+            "axelor_hibernate_transactions_total",
+            "The number of completed transactions",
+            Map.of(),
+            stats.getTransactionCount())
+        .counter(
+            "axelor_hibernate_sessions_total",
+            "The number of opened sessions",
+            Map.of(),
+            stats.getSessionOpenCount());
+  }
+}
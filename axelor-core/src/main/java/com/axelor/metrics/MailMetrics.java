@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.mail.service.MailService;
+import com.axelor.mail.service.MailServiceImpl;
+import jakarta.inject.Inject;
+import java.util.Map;
+
+/** The metrics of the mail service. */
+public class MailMetrics implements MetricsCollector {
+
+  @Inject private MailService mailService;
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    if (mailService instanceof MailServiceImpl service) {
+      writer.gauge(
+          "axelor_mail_pending",
+          "The number of emails waiting to be sent",
+          Map.of(),
+          service.getPendingCount());
+    }
+  }
+}
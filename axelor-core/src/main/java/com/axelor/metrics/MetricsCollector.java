@@ -0,0 +1,25 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+/**
+ * Collects metrics each time they are scraped.
+ *
+ * <p>Collectors are registered with a Guice {@link com.google.inject.multibindings.Multibinder}:
+ *
+ * <pre>{@code
+ * Multibinder.newSetBinder(binder(), MetricsCollector.class).addBinding().to(MyMetrics.class);
+ * }</pre>
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+
+  /**
+   * Write the current values of the metrics.
+   *
+   * @param writer the metrics writer
+   */
+  void collect(MetricsWriter writer);
+}
@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registry of the {@link MetricsCollector}s.
+ *
+ * <p>Metrics are published when <code>application.metrics.enabled</code> is set.
+ */
+@Singleton
+public class MetricsRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
+
+  private final Set<MetricsCollector> collectors;
+
+  @Inject
+  public MetricsRegistry(Set<MetricsCollector> collectors) {
+    this.collectors = collectors;
+  }
+
+  /**
+   * Check whether the metrics are enabled.
+   *
+   * @return true if <code>application.metrics.enabled</code> is set
+   */
+  public static boolean isEnabled() {
+    return AppSettings.get().getBoolean(AvailableAppSettings.APPLICATION_METRICS_ENABLED, false);
+  }
+
+  /**
+   * Collect the metrics of all the collectors.
+   *
+   * @return the metrics in the Prometheus text exposition format
+   */
+  public String scrape() {
+    final MetricsWriter writer = new MetricsWriter();
+    for (MetricsCollector collector : collectors) {
+      try {
+        collector.collect(writer);
+      } catch (Exception e) {
+        log.error("Unable to collect metrics: {}", collector.getClass().getName(), e);
+      }
+    }
+    return writer.toString();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import com.axelor.profiler.LatencyHistogram;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes metrics in the Prometheus text exposition format.
+ *
+ * <p>All the samples of a metric must be written one after the other, the help and type lines are
+ * written before the first sample of each metric. Durations are written in seconds.
+ */
+public class MetricsWriter {
+
+  private final StringBuilder out = new StringBuilder();
+  private final Set<String> described = new HashSet<>();
+
+  /**
+   * Write a gauge sample.
+   *
+   * @param name the metric name
+   * @param help the metric description
+   * @param labels the sample labels
+   * @param value the value
+   * @return this writer
+   */
+  public MetricsWriter gauge(String name, String help, Map<String, String> labels, double value) {
+    describe(name, "gauge", help);
+    sample(name, labels, null, value);
+    return this;
+  }
+
+  /**
+   * Write a counter sample.
+   *
+   * @param name the metric name, ending with <code>_total</code>
+   * @param help the metric description
+   * @param labels the sample labels
+   * @param value the value
+   * @return this writer
+   */
+  public MetricsWriter counter(String name, String help, Map<String, String> labels, double value) {
+    describe(name, "counter", help);
+    sample(name, labels, null, value);
+    return this;
+  }
+
+  /**
+   * Write the samples of a latency histogram.
+   *
+   * @param name the metric name, ending with <code>_seconds</code>
+   * @param help the metric description
+   * @param labels the sample labels
+   * @param histogram the histogram
+   * @return this writer
+   */
+  public MetricsWriter histogram(
+      String name, String help, Map<String, String> labels, LatencyHistogram histogram) {
+    describe(name, "histogram", help);
+
+    final long[] buckets = histogram.getBuckets();
+    final long[] bounds = histogram.getBounds();
+    long cumulative = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      cumulative += buckets[i];
+      final String le = i < bounds.length ? format(bounds[i] / 1000d) : "+Inf";
+      sample(name + "_bucket", labels, le, cumulative);
+    }
+    sample(name + "_sum", labels, null, histogram.getSum() / 1000d);
+    sample(name + "_count", labels, null, histogram.getCount());
+    return this;
+  }
+
+  private void describe(String name, String type, String help) {
+    if (described.add(name)) {
+      out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+      out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+  }
+
+  private void sample(String name, Map<String, String> labels, String le, double value) {
+    out.append(name);
+    if (!labels.isEmpty() || le != null) {
+      out.append('{');
+      String sep = "";
+      for (Map.Entry<String, String> label : labels.entrySet()) {
+        out.append(sep).append(label.getKey()).append("=\"");
+        out.append(escape(label.getValue())).append('"');
+        sep = ",";
+      }
+      if (le != null) {
+        out.append(sep).append("le=\"").append(le).append('"');
+      }
+      out.append('}');
+    }
+    out.append(' ').append(format(value)).append('\n');
+  }
+
+  private static String escape(String value) {
+    return value == null
+        ? ""
+        : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String format(double value) {
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  @Override
+  public String toString() {
+    return out.toString();
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** The latency histograms of the actions executed since startup, by action name. */
+public final class ActionMetrics {
+
+  /** The maximum number of tracked actions, to bound memory with generated action names. */
+  private static final int MAX_ACTIONS = 10_000;
+
+  private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+  private ActionMetrics() {}
+
+  static void record(String name, long nanos) {
+    LatencyHistogram histogram = HISTOGRAMS.get(name);
+    if (histogram == null) {
+      if (HISTOGRAMS.size() >= MAX_ACTIONS) {
+        return;
+      }
+      histogram = HISTOGRAMS.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+    histogram.record(nanos);
+  }
+
+  /**
+   * Get the latency histograms by action name.
+   *
+   * @return an unmodifiable view of the histograms
+   */
+  public static Map<String, LatencyHistogram> getHistograms() {
+    return Collections.unmodifiableMap(HISTOGRAMS);
+  }
+
+  /** Reset the recorded latencies. */
+  public static void reset() {
+    HISTOGRAMS.clear();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The execution of an action, with the actions it executed.
+ *
+ * @see ActionTracer
+ */
+@JsonInclude(Include.NON_EMPTY)
+public class ActionTrace {
+
+  private final String name;
+  private final String type;
+  private final List<ActionTrace> children = new ArrayList<>();
+
+  private long startedAt;
+  private long time;
+  private int startScripts;
+  private int scripts;
+  private int startStatements;
+  private int statements;
+  private boolean skipped;
+
+  ActionTrace(String name, String type) {
+    this.name = name;
+    this.type = type;
+  }
+
+  void start(Profile profile) {
+    startedAt = System.nanoTime();
+    if (profile != null) {
+      startScripts = profile.getScripts();
+      startStatements = profile.getStatements();
+    }
+  }
+
+  void end(Profile profile) {
+    time = System.nanoTime() - startedAt;
+    if (profile != null) {
+      scripts = profile.getScripts() - startScripts;
+      statements = profile.getStatements() - startStatements;
+    }
+  }
+
+  void skip() {
+    skipped = true;
+  }
+
+  void add(ActionTrace child) {
+    children.add(child);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Get the type of the action, for example <code>action-record</code>. */
+  public String getType() {
+    return type;
+  }
+
+  /** Get the wall time of the action, in milliseconds. */
+  public double getTime() {
+    return time / 1_000_000d;
+  }
+
+  long getNanos() {
+    return time;
+  }
+
+  /** Get the number of scripts evaluated by the action and its children. */
+  public int getScripts() {
+    return scripts;
+  }
+
+  /** Get the number of statements issued by the action and its children. */
+  public int getStatements() {
+    return statements;
+  }
+
+  /** Whether the action was skipped because its condition wasn't met. */
+  public boolean isSkipped() {
+    return skipped;
+  }
+
+  public List<ActionTrace> getChildren() {
+    return children;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Builds the {@link ActionTrace} tree of the actions executed by the current thread.
+ *
+ * <p>Actions are only traced inside a profiled request, see {@link Profiler}. The wall time of
+ * each traced action is also recorded in the {@link ActionMetrics}.
+ */
+public final class ActionTracer {
+
+  private static final ThreadLocal<Deque<ActionTrace>> STACK = new ThreadLocal<>();
+
+  private ActionTracer() {}
+
+  private static String toType(Class<?> type) {
+    // ActionRecord -> action-record
+    return type.getSimpleName().replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase();
+  }
+
+  /**
+   * Start tracing the actions of the current request.
+   *
+   * @param name the name of the executed actions
+   * @return the root of the trace, or null if the request isn't profiled or already traced
+   */
+  public static ActionTrace start(String name) {
+    final Profile profile = Profiler.current();
+    if (profile == null || STACK.get() != null) {
+      return null;
+    }
+    final ActionTrace root = new ActionTrace(name, null);
+    final Deque<ActionTrace> stack = new ArrayDeque<>();
+    stack.push(root);
+    STACK.set(stack);
+    root.start(profile);
+    return root;
+  }
+
+  /**
+   * Stop tracing the actions.
+   *
+   * @param root the trace returned by {@link #start(String)}
+   */
+  public static void stop(ActionTrace root) {
+    if (root != null) {
+      STACK.remove();
+      root.end(Profiler.current());
+    }
+  }
+
+  /**
+   * Trace the execution of an action.
+   *
+   * @param name the action name
+   * @param type the action class, for example <code>ActionRecord</code>
+   * @return the trace to give to {@link #exit(ActionTrace)}, or null if not tracing
+   */
+  public static ActionTrace enter(String name, Class<?> type) {
+    final Deque<ActionTrace> stack = STACK.get();
+    if (stack == null) {
+      return null;
+    }
+    final ActionTrace trace = new ActionTrace(name, toType(type));
+    stack.peek().add(trace);
+    stack.push(trace);
+    trace.start(Profiler.current());
+    return trace;
+  }
+
+  /**
+   * Complete the trace of an action.
+   *
+   * @param trace the trace returned by {@link #enter(String, Class)}
+   */
+  public static void exit(ActionTrace trace) {
+    if (trace == null) {
+      return;
+    }
+    final Deque<ActionTrace> stack = STACK.get();
+    if (stack != null && stack.peek() == trace) {
+      stack.pop();
+    }
+    trace.end(Profiler.current());
+    ActionMetrics.record(trace.getName(), trace.getNanos());
+  }
+
+  /**
+   * Trace an action skipped because its condition wasn't met.
+   *
+   * @param name the action name
+   */
+  public static void skip(String name) {
+    final Deque<ActionTrace> stack = STACK.get();
+    if (stack != null) {
+      final ActionTrace trace = new ActionTrace(name, null);
+      trace.skip();
+      stack.peek().add(trace);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with fixed buckets.
+ *
+ * <p>Recording is lock-free, so that it can be used on hot paths. Percentiles are estimated by
+ * linear interpolation inside the bucket containing the rank, like Prometheus does.
+ */
+public class LatencyHistogram {
+
+  /** The upper bounds of the buckets, in milliseconds. */
+  static final long[] BOUNDS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000
+  };
+
+  private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public LatencyHistogram() {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Record a duration.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  public void record(long nanos) {
+    final double millis = nanos / 1_000_000d;
+    int index = 0;
+    while (index < BOUNDS.length && millis > BOUNDS[index]) {
+      index++;
+    }
+    buckets[index].increment();
+    count.increment();
+    sum.add(nanos);
+    max.accumulate(nanos);
+  }
+
+  /** Get the number of recorded durations. */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /** Get the sum of the recorded durations, in milliseconds. */
+  public double getSum() {
+    return sum.sum() / 1_000_000d;
+  }
+
+  /** Get the longest recorded duration, in milliseconds. */
+  public double getMax() {
+    return max.get() / 1_000_000d;
+  }
+
+  /** Get the upper bounds of the buckets, in milliseconds. */
+  public long[] getBounds() {
+    return BOUNDS.clone();
+  }
+
+  /**
+   * Get the number of durations of each bucket, the last bucket counting the durations above the
+   * last bound.
+   */
+  public long[] getBuckets() {
+    final long[] counts = new long[buckets.length];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * Estimate the given percentile.
+   *
+   * @param percentile the percentile, between 0 and 1
+   * @return the estimated duration in milliseconds, or 0 if nothing was recorded
+   */
+  public double getPercentile(double percentile) {
+    final long[] counts = getBuckets();
+    long total = 0;
+    for (long c : counts) {
+      total += c;
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    final double rank = percentile * total;
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] > 0 && seen + counts[i] >= rank) {
+        final double lower = i == 0 ? 0 : BOUNDS[i - 1];
+        final double upper = i < BOUNDS.length ? BOUNDS[i] : Math.max(lower, getMax());
+        return lower + (upper - lower) * ((rank - seen) / counts[i]);
+      }
+      seen += counts[i];
+    }
+    return getMax();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The performance counters of a request.
+ *
+ * <p>A profile is only updated by the thread processing the request, see {@link Profiler}.
+ */
+public final class Profile {
+
+  /** The maximum number of distinct statements counted, to bound the memory of a profile. */
+  private static final int MAX_STATEMENTS = 1000;
+
+  private final String name;
+  private final long startedAt = System.nanoTime();
+  private long endedAt;
+
+  private int statements;
+  private long jdbcTime;
+  private int entityLoads;
+  private int collectionLoads;
+  private int cacheHits;
+  private int cacheMisses;
+  private int scripts;
+  private long scriptTime;
+  private int scriptDepth;
+
+  private final Map<String, Integer> statementCounts = new HashMap<>();
+
+  Profile(String name) {
+    this.name = name;
+  }
+
+  void end() {
+    endedAt = System.nanoTime();
+  }
+
+  void addStatement(String sql) {
+    statements++;
+    if (statementCounts.size() < MAX_STATEMENTS || statementCounts.containsKey(sql)) {
+      statementCounts.merge(sql, 1, Integer::sum);
+    }
+  }
+
+  void addJdbcTime(long nanos) {
+    jdbcTime += nanos;
+  }
+
+  void addEntityLoad() {
+    entityLoads++;
+  }
+
+  void addCollectionLoad() {
+    collectionLoads++;
+  }
+
+  void addCacheGet(boolean hit) {
+    if (hit) {
+      cacheHits++;
+    } else {
+      cacheMisses++;
+    }
+  }
+
+  /**
+   * Marks the start of a script evaluation.
+   *
+   * @return the start time to give to {@link #scriptEnd(long)}
+   */
+  public long scriptStart() {
+    scriptDepth++;
+    return System.nanoTime();
+  }
+
+  /**
+   * Marks the end of a script evaluation. Nested evaluations are counted, but only the time of the
+   * outermost one is added.
+   *
+   * @param start the value returned by {@link #scriptStart()}
+   */
+  public void scriptEnd(long start) {
+    scripts++;
+    if (--scriptDepth == 0) {
+      scriptTime += System.nanoTime() - start;
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Get the elapsed time of the request, up to now if it isn't complete. */
+  public Duration getElapsed() {
+    return Duration.ofNanos((endedAt == 0 ? System.nanoTime() : endedAt) - startedAt);
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public Duration getJdbcTime() {
+    return Duration.ofNanos(jdbcTime);
+  }
+
+  public int getEntityLoads() {
+    return entityLoads;
+  }
+
+  public int getCollectionLoads() {
+    return collectionLoads;
+  }
+
+  public int getCacheHits() {
+    return cacheHits;
+  }
+
+  public int getCacheMisses() {
+    return cacheMisses;
+  }
+
+  public int getScripts() {
+    return scripts;
+  }
+
+  public Duration getScriptTime() {
+    return Duration.ofNanos(scriptTime);
+  }
+
+  /**
+   * Get the statements executed at least the given number of times, most repeated first.
+   *
+   * <p>The same statement executed many times in a request usually comes from lazy loading in a
+   * loop, the so-called N+1 selects.
+   *
+   * @param threshold the minimum number of executions
+   * @return the map of statements to their number of executions
+   */
+  public Map<String, Integer> getRepeatedStatements(int threshold) {
+    final Map<String, Integer> repeated = new LinkedHashMap<>();
+    statementCounts.entrySet().stream()
+        .filter(e -> e.getValue() >= threshold)
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+    return repeated;
+  }
+
+  @Override
+  public String toString() {
+    return ("%s: %d ms, statements: %d (%d ms), entity loads: %d, collection loads: %d,"
+            + " cache hits: %d/%d, scripts: %d (%d ms)")
+        .formatted(
+            name,
+            getElapsed().toMillis(),
+            statements,
+            getJdbcTime().toMillis(),
+            entityLoads,
+            collectionLoads,
+            cacheHits,
+            cacheHits + cacheMisses,
+            scripts,
+            getScriptTime().toMillis());
+  }
+}
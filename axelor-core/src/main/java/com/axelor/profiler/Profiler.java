@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+
+/**
+ * Keeps track of the {@link Profile} of the current request.
+ *
+ * <p>When <code>application.profiler.enabled</code> is set, the {@link ProfilerFilter} starts a
+ * profile for each web service request, and the Hibernate and scripting hooks record their
+ * counters in the profile of the current thread. Work done in other threads isn't recorded.
+ */
+public final class Profiler {
+
+  private static final ThreadLocal<Profile> CURRENT = new ThreadLocal<>();
+
+  private Profiler() {}
+
+  /**
+   * Check whether the profiler is enabled.
+   *
+   * @return true if <code>application.profiler.enabled</code> is set
+   */
+  public static boolean isEnabled() {
+    return AppSettings.get().getBoolean(AvailableAppSettings.APPLICATION_PROFILER_ENABLED, false);
+  }
+
+  /**
+   * Start profiling the current thread.
+   *
+   * @param name the name of the profile, for example the request method and path
+   * @return the new profile
+   */
+  public static Profile start(String name) {
+    final Profile profile = new Profile(name);
+    CURRENT.set(profile);
+    return profile;
+  }
+
+  /**
+   * Get the profile of the current thread.
+   *
+   * @return the current profile, or null if the current thread isn't profiled
+   */
+  public static Profile current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Stop profiling the current thread.
+   *
+   * @return the completed profile, or null if the current thread wasn't profiled
+   */
+  public static Profile stop() {
+    final Profile profile = CURRENT.get();
+    CURRENT.remove();
+    if (profile != null) {
+      profile.end();
+    }
+    return profile;
+  }
+}
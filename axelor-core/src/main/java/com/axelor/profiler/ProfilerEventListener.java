@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/** Counts the entities loaded and the collections initialized in the current {@link Profile}. */
+public class ProfilerEventListener
+    implements PostLoadEventListener, InitializeCollectionEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public void onPostLoad(PostLoadEvent event) {
+    final Profile profile = Profiler.current();
+    if (profile != null) {
+      profile.addEntityLoad();
+    }
+  }
+
+  @Override
+  public void onInitializeCollection(InitializeCollectionEvent event) {
+    final Profile profile = Profiler.current();
+    if (profile != null) {
+      profile.addCollectionLoad();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.event.Event;
+import com.axelor.events.RequestProfiled;
+import com.google.inject.Singleton;
+import jakarta.inject.Inject;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Profiles the requests and logs the slow ones with their breakdown.
+ *
+ * <p>The statements executed at least <code>application.profiler.repeated-statements</code> times
+ * in a request are logged as probable N+1 selects. A {@link RequestProfiled} event is fired for
+ * each request, so that the profiles can be collected elsewhere.
+ */
+@Singleton
+public class ProfilerFilter implements Filter {
+
+  private static final Logger log = LoggerFactory.getLogger(ProfilerFilter.class);
+
+  private static final long DEFAULT_SLOW_THRESHOLD = 1000;
+  private static final int DEFAULT_REPEATED_STATEMENTS = 10;
+
+  @Inject private Event<RequestProfiled> requestProfiled;
+
+  private long slowThreshold;
+  private int repeatedStatements;
+
+  @Override
+  public void init(FilterConfig filterConfig) throws ServletException {
+    final AppSettings settings = AppSettings.get();
+    slowThreshold =
+        settings.getLong(
+            AvailableAppSettings.APPLICATION_PROFILER_SLOW_THRESHOLD, DEFAULT_SLOW_THRESHOLD);
+    repeatedStatements =
+        settings.getInt(
+            AvailableAppSettings.APPLICATION_PROFILER_REPEATED_STATEMENTS,
+            DEFAULT_REPEATED_STATEMENTS);
+  }
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+
+    if (!(request instanceof HttpServletRequest req) || Profiler.current() != null) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    Profiler.start(req.getMethod() + " " + req.getRequestURI());
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      report(Profiler.stop());
+    }
+  }
+
+  private void report(Profile profile) {
+    final boolean slow = profile.getElapsed().toMillis() >= slowThreshold;
+    final Map<String, Integer> repeated = profile.getRepeatedStatements(repeatedStatements);
+
+    if (slow) {
+      log.warn("Slow request, {}", profile);
+    } else {
+      log.debug("{}", profile);
+    }
+
+    repeated.forEach(
+        (sql, count) ->
+            log.warn(
+                "Probable N+1 select in {}, executed {} times: {}", profile.getName(), count, sql));
+
+    try {
+      requestProfiled.fire(new RequestProfiled(profile, repeated, slow));
+    } catch (Exception e) {
+      log.error("Error while handling request profile", e);
+    }
+  }
+}
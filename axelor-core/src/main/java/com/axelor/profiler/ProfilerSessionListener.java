@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Records the JDBC execution time and the second-level cache lookups of a session in the current
+ * {@link Profile}.
+ *
+ * <p>An instance is created for each session, see <code>hibernate.session.events.auto</code>.
+ */
+public class ProfilerSessionListener implements SessionEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  private long executeStart;
+  private long batchStart;
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    executeStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    final Profile profile = Profiler.current();
+    if (profile != null) {
+      profile.addJdbcTime(System.nanoTime() - executeStart);
+    }
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    batchStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    final Profile profile = Profiler.current();
+    if (profile != null) {
+      profile.addJdbcTime(System.nanoTime() - batchStart);
+    }
+  }
+
+  @Override
+  public void cacheGetEnd(boolean hit) {
+    final Profile profile = Profiler.current();
+    if (profile != null) {
+      profile.addCacheGet(hit);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Counts the statements prepared by Hibernate in the current {@link Profile}. */
+public class ProfilerStatementInspector implements StatementInspector {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public String inspect(String sql) {
+    final Profile profile = Profiler.current();
+    if (profile != null) {
+      profile.addStatement(sql);
+    }
+    return sql;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.quartz;
+
+import com.axelor.db.Model;
+import com.axelor.inject.Beans;
+import java.util.List;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * A {@link Job} processing records by id-range partitions, on all the nodes of the cluster.
+ *
+ * <p>When the job fires, the records matching {@link #getFilter(JobDataMap)} are split into id
+ * ranges saved as {@link com.axelor.meta.db.MetaBatchPartition} records. Worker jobs are then
+ * scheduled, so that any scheduler node with a free thread claims partitions and processes them
+ * by chunks, each chunk in its own transaction. The progress is saved with each chunk, failed
+ * partitions are retried up to {@link #getMaxAttempts()} times, and the partitions of a node that
+ * stopped are claimed again once their lease expires.
+ *
+ * <p>If the previous run of the job isn't complete when it fires again, that run is resumed instead
+ * of starting a new one. The job doesn't fire again while its previous fire is still running.
+ *
+ * <pre>{@code
+ * public class ArchiveJob extends BatchJob<Contact> {
+ *
+ *   @Override
+ *   protected Class<Contact> getModel() {
+ *     return Contact.class;
+ *   }
+ *
+ *   @Override
+ *   protected String getFilter(JobDataMap data) {
+ *     return "self.archived IS NULL";
+ *   }
+ *
+ *   @Override
+ *   protected void process(List<Contact> records, JobDataMap data) {
+ *     records.forEach(contact -> contact.setArchived(true));
+ *   }
+ * }
+ * }</pre>
+ *
+ * @param <T> the type of the processed records
+ */
+@DisallowConcurrentExecution
+public abstract class BatchJob<T extends Model> implements Job {
+
+  private static final int DEFAULT_PARTITION_SIZE = 10_000;
+  private static final int DEFAULT_CHUNK_SIZE = 100;
+  private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  /**
+   * Get the type of the processed records.
+   *
+   * @return the model class
+   */
+  protected abstract Class<T> getModel();
+
+  /**
+   * Get the JPQL filter of the processed records, the job parameters can be used as named
+   * parameters.
+   *
+   * @param data the job parameters
+   * @return the filter, or null to process all the records
+   */
+  protected String getFilter(JobDataMap data) {
+    return null;
+  }
+
+  /**
+   * Process the given records, called inside a transaction committed with the partition progress.
+   *
+   * @param records the records of a chunk, ordered by id
+   * @param data the job parameters
+   */
+  protected abstract void process(List<T> records, JobDataMap data);
+
+  /**
+   * Get the approximate number of records of each partition.
+   *
+   * @return the partition size
+   */
+  protected int getPartitionSize() {
+    return DEFAULT_PARTITION_SIZE;
+  }
+
+  /**
+   * Get the number of records processed in a transaction.
+   *
+   * @return the chunk size
+   */
+  protected int getChunkSize() {
+    return DEFAULT_CHUNK_SIZE;
+  }
+
+  /**
+   * Get the number of times a partition is processed before it is marked as failed.
+   *
+   * @return the maximum number of attempts
+   */
+  protected int getMaxAttempts() {
+    return DEFAULT_MAX_ATTEMPTS;
+  }
+
+  @Override
+  public void execute(JobExecutionContext context) throws JobExecutionException {
+    Beans.get(BatchJobService.class).start(this, context);
+  }
+}
@@ -0,0 +1,543 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.quartz;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.common.StringUtils;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.db.QueryBinder;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaBatchJob;
+import com.axelor.meta.db.MetaBatchPartition;
+import com.axelor.meta.db.MetaBatchStatus;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The service running the {@link BatchJob} partitions.
+ *
+ * <p>Partitions are claimed with a conditional update, so that a partition is processed by one
+ * worker at a time. The worker owning a partition renews its lease with each committed chunk, and
+ * a partition whose lease expired, because its node stopped, can be claimed by another worker. The
+ * chunk progress is only committed while the worker still owns the partition.
+ *
+ * <p>A job has one running run at a time, the job name of the running run is unique, so that the
+ * nodes firing the job at the same time share the same run.
+ *
+ * <p>The following settings can be used:
+ *
+ * <ul>
+ *   <li><code>quartz.batch.workers</code> the number of workers scheduled for a run, including the
+ *       node firing the job (default 10)
+ *   <li><code>quartz.batch.lease-timeout</code> the number of seconds after which a partition not
+ *       updated by its worker can be claimed again (default 600)
+ * </ul>
+ */
+@Singleton
+public class BatchJobService {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchJobService.class);
+
+  static final String BATCH_ID = "batchJobId";
+
+  private static final int DEFAULT_WORKERS = 10;
+  private static final int DEFAULT_LEASE_TIMEOUT = 600;
+  private static final int CLAIM_CANDIDATES = 10;
+
+  private static final String CLAIMABLE =
+      """
+      (self.status = :pending \
+      OR (self.status = :running AND self.claimedOn < :expired AND self.attempts < :max))""";
+
+  private static final String FIND_CLAIMABLE =
+      """
+      SELECT self.id FROM MetaBatchPartition self \
+      WHERE self.job.id = :job AND %s \
+      ORDER BY self.partitionIndex"""
+          .formatted(CLAIMABLE);
+
+  private static final String CLAIM =
+      """
+      UPDATE MetaBatchPartition self \
+      SET self.status = :running, self.owner = :owner, self.claimedOn = :now, \
+      self.attempts = self.attempts + 1 \
+      WHERE self.id = :id AND %s"""
+          .formatted(CLAIMABLE);
+
+  private static final String UPDATE_PROGRESS =
+      """
+      UPDATE MetaBatchPartition self \
+      SET self.lastId = :lastId, self.processed = self.processed + :count, self.claimedOn = :now \
+      WHERE self.id = :id AND self.owner = :owner AND self.status = :running""";
+
+  private static final String UPDATE_STATUS =
+      """
+      UPDATE MetaBatchPartition self SET self.status = :status, self.errorMessage = :error \
+      WHERE self.id = :id AND self.owner = :owner AND self.status = :running""";
+
+  /**
+   * The progress of a batch job run.
+   *
+   * @param pending the number of partitions waiting for a worker
+   * @param running the number of partitions being processed
+   * @param done the number of processed partitions
+   * @param failed the number of partitions that failed too many times
+   * @param processed the number of processed records
+   */
+  public record BatchProgress(long pending, long running, long done, long failed, long processed) {
+
+    public long partitions() {
+      return pending + running + done + failed;
+    }
+  }
+
+  /** Thrown when the partition has been claimed by another worker. */
+  private static class LeaseLostException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    LeaseLostException(Long partitionId) {
+      super("Partition claimed by another worker: " + partitionId);
+    }
+  }
+
+  record Partition(Long id, long minId, long maxId, Long lastId, int attempts) {}
+
+  private int getWorkers() {
+    return AppSettings.get().getInt(AvailableAppSettings.QUARTZ_BATCH_WORKERS, DEFAULT_WORKERS);
+  }
+
+  private int getLeaseTimeout() {
+    return AppSettings.get()
+        .getInt(AvailableAppSettings.QUARTZ_BATCH_LEASE_TIMEOUT, DEFAULT_LEASE_TIMEOUT);
+  }
+
+  /**
+   * Get the progress of the given batch job run.
+   *
+   * @param batchId the id of the {@link MetaBatchJob}
+   * @return the progress
+   */
+  public BatchProgress getProgress(Long batchId) {
+    final List<Object[]> rows =
+        JPA.em()
+            .createQuery(
+                """
+                SELECT self.status, COUNT(self), SUM(self.processed) \
+                FROM MetaBatchPartition self WHERE self.job.id = :job GROUP BY self.status""",
+                Object[].class)
+            .setParameter("job", batchId)
+            .getResultList();
+
+    final long[] counts = new long[MetaBatchStatus.values().length];
+    long processed = 0;
+    for (Object[] row : rows) {
+      counts[((MetaBatchStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+      processed += row[2] == null ? 0 : ((Number) row[2]).longValue();
+    }
+
+    return new BatchProgress(
+        counts[MetaBatchStatus.PENDING.ordinal()],
+        counts[MetaBatchStatus.RUNNING.ordinal()],
+        counts[MetaBatchStatus.DONE.ordinal()],
+        counts[MetaBatchStatus.FAILED.ordinal()],
+        processed);
+  }
+
+  /**
+   * Restart the failed partitions of the given batch job run.
+   *
+   * <p>The run is resumed the next time its job fires. It can't be restarted while another run of
+   * the same job is running.
+   *
+   * @param batchId the id of the {@link MetaBatchJob}
+   */
+  public void restart(Long batchId) {
+    JPA.runInTransaction(
+        () -> {
+          final EntityManager em = JPA.em();
+          em.createQuery(
+                  """
+                  UPDATE MetaBatchPartition self \
+                  SET self.status = :pending, self.attempts = 0, self.errorMessage = NULL \
+                  WHERE self.job.id = :job AND self.status = :failed""")
+              .setParameter("pending", MetaBatchStatus.PENDING)
+              .setParameter("failed", MetaBatchStatus.FAILED)
+              .setParameter("job", batchId)
+              .executeUpdate();
+          em.createQuery(
+                  """
+                  UPDATE MetaBatchJob self \
+                  SET self.status = :running, self.runningName = self.name, self.endedOn = NULL \
+                  WHERE self.id = :id""")
+              .setParameter("running", MetaBatchStatus.RUNNING)
+              .setParameter("id", batchId)
+              .executeUpdate();
+        });
+  }
+
+  /** Start or resume the run of the given batch job, and work on its partitions. */
+  void start(BatchJob<?> handler, JobExecutionContext context) {
+    final JobDataMap data = context.getMergedJobDataMap();
+    final String name = context.getJobDetail().getKey().getName();
+
+    final Long batchId = findOrCreate(handler, name, data);
+
+    if (batchId == null) {
+      log.info("No records to process for batch job: {}", name);
+      return;
+    }
+
+    final BatchProgress progress = getProgress(batchId);
+    final long remaining = progress.pending() + progress.running();
+    log.info("Running batch job: {}, partitions: {}", name, progress.partitions());
+
+    schedule(context, batchId, (int) Math.min(getWorkers() - 1L, remaining - 1));
+    work(handler, batchId, data, getOwner(context));
+  }
+
+  /**
+   * Find the running run of the given job, or create a new one.
+   *
+   * @return the id of the run, or null if there are no records to process
+   */
+  Long findOrCreate(BatchJob<?> handler, String name, JobDataMap data) {
+    try {
+      return JPA.callInTransaction(
+          () -> {
+            final Long running = findRunning(name);
+            return running != null ? running : create(handler, name, data);
+          });
+    } catch (PersistenceException e) {
+      // the run has been created by another node at the same time
+      JPA.clear();
+      final Long running = JPA.callInTransaction(() -> findRunning(name));
+      if (running == null) {
+        throw e;
+      }
+      return running;
+    }
+  }
+
+  /** Work on the partitions of the run given by the worker job data. */
+  void work(JobExecutionContext context) {
+    final JobDataMap data = context.getMergedJobDataMap();
+    final Long batchId = data.getLong(BATCH_ID);
+
+    final MetaBatchJob batch = JPA.em().find(MetaBatchJob.class, batchId);
+    if (batch == null || batch.getStatus() != MetaBatchStatus.RUNNING) {
+      return;
+    }
+
+    final BatchJob<?> handler;
+    try {
+      handler = (BatchJob<?>) Beans.get(Class.forName(batch.getHandler()));
+    } catch (ClassNotFoundException | ClassCastException e) {
+      log.error("Invalid batch job class: {}", batch.getHandler());
+      return;
+    }
+
+    work(handler, batchId, data, getOwner(context));
+  }
+
+  void work(BatchJob<?> handler, Long batchId, JobDataMap data, String owner) {
+    final int maxAttempts = handler.getMaxAttempts();
+    Partition partition;
+    while ((partition = claim(batchId, owner, maxAttempts)) != null) {
+      process(handler, partition, owner, data, maxAttempts);
+    }
+    complete(batchId, maxAttempts);
+  }
+
+  private <T extends Model> void process(
+      BatchJob<T> handler, Partition partition, String owner, JobDataMap data, int maxAttempts) {
+    final String filter = handler.getFilter(data);
+    final String where =
+        "self.id > :batchFrom AND self.id <= :batchTo"
+            + (StringUtils.isBlank(filter) ? "" : " AND (" + filter + ")");
+
+    long from = partition.lastId() == null ? partition.minId() - 1 : partition.lastId();
+
+    log.debug("Processing partition {} from id {}", partition.id(), from);
+
+    try {
+      while (true) {
+        final long lastId = from;
+        final Long next =
+            JPA.callInTransaction(
+                () -> {
+                  final List<T> records =
+                      JPA.all(handler.getModel())
+                          .filter(where)
+                          .bind(data.getWrappedMap())
+                          .bind("batchFrom", lastId)
+                          .bind("batchTo", partition.maxId())
+                          .order("id")
+                          .fetch(handler.getChunkSize());
+                  if (records.isEmpty()) {
+                    return null;
+                  }
+
+                  handler.process(records, data);
+
+                  final Long last = records.getLast().getId();
+                  final int updated =
+                      JPA.em()
+                          .createQuery(UPDATE_PROGRESS)
+                          .setParameter("lastId", last)
+                          .setParameter("count", (long) records.size())
+                          .setParameter("now", LocalDateTime.now())
+                          .setParameter("id", partition.id())
+                          .setParameter("owner", owner)
+                          .setParameter("running", MetaBatchStatus.RUNNING)
+                          .executeUpdate();
+                  if (updated == 0) {
+                    throw new LeaseLostException(partition.id());
+                  }
+                  return last;
+                });
+        JPA.clear();
+        if (next == null) {
+          break;
+        }
+        from = next;
+      }
+      updateStatus(partition, owner, MetaBatchStatus.DONE, null);
+    } catch (LeaseLostException e) {
+      JPA.clear();
+      log.warn(e.getMessage());
+    } catch (Exception e) {
+      JPA.clear();
+      final MetaBatchStatus status =
+          partition.attempts() < maxAttempts ? MetaBatchStatus.PENDING : MetaBatchStatus.FAILED;
+      log.error("Batch partition {} failed, attempt: {}", partition.id(), partition.attempts(), e);
+      updateStatus(partition, owner, status, e.toString());
+    }
+  }
+
+  private void updateStatus(
+      Partition partition, String owner, MetaBatchStatus status, String error) {
+    JPA.runInTransaction(
+        () ->
+            JPA.em()
+                .createQuery(UPDATE_STATUS)
+                .setParameter("status", status)
+                .setParameter("error", error)
+                .setParameter("id", partition.id())
+                .setParameter("owner", owner)
+                .setParameter("running", MetaBatchStatus.RUNNING)
+                .executeUpdate());
+  }
+
+  Partition claim(Long batchId, String owner, int maxAttempts) {
+    return JPA.callInTransaction(
+        () -> {
+          final EntityManager em = JPA.em();
+          final LocalDateTime now = LocalDateTime.now();
+          final LocalDateTime expired = now.minusSeconds(getLeaseTimeout());
+
+          final Query find =
+              em.createQuery(FIND_CLAIMABLE)
+                  .setParameter("job", batchId)
+                  .setMaxResults(CLAIM_CANDIDATES);
+          setClaimable(find, expired, maxAttempts);
+
+          for (Object id : find.getResultList()) {
+            final Query claim =
+                em.createQuery(CLAIM)
+                    .setParameter("owner", owner)
+                    .setParameter("now", now)
+                    .setParameter("id", id);
+            setClaimable(claim, expired, maxAttempts);
+            if (claim.executeUpdate() == 1) {
+              final MetaBatchPartition partition = em.find(MetaBatchPartition.class, id);
+              em.refresh(partition);
+              return new Partition(
+                  partition.getId(),
+                  partition.getMinId(),
+                  partition.getMaxId(),
+                  partition.getLastId(),
+                  partition.getAttempts());
+            }
+          }
+          return null;
+        });
+  }
+
+  private void setClaimable(Query query, LocalDateTime expired, int maxAttempts) {
+    query
+        .setParameter("pending", MetaBatchStatus.PENDING)
+        .setParameter("running", MetaBatchStatus.RUNNING)
+        .setParameter("expired", expired)
+        .setParameter("max", maxAttempts);
+  }
+
+  /** Marks the run as completed once all its partitions are done or failed. */
+  private void complete(Long batchId, int maxAttempts) {
+    JPA.runInTransaction(
+        () -> {
+          final EntityManager em = JPA.em();
+          final LocalDateTime now = LocalDateTime.now();
+
+          // partitions of stopped workers that can't be retried anymore
+          em.createQuery(
+                  """
+                  UPDATE MetaBatchPartition self \
+                  SET self.status = :failed, self.errorMessage = :error \
+                  WHERE self.job.id = :job AND self.status = :running \
+                  AND self.claimedOn < :expired AND self.attempts >= :max""")
+              .setParameter("failed", MetaBatchStatus.FAILED)
+              .setParameter("error", "Lease expired")
+              .setParameter("job", batchId)
+              .setParameter("running", MetaBatchStatus.RUNNING)
+              .setParameter("expired", now.minusSeconds(getLeaseTimeout()))
+              .setParameter("max", maxAttempts)
+              .executeUpdate();
+
+          final BatchProgress progress = getProgress(batchId);
+          if (progress.pending() + progress.running() > 0) {
+            return;
+          }
+
+          final MetaBatchStatus status =
+              progress.failed() > 0 ? MetaBatchStatus.FAILED : MetaBatchStatus.DONE;
+          final int updated =
+              em.createQuery(
+                      """
+                      UPDATE MetaBatchJob self \
+                      SET self.status = :status, self.runningName = NULL, self.endedOn = :now \
+                      WHERE self.id = :id AND self.status = :running""")
+                  .setParameter("status", status)
+                  .setParameter("now", now)
+                  .setParameter("id", batchId)
+                  .setParameter("running", MetaBatchStatus.RUNNING)
+                  .executeUpdate();
+          if (updated == 1) {
+            log.info(
+                "Batch job {} completed, status: {}, records: {}, failed partitions: {}",
+                batchId,
+                status,
+                progress.processed(),
+                progress.failed());
+          }
+        });
+  }
+
+  private Long findRunning(String name) {
+    return JPA.em()
+        .createQuery(
+            "SELECT self.id FROM MetaBatchJob self WHERE self.runningName = :name", Long.class)
+        .setParameter("name", name)
+        .getResultStream()
+        .findFirst()
+        .orElse(null);
+  }
+
+  private Long create(BatchJob<?> handler, String name, JobDataMap data) {
+    final EntityManager em = JPA.em();
+    final String filter = handler.getFilter(data);
+    final Query query =
+        em.createQuery(
+            "SELECT MIN(self.id), MAX(self.id), COUNT(self.id) FROM %s self%s"
+                .formatted(
+                    handler.getModel().getName(),
+                    StringUtils.isBlank(filter) ? "" : " WHERE " + filter));
+    QueryBinder.of(query).bind(data.getWrappedMap());
+
+    final Object[] range = (Object[]) query.getSingleResult();
+    final long count = ((Number) range[2]).longValue();
+    if (count == 0) {
+      return null;
+    }
+
+    final long minId = ((Number) range[0]).longValue();
+    final long maxId = ((Number) range[1]).longValue();
+    final long partitions = Math.ceilDiv(count, Math.max(1, handler.getPartitionSize()));
+    final long step = Math.ceilDiv(maxId - minId + 1, partitions);
+
+    final MetaBatchJob batch = new MetaBatchJob();
+    batch.setName(name);
+    batch.setHandler(getHandlerClass(handler).getName());
+    batch.setStatus(MetaBatchStatus.RUNNING);
+    batch.setRunningName(name);
+    batch.setStartedOn(LocalDateTime.now());
+    em.persist(batch);
+
+    int index = 0;
+    for (long start = minId; start <= maxId; start += step) {
+      final MetaBatchPartition partition = new MetaBatchPartition();
+      partition.setJob(batch);
+      partition.setPartitionIndex(index++);
+      partition.setMinId(start);
+      partition.setMaxId(Math.min(maxId, start + step - 1));
+      partition.setStatus(MetaBatchStatus.PENDING);
+      partition.setAttempts(0);
+      partition.setProcessed(0L);
+      em.persist(partition);
+    }
+
+    em.flush();
+    return batch.getId();
+  }
+
+  /** Schedules worker jobs, in the job group, so that free scheduler threads claim partitions. */
+  private void schedule(JobExecutionContext context, Long batchId, int workers) {
+    final JobKey key = context.getJobDetail().getKey();
+    for (int i = 1; i <= workers; i++) {
+      final String name = "%s#%d#%d".formatted(key.getName(), batchId, i);
+      final JobDetail detail =
+          JobBuilder.newJob(BatchWorkerJob.class)
+              .withIdentity(name, key.getGroup())
+              .usingJobData(context.getMergedJobDataMap())
+              .usingJobData(BATCH_ID, batchId)
+              .build();
+      final Trigger trigger =
+          TriggerBuilder.newTrigger().withIdentity(name, key.getGroup()).startNow().build();
+      try {
+        context.getScheduler().scheduleJob(detail, trigger);
+      } catch (ObjectAlreadyExistsException e) {
+        // worker of a previous fire not run yet
+      } catch (SchedulerException e) {
+        log.error("Unable to schedule batch worker: {}", name, e);
+      }
+    }
+  }
+
+  private String getOwner(JobExecutionContext context) {
+    String instance;
+    try {
+      instance = context.getScheduler().getSchedulerInstanceId();
+    } catch (SchedulerException e) {
+      instance = "unknown";
+    }
+    return instance + "/" + context.getFireInstanceId();
+  }
+
+  private Class<?> getHandlerClass(BatchJob<?> handler) {
+    Class<?> klass = handler.getClass();
+    // skip the classes generated by guice for method interceptors
+    while (klass.getName().contains("$$")) {
+      klass = klass.getSuperclass();
+    }
+    return klass;
+  }
+}
@@ -0,0 +1,21 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.quartz;
+
+import jakarta.inject.Inject;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/** The {@link Job} claiming and processing the partitions of a {@link BatchJob} run. */
+public class BatchWorkerJob implements Job {
+
+  @Inject private BatchJobService batchJobService;
+
+  @Override
+  public void execute(JobExecutionContext context) throws JobExecutionException {
+    batchJobService.work(context);
+  }
+}
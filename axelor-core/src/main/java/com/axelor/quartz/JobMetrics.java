@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.quartz;
+
+import com.axelor.metrics.MetricsCollector;
+import com.axelor.metrics.MetricsWriter;
+import com.axelor.profiler.LatencyHistogram;
+import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.listeners.JobListenerSupport;
+
+/**
+ * Measures the job executions of this node.
+ *
+ * <p>Jobs are measured by job class, as job names can be generated, for example for the workers of
+ * a {@link BatchJob}.
+ */
+@Singleton
+public class JobMetrics extends JobListenerSupport implements MetricsCollector {
+
+  private static final String NAME = "JobMetrics";
+
+  private final Map<String, LatencyHistogram> durations = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+  private final AtomicInteger running = new AtomicInteger();
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public void jobToBeExecuted(JobExecutionContext context) {
+    running.incrementAndGet();
+  }
+
+  @Override
+  public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+    running.decrementAndGet();
+
+    final String job = context.getJobDetail().getJobClass().getName();
+    durations
+        .computeIfAbsent(job, k -> new LatencyHistogram())
+        .record(context.getJobRunTime() * 1_000_000);
+    if (jobException != null) {
+      failures.computeIfAbsent(job, k -> new LongAdder()).increment();
+    }
+  }
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    writer.gauge(
+        "axelor_quartz_jobs_running", "The number of jobs running", Map.of(), running.get());
+
+    durations.forEach(
+        (job, histogram) ->
+            writer.histogram(
+                "axelor_quartz_job_duration_seconds",
+                "The execution time of the jobs",
+                Map.of("job", job),
+                histogram));
+
+    failures.forEach(
+        (job, count) ->
+            writer.counter(
+                "axelor_quartz_job_failures_total",
+                "The number of failed job executions",
+                Map.of("job", job),
+                count.sum()));
+  }
+}
@@ -4,7 +4,9 @@
  */
 package com.axelor.quartz;
 
+import com.axelor.metrics.MetricsCollector;
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
 import org.quartz.Scheduler;
 
 /** The default guice module for quartz scheduler. */
@@ -13,5 +15,6 @@ public class SchedulerModule extends AbstractModule {
   @Override
   protected void configure() {
     bind(Scheduler.class).toProvider(SchedulerProvider.class);
+    Multibinder.newSetBinder(binder(), MetricsCollector.class).addBinding().to(JobMetrics.class);
   }
 }
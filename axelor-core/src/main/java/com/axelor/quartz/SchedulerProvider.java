@@ -56,6 +56,8 @@ class SchedulerProvider implements Provider<Scheduler> {
 
   @Inject private JobCleaner jobCleaner;
 
+  @Inject private JobMetrics jobMetrics;
+
   private static final Logger log = LoggerFactory.getLogger(SchedulerProvider.class);
 
   @Override
@@ -104,6 +106,7 @@ class SchedulerProvider implements Provider<Scheduler> {
       scheduler = schedulerFactory.getScheduler();
       scheduler.setJobFactory(jobFactory);
       scheduler.getListenerManager().addJobListener(jobCleaner);
+      scheduler.getListenerManager().addJobListener(jobMetrics);
     } catch (SchedulerException e) {
       throw new RuntimeException(e);
     }
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.report;
+
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps track of reports being generated in background.
+ *
+ * <p>Each submitted report gets a token the client can use to poll its state. Pending reports are
+ * tracked on the node that generates them and expire after some period of time.
+ *
+ * <p>Neither the tokens nor the generated files are shared between nodes. In a cluster, the
+ * polls must reach the node which generated the report, which requires sticky sessions.
+ */
+@Singleton
+public class PendingReportService {
+
+  private record PendingReport(String owner, Future<Map<String, Object>> future) {}
+
+  private static final Cache<String, PendingReport> pendingReports =
+      Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(30)).build();
+
+  /**
+   * Adds a pending report for the current user.
+   *
+   * @param future the future of the report result
+   * @return the token associated with the pending report
+   */
+  public String add(Future<Map<String, Object>> future) {
+    final var token = UUID.randomUUID().toString();
+    pendingReports.put(token, new PendingReport(currentUserCode(), future));
+    return token;
+  }
+
+  /**
+   * Returns the pending report by its token.
+   *
+   * <p>Only the user who submitted the report can access it.
+   *
+   * @param token the token associated with the pending report
+   * @return the future of the report result or null
+   */
+  public @Nullable Future<Map<String, Object>> get(String token) {
+    final PendingReport report = token == null ? null : pendingReports.getIfPresent(token);
+    if (report == null || !Objects.equals(report.owner(), currentUserCode())) {
+      return null;
+    }
+    return report.future();
+  }
+
+  /**
+   * Removes the pending report by its token.
+   *
+   * @param token the token associated with the pending report
+   */
+  public void remove(String token) {
+    pendingReports.invalidate(token);
+  }
+
+  private static String currentUserCode() {
+    final User user = AuthUtils.getUser();
+    return user == null ? null : user.getCode();
+  }
+}
@@ -4,9 +4,13 @@
  */
 package com.axelor.report;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
 import com.axelor.app.internal.AppFilter;
 import com.axelor.db.JPA;
 import com.axelor.file.temp.TempFiles;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.inject.Inject;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -14,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.Locale;
@@ -36,6 +41,22 @@ import org.eclipse.birt.report.model.api.IResourceLocator;
 /** The report generator service. */
 public class ReportGenerator {
 
+  private static final int DEFAULT_DESIGN_CACHE_SIZE = 100;
+
+  /** Parsed report designs, keyed by the resolved design url. */
+  private static final Cache<String, CachedDesign> DESIGNS =
+      Caffeine.newBuilder()
+          .maximumSize(
+              Math.max(
+                  0,
+                  AppSettings.get()
+                      .getInt(
+                          AvailableAppSettings.REPORTS_DESIGN_CACHE_SIZE,
+                          DEFAULT_DESIGN_CACHE_SIZE)))
+          .build();
+
+  private record CachedDesign(IReportRunnable runnable, long lastModified) {}
+
   @Inject private IReportEngine engine;
 
   /**
@@ -81,37 +102,74 @@ public class ReportGenerator {
       throw new BirtException("No such report found: " + designName);
     }
 
-    try (InputStream stream = found.openStream()) {
+    final IReportRunnable report = openReportDesign(designName, found);
+    final IRunAndRenderTask task = engine.createRunAndRenderTask(report);
+    final IRenderOption opts = new RenderOption();
+
+    opts.setOutputFormat(format);
+    opts.setOutputStream(output);
+
+    task.setLocale(locale);
+    task.setRenderOption(opts);
+    task.setParameterValues(params);
+
+    task.getAppContext()
+        .put(EngineConstants.APPCONTEXT_CLASSLOADER_KEY, getClass().getClassLoader());
+    task.getAppContext().put(IConnectionFactory.CLOSE_PASS_IN_CONNECTION, Boolean.FALSE);
+
+    JPA.jdbcWork(
+        connection -> {
+          task.getAppContext().put(IConnectionFactory.PASS_IN_CONNECTION, connection);
+          try {
+            task.run();
+          } catch (EngineException e) {
+            throw new RuntimeException(e);
+          } finally {
+            task.close();
+          }
+        });
+  }
+
+  /**
+   * Open the given report design, reusing the parsed design if the design file has not changed
+   * since it was last opened.
+   *
+   * <p>A parsed {@link IReportRunnable} is immutable and can be shared between concurrent tasks.
+   */
+  private IReportRunnable openReportDesign(String designName, URL found)
+      throws IOException, BirtException {
+    final String key = found.toExternalForm();
+    final long lastModified = lastModified(found);
+    final CachedDesign cached = DESIGNS.getIfPresent(key);
 
+    if (cached != null && cached.lastModified() == lastModified) {
+      return cached.runnable();
+    }
+
+    try (InputStream stream = found.openStream()) {
       final IReportRunnable report = engine.openReportDesign(designName, stream);
-      final IRunAndRenderTask task = engine.createRunAndRenderTask(report);
-      final IRenderOption opts = new RenderOption();
-
-      opts.setOutputFormat(format);
-      opts.setOutputStream(output);
-
-      task.setLocale(locale);
-      task.setRenderOption(opts);
-      task.setParameterValues(params);
-
-      task.getAppContext()
-          .put(EngineConstants.APPCONTEXT_CLASSLOADER_KEY, getClass().getClassLoader());
-      task.getAppContext().put(IConnectionFactory.CLOSE_PASS_IN_CONNECTION, Boolean.FALSE);
-
-      JPA.jdbcWork(
-          connection -> {
-            task.getAppContext().put(IConnectionFactory.PASS_IN_CONNECTION, connection);
-            try {
-              task.run();
-            } catch (EngineException e) {
-              throw new RuntimeException(e);
-            } finally {
-              task.close();
-            }
-          });
+      DESIGNS.put(key, new CachedDesign(report, lastModified));
+      return report;
+    }
+  }
+
+  private static long lastModified(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      // module resources can't change at runtime
+      return 0L;
+    }
+    try {
+      return Path.of(url.toURI()).toFile().lastModified();
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return 0L;
     }
   }
 
+  /** Discard all the parsed report designs. */
+  public static void clearDesignCache() {
+    DESIGNS.invalidateAll();
+  }
+
   /**
    * Generate a report to a temporary file and return path to the generated file.
    *
@@ -4,14 +4,20 @@
  */
 package com.axelor.report.tool;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
 import com.axelor.db.JPA;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +28,8 @@ public final class ReportExecutor {
 
   private final ExecutorService sExecutor;
 
+  private final ExecutorService sReportExecutor;
+
   private static ReportExecutor sInstance;
 
   static int defaultCorePoolSize = 1;
@@ -29,6 +37,9 @@ public final class ReportExecutor {
   static long defaultKeepAliveTime = 1;
   static TimeUnit defaultTimeUnit = TimeUnit.MINUTES;
 
+  static int defaultReportPoolSize = 2;
+  static int defaultReportQueueSize = 50;
+
   private ReportExecutor() {
     sExecutor =
         new ReportThreadPoolExecutor(
@@ -36,8 +47,25 @@ public final class ReportExecutor {
             defaultMaximumPoolSize,
             defaultKeepAliveTime,
             defaultTimeUnit,
-            new LinkedBlockingQueue<>());
-    ;
+            new LinkedBlockingQueue<>(),
+            new ReportThreadFactory("report-tool"));
+
+    final AppSettings settings = AppSettings.get();
+    final int poolSize =
+        Math.max(
+            1,
+            settings.getInt(AvailableAppSettings.REPORTS_EXECUTOR_POOL_SIZE, defaultReportPoolSize));
+    final int queueSize =
+        settings.getInt(AvailableAppSettings.REPORTS_EXECUTOR_QUEUE_SIZE, defaultReportQueueSize);
+
+    sReportExecutor =
+        new ReportThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            defaultKeepAliveTime,
+            defaultTimeUnit,
+            queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new LinkedBlockingQueue<>(),
+            new ReportThreadFactory("report-worker"));
   }
 
   private static synchronized ReportExecutor getInstance() {
@@ -51,16 +79,49 @@ public final class ReportExecutor {
     return sExecutor;
   }
 
+  private ExecutorService getReportExecutor() {
+    return sReportExecutor;
+  }
+
+  /**
+   * Submit a short helper task (e.g. a lookup done from a report script).
+   *
+   * <p>Helper tasks run on a dedicated thread, separate from the report workers, so that a
+   * rendering report can wait on them safely.
+   *
+   * @param task the task to run
+   * @return a {@link Future} representing the pending result of the task
+   */
   public static <T> Future<T> submit(Callable<T> task) {
     return getInstance().getExecutor().submit(task);
   }
 
+  /**
+   * Submit a report rendering task to the bounded report worker pool.
+   *
+   * <p>The pool size and queue limit are configured with {@code reports.executor.pool-size} and
+   * {@code reports.executor.queue-size}.
+   *
+   * @param task the rendering task
+   * @return a {@link Future} representing the pending result of the task
+   * @throws RejectedExecutionException if the report queue is full
+   */
+  public static <T> Future<T> submitReport(Callable<T> task) {
+    return getInstance().getReportExecutor().submit(task);
+  }
+
   public static void shutdown() {
     if (sInstance == null) {
       return;
     }
 
-    ExecutorService es = sInstance.getExecutor();
+    shutdown(sInstance.getReportExecutor());
+    shutdown(sInstance.getExecutor());
+
+    LOG.info("Report executor stopped.");
+  }
+
+  private static void shutdown(ExecutorService es) {
     es.shutdown();
 
     try {
@@ -70,8 +131,23 @@ public final class ReportExecutor {
     } catch (InterruptedException e) {
       LOG.error("Unable to stop the report executor...");
     }
+  }
 
-    LOG.info("Report executor stopped.");
+  static class ReportThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final String prefix;
+
+    ReportThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(@NotNull Runnable r) {
+      final Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
   }
 
   static class ReportThreadPoolExecutor extends ThreadPoolExecutor {
@@ -81,8 +157,9 @@ public final class ReportExecutor {
         int maximumPoolSize,
         long keepAliveTime,
         @NotNull TimeUnit unit,
-        @NotNull BlockingQueue<Runnable> workQueue) {
-      super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+        @NotNull BlockingQueue<Runnable> workQueue,
+        @NotNull ThreadFactory threadFactory) {
+      super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
     }
 
     /** Clear JPA cache after execution to avoid any inconsistency */
@@ -8,6 +8,8 @@ public class ActionRequest extends Request {
 
   private String action;
 
+  private boolean trace;
+
   public String getAction() {
     return action;
   }
@@ -15,4 +17,17 @@ public class ActionRequest extends Request {
   public void setAction(String action) {
     this.action = action;
   }
+
+  /**
+   * Whether the execution trace of the actions should be returned with the response.
+   *
+   * <p>The trace is only returned to technical staff, when the request profiler is enabled.
+   */
+  public boolean isTrace() {
+    return trace;
+  }
+
+  public void setTrace(boolean trace) {
+    this.trace = trace;
+  }
 }
@@ -16,6 +16,7 @@ import com.axelor.meta.schema.actions.validate.validator.Alert;
 import com.axelor.meta.schema.actions.validate.validator.Error;
 import com.axelor.meta.schema.actions.validate.validator.Info;
 import com.axelor.meta.schema.actions.validate.validator.Notify;
+import com.axelor.profiler.ActionTrace;
 import jakarta.annotation.Nullable;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlType;
@@ -39,6 +40,8 @@ public class ActionResponse extends Response {
 
   private Map<String, Object> dataMap;
 
+  private ActionTrace trace;
+
   private static final Logger log = LoggerFactory.getLogger(ActionResponse.class);
 
   private Map<String, Object> dataMap() {
@@ -56,6 +59,19 @@ public class ActionResponse extends Response {
     dataMap().put(name, value);
   }
 
+  /**
+   * Get the execution trace of the actions, if requested.
+   *
+   * @return the trace, or null
+   */
+  public ActionTrace getTrace() {
+    return trace;
+  }
+
+  public void setTrace(ActionTrace trace) {
+    this.trace = trace;
+  }
+
   /**
    * Set the <i>reload</i> flag.
    *
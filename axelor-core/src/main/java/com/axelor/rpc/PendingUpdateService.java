@@ -0,0 +1,96 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.rpc;
+
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of mass updates running in background.
+ *
+ * <p>Each background update gets a token the client can use to poll its progress. Pending updates
+ * are tracked on the node running them and expire after some period of time.
+ */
+@Singleton
+public class PendingUpdateService {
+
+  private record PendingUpdate(
+      String owner, String model, Future<Integer> future, AtomicLong processed) {}
+
+  private static final Cache<String, PendingUpdate> pendingUpdates =
+      Caffeine.newBuilder().expireAfterWrite(Duration.ofHours(1)).build();
+
+  /**
+   * Adds a background update for the current user.
+   *
+   * @param model the updated model
+   * @param future the future of the number of updated records
+   * @param processed the number of records processed so far
+   * @return the token associated with the background update
+   */
+  public String add(String model, Future<Integer> future, AtomicLong processed) {
+    final var token = UUID.randomUUID().toString();
+    pendingUpdates.put(token, new PendingUpdate(currentUserCode(), model, future, processed));
+    return token;
+  }
+
+  /**
+   * Returns the status of a background update by its token.
+   *
+   * <p>The status is <code>pending</code>, <code>done</code> with the number of updated records or
+   * <code>failed</code>, along with the number of records processed so far. Only the user who
+   * started the update can access it.
+   *
+   * @param model the updated model
+   * @param token the token associated with the background update
+   * @return the status of the update or null
+   */
+  public @Nullable Map<String, Object> status(String model, String token) {
+    final PendingUpdate update = token == null ? null : pendingUpdates.getIfPresent(token);
+    if (update == null
+        || !Objects.equals(update.model(), model)
+        || !Objects.equals(update.owner(), currentUserCode())) {
+      return null;
+    }
+
+    final Map<String, Object> data = new HashMap<>();
+    data.put("processed", update.processed().get());
+
+    final Future<Integer> future = update.future();
+    if (!future.isDone()) {
+      data.put("status", "pending");
+      return data;
+    }
+
+    try {
+      data.put("total", future.get());
+      data.put("status", "done");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      data.put("status", "pending");
+    } catch (ExecutionException | CancellationException e) {
+      data.put("status", "failed");
+    }
+    return data;
+  }
+
+  private static String currentUserCode() {
+    final User user = AuthUtils.getUser();
+    return user == null ? null : user.getCode();
+  }
+}
@@ -17,6 +17,8 @@ import com.axelor.auth.db.User;
 import com.axelor.common.Inflector;
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
+import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
 import com.axelor.db.EntityHelper;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
@@ -92,6 +94,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -485,6 +489,8 @@ public class Resource<T extends Model> {
 
     final Repository repo = JpaRepository.of(model);
     final List<Object> jsonData = new ArrayList<>();
+    final List<Map<String, Object>> maps = new ArrayList<>();
+    final List<Integer> mapIndexes = new ArrayList<>();
 
     final JpaSecurity jpaSecurity = security.get();
     for (Object item : data) {
@@ -497,12 +503,21 @@ public class Resource<T extends Model> {
         if (User.class.isAssignableFrom(model)) {
           map.remove("password");
         }
-        item = repo.populate(map, request.getContext());
-        Translator.applyTranslatables(map, model);
+        maps.add(map);
+        mapIndexes.add(jsonData.size());
       }
       jsonData.add(item);
     }
 
+    // populate the whole page at once
+    if (!maps.isEmpty()) {
+      final List<Map<String, Object>> populated = repo.populateAll(maps, request.getContext());
+      for (int i = 0; i < maps.size(); i++) {
+        Translator.applyTranslatables(maps.get(i), model);
+        jsonData.set(mapIndexes.get(i), populated.get(i));
+      }
+    }
+
     try {
       // check for children (used by tree view)
       doChildCount(request, jsonData);
@@ -1394,10 +1409,43 @@ public class Resource<T extends Model> {
         throw new UnauthorizedException(cause.getMessage(), cause);
       }
     }
-    final int total = JPA.callInTransaction(() -> query.update(values, AuthUtils.getUser()));
-    response.setTotal(total);
+    if (request.getData() != null && Boolean.TRUE.equals(request.getData().get("_background"))) {
+      // large updates run by batches in background, each batch in its own transaction
+      final User user = AuthUtils.getUser();
+      final AtomicLong processed = new AtomicLong();
+      final Future<Integer> future =
+          ContextAwareExecutors.shared()
+              .submit(
+                  ContextAware.of()
+                      .withTransaction(false)
+                      .build(
+                          () -> {
+                            try {
+                              final int total =
+                                  query.bulk().progress(processed::set).update(values, user);
+                              LOG.info(
+                                  "Mass update '{}' completed, records updated: {}",
+                                  model.getCanonicalName(),
+                                  total);
+                              return total;
+                            } catch (Exception e) {
+                              LOG.error(
+                                  "Mass update '{}' failed after {} records",
+                                  model.getCanonicalName(),
+                                  processed.get(),
+                                  e);
+                              throw e;
+                            }
+                          }));
+      final String token =
+          Beans.get(PendingUpdateService.class).add(model.getName(), future, processed);
+      response.setData(Map.of("background", true, "token", token));
+    } else {
+      final int total = JPA.callInTransaction(() -> query.update(values, AuthUtils.getUser()));
+      response.setTotal(total);
 
-    LOG.debug("Records updated: {}", response.getTotal());
+      LOG.debug("Records updated: {}", response.getTotal());
+    }
 
     response.setStatus(Response.STATUS_SUCCESS);
 
@@ -1406,6 +1454,27 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Get the status of a mass update running in background.
+   *
+   * @param token the token returned when the background update was started
+   * @return the response with the status, or a failure if the token is unknown
+   */
+  public Response updateMassStatus(String token) {
+    security.get().check(JpaSecurity.CAN_WRITE, model);
+
+    final Response response = new Response();
+    final Map<String, Object> status =
+        Beans.get(PendingUpdateService.class).status(model.getName(), token);
+    if (status == null) {
+      return response.fail(I18n.get("No such background update."));
+    }
+
+    response.setData(status);
+    response.setStatus(Response.STATUS_SUCCESS);
+    return response;
+  }
+
   @SuppressWarnings("all")
   public Response remove(long id, Request request) {
 
@@ -6,6 +6,8 @@ package com.axelor.script;
 
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
+import com.axelor.profiler.Profile;
+import com.axelor.profiler.Profiler;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -74,6 +76,8 @@ public abstract class AbstractScriptHelper implements ScriptHelper {
 
   @Override
   public Object eval(String expr) {
+    final Profile profile = Profiler.current();
+    final long start = profile == null ? 0 : profile.scriptStart();
     try {
       return eval(expr, getBindings());
     } catch (NoSuchFieldException e) {
@@ -84,6 +88,10 @@ public abstract class AbstractScriptHelper implements ScriptHelper {
       }
       log.error("Script error: {}", expr, e);
       throw new IllegalArgumentException(e);
+    } finally {
+      if (profile != null) {
+        profile.scriptEnd(start);
+      }
     }
   }
 
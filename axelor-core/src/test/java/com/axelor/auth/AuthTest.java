@@ -4,8 +4,10 @@
  */
 package com.axelor.auth;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.JpaTest;
@@ -243,4 +245,31 @@ public class AuthTest extends JpaTest {
 
     authService.match("demo2", user2.getPassword());
   }
+
+  @Test
+  public void testUserMemoized() {
+    final AuthUtils.UserLookupStats before = AuthUtils.getUserLookupStats();
+
+    final User demo = AuthUtils.getUser("demo");
+    assertNotNull(demo);
+    assertSame(demo, AuthUtils.getUser("demo"));
+    assertSame(demo, AuthUtils.getUser("demo"));
+
+    AuthUtils.UserLookupStats stats = AuthUtils.getUserLookupStats();
+    assertEquals(3, stats.lookups() - before.lookups());
+    assertEquals(1, stats.queries() - before.queries());
+
+    // another user is queried
+    assertEquals("guest", AuthUtils.getUser("guest").getCode());
+
+    stats = AuthUtils.getUserLookupStats();
+    assertEquals(2, stats.queries() - before.queries());
+
+    // detached user is queried again
+    getEntityManager().clear();
+    assertEquals("guest", AuthUtils.getUser("guest").getCode());
+
+    stats = AuthUtils.getUserLookupStats();
+    assertEquals(3, stats.queries() - before.queries());
+  }
 }
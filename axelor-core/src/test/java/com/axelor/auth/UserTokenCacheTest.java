@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.auth.db.UserToken;
+import org.junit.jupiter.api.Test;
+
+public class UserTokenCacheTest {
+
+  private static final String API_KEY = "abcdefghijklmnopSomeSecretToken";
+
+  @Test
+  public void testVerified() {
+    final UserTokenCache cache = new UserTokenCache();
+    final UserToken userToken = new UserToken();
+    userToken.setTokenDigest("digest");
+
+    assertFalse(cache.isVerified(API_KEY, userToken));
+
+    cache.setVerified(API_KEY, userToken);
+    assertTrue(cache.isVerified(API_KEY, userToken));
+    assertFalse(cache.isVerified(API_KEY + "x", userToken));
+
+    // rotated token
+    userToken.setTokenDigest("rotated");
+    assertFalse(cache.isVerified(API_KEY, userToken));
+  }
+}
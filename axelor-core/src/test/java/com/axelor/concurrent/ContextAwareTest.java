@@ -5,7 +5,10 @@
 package com.axelor.concurrent;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 import com.axelor.JpaTest;
 import com.axelor.TestingHelpers;
@@ -17,8 +20,11 @@ import com.axelor.db.JPA;
 import com.axelor.inject.Beans;
 import com.axelor.test.fixture.Fixture;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -260,4 +266,84 @@ public class ContextAwareTest extends JpaTest {
       TestingHelpers.logout();
     }
   }
+
+  @Test
+  void testContextAwareExecutor() throws ExecutionException, InterruptedException {
+    login("demo", "demo1234");
+
+    try (var executor = ContextAwareExecutors.newExecutor("test", 2, false)) {
+      var user = AuthUtils.getUser();
+      var futures = new ArrayList<Future<User>>();
+
+      for (var i = 0; i < 100; ++i) {
+        futures.add(executor.submit(() -> AuthUtils.getUser()));
+      }
+
+      for (var future : futures) {
+        assertEquals(user, future.get());
+      }
+    } finally {
+      TestingHelpers.logout();
+    }
+  }
+
+  @Test
+  void testTaskScope() throws ExecutionException, InterruptedException {
+    login("demo", "demo1234");
+
+    try (var executor = ContextAwareExecutors.newExecutor("test", 2, false)) {
+      try (var scope = ContextAwareExecutors.newScope(executor)) {
+        var user = scope.fork(() -> AuthUtils.getUser());
+        var count = scope.fork(() -> 42L);
+        scope.join();
+        assertEquals("demo", user.get().getCode());
+        assertEquals(42L, count.get());
+      }
+
+      try (var scope = ContextAwareExecutors.newScope(executor)) {
+        scope.fork(
+            () -> {
+              throw new IllegalStateException("failed");
+            });
+        scope.fork(() -> "done");
+        var e = assertThrows(ExecutionException.class, scope::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+      }
+    } finally {
+      TestingHelpers.logout();
+    }
+  }
+
+  @Test
+  void testTaskScopeCancelledBeforeStart() {
+    var executor = ContextAwareExecutors.newExecutor("test", 1, false);
+    var started = new CountDownLatch(1);
+
+    try (var scope = ContextAwareExecutors.newScope(executor)) {
+      assertTimeoutPreemptively(
+          Duration.ofSeconds(10),
+          () -> {
+            scope.fork(
+                () -> {
+                  started.countDown();
+                  try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                  } catch (InterruptedException e) {
+                    // complete normally
+                  }
+                  return "done";
+                });
+            started.await();
+
+            // waits for the permit held by the first task
+            scope.fork(() -> "never");
+
+            // interrupts the task waiting for a permit, which is cancelled
+            executor.shutdownNow();
+            assertThrows(CancellationException.class, scope::join);
+          });
+    } finally {
+      executor.close();
+    }
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.data.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.data.Listener;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.test.db.Title;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class XMLImporterTest extends JpaTest {
+
+  private static final String CONFIG =
+      """
+      <?xml version="1.0"?>
+      <xml-inputs xmlns="http://axelor.com/xml/ns/data-import">
+        <input file="titles.xml" root="titles">
+          <bind node="title" type="com.axelor.test.db.Title">
+            <bind node="@code" to="code" />
+            <bind node="text()" to="name" />
+          </bind>
+        </input>
+      </xml-inputs>
+      """;
+
+  @TempDir Path dir;
+
+  private final List<String> imported = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  void prepare() throws IOException {
+    JPA.runInTransaction(() -> JPA.all(Title.class).filter("self.code LIKE 'xml-%'").delete());
+
+    final String titles =
+        IntStream.range(0, 6)
+            .mapToObj(i -> "<title code=\"xml-%d\">XML %d</title>".formatted(i, i))
+            .collect(Collectors.joining("\n", "<titles>\n", "\n</titles>\n"));
+    Files.writeString(dir.resolve("input-config.xml"), CONFIG);
+    Files.writeString(dir.resolve("titles.xml"), titles);
+  }
+
+  private XMLImporter newImporter() {
+    final XMLImporter importer =
+        new XMLImporter(dir.resolve("input-config.xml").toString(), dir.toString());
+    importer.setCommitSize(2);
+    importer.setParallelism(2);
+    importer.setCheckpointFile(dir.resolve("checkpoint.properties").toFile());
+    importer.addListener(
+        new Listener() {
+          @Override
+          public void imported(Model bean) {
+            imported.add(((Title) bean).getCode());
+          }
+
+          @Override
+          public void imported(Integer total, Integer success) {}
+
+          @Override
+          public void handle(Model bean, Exception e) {}
+        });
+    return importer;
+  }
+
+  private static long countTitles() {
+    return JPA.all(Title.class).filter("self.code LIKE 'xml-%'").count();
+  }
+
+  @Test
+  void testChunks() {
+    newImporter().run();
+
+    assertEquals(6, countTitles());
+    assertEquals(6, imported.size());
+    assertFalse(Files.exists(dir.resolve("checkpoint.properties")));
+  }
+
+  @Test
+  void testTransaction() {
+    final XMLImporter importer = newImporter();
+    JPA.runInTransaction(() -> assertThrows(IllegalStateException.class, importer::run));
+    assertEquals(0, countTitles());
+  }
+
+  @Test
+  void testResume() throws IOException {
+    final File checkpoint = dir.resolve("checkpoint.properties").toFile();
+
+    // the first chunk conflicts with an existing title, the second one is committed
+    final Title existing = new Title();
+    existing.setCode("xml-0");
+    existing.setName("Existing");
+    JPA.runInTransaction(() -> JPA.save(existing));
+    newImporter().run();
+
+    assertTrue(checkpoint.exists());
+    assertEquals(
+        List.of("xml-0", "xml-2", "xml-3"),
+        JPA.all(Title.class).filter("self.code LIKE 'xml-%'").order("code").fetch().stream()
+            .map(Title::getCode)
+            .toList());
+
+    // the committed chunk is skipped when resuming
+    JPA.runInTransaction(() -> JPA.all(Title.class).filter("self.name = 'Existing'").delete());
+    imported.clear();
+    newImporter().run();
+
+    assertEquals(6, countTitles());
+    assertEquals(List.of("xml-0", "xml-1", "xml-4", "xml-5"), imported.stream().sorted().toList());
+    assertFalse(checkpoint.exists());
+  }
+}
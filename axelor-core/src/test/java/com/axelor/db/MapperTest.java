@@ -12,14 +12,21 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 
 import com.axelor.JpaTest;
 import com.axelor.db.mapper.Mapper;
+import com.axelor.test.db.Address;
+import com.axelor.test.db.Circle;
 import com.axelor.test.db.Contact;
+import com.axelor.test.db.Country;
 import com.axelor.test.db.TypeCheck;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -145,4 +152,67 @@ public class MapperTest extends JpaTest {
     assertEquals(2011, bean.getDateTime1().getYear());
     assertEquals(1111, bean.getLocalDate1().getYear());
   }
+
+  @Test
+  @Order(5)
+  public void testEditPrefetch() {
+    final Long contactId =
+        JPA.callInTransaction(
+            () -> {
+              Contact contact = new Contact("Prefetch", "Test");
+              JPA.save(contact);
+              for (int i = 0; i < 3; i++) {
+                Address address = new Address("street " + i, null, "Paris");
+                address.setZip("75000");
+                address.setContact(contact);
+                JPA.save(address);
+              }
+              return contact.getId();
+            });
+
+    // the referenced records are loaded with one query per model, whatever their number
+    assertEquals(countEditStatements(contactId, 2), countEditStatements(contactId, 3));
+  }
+
+  private long countEditStatements(Long contactId, int size) {
+    final List<Long> addressIds =
+        all(Address.class)
+            .filter("self.contact.id = ?", contactId)
+            .order("id")
+            .fetch()
+            .stream()
+            .map(Address::getId)
+            .toList();
+    final List<Long> countryIds =
+        all(Country.class).order("id").fetch().stream().map(Country::getId).toList();
+    final List<Long> circleIds =
+        all(Circle.class).order("id").fetch().stream().map(Circle::getId).toList();
+
+    final List<Map<String, Object>> addresses = new ArrayList<>();
+    final List<Map<String, Object>> circles = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      addresses.add(Map.of("id", addressIds.get(i), "country", Map.of("id", countryIds.get(i))));
+      circles.add(Map.of("id", circleIds.get(i)));
+    }
+
+    final Map<String, Object> values = new HashMap<>();
+    values.put("id", contactId);
+    values.put("addresses", addresses);
+    values.put("circles", circles);
+
+    JPA.clear();
+
+    final Statistics statistics =
+        JPA.em().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    final boolean enabled = statistics.isStatisticsEnabled();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    try {
+      JPA.edit(Contact.class, values);
+      return statistics.getPrepareStatementCount();
+    } finally {
+      statistics.setStatisticsEnabled(enabled);
+      JPA.clear();
+    }
+  }
 }
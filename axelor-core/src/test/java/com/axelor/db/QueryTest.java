@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.hibernate.Hibernate;
 import org.hibernate.jpa.AvailableHints;
 import org.junit.jupiter.api.Test;
 
@@ -151,6 +152,28 @@ public class QueryTest extends ScriptTest {
     assertEquals(first.size(), second.size());
   }
 
+  @Test
+  @Transactional
+  public void testFetchPlan() {
+    final List<Contact> contacts = all(Contact.class).fetchPlan("grid").fetch();
+    assertFalse(contacts.isEmpty());
+    for (Contact contact : contacts) {
+      assertTrue(Hibernate.isInitialized(contact.getAddresses()));
+      if (contact.getTitle() != null) {
+        assertTrue(Hibernate.isInitialized(contact.getTitle()));
+      }
+    }
+
+    @SuppressWarnings("rawtypes")
+    final List<Map> values =
+        all(Contact.class).fetchPlan("grid").select("fullName", "addresses", "circles").fetch(0, 0);
+    assertEquals(contacts.size(), values.size());
+    for (Map<?, ?> value : values) {
+      assertTrue(value.get("addresses") instanceof List);
+      assertTrue(value.get("circles") instanceof List);
+    }
+  }
+
   @Test
   @Transactional
   public void testBulkRemove() {
@@ -213,6 +236,47 @@ public class QueryTest extends ScriptTest {
     }
   }
 
+  @Test
+  @Transactional
+  public void testBatchedBulkUpdate() {
+    Query<Contact> q = all(Contact.class);
+    final long count = q.count();
+    final List<Long> progress = new ArrayList<>();
+
+    final int updated = q.bulk().batchSize(2).progress(progress::add).update("self.food", "soup");
+
+    getEntityManager().clear();
+
+    assertEquals(count, updated);
+    assertEquals(count, (long) progress.getLast());
+    assertEquals(count, all(Contact.class).filter("self.food = ?1", "soup").count());
+
+    // unchanged records are not updated again
+    assertEquals(0, q.bulk().batchSize(2).update("self.food", "soup"));
+
+    q.update("self.food", null);
+  }
+
+  @Test
+  @Transactional
+  public void testBatchedBulkUpdateWithSubquery() {
+    final long count = all(Contact.class).count();
+    final Query<Contact> q =
+        all(Contact.class)
+            .filter(
+                "self.firstName IS NULL or self.id in "
+                    + "(select c.id from Contact c where c.firstName IS NOT NULL)");
+
+    final int updated = q.bulk().batchSize(2).update("self.food", "pizza");
+
+    getEntityManager().clear();
+
+    assertEquals(count, updated);
+    assertEquals(count, all(Contact.class).filter("self.food = ?1", "pizza").count());
+
+    all(Contact.class).update("self.food", null);
+  }
+
   @Test
   public void testJDBC() {
 
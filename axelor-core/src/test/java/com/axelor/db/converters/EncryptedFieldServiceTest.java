@@ -0,0 +1,202 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.common.crypto.Encryptor;
+import com.axelor.common.crypto.StringEncryptor;
+import com.axelor.db.JPA;
+import com.axelor.test.db.EncryptedCheck;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class EncryptedFieldServiceTest extends JpaTest {
+
+  private static final String VALUE = "Hello World!!!";
+
+  private static final StringEncryptor ENCRYPTOR = StringEncryptor.gcm("MyNewSecretKey");
+
+  @Test
+  void testReencrypt() {
+    final StringEncryptor oldEncryptor = StringEncryptor.cbc("MyOldSecretKey");
+    final StringEncryptor newEncryptor = StringEncryptor.gcm("MyNewSecretKey");
+
+    final String encrypted = oldEncryptor.encrypt(VALUE);
+    final String migrated = EncryptedFieldService.reencrypt(encrypted, oldEncryptor, newEncryptor);
+
+    assertNotEquals(encrypted, migrated);
+    assertEquals(VALUE, newEncryptor.decrypt(migrated));
+
+    // migrating again, as when resuming an interrupted run, keeps the value
+    assertEquals(
+        migrated, EncryptedFieldService.reencrypt(migrated, oldEncryptor, newEncryptor));
+    assertEquals(migrated, EncryptedFieldService.reencrypt(migrated, null, newEncryptor));
+
+    // plain values are encrypted
+    assertEquals(
+        VALUE, newEncryptor.decrypt(EncryptedFieldService.reencrypt(VALUE, null, newEncryptor)));
+
+    // encrypted values are decrypted
+    assertEquals(VALUE, EncryptedFieldService.reencrypt(encrypted, oldEncryptor, null));
+
+    assertNull(EncryptedFieldService.reencrypt(null, oldEncryptor, newEncryptor));
+  }
+
+  /**
+   * Creates a service encrypting the plain values two by two, which fails once the given number of
+   * values are encrypted.
+   *
+   * @param settings the marker of the encryption settings
+   * @param limit the number of values encrypted before failing
+   * @param checked collects the values checked by the service
+   * @param encrypted collects the values encrypted by the service
+   */
+  private static EncryptedFieldService newService(
+      String settings, int limit, List<String> checked, List<String> encrypted) {
+    final AtomicInteger count = new AtomicInteger();
+    final Encryptor<String, String> encryptor =
+        new Encryptor<>() {
+          @Override
+          public boolean isEncrypted(String message) {
+            checked.add(message);
+            return ENCRYPTOR.isEncrypted(message);
+          }
+
+          @Override
+          public String encrypt(String message) {
+            encrypted.add(message);
+            if (count.incrementAndGet() > limit) {
+              throw new IllegalStateException("Interrupted");
+            }
+            return ENCRYPTOR.encrypt(message);
+          }
+
+          @Override
+          public String decrypt(String encryptedMessage) {
+            return ENCRYPTOR.decrypt(encryptedMessage);
+          }
+        };
+    return new EncryptedFieldService() {
+      @Override
+      Encryptor<String, String> getStringEncryptor(boolean old) {
+        return old ? null : encryptor;
+      }
+
+      @Override
+      int getBatchSize(boolean large) {
+        return 2;
+      }
+
+      @Override
+      String getSettingsMarker() {
+        return settings;
+      }
+
+      @Override
+      boolean isSettingsMarker(String marker) {
+        return settings.equals(marker);
+      }
+    };
+  }
+
+  private static List<String> newList() {
+    return Collections.synchronizedList(new ArrayList<>());
+  }
+
+  private static List<String> findSecrets() {
+    return JPA.em()
+        .createQuery("SELECT self.secret FROM EncryptedCheck self ORDER BY self.id", String.class)
+        .getResultList();
+  }
+
+  @Test
+  void testMigrate() {
+    final EncryptedFieldService service = new EncryptedFieldService();
+    service.clearCheckpoint();
+
+    JPA.runInTransaction(
+        () -> {
+          JPA.all(EncryptedCheck.class).delete();
+          for (int i = 0; i < 5; i++) {
+            final EncryptedCheck check = new EncryptedCheck();
+            check.setSecret(VALUE + i);
+            JPA.save(check);
+          }
+        });
+
+    // interrupted in the second batch, the first one is saved
+    final EncryptedFieldService interrupted = newService("settings", 3, newList(), newList());
+    assertThrows(RuntimeException.class, () -> interrupted.migrate(EncryptedCheck.class));
+    assertTrue(Files.exists(service.getCheckpointFile()));
+
+    final List<String> partial = findSecrets();
+    assertEquals(VALUE + 0, ENCRYPTOR.decrypt(partial.get(0)));
+    assertEquals(VALUE + 1, ENCRYPTOR.decrypt(partial.get(1)));
+    assertEquals(List.of(VALUE + 2, VALUE + 3, VALUE + 4), partial.subList(2, 5));
+
+    // the progress saved with other settings is ignored, the migrated values are kept as is
+    final List<String> checked = newList();
+    final List<String> encrypted = newList();
+    final EncryptedFieldService other = newService("other", 0, checked, encrypted);
+    assertThrows(RuntimeException.class, () -> other.migrate(EncryptedCheck.class));
+    assertTrue(checked.containsAll(partial.subList(0, 2)));
+    assertFalse(encrypted.contains(partial.get(0)));
+    assertFalse(encrypted.contains(partial.get(1)));
+    assertEquals(partial, findSecrets());
+
+    // resumed after the first batch
+    final List<String> resumedChecked = newList();
+    final List<String> resumed = newList();
+    newService("other", Integer.MAX_VALUE, resumedChecked, resumed)
+        .migrate(EncryptedCheck.class);
+    assertFalse(resumedChecked.contains(partial.get(0)));
+    assertFalse(resumedChecked.contains(partial.get(1)));
+    assertEquals(3, resumed.size());
+    assertFalse(Files.exists(service.getCheckpointFile()));
+
+    final List<String> secrets = findSecrets();
+    for (int i = 0; i < 5; i++) {
+      assertEquals(VALUE + i, ENCRYPTOR.decrypt(secrets.get(i)));
+    }
+  }
+
+  @Test
+  void testSettingsMarker() {
+    final EncryptedFieldService service = newService(null, ENCRYPTOR);
+    final String marker = service.getSettingsMarker();
+
+    assertFalse(marker.contains("MyNewSecretKey"));
+    assertTrue(service.isSettingsMarker(marker));
+    assertTrue(newService(null, StringEncryptor.gcm("MyNewSecretKey")).isSettingsMarker(marker));
+
+    assertFalse(newService(null, StringEncryptor.gcm("MyOtherKey")).isSettingsMarker(marker));
+    assertFalse(newService(null, StringEncryptor.cbc("MyNewSecretKey")).isSettingsMarker(marker));
+    assertFalse(
+        newService(StringEncryptor.cbc("MyOldSecretKey"), ENCRYPTOR).isSettingsMarker(marker));
+    assertFalse(newService(null, null).isSettingsMarker(marker));
+    assertFalse(service.isSettingsMarker(null));
+  }
+
+  private static EncryptedFieldService newService(
+      Encryptor<String, String> oldEncryptor, Encryptor<String, String> newEncryptor) {
+    return new EncryptedFieldService() {
+      @Override
+      Encryptor<String, String> getStringEncryptor(boolean old) {
+        return old ? oldEncryptor : newEncryptor;
+      }
+    };
+  }
+}
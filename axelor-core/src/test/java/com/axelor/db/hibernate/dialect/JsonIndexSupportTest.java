@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.hibernate.dialect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonIndexSupportTest {
+
+  @Test
+  void testPostgreSQL() {
+    final JsonIndexSupport support = new AxelorPostgreSQLDialect();
+
+    assertEquals(
+        List.of(
+            """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS jx_guardian ON contact \
+            ((CAST(NULLIF(jsonb_extract_path_text(attrs, 'guardian', 'id'), '') AS integer)))"""),
+        support.getCreateJsonIndexCommands(
+            "jx_guardian", "contact", "attrs", "guardian.id", "integer"));
+
+    assertEquals(
+        List.of(
+            """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS jx_name ON contact \
+            ((jsonb_extract_path_text(attrs, 'name')))"""),
+        support.getCreateJsonIndexCommands("jx_name", "contact", "attrs", "name", "text"));
+
+    assertEquals(
+        List.of("DROP INDEX CONCURRENTLY IF EXISTS jx_name"),
+        support.getDropJsonIndexCommands("jx_name", "contact"));
+  }
+
+  @Test
+  void testMySQL() {
+    final JsonIndexSupport support = new AxelorMySQLDialect();
+
+    assertEquals(
+        List.of(
+            """
+            ALTER TABLE contact ADD COLUMN jx_amount decimal(64,4) GENERATED ALWAYS AS \
+            (CAST(NULLIF(json_unquote(json_extract(attrs, '$.amount')), '') AS decimal(64,4))) \
+            VIRTUAL, ADD INDEX jx_amount (jx_amount), ALGORITHM=INPLACE, LOCK=NONE"""),
+        support.getCreateJsonIndexCommands("jx_amount", "contact", "attrs", "amount", "decimal"));
+
+    assertEquals(
+        List.of("ALTER TABLE contact DROP COLUMN jx_amount, ALGORITHM=INPLACE, LOCK=NONE"),
+        support.getDropJsonIndexCommands("jx_amount", "contact"));
+  }
+
+  @Test
+  void testOracle() {
+    final JsonIndexSupport support = new AxelorOracleDialect();
+
+    assertEquals(
+        List.of(
+            """
+            BEGIN EXECUTE IMMEDIATE q'[CREATE INDEX jx_name ON contact \
+            (json_value(attrs, '$.name'))]'; \
+            EXCEPTION WHEN OTHERS THEN IF SQLCODE != -955 THEN RAISE; END IF; END;"""),
+        support.getCreateJsonIndexCommands("jx_name", "contact", "attrs", "name", "text"));
+
+    assertEquals(
+        List.of(
+            """
+            BEGIN EXECUTE IMMEDIATE q'[DROP INDEX jx_name]'; \
+            EXCEPTION WHEN OTHERS THEN IF SQLCODE != -1418 THEN RAISE; END IF; END;"""),
+        support.getDropJsonIndexCommands("jx_name", "contact"));
+  }
+}
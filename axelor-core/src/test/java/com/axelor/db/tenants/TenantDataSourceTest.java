@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.tenants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.jupiter.api.Test;
+
+public class TenantDataSourceTest {
+
+  private static JDBCDataSource pool(String name) {
+    final JDBCDataSource ds = new JDBCDataSource();
+    ds.setUrl("jdbc:hsqldb:mem:" + name);
+    ds.setUser("sa");
+    ds.setPassword("");
+    return ds;
+  }
+
+  @Test
+  public void testTenantBudget() throws Exception {
+    final JDBCDataSource pool = pool("tenants");
+    final Semaphore tenantPermits = new Semaphore(1);
+    final TenantDataSource ds =
+        new TenantDataSource("t1", null, null, () -> pool, tenantPermits, null, 10);
+
+    try (Connection first = ds.getConnection()) {
+      assertEquals(0, tenantPermits.availablePermits());
+      assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+    }
+
+    assertEquals(1, tenantPermits.availablePermits());
+  }
+
+  @Test
+  public void testGlobalCap() throws Exception {
+    final JDBCDataSource pool = pool("tenants");
+    final Semaphore globalPermits = new Semaphore(1);
+    final TenantDataSource t1 =
+        new TenantDataSource("t1", null, null, () -> pool, new Semaphore(5), globalPermits, 10);
+    final TenantDataSource t2 =
+        new TenantDataSource("t2", null, null, () -> pool, new Semaphore(5), globalPermits, 10);
+
+    try (Connection first = t1.getConnection()) {
+      assertThrows(SQLTransientConnectionException.class, t2::getConnection);
+    }
+
+    try (Connection second = t2.getConnection()) {
+      assertEquals(0, globalPermits.availablePermits());
+    }
+
+    assertEquals(1, globalPermits.availablePermits());
+  }
+
+  @Test
+  public void testSchemaSwitch() throws Exception {
+    final JDBCDataSource pool = pool("tenants-schema");
+    try (Connection c = pool.getConnection()) {
+      c.createStatement().execute("CREATE SCHEMA TENANT_A AUTHORIZATION DBA");
+    }
+
+    final TenantDataSource ds =
+        new TenantDataSource("a", "TENANT_A", null, () -> pool, null, new Semaphore(2), 10);
+
+    try (Connection c = ds.getConnection()) {
+      assertEquals("TENANT_A", c.getSchema());
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.dms.db.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.axelor.JpaTest;
+import com.axelor.TestingHelpers;
+import com.axelor.auth.AuthService;
+import com.axelor.auth.db.Permission;
+import com.axelor.auth.db.User;
+import com.axelor.auth.db.repo.UserRepository;
+import com.axelor.db.JPA;
+import com.axelor.dms.db.DMSFile;
+import com.axelor.dms.db.DMSPermission;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaFile;
+import com.axelor.test.fixture.Fixture;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class DMSFileRepositoryTest extends JpaTest {
+
+  @Inject private DMSFileRepository files;
+
+  @BeforeAll
+  public static void loadData() {
+    JPA.runInTransaction(
+        () -> {
+          if (JPA.all(User.class).count() == 0) {
+            try {
+              Beans.get(Fixture.class)
+                  .load(
+                      "users-data.yml",
+                      JPA::model,
+                      bean -> {
+                        if (!(bean instanceof User user)) {
+                          return bean;
+                        }
+                        Beans.get(AuthService.class).encrypt(user);
+                        return Beans.get(UserRepository.class).save(user);
+                      });
+            } catch (IOException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+  }
+
+  @AfterEach
+  public void logout() {
+    TestingHelpers.logout();
+  }
+
+  private DMSFile newFile(String name, boolean directory) {
+    final DMSFile file = new DMSFile();
+    file.setFileName(name);
+    file.setIsDirectory(directory);
+    return JPA.save(file);
+  }
+
+  private void addPermission(DMSFile file, String value, User user, Permission permission) {
+    final DMSPermission dmsPermission = new DMSPermission();
+    dmsPermission.setValue(value);
+    dmsPermission.setFile(file);
+    dmsPermission.setUser(user);
+    dmsPermission.setPermission(permission);
+    JPA.save(dmsPermission);
+  }
+
+  @Test
+  public void testPopulateAll() {
+    login("admin", "admin1234");
+
+    final List<Long> ids = new ArrayList<>();
+    JPA.runInTransaction(
+        () -> {
+          final User demo = Beans.get(UserRepository.class).findByCode("demo");
+          final Permission write = new Permission("perm.dms.test.write");
+          write.setCanWrite(true);
+          JPA.save(write);
+
+          final DMSFile open = newFile("Open", true);
+          final DMSFile restricted = newFile("Restricted", true);
+          final DMSFile writable = newFile("Writable", true);
+          final DMSFile offline = newFile("Offline", false);
+          final MetaFile metaFile = new MetaFile();
+          metaFile.setFileName("offline.txt");
+          metaFile.setFilePath("offline.txt");
+          offline.setMetaFile(JPA.save(metaFile));
+          final DMSFile full = newFile("Full", false);
+
+          addPermission(restricted, "READ", demo, null);
+          addPermission(writable, "WRITE", demo, write);
+          addPermission(offline, "OFFLINE", demo, null);
+          addPermission(full, "FULL", demo, null);
+
+          List.of(open, restricted, writable, offline, full).forEach(f -> ids.add(f.getId()));
+        });
+
+    TestingHelpers.logout();
+    login("demo", "demo1234");
+
+    final Map<String, Object> context = new HashMap<>();
+    final List<Map<String, Object>> items = new ArrayList<>();
+    final List<Map<String, Object>> expected = new ArrayList<>();
+
+    JPA.runInTransaction(
+        () -> {
+          for (Long id : ids) {
+            items.add(new HashMap<>(Map.of("id", id)));
+            expected.add(files.populate(new HashMap<>(Map.of("id", id)), context));
+          }
+
+          final List<Map<String, Object>> result = files.populateAll(items, context);
+
+          assertEquals(expected.size(), result.size());
+          for (int i = 0; i < expected.size(); i++) {
+            final Map<String, Object> json = result.get(i);
+            final Map<String, Object> other = expected.get(i);
+            assertEquals(other.get("canShare"), json.get("canShare"), "canShare of " + ids.get(i));
+            assertEquals(other.get("canWrite"), json.get("canWrite"), "canWrite of " + ids.get(i));
+            assertEquals(other.get("offline"), json.get("offline"), "offline of " + ids.get(i));
+            assertEquals(other.get("typeIcon"), json.get("typeIcon"));
+          }
+        });
+  }
+}
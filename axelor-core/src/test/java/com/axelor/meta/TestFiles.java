@@ -7,8 +7,12 @@ package com.axelor.meta;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import com.axelor.db.JPA;
 import com.axelor.dms.db.DMSFile;
+import com.axelor.dms.db.repo.DMSFileHierarchyRepository;
+import com.axelor.dms.db.repo.DMSFileRepository;
 import com.axelor.file.temp.TempFiles;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.test.db.Contact;
@@ -19,6 +23,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 public class TestFiles extends MetaTest {
@@ -27,6 +32,10 @@ public class TestFiles extends MetaTest {
 
   @Inject private ContactRepository contacts;
 
+  @Inject private DMSFileRepository dmsFiles;
+
+  @Inject private DMSFileHierarchyRepository hierarchy;
+
   @Test
   public void testUpload() throws IOException {
 
@@ -112,4 +121,117 @@ public class TestFiles extends MetaTest {
     files.delete(dms2);
     files.delete(dms3);
   }
+
+  @Test
+  @Transactional
+  public void testDeleteAttachments() throws IOException {
+
+    Contact contact = new Contact();
+    contact.setFirstName("Test");
+    contact.setLastName("Attachments");
+    contact = contacts.save(contact);
+
+    Path tmp = TempFiles.createTempFile();
+    Files.write(tmp, "Hello...".getBytes());
+
+    DMSFile dms = files.attach(new FileInputStream(tmp.toFile()), "dms-delete", contact);
+    Long homeId = dms.getParent().getId();
+    Long fileId = dms.getMetaFile().getId();
+
+    files.deleteAttachments(Contact.class, List.of(contact.getId()));
+    JPA.clear();
+
+    assertNull(JPA.find(DMSFile.class, dms.getId()));
+    assertNull(JPA.find(DMSFile.class, homeId));
+    assertNull(JPA.find(MetaFile.class, fileId));
+  }
+
+  @Test
+  @Transactional
+  public void testHierarchy() {
+    DMSFile root = dmsFiles.save(newFolder("root", null));
+    DMSFile a = dmsFiles.save(newFolder("a", root));
+    DMSFile b = dmsFiles.save(newFolder("b", a));
+    DMSFile c = dmsFiles.save(newFolder("c", b));
+
+    assertEquals(3, dmsFiles.findDescendants(root).count());
+    assertEquals(2, dmsFiles.findDescendants(a).count());
+
+    // move b under root
+    b.setParent(root);
+    dmsFiles.save(b);
+
+    assertEquals(3, dmsFiles.findDescendants(root).count());
+    assertEquals(0, dmsFiles.findDescendants(a).count());
+    assertEquals(1, dmsFiles.findDescendants(b).count());
+
+    // remove the whole tree
+    dmsFiles.remove(root);
+    JPA.clear();
+
+    assertNull(JPA.find(DMSFile.class, a.getId()));
+    assertNull(JPA.find(DMSFile.class, c.getId()));
+  }
+
+  @Test
+  @Transactional
+  public void testHierarchyWithoutRepository() {
+    DMSFile root = JPA.save(newFolder("root", null));
+    DMSFile a = JPA.save(newFolder("a", root));
+    DMSFile b = JPA.save(newFolder("b", a));
+
+    assertEquals(List.of(a.getId(), root.getId()), hierarchy.findAncestorIds(b.getId()));
+
+    // move b under root
+    b.setParent(root);
+
+    assertEquals(List.of(root.getId()), hierarchy.findAncestorIds(b.getId()));
+    assertEquals(0, dmsFiles.findDescendants(a).count());
+
+    JPA.remove(b);
+
+    assertEquals(1, dmsFiles.findDescendants(root).count());
+  }
+
+  @Test
+  public void testHierarchyRebuild() {
+    final List<Long> ids =
+        JPA.callInTransaction(
+            () -> {
+              DMSFile root = dmsFiles.save(newFolder("root", null));
+              DMSFile a = dmsFiles.save(newFolder("a", root));
+              return List.of(root.getId(), a.getId());
+            });
+
+    // simulate files created before the closure table
+    JPA.runInTransaction(
+        () ->
+            JPA.em()
+                .createQuery("DELETE FROM DMSFileHierarchy self WHERE self.descendantId IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate());
+
+    JPA.runInTransaction(() -> assertEquals(List.of(), hierarchy.findAncestorIds(ids.get(1))));
+
+    hierarchy.rebuildIfNeeded();
+
+    JPA.runInTransaction(
+        () -> assertEquals(List.of(ids.get(0)), hierarchy.findAncestorIds(ids.get(1))));
+
+    hierarchy.rebuild();
+
+    JPA.runInTransaction(
+        () -> {
+          assertEquals(List.of(ids.get(0)), hierarchy.findAncestorIds(ids.get(1)));
+          dmsFiles.remove(dmsFiles.find(ids.get(0)));
+        });
+  }
+
+  private DMSFile newFolder(String name, DMSFile parent) {
+    DMSFile folder = new DMSFile();
+    folder.setFileName(name);
+    folder.setIsDirectory(true);
+    folder.setParent(parent);
+    return folder;
+  }
 }
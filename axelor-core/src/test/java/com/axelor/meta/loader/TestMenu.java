@@ -7,6 +7,7 @@ package com.axelor.meta.loader;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.auth.db.Group;
 import com.axelor.auth.db.Role;
@@ -14,6 +15,7 @@ import com.axelor.auth.db.User;
 import com.axelor.auth.db.repo.RoleRepository;
 import com.axelor.auth.db.repo.UserRepository;
 import com.axelor.common.ResourceUtils;
+import com.axelor.db.JPA;
 import com.axelor.meta.MetaTest;
 import com.axelor.meta.db.MetaMenu;
 import com.axelor.meta.db.repo.MetaMenuRepository;
@@ -27,6 +29,7 @@ import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -115,6 +118,36 @@ public class TestMenu extends MetaTest {
     assertFalse(guestTags.stream().anyMatch(it -> it.getName().equals("menu-root-3-3")));
   }
 
+  @Test
+  public void testMenusInvalidation() {
+    final Supplier<List<String>> demoMenus =
+        () ->
+            JPA.callInTransaction(
+                () ->
+                    menuService.getMenus(users.findByCode("demo")).stream()
+                        .map(MenuItem::getName)
+                        .toList());
+
+    assertFalse(demoMenus.get().contains("menu-root-3-2"));
+
+    try {
+      JPA.runInTransaction(
+          () ->
+              metaMenuRepository
+                  .findByName("menu-root-3-2")
+                  .addRole(roles.findByName("normal.user")));
+      assertTrue(demoMenus.get().contains("menu-root-3-2"));
+    } finally {
+      JPA.runInTransaction(
+          () ->
+              metaMenuRepository
+                  .findByName("menu-root-3-2")
+                  .removeRole(roles.findByName("normal.user")));
+    }
+
+    assertFalse(demoMenus.get().contains("menu-root-3-2"));
+  }
+
   private void createDemoData() {
 
     User admin = new User("admin", "Administrator");
@@ -0,0 +1,144 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.db.JPA;
+import com.axelor.db.hibernate.dialect.JsonIndexSupport;
+import com.axelor.meta.MetaTest;
+import com.axelor.meta.db.MetaJsonField;
+import com.axelor.meta.db.repo.MetaJsonFieldRepository;
+import com.axelor.test.db.Contact;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class MetaJsonIndexServiceTest extends MetaTest {
+
+  private static final String MODEL = Contact.class.getName();
+
+  @Inject private MetaJsonFieldRepository jsonFields;
+
+  @Test
+  void testIndexName() {
+    final String name = MetaJsonIndexService.indexName("contact", "attrs", "age", "integer");
+
+    assertTrue(name.startsWith(MetaJsonIndexService.INDEX_PREFIX));
+    assertTrue(name.endsWith("_age"));
+    assertEquals(name, MetaJsonIndexService.indexName("CONTACT", "ATTRS", "age", "integer"));
+
+    // type change must recreate the index
+    assertNotEquals(name, MetaJsonIndexService.indexName("contact", "attrs", "age", "text"));
+
+    final String longName =
+        MetaJsonIndexService.indexName(
+            "contact_contact", "attrs", "someVeryLongCustomFieldName.id", "integer");
+    assertEquals(30, longName.length());
+  }
+
+  /** HSQLDB can't index json values, the test indexes are created on the id column instead. */
+  private static MetaJsonIndexService newService(String failingAttribute) {
+    return newService(failingAttribute, Set.of(), new ArrayList<>());
+  }
+
+  private static MetaJsonIndexService newService(
+      String failingAttribute, Set<String> invalid, List<String> statements) {
+    final JsonIndexSupport support =
+        new JsonIndexSupport() {
+          @Override
+          public List<String> getCreateJsonIndexCommands(
+              String name, String table, String column, String attribute, String type) {
+            final String target = attribute.equals(failingAttribute) ? "missing" : "id";
+            statements.add("create " + name);
+            return List.of("CREATE INDEX %s ON %s (%s)".formatted(name, table, target));
+          }
+
+          @Override
+          public List<String> getDropJsonIndexCommands(String name, String table) {
+            statements.add("drop " + name);
+            return List.of("DROP INDEX %s IF EXISTS".formatted(name));
+          }
+
+          @Override
+          public Set<String> findInvalidJsonIndexes(Connection connection, String table) {
+            return invalid;
+          }
+        };
+    return new MetaJsonIndexService() {
+      @Override
+      JsonIndexSupport getSupport() {
+        return support;
+      }
+    };
+  }
+
+  private void setIndexed(boolean indexed, String... names) {
+    JPA.runInTransaction(
+        () -> {
+          for (String name : names) {
+            final MetaJsonField field =
+                jsonFields.all().filter("self.model = ? AND self.name = ?", MODEL, name).fetchOne();
+            field.setIndexed(indexed);
+            jsonFields.save(field);
+          }
+        });
+  }
+
+  private Set<String> findIndexes(MetaJsonIndexService service) {
+    final Set<String> names = new HashSet<>();
+    JPA.jdbcWork(connection -> names.addAll(service.findExisting(connection, "contact_contact")));
+    return names;
+  }
+
+  private static String indexName(String attribute, String type) {
+    return MetaJsonIndexService.indexName("contact_contact", "attrs", attribute, type);
+  }
+
+  @Test
+  void testSync() {
+    final MetaJsonIndexService service = newService(null);
+    final String numerology = indexName("numerology", "integer");
+    final String isCustomer = indexName("isCustomer", "boolean");
+
+    setIndexed(true, "numerology");
+    try {
+      service.sync(List.of(MODEL));
+      assertEquals(Set.of(numerology), findIndexes(service));
+
+      // nothing to do once synchronized
+      service.sync(List.of(MODEL));
+      assertEquals(Set.of(numerology), findIndexes(service));
+
+      // an index left invalid by a failed build is created again
+      final List<String> statements = new ArrayList<>();
+      newService(null, Set.of(numerology), statements).sync(List.of(MODEL));
+      assertEquals(List.of("drop " + numerology, "create " + numerology), statements);
+      assertEquals(Set.of(numerology), findIndexes(service));
+
+      // the indexes can't be created within a transaction
+      JPA.runInTransaction(
+          () -> assertThrows(IllegalStateException.class, () -> service.sync(List.of(MODEL))));
+
+      // a failed statement doesn't prevent the next ones from running
+      setIndexed(true, "nickName", "isCustomer");
+      assertThrows(PersistenceException.class, () -> newService("nickName").sync(List.of(MODEL)));
+      assertEquals(Set.of(numerology, isCustomer), findIndexes(service));
+    } finally {
+      setIndexed(false, "numerology", "nickName", "isCustomer");
+    }
+
+    service.sync(List.of(MODEL));
+    assertEquals(Set.of(), findIndexes(service));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.profiler.LatencyHistogram;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class MetricsWriterTest {
+
+  @Test
+  public void testSamples() {
+    final MetricsWriter writer = new MetricsWriter();
+    writer.counter("test_gets_total", "Gets", Map.of("cache", "a\"b"), 3);
+    writer.counter("test_gets_total", "Gets", Map.of("cache", "c"), 1.5);
+    writer.gauge("test_size", "Size", Map.of(), 10);
+
+    assertEquals(
+        """
+        # HELP test_gets_total Gets
+        # TYPE test_gets_total counter
+        test_gets_total{cache="a\\"b"} 3
+        test_gets_total{cache="c"} 1.5
+        # HELP test_size Size
+        # TYPE test_size gauge
+        test_size 10
+        """,
+        writer.toString());
+  }
+
+  @Test
+  public void testHistogram() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(150));
+    histogram.record(TimeUnit.SECONDS.toNanos(90));
+
+    final String text =
+        new MetricsWriter()
+            .histogram("test_seconds", "Durations", Map.of("job", "a"), histogram)
+            .toString();
+
+    assertTrue(text.contains("# TYPE test_seconds histogram\n"));
+    assertTrue(text.contains("test_seconds_bucket{job=\"a\",le=\"0.001\"} 0\n"));
+    assertTrue(text.contains("test_seconds_bucket{job=\"a\",le=\"0.005\"} 1\n"));
+    assertTrue(text.contains("test_seconds_bucket{job=\"a\",le=\"0.2\"} 2\n"));
+    assertTrue(text.contains("test_seconds_bucket{job=\"a\",le=\"60\"} 2\n"));
+    assertTrue(text.contains("test_seconds_bucket{job=\"a\",le=\"+Inf\"} 3\n"));
+    assertTrue(text.contains("test_seconds_sum{job=\"a\"} 90.153\n"));
+    assertTrue(text.contains("test_seconds_count{job=\"a\"} 3\n"));
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ActionTracerTest {
+
+  @Test
+  public void testTrace() {
+    // not traced outside of a profiled request
+    assertNull(ActionTracer.start("action-test"));
+    assertNull(ActionTracer.enter("action-test", ActionTracerTest.class));
+
+    final ActionTrace root;
+    Profiler.start("test");
+    try {
+      root = ActionTracer.start("action-group-test");
+      final ActionTrace group = ActionTracer.enter("action-group-test", ActionTracerTest.class);
+      final ActionTrace record = ActionTracer.enter("action-record-test", ActionTracerTest.class);
+      new ProfilerStatementInspector().inspect("select 1");
+      ActionTracer.exit(record);
+      ActionTracer.skip("action-attrs-test");
+      ActionTracer.exit(group);
+      ActionTracer.stop(root);
+    } finally {
+      Profiler.stop();
+    }
+
+    assertEquals(1, root.getChildren().size());
+
+    final ActionTrace group = root.getChildren().getFirst();
+    assertEquals("action-tracer-test", group.getType());
+    assertEquals(1, group.getStatements());
+    assertEquals(2, group.getChildren().size());
+    assertEquals(1, group.getChildren().get(0).getStatements());
+    assertTrue(group.getChildren().get(1).isSkipped());
+
+    assertEquals(1, ActionMetrics.getHistograms().get("action-record-test").getCount());
+  }
+}
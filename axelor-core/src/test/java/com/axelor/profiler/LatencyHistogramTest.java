@@ -0,0 +1,39 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentile(0.5));
+
+    for (int i = 0; i < 90; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(1770, histogram.getSum(), 0.001);
+    assertEquals(150, histogram.getMax(), 0.001);
+
+    // in the (2, 5] bucket
+    final double p50 = histogram.getPercentile(0.5);
+    assertTrue(p50 > 2 && p50 <= 5, "p50: " + p50);
+
+    // in the (100, 200] bucket
+    final double p95 = histogram.getPercentile(0.95);
+    assertTrue(p95 > 100 && p95 <= 200, "p95: " + p95);
+  }
+}
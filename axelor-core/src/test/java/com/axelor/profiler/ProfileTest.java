@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ProfileTest {
+
+  @Test
+  public void testRepeatedStatements() {
+    final Profile profile = Profiler.start("test");
+    try {
+      final ProfilerStatementInspector inspector = new ProfilerStatementInspector();
+      for (int i = 0; i < 5; i++) {
+        inspector.inspect("select * from contact where id=?");
+      }
+      inspector.inspect("select * from address where contact=?");
+      inspector.inspect("select * from address where contact=?");
+    } finally {
+      assertSame(profile, Profiler.stop());
+    }
+
+    assertNull(Profiler.current());
+    assertEquals(7, profile.getStatements());
+    assertEquals(Map.of("select * from contact where id=?", 5), profile.getRepeatedStatements(3));
+    assertEquals(
+        List.of("select * from contact where id=?", "select * from address where contact=?"),
+        List.copyOf(profile.getRepeatedStatements(2).keySet()));
+  }
+
+  @Test
+  public void testNestedScripts() {
+    final Profile profile = new Profile("test");
+    final long outer = profile.scriptStart();
+    final long inner = profile.scriptStart();
+    profile.scriptEnd(inner);
+    profile.scriptEnd(outer);
+
+    assertEquals(2, profile.getScripts());
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.axelor.JpaTest;
+import com.axelor.concurrent.ContextAware;
+import com.axelor.concurrent.ContextAwareExecutors;
+import com.axelor.concurrent.TaskScope;
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaBatchJob;
+import com.axelor.meta.db.MetaBatchStatus;
+import com.axelor.quartz.BatchJobService.BatchProgress;
+import com.axelor.quartz.BatchJobService.Partition;
+import com.axelor.test.db.Title;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+
+class BatchJobServiceTest extends JpaTest {
+
+  private static final int RECORDS = 5;
+
+  @Inject private BatchJobService service;
+
+  /** Processes the batch titles by chunks of 2 records, in partitions of about 3 records. */
+  private static class TitleJob extends BatchJob<Title> {
+
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    private int failures;
+
+    TitleJob(int failures) {
+      this.failures = failures;
+    }
+
+    @Override
+    protected Class<Title> getModel() {
+      return Title.class;
+    }
+
+    @Override
+    protected String getFilter(JobDataMap data) {
+      return "self.code LIKE 'batch-%'";
+    }
+
+    @Override
+    protected int getPartitionSize() {
+      return 3;
+    }
+
+    @Override
+    protected int getChunkSize() {
+      return 2;
+    }
+
+    @Override
+    protected int getMaxAttempts() {
+      return 2;
+    }
+
+    @Override
+    protected void process(List<Title> records, JobDataMap data) {
+      // fails after the first chunk
+      if (!processed.isEmpty() && failures > 0) {
+        failures--;
+        throw new IllegalStateException("Failed");
+      }
+      records.forEach(title -> processed.add(title.getCode()));
+    }
+  }
+
+  @BeforeEach
+  void prepare() {
+    JPA.runInTransaction(
+        () -> {
+          if (JPA.all(Title.class).filter("self.code LIKE 'batch-%'").count() == 0) {
+            for (int i = 0; i < RECORDS; i++) {
+              final Title title = new Title();
+              title.setCode("batch-" + i);
+              title.setName("Batch " + i);
+              JPA.save(title);
+            }
+          }
+        });
+  }
+
+  private static MetaBatchJob findRun(Long batchId) {
+    JPA.clear();
+    return JPA.em().find(MetaBatchJob.class, batchId);
+  }
+
+  @Test
+  void testClaim() throws Exception {
+    final TitleJob job = new TitleJob(0);
+    final JobDataMap data = new JobDataMap();
+
+    // the nodes firing the job at the same time share the same run
+    final List<Supplier<Long>> runs = new ArrayList<>();
+    try (TaskScope scope = ContextAwareExecutors.newScope()) {
+      for (int i = 0; i < 3; i++) {
+        runs.add(
+            scope.fork(
+                ContextAware.of()
+                    .withTransaction(false)
+                    .build(() -> service.findOrCreate(job, "claim", data))));
+      }
+      scope.join();
+    }
+
+    final Long batchId = runs.getFirst().get();
+    assertNotNull(batchId);
+    runs.forEach(run -> assertEquals(batchId, run.get()));
+    assertEquals(2, service.getProgress(batchId).pending());
+
+    // each partition is claimed by one worker
+    final Partition first = service.claim(batchId, "first", 2);
+    final Partition second = service.claim(batchId, "second", 2);
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotEquals(first.id(), second.id());
+    assertNull(service.claim(batchId, "third", 2));
+    assertEquals(2, service.getProgress(batchId).running());
+  }
+
+  @Test
+  void testExpiredLease() {
+    final TitleJob job = new TitleJob(0);
+    final JobDataMap data = new JobDataMap();
+    final Long batchId = service.findOrCreate(job, "lease", data);
+
+    final Partition first = service.claim(batchId, "stopped", 2);
+    assertNotNull(service.claim(batchId, "stopped", 2));
+    assertNull(service.claim(batchId, "worker", 2));
+
+    // the worker stops after the first record, and the leases expire
+    JPA.runInTransaction(
+        () ->
+            JPA.em()
+                .createQuery(
+                    """
+                    UPDATE MetaBatchPartition self \
+                    SET self.claimedOn = :time, \
+                    self.lastId = CASE WHEN self.id = :id THEN self.minId ELSE NULL END \
+                    WHERE self.job.id = :job""")
+                .setParameter("time", LocalDateTime.now().minusDays(1))
+                .setParameter("id", first.id())
+                .setParameter("job", batchId)
+                .executeUpdate());
+
+    // the partitions are claimed again, and resumed from their last record
+    service.work(job, batchId, data, "worker");
+
+    assertEquals(
+        List.of("batch-1", "batch-2", "batch-3", "batch-4"),
+        job.processed.stream().sorted().toList());
+    assertEquals(2, service.getProgress(batchId).done());
+    assertEquals(MetaBatchStatus.DONE, findRun(batchId).getStatus());
+  }
+
+  @Test
+  void testResume() {
+    final TitleJob job = new TitleJob(1);
+    final JobDataMap data = new JobDataMap();
+    final Long batchId = service.findOrCreate(job, "resume", data);
+
+    // the first partition fails after its first chunk, and resumes from it
+    service.work(job, batchId, data, "worker");
+
+    final BatchProgress progress = service.getProgress(batchId);
+    assertEquals(2, progress.done());
+    assertEquals(RECORDS, progress.processed());
+    assertEquals(
+        List.of("batch-0", "batch-1", "batch-2", "batch-3", "batch-4"),
+        job.processed.stream().sorted().toList());
+
+    final MetaBatchJob run = findRun(batchId);
+    assertEquals(MetaBatchStatus.DONE, run.getStatus());
+    assertNull(run.getRunningName());
+
+    // the next fire starts a new run
+    assertNotEquals(batchId, service.findOrCreate(job, "resume", data));
+  }
+}
@@ -376,6 +376,7 @@ export type ActionResult = {
   view?: ActionView;
   report?: boolean;
   reportLink?: string;
+  reportToken?: string;
   reportFile?: string;
   reportFormat?: "pdf" | "html";
   attached?: {
@@ -9,6 +9,7 @@ import {
   openTab_internal as openTab,
 } from "@/hooks/use-tabs";
 import { getActivePopups, getActiveTabId } from "@/layout/nav-tabs/utils";
+import { request } from "@/services/client/client";
 import { i18n } from "@/services/client/i18n";
 import { ActionResult, action as actionRequest } from "@/services/client/meta";
 import { ActionView, HtmlView, View } from "@/services/client/meta.types";
@@ -30,6 +31,43 @@ const executeAction: typeof actionRequest = async (options) => {
   return block(() => actionRequest(options).then(processActionResult));
 };
 
+const REPORT_POLL_INTERVAL = 1000;
+const REPORT_POLL_MAX_INTERVAL = 10000;
+const REPORT_TIMEOUT = 10 * 60 * 1000;
+
+async function waitForReport(
+  token: string,
+): Promise<Partial<ActionResult> | undefined> {
+  const params = new URLSearchParams({ token });
+  const url = `ws/files/report/status?${params}`;
+  const deadline = Date.now() + REPORT_TIMEOUT;
+  let interval = REPORT_POLL_INTERVAL;
+  for (;;) {
+    const resp = await request({ url });
+    if (!resp.ok) {
+      alerts.error({ message: i18n.get("Report generation failed.") });
+      return;
+    }
+    const { status, ...result } = await resp.json();
+    if (status === "pending") {
+      if (Date.now() + interval > deadline) {
+        alerts.error({
+          message: i18n.get("Report generation is taking too long."),
+        });
+        return;
+      }
+      await new Promise((resolve) => setTimeout(resolve, interval));
+      interval = Math.min(interval * 2, REPORT_POLL_MAX_INTERVAL);
+      continue;
+    }
+    if (status === "failed") {
+      alerts.error({ message: i18n.get("Report generation failed.") });
+      return;
+    }
+    return result;
+  }
+}
+
 function mergeValues(
   prevValues: Partial<DataRecord>,
   newValues: Partial<DataRecord>,
@@ -417,6 +455,12 @@ export class DefaultActionExecutor implements ActionExecutor {
     }
 
     if (data.report) {
+      if (data.reportToken) {
+        const result = await waitForReport(data.reportToken);
+        if (!result) return;
+        data = { ...data, ...result };
+      }
+
       if (data.attached) {
         const context = this.#handler.getContext();
         const attachments =
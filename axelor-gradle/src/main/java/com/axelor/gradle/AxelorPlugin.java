@@ -15,9 +15,11 @@ import com.axelor.gradle.support.WarSupport;
 import com.axelor.gradle.tasks.AbstractEncryptTask;
 import com.axelor.gradle.tasks.EncryptFileTask;
 import com.axelor.gradle.tasks.EncryptTextTask;
+import com.axelor.gradle.tasks.GenerateClassIndex;
 import com.axelor.gradle.tasks.GenerateCode;
 import com.axelor.gradle.tasks.I18nTask;
 import com.axelor.gradle.tasks.UpdateVersion;
+import java.util.Map;
 import java.util.Objects;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -55,6 +57,7 @@ public class AxelorPlugin implements Plugin<Project> {
     }
 
     configureCodeGeneration(project);
+    configureClassIndex(project);
     configureJarSupport(project);
     configureWarSupport(project);
     configureEncryptionSupport(project);
@@ -223,6 +226,38 @@ public class AxelorPlugin implements Plugin<Project> {
                         .plus(sourceSet.getCompileClasspath())));
   }
 
+  private void configureClassIndex(Project project) {
+    final SourceSet main =
+        project
+            .getExtensions()
+            .getByType(JavaPluginExtension.class)
+            .getSourceSets()
+            .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+
+    project
+        .getTasks()
+        .register(
+            GenerateClassIndex.TASK_NAME,
+            GenerateClassIndex.class,
+            task -> {
+              task.setDescription(GenerateClassIndex.TASK_DESCRIPTION);
+              task.setGroup(GenerateClassIndex.TASK_GROUP);
+              // not on classes task, which depends on the index
+              task.dependsOn(main.getProcessResourcesTaskName());
+              task.setInputDirs(
+                  main.getOutput()
+                      .getClassesDirs()
+                      .plus(project.files(main.getOutput().getResourcesDir())));
+              task.setOutputDir(GenerateClassIndex.getOutputDir(project));
+            });
+
+    // package the index with the classes
+    main.getOutput()
+        .dir(
+            Map.of("builtBy", GenerateClassIndex.TASK_NAME),
+            GenerateClassIndex.getOutputDir(project));
+  }
+
   private void configureEncryptionSupport(Project project) {
     project
         .getTasks()
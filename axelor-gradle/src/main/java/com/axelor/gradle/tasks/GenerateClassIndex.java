@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.gradle.tasks;
+
+import com.axelor.common.reflections.ClassIndex;
+import com.axelor.gradle.AxelorPlugin;
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.Collectors;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Generates the {@link ClassIndex} of the module, used at runtime to find entities, repositories,
+ * enums, observers and resource files without scanning the class path.
+ */
+@CacheableTask
+public class GenerateClassIndex extends DefaultTask {
+
+  public static final String TASK_NAME = "generateClassIndex";
+  public static final String TASK_DESCRIPTION =
+      "Generate the index of the module classes and resources.";
+  public static final String TASK_GROUP = AxelorPlugin.AXELOR_BUILD_GROUP;
+
+  // Output directory of the index, also known by MetaScanner
+
+  private static final String DIR_OUTPUT = "axelor-index/main";
+
+  private FileCollection inputDirs;
+
+  private File outputDir;
+
+  /**
+   * Retrieves the output directory of the index for the given project.
+   *
+   * @param project the project
+   * @return the output directory as a {@link File}
+   */
+  public static File getOutputDir(Project project) {
+    return new File(project.getLayout().getBuildDirectory().get().getAsFile(), DIR_OUTPUT);
+  }
+
+  @InputFiles
+  @PathSensitive(PathSensitivity.RELATIVE)
+  public FileCollection getInputDirs() {
+    return inputDirs;
+  }
+
+  public void setInputDirs(FileCollection inputDirs) {
+    this.inputDirs = inputDirs;
+  }
+
+  @OutputDirectory
+  public File getOutputDir() {
+    return outputDir;
+  }
+
+  public void setOutputDir(File outputDir) {
+    this.outputDir = outputDir;
+  }
+
+  @TaskAction
+  public void generate() throws IOException {
+    ClassIndex.write(
+        inputDirs.getFiles().stream().map(File::toPath).collect(Collectors.toList()),
+        outputDir.toPath().resolve(ClassIndex.INDEX_FILE));
+  }
+}
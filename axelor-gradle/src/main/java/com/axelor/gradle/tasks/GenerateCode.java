@@ -348,6 +348,9 @@ public class GenerateCode extends DefaultTask {
       }
     }
 
+    // only render the types changed since the last run
+    generator.setStateFile(new File(getTemporaryDir(), "entities.properties"));
+
     generator.start();
     getLogger().info("Completed {} code generation", useTestSources ? "test" : "main");
   }
@@ -15,11 +15,82 @@ public class TomcatRun extends AbstractRunTask {
 
   public static final String MAIN_CLASS = "com.axelor.tomcat.TomcatRunner";
 
+  /** The mime types compressed by default, same as the defaults of the Tomcat runner. */
+  public static final String COMPRESSIBLE_MIME_TYPES =
+      "application/json,application/javascript,application/xml,"
+          + "text/html,text/xml,text/plain,text/css,text/javascript";
+
   @Option(option = "port", description = "Specify the tomcat server port (default 8080).")
   public void setPort(String port) {
     this.args("--port", port);
   }
 
+  @Option(option = "max-threads", description = "Specify the maximum number of worker threads.")
+  public void setMaxThreads(String maxThreads) {
+    this.args("--max-threads", maxThreads);
+  }
+
+  @Option(option = "virtual-threads", description = "Process requests with virtual threads.")
+  public void setVirtualThreads(boolean enabled) {
+    if (enabled) {
+      this.args("--virtual-threads");
+    }
+  }
+
+  @Option(option = "http2", description = "Enable HTTP/2 upgrade on the connector.")
+  public void setHttp2(boolean enabled) {
+    if (enabled) {
+      this.args("--http2");
+    }
+  }
+
+  @Option(option = "compression", description = "Enable gzip compression of responses.")
+  public void setCompression(boolean enabled) {
+    if (enabled) {
+      this.args("--compression");
+    }
+  }
+
+  @Option(
+      option = "compression-min-size",
+      description = "Specify the minimum response size in bytes to compress.")
+  public void setCompressionMinSize(String size) {
+    this.args("--compression-min-size", size);
+  }
+
+  @Option(
+      option = "compressible-mime-types",
+      description = "Specify the comma separated list of mime types to compress.")
+  public void setCompressibleMimeTypes(String mimeTypes) {
+    this.args("--compressible-mime-types", mimeTypes);
+  }
+
+  @Option(
+      option = "accept-count",
+      description = "Specify the maximum queue length for incoming connections.")
+  public void setAcceptCount(String count) {
+    this.args("--accept-count", count);
+  }
+
+  @Option(option = "max-connections", description = "Specify the maximum number of connections.")
+  public void setMaxConnections(String count) {
+    this.args("--max-connections", count);
+  }
+
+  @Option(
+      option = "keep-alive-timeout",
+      description = "Specify the keep-alive timeout in milliseconds.")
+  public void setKeepAliveTimeout(String timeout) {
+    this.args("--keep-alive-timeout", timeout);
+  }
+
+  @Option(
+      option = "max-keep-alive-requests",
+      description = "Specify the maximum number of requests per connection.")
+  public void setMaxKeepAliveRequests(String count) {
+    this.args("--max-keep-alive-requests", count);
+  }
+
   @Override
   public void setDebug(boolean enabled) {
     super.setDebug(enabled);
@@ -51,6 +122,10 @@ public class TomcatRun extends AbstractRunTask {
     if (!super.getArgs().contains("--options-from")) {
       super.args("--options-from", confFile);
     }
+    if (super.getArgs().contains("--compression")
+        && !super.getArgs().contains("--compressible-mime-types")) {
+      super.args("--compressible-mime-types", COMPRESSIBLE_MIME_TYPES);
+    }
     return super.getArgs();
   }
 }
@@ -25,6 +25,26 @@ public class TomcatOptions {
 
   private int cacheMaxSize = 100 * 1024; // 100M
 
+  private boolean virtualThreads;
+
+  private boolean http2;
+
+  private boolean compression;
+
+  private int compressionMinSize = 2048;
+
+  private String compressibleMimeTypes =
+      "application/json,application/javascript,application/xml,"
+          + "text/html,text/xml,text/plain,text/css,text/javascript";
+
+  private int acceptCount;
+
+  private int maxConnections;
+
+  private int keepAliveTimeout;
+
+  private int maxKeepAliveRequests;
+
   private List<Path> roots = new ArrayList<>();
 
   private List<Path> classes = new ArrayList<>();
@@ -108,6 +128,93 @@ public class TomcatOptions {
     this.cacheMaxSize = cacheMaxSize;
   }
 
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Whether to process requests with virtual threads instead of a platform thread pool.
+   *
+   * @param virtualThreads true to use virtual threads
+   */
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  /**
+   * Whether to accept HTTP/2 upgrade requests (h2c) on the connector.
+   *
+   * @param http2 true to enable HTTP/2
+   */
+  public void setHttp2(boolean http2) {
+    this.http2 = http2;
+  }
+
+  public boolean isCompression() {
+    return compression;
+  }
+
+  /**
+   * Whether to gzip the responses of compressible mime types.
+   *
+   * @param compression true to enable compression
+   */
+  public void setCompression(boolean compression) {
+    this.compression = compression;
+  }
+
+  public int getCompressionMinSize() {
+    return compressionMinSize;
+  }
+
+  public void setCompressionMinSize(int compressionMinSize) {
+    this.compressionMinSize = compressionMinSize;
+  }
+
+  public String getCompressibleMimeTypes() {
+    return compressibleMimeTypes;
+  }
+
+  public void setCompressibleMimeTypes(String compressibleMimeTypes) {
+    this.compressibleMimeTypes = compressibleMimeTypes;
+  }
+
+  public int getAcceptCount() {
+    return acceptCount;
+  }
+
+  public void setAcceptCount(int acceptCount) {
+    this.acceptCount = acceptCount;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public int getKeepAliveTimeout() {
+    return keepAliveTimeout;
+  }
+
+  public void setKeepAliveTimeout(int keepAliveTimeout) {
+    this.keepAliveTimeout = keepAliveTimeout;
+  }
+
+  public int getMaxKeepAliveRequests() {
+    return maxKeepAliveRequests;
+  }
+
+  public void setMaxKeepAliveRequests(int maxKeepAliveRequests) {
+    this.maxKeepAliveRequests = maxKeepAliveRequests;
+  }
+
   public List<Path> getRoots() {
     return roots;
   }
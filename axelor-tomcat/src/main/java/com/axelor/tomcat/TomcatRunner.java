@@ -45,6 +45,45 @@ public class TomcatRunner implements Runnable {
   @Option(names = "--cache-max-size", description = "Set the maximum cache size for resources.")
   private int cacheMaxSize;
 
+  @Option(
+      names = "--virtual-threads",
+      description = "Process requests with virtual threads instead of a thread pool.")
+  private boolean virtualThreads;
+
+  @Option(names = "--http2", description = "Enable HTTP/2 upgrade on the connector.")
+  private boolean http2;
+
+  @Option(names = "--compression", description = "Enable gzip compression of responses.")
+  private boolean compression;
+
+  @Option(
+      names = "--compression-min-size",
+      description = "The minimum response size in bytes to compress.")
+  private int compressionMinSize;
+
+  @Option(
+      names = "--compressible-mime-types",
+      description = "Comma separated list of mime types to compress.")
+  private String compressibleMimeTypes;
+
+  @Option(
+      names = "--accept-count",
+      description = "The maximum queue length for incoming connections.")
+  private int acceptCount;
+
+  @Option(names = "--max-connections", description = "The maximum number of open connections.")
+  private int maxConnections;
+
+  @Option(
+      names = "--keep-alive-timeout",
+      description = "The time in milliseconds to wait for the next request on a connection.")
+  private int keepAliveTimeout;
+
+  @Option(
+      names = "--max-keep-alive-requests",
+      description = "The maximum number of requests on a connection, -1 for unlimited.")
+  private int maxKeepAliveRequests;
+
   @Option(
       names = "--extra-classes",
       split = ",",
@@ -97,6 +136,20 @@ public class TomcatRunner implements Runnable {
       settings.setCacheMaxSize(cacheMaxSize);
     }
 
+    settings.setVirtualThreads(virtualThreads);
+    settings.setHttp2(http2);
+    settings.setCompression(compression);
+    if (compressionMinSize > 0) {
+      settings.setCompressionMinSize(compressionMinSize);
+    }
+    if (compressibleMimeTypes != null) {
+      settings.setCompressibleMimeTypes(compressibleMimeTypes);
+    }
+    settings.setAcceptCount(acceptCount);
+    settings.setMaxConnections(maxConnections);
+    settings.setKeepAliveTimeout(keepAliveTimeout);
+    settings.setMaxKeepAliveRequests(maxKeepAliveRequests);
+
     settings.setContextPath(
         Optional.ofNullable(contextPath).orElse(props.getProperty("contextPath", "")));
 
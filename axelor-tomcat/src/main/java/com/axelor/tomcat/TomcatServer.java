@@ -19,6 +19,7 @@ import org.apache.catalina.webresources.DirResourceSet;
 import org.apache.catalina.webresources.FileResourceSet;
 import org.apache.catalina.webresources.StandardRoot;
 import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http2.Http2Protocol;
 
 public class TomcatServer {
 
@@ -54,6 +55,8 @@ public class TomcatServer {
       p.setMaxThreads(options.getMaxThreads());
     }
 
+    configureConnector(connector);
+
     final URI proxyUri = options.getProxyUrl();
     if (proxyUri != null) {
       String scheme = proxyUri.getScheme();
@@ -123,6 +126,36 @@ public class TomcatServer {
     return tomcat;
   }
 
+  private void configureConnector(Connector connector) {
+    if (options.isVirtualThreads()) {
+      connector.setProperty("useVirtualThreads", "true");
+    }
+
+    if (options.isHttp2()) {
+      connector.addUpgradeProtocol(new Http2Protocol());
+    }
+
+    if (options.isCompression()) {
+      connector.setProperty("compression", "on");
+      connector.setProperty("compressionMinSize", String.valueOf(options.getCompressionMinSize()));
+      connector.setProperty("compressibleMimeType", options.getCompressibleMimeTypes());
+    }
+
+    if (options.getAcceptCount() > 0) {
+      connector.setProperty("acceptCount", String.valueOf(options.getAcceptCount()));
+    }
+    if (options.getMaxConnections() > 0) {
+      connector.setProperty("maxConnections", String.valueOf(options.getMaxConnections()));
+    }
+    if (options.getKeepAliveTimeout() > 0) {
+      connector.setProperty("keepAliveTimeout", String.valueOf(options.getKeepAliveTimeout()));
+    }
+    if (options.getMaxKeepAliveRequests() != 0) {
+      connector.setProperty(
+          "maxKeepAliveRequests", String.valueOf(options.getMaxKeepAliveRequests()));
+    }
+  }
+
   public void start() {
     try {
       if (tomcat == null) {
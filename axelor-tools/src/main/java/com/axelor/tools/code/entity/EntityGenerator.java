@@ -16,26 +16,44 @@ import jakarta.xml.bind.JAXBException;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Generates the entity, repository and enum classes from the domain xml files.
+ *
+ * <p>When a state file is set (see {@link #setStateFile(File)}), the generator remembers a
+ * fingerprint of the domain files contributing to each generated type, including the files of the
+ * lookup sources and of the super classes, and only renders again the types whose definition
+ * changed since the last run. The domain files are parsed and the classes are rendered in
+ * parallel.
+ */
 public class EntityGenerator {
 
   private final Logger log = LoggerFactory.getLogger(getClass());
@@ -44,20 +62,66 @@ public class EntityGenerator {
 
   private File outputPath;
 
+  private File stateFile;
+
   private final Set<String> definedEntities = new HashSet<>();
   private final Set<String> definedEnums = new HashSet<>();
 
+  private final Multimap<String, File> entitySources = LinkedHashMultimap.create();
+  private final Multimap<String, File> enumSources = LinkedHashMultimap.create();
+  private final Map<String, String> superClasses = new HashMap<>();
+  private final Set<String> modelClasses = new HashSet<>();
+  private final Map<File, String> digests = new HashMap<>();
+
   private final List<EntityGenerator> lookup = new ArrayList<>();
   private final Function<String, String> formatter;
 
   private final Multimap<String, Entity> entities = LinkedHashMultimap.create();
   private final Multimap<String, EnumType> enums = LinkedHashMultimap.create();
 
-  private static final Map<String, Entity> mergedEntities = new ConcurrentHashMap<>();
+  private final Map<String, Entity> mergedEntities = new HashMap<>();
+
   private static final Set<String> MODEL_FIELD_NAMES = Set.of("archived");
   private static final Set<String> AUDITABLE_MODEL_FIELD_NAMES =
       Set.of("createdOn", "updatedOn", "createdBy", "updatedBy");
 
+  // type names defined by the domain files, by file content digest
+  private static final Map<String, DomainInfo> DOMAIN_INFOS = new ConcurrentHashMap<>();
+
+  // changes whenever the generator itself changes, so that everything is rendered again
+  private static final String GENERATOR_VERSION = findGeneratorVersion();
+
+  private record DomainInfo(
+      List<String> entities,
+      List<String> enums,
+      Map<String, String> superClasses,
+      Set<String> modelClasses) {}
+
+  private static final class Job {
+
+    private final String name;
+    private final boolean entity;
+    private final boolean doLookup;
+
+    private String fingerprint;
+    private BaseType<?> merged;
+
+    private Job(String name, boolean entity, boolean doLookup) {
+      this.name = name;
+      this.entity = entity;
+      this.doLookup = doLookup;
+    }
+
+    private String getKey() {
+      return (entity ? "entity." : "enum.") + name;
+    }
+  }
+
+  @FunctionalInterface
+  private interface IOFunction<S, T> {
+    T apply(S item) throws IOException;
+  }
+
   public EntityGenerator(File domainPath, File outputPath) {
     this(domainPath, outputPath, String -> String);
   }
@@ -68,7 +132,18 @@ public class EntityGenerator {
     this.formatter = Objects.requireNonNull(formatter);
   }
 
-  private List<File> renderEnum(Collection<EnumType> items, boolean doLookup) throws IOException {
+  /**
+   * Sets the file used to remember the fingerprints of the generated types between runs.
+   *
+   * <p>Without state file, all the types are rendered on each run.
+   *
+   * @param stateFile the state file
+   */
+  public void setStateFile(File stateFile) {
+    this.stateFile = stateFile;
+  }
+
+  private EnumType mergeEnum(Collection<EnumType> items, boolean doLookup) throws IOException {
 
     if (items == null || items.isEmpty()) {
       return null;
@@ -106,8 +181,11 @@ public class EntityGenerator {
       entity.merge(it);
     }
 
-    final JavaFile javaFile = new JavaFile(entity.getPackageName(), entity.toJavaClass());
+    return entity;
+  }
 
+  private List<File> renderEnum(EnumType entity) throws IOException {
+    final JavaFile javaFile = new JavaFile(entity.getPackageName(), entity.toJavaClass());
     return List.of(save(javaFile));
   }
 
@@ -127,7 +205,7 @@ public class EntityGenerator {
     return outFile;
   }
 
-  private List<File> render(Collection<Entity> items, boolean doLookup) throws IOException {
+  private Entity merge(Collection<Entity> items, boolean doLookup) throws IOException {
 
     if (items == null || items.isEmpty()) {
       return null;
@@ -165,10 +243,7 @@ public class EntityGenerator {
     }
     mergedEntities.put(entity.getName(), entity);
 
-    if (doLookup) {
-      lookupSuperClasses(entity);
-    }
-
+    lookupSuperClasses(entity);
     checkSingleTableInheritance(entity);
 
     Optional.ofNullable(entity.getTrack())
@@ -181,6 +256,10 @@ public class EntityGenerator {
                         fieldName ->
                             log.error("{}: track unknown field: {}", entity.getName(), fieldName)));
 
+    return entity;
+  }
+
+  private List<File> render(Entity entity) throws IOException {
     final JavaType javaType = entity.toJavaClass();
     final JavaType repoType = entity.toRepoClass();
 
@@ -286,54 +365,247 @@ public class EntityGenerator {
   }
 
   protected void findFrom(File input) throws IOException {
-    final List<BaseType<?>> types;
+    findAll(List.of(input));
+  }
+
+  protected void findAll() throws IOException {
+    findAll(domainFiles());
+  }
+
+  private void findAll(List<File> files) throws IOException {
+    final List<Map.Entry<String, DomainInfo>> infos =
+        parallel(
+            files,
+            file -> {
+              final String digest = digest(file);
+              final DomainInfo info = DOMAIN_INFOS.get(digest);
+              return Map.entry(digest, info == null ? inspect(file, digest) : info);
+            });
+
+    for (int i = 0; i < files.size(); i++) {
+      final File file = files.get(i);
+      final DomainInfo info = infos.get(i).getValue();
+      digests.put(file, infos.get(i).getKey());
+      for (String name : info.entities()) {
+        definedEntities.add(name);
+        entitySources.put(name, file);
+      }
+      for (String name : info.enums()) {
+        definedEnums.add(name);
+        enumSources.put(name, file);
+      }
+      info.superClasses().forEach(superClasses::putIfAbsent);
+      modelClasses.addAll(info.modelClasses());
+    }
+  }
+
+  private static DomainInfo inspect(File input, String digest) {
+    final List<BaseType<?>> types = parse(input);
+    final List<String> entityNames = new ArrayList<>();
+    final List<String> enumNames = new ArrayList<>();
+    final Map<String, String> supers = new HashMap<>();
+    final Set<String> models = new HashSet<>();
+
+    for (BaseType<?> type : types) {
+      if (type instanceof Entity entity) {
+        entityNames.add(entity.getName());
+        if (entity.getSimpleSuperClass() != null) {
+          supers.putIfAbsent(entity.getName(), entity.getSimpleSuperClass());
+        }
+        if (entity.isModelClass()) {
+          models.add(entity.getName());
+        }
+      }
+      if (type instanceof EnumType enumType) {
+        enumNames.add(enumType.getName());
+      }
+    }
+
+    final DomainInfo info = new DomainInfo(entityNames, enumNames, supers, models);
+    DOMAIN_INFOS.put(digest, info);
+    return info;
+  }
+
+  private static List<BaseType<?>> parse(File input) {
     try {
-      types = EntityParser.parse(input);
+      return EntityParser.parse(input);
     } catch (JAXBException e) {
       throw new RuntimeException(e);
     }
+  }
 
-    types.stream()
-        .filter(EnumType.class::isInstance)
-        .map(BaseType::getName)
-        .forEach(definedEnums::add);
+  protected void process(File input, boolean verbose) throws IOException {
+    processAll(List.of(input), verbose);
+  }
 
-    types.stream()
-        .filter(Entity.class::isInstance)
-        .map(BaseType::getName)
-        .forEach(definedEntities::add);
+  protected void processAll(boolean verbose) throws IOException {
+    processAll(domainFiles(), verbose);
   }
 
-  protected void findAll() throws IOException {
-    if (!domainPath.exists()) return;
-    for (File file : domainPath.listFiles()) {
-      if (file.getName().endsWith(".xml")) {
-        findFrom(file);
+  protected void processAll(List<File> files, boolean verbose) throws IOException {
+    final List<List<BaseType<?>>> parsed =
+        parallel(
+            files,
+            file -> {
+              if (verbose) {
+                log.info("Processing: " + file);
+              }
+              return parse(file);
+            });
+
+    for (List<BaseType<?>> types : parsed) {
+      for (BaseType<?> type : types) {
+        if (type instanceof Entity entity) entities.put(type.getName(), entity);
+        if (type instanceof EnumType enumType) enums.put(type.getName(), enumType);
       }
     }
   }
 
-  protected void process(File input, boolean verbose) throws IOException {
-    if (verbose) {
-      log.info("Processing: " + input);
+  private List<File> domainFiles() {
+    if (domainPath == null || !domainPath.exists()) {
+      return List.of();
     }
+    return Stream.of(domainPath.listFiles())
+        .filter(file -> file.getName().endsWith(".xml"))
+        .toList();
+  }
+
+  private static <S, T> List<T> parallel(List<S> items, IOFunction<S, T> function)
+      throws IOException {
     try {
-      for (BaseType<?> type : EntityParser.parse(input)) {
-        if (type instanceof Entity entity) entities.put(type.getName(), entity);
-        if (type instanceof EnumType enumType) enums.put(type.getName(), enumType);
+      return items.parallelStream()
+          .map(
+              item -> {
+                try {
+                  return function.apply(item);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              })
+          .toList();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static String digest(File file) throws IOException {
+    return HexFormat.of().formatHex(sha256().digest(Files.readAllBytes(file.toPath())));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String findGeneratorVersion() {
+    try {
+      final Path location =
+          Path.of(
+              EntityGenerator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+      if (Files.isRegularFile(location)) {
+        return location.getFileName()
+            + ":"
+            + Files.size(location)
+            + ":"
+            + Files.getLastModifiedTime(location).toMillis();
       }
-    } catch (JAXBException e) {
-      throw new RuntimeException(e);
+      try (Stream<Path> walk = Files.walk(location)) {
+        return String.valueOf(
+            walk.filter(Files::isRegularFile)
+                .mapToLong(f -> f.toFile().lastModified())
+                .max()
+                .orElse(0));
+      }
+    } catch (Exception e) {
+      // unknown version, never reuse previously generated files
+      return UUID.randomUUID().toString();
     }
   }
 
-  protected void processAll(boolean verbose) throws IOException {
-    if (!domainPath.exists()) return;
-    for (File file : domainPath.listFiles()) {
-      if (file.getName().endsWith(".xml")) {
-        process(file, verbose);
+  /**
+   * Computes the fingerprint of the given type from the digests of all the domain files defining
+   * it, including the ones of the lookup sources and, for entities, of its super classes.
+   */
+  private String fingerprint(Job job) {
+    final MessageDigest md = sha256();
+    md.update(GENERATOR_VERSION.getBytes(StandardCharsets.UTF_8));
+
+    final List<EntityGenerator> generators = new ArrayList<>(lookup);
+    generators.add(this);
+
+    final Set<String> visited = new HashSet<>();
+    String current = job.name;
+
+    while (current != null && visited.add(current)) {
+      String superClass = null;
+      md.update(("#" + current).getBytes(StandardCharsets.UTF_8));
+      for (EntityGenerator gen : generators) {
+        final Collection<File> files =
+            job.entity ? gen.entitySources.get(current) : gen.enumSources.get(current);
+        for (File file : files) {
+          final String source = file.getName() + ":" + gen.digests.get(file);
+          md.update(source.getBytes(StandardCharsets.UTF_8));
+        }
+        if (superClass == null && job.entity) {
+          superClass = gen.superClasses.get(current);
+        }
       }
+      current = superClass;
     }
+
+    return HexFormat.of().formatHex(md.digest());
+  }
+
+  private Properties loadState() {
+    final Properties state = new Properties();
+    if (stateFile != null && stateFile.exists()) {
+      try (Reader reader = Files.newBufferedReader(stateFile.toPath(), StandardCharsets.UTF_8)) {
+        state.load(reader);
+      } catch (IOException | IllegalArgumentException e) {
+        log.warn("Unable to read generator state, generating all classes: {}", stateFile);
+        state.clear();
+      }
+    }
+    return state;
+  }
+
+  private void saveState(Properties state) throws IOException {
+    if (stateFile == null) {
+      return;
+    }
+    Files.createDirectories(stateFile.getParentFile().toPath());
+    try (Writer writer = Files.newBufferedWriter(stateFile.toPath(), StandardCharsets.UTF_8)) {
+      state.store(writer, null);
+    }
+  }
+
+  /**
+   * Gets the files generated for the given job during the previous run if its fingerprint didn't
+   * change and they still exist.
+   */
+  private List<File> findGenerated(Properties state, Job job) {
+    final String value = state.getProperty(job.getKey());
+    if (value == null || !value.startsWith(job.fingerprint + "|")) {
+      return null;
+    }
+    final List<File> files =
+        Stream.of(value.substring(job.fingerprint.length() + 1).split(","))
+            .filter(path -> !path.isEmpty())
+            .map(path -> new File(outputPath, path))
+            .toList();
+    return files.stream().allMatch(File::exists) ? files : null;
+  }
+
+  private String toStateValue(Job job, List<File> files) {
+    return job.fingerprint
+        + "|"
+        + files.stream()
+            .map(file -> outputPath.toPath().relativize(file.toPath()).toString())
+            .map(path -> path.replace(File.separatorChar, '/'))
+            .collect(Collectors.joining(","));
   }
 
   private void delete(File file) {
@@ -372,85 +644,96 @@ public class EntityGenerator {
     log.info("Output path: " + outputPath);
 
     outputPath.mkdirs();
+    mergedEntities.clear();
 
-    final Set<File> generated = new HashSet<>();
+    final Set<File> generated = ConcurrentHashMap.newKeySet();
+    final Properties state = loadState();
+    final Properties newState = new Properties();
 
-    if (this.domainPath.exists()) {
-      for (File file : domainPath.listFiles()) {
-        if (file.getName().endsWith(".xml")) {
-          process(file, true);
-        }
-      }
-    }
+    findAll();
+
+    final List<Job> jobs = new ArrayList<>();
 
     // generate enums
-    for (String name : enums.keySet()) {
-      final List<File> rendered = renderEnum(enums.get(name), true);
-      if (rendered != null) {
-        generated.addAll(rendered);
-      }
+    for (String name : enumSources.keySet()) {
+      jobs.add(new Job(name, false, true));
     }
 
     // make sure to generate extended enums from parent modules
-    final Multimap<String, EnumType> extendedEnums = LinkedHashMultimap.create();
+    final Map<String, Integer> extendedEnums = new LinkedHashMap<>();
     for (EntityGenerator generator : lookup) {
       for (String name : generator.definedEnums) {
-        if (enums.containsKey(name)) {
-          continue;
-        }
-        if (generator.enums.isEmpty()) {
-          generator.processAll(false);
+        if (!enumSources.containsKey(name)) {
+          extendedEnums.merge(name, generator.enumSources.get(name).size(), Integer::sum);
         }
-        extendedEnums.putAll(name, generator.enums.get(name));
-      }
-    }
-    for (String name : extendedEnums.keySet()) {
-      final List<EnumType> all = new ArrayList<>(extendedEnums.get(name));
-      if (all == null || all.size() < 2) {
-        continue;
-      }
-      Collections.reverse(all);
-      final List<File> rendered = renderEnum(all, false);
-      if (rendered != null) {
-        generated.addAll(rendered);
       }
     }
+    extendedEnums.forEach(
+        (name, count) -> {
+          if (count >= 2) {
+            jobs.add(new Job(name, false, false));
+          }
+        });
 
     // generate entities
-    for (String name : entities.keySet()) {
-      final List<File> rendered = render(entities.get(name), true);
-      if (rendered != null) {
-        generated.addAll(rendered);
-      }
+    for (String name : entitySources.keySet()) {
+      jobs.add(new Job(name, true, true));
     }
 
     // make sure to generate extended entities from parent modules
-    final Multimap<String, Entity> extendedEntities = LinkedHashMultimap.create();
+    final Map<String, Integer> extendedEntities = new LinkedHashMap<>();
     for (EntityGenerator generator : lookup) {
       for (String name : generator.definedEntities) {
-        if (entities.containsKey(name)) {
-          continue;
+        if (!entitySources.containsKey(name)) {
+          extendedEntities.merge(name, generator.entitySources.get(name).size(), Integer::sum);
         }
-        if (generator.entities.isEmpty()) {
-          generator.processAll(false);
-        }
-        extendedEntities.putAll(name, generator.entities.get(name));
       }
     }
-    for (String name : extendedEntities.keySet()) {
-      final List<Entity> all = new ArrayList<>(extendedEntities.get(name));
-      if (all == null || all.isEmpty()) {
-        continue;
-      }
-      if (all.size() == 1
-          && !all.getFirst().isModelClass()) { // generate extended Model class in root
-        continue;
+    extendedEntities.forEach(
+        (name, count) -> {
+          // generate extended Model class in root
+          if (count >= 2 || lookup.stream().anyMatch(gen -> gen.modelClasses.contains(name))) {
+            jobs.add(new Job(name, true, false));
+          }
+        });
+
+    // reuse the classes of unchanged types
+    final List<Job> changed = new ArrayList<>();
+    for (Job job : jobs) {
+      job.fingerprint = fingerprint(job);
+      final List<File> files = findGenerated(state, job);
+      if (files == null) {
+        changed.add(job);
+      } else {
+        generated.addAll(files);
+        newState.setProperty(job.getKey(), toStateValue(job, files));
       }
-      Collections.reverse(all);
-      final List<File> rendered = render(all, false);
-      if (rendered != null) {
-        generated.addAll(rendered);
+    }
+
+    if (changed.isEmpty()) {
+      log.info("Generated classes are up to date.");
+    } else {
+      processAll(true);
+
+      // merging modifies the shared definitions, so it's done sequentially
+      for (Job job : changed) {
+        job.merged =
+            job.entity
+                ? merge(findEntities(job), job.doLookup)
+                : mergeEnum(findEnums(job), job.doLookup);
       }
+
+      parallel(
+          changed.stream().filter(job -> job.merged != null).toList(),
+          job -> {
+            final List<File> files =
+                job.merged instanceof Entity entity
+                    ? render(entity)
+                    : renderEnum((EnumType) job.merged);
+            generated.addAll(files);
+            newState.setProperty(job.getKey(), toStateValue(job, files));
+            return files;
+          });
     }
 
     // clean up obsolete files
@@ -464,6 +747,42 @@ public class EntityGenerator {
                 f.delete();
               });
     }
+
+    saveState(newState);
+  }
+
+  private Collection<Entity> findEntities(Job job) throws IOException {
+    if (job.doLookup) {
+      return entities.get(job.name);
+    }
+    final List<Entity> all = new ArrayList<>();
+    for (EntityGenerator generator : lookup) {
+      if (generator.definedEntities.contains(job.name)) {
+        if (generator.entities.isEmpty()) {
+          generator.processAll(false);
+        }
+        all.addAll(generator.entities.get(job.name));
+      }
+    }
+    Collections.reverse(all);
+    return all;
+  }
+
+  private Collection<EnumType> findEnums(Job job) throws IOException {
+    if (job.doLookup) {
+      return enums.get(job.name);
+    }
+    final List<EnumType> all = new ArrayList<>();
+    for (EntityGenerator generator : lookup) {
+      if (generator.definedEnums.contains(job.name)) {
+        if (generator.enums.isEmpty()) {
+          generator.processAll(false);
+        }
+        all.addAll(generator.enums.get(job.name));
+      }
+    }
+    Collections.reverse(all);
+    return all;
   }
 
   /**
@@ -492,16 +811,12 @@ public class EntityGenerator {
 
           @Override
           protected void processAll(boolean verbose) throws IOException {
-            for (File file : files) {
-              process(file, verbose);
-            }
+            processAll(List.copyOf(files), verbose);
           }
         };
-    for (File file : files) {
-      try {
-        gen.findFrom(file);
-      } catch (IOException e) {
-      }
+    try {
+      gen.findAll(List.copyOf(files));
+    } catch (IOException e) {
     }
     return gen;
   }
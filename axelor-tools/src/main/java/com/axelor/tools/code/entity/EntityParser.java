@@ -23,7 +23,9 @@ public class EntityParser {
   private static JAXBContext getContext() throws JAXBException {
     if (CONTEXT.get() == null) {
       synchronized (CONTEXT) {
-        CONTEXT.set(JAXBContext.newInstance(DomainModels.class));
+        if (CONTEXT.get() == null) {
+          CONTEXT.set(JAXBContext.newInstance(DomainModels.class));
+        }
       }
     }
     return CONTEXT.get();
@@ -89,6 +89,9 @@ public class Entity implements BaseType<Entity> {
   @XmlAttribute(name = "cacheable")
   private Boolean cacheable;
 
+  @XmlAttribute(name = "batchSize")
+  private Integer batchSize;
+
   private Boolean mappedSuperClass;
 
   @XmlAttribute(name = "implements")
@@ -126,6 +129,9 @@ public class Entity implements BaseType<Entity> {
   @XmlElement(name = "index")
   private List<Index> indexes;
 
+  @XmlElement(name = "fetch-plan")
+  private List<FetchPlan> fetchPlans;
+
   @XmlElement(name = "unique-constraint")
   private List<UniqueConstraint> constraints;
 
@@ -233,6 +239,7 @@ public class Entity implements BaseType<Entity> {
     }
 
     getIndexes().addAll(other.getIndexes());
+    getFetchPlans().addAll(other.getFetchPlans());
     getConstraints().addAll(other.getConstraints());
     getFinders().addAll(other.getFinders());
     getListeners().addAll(other.getListeners());
@@ -252,6 +259,10 @@ public class Entity implements BaseType<Entity> {
       cacheable = other.cacheable;
     }
 
+    if (other.batchSize != null) {
+      batchSize = other.batchSize;
+    }
+
     if (isTrue(other.isAuditable)) {
       isAuditable = true;
     } else if (notFalse(isAuditable) && isFalse(other.isAuditable)) {
@@ -436,6 +447,14 @@ public class Entity implements BaseType<Entity> {
     this.cacheable = cacheable;
   }
 
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
   public Boolean getMappedSuperClass() {
     return mappedSuperClass;
   }
@@ -525,6 +544,13 @@ public class Entity implements BaseType<Entity> {
     return indexes;
   }
 
+  public List<FetchPlan> getFetchPlans() {
+    if (fetchPlans == null) {
+      fetchPlans = new ArrayList<>();
+    }
+    return fetchPlans;
+  }
+
   public List<UniqueConstraint> getConstraints() {
     if (constraints == null) {
       constraints = new ArrayList<>();
@@ -601,6 +627,18 @@ public class Entity implements BaseType<Entity> {
     return null;
   }
 
+  private JavaAnnotation $batchSize() {
+    if (batchSize == null || isTrue(mappedSuperClass) || hasExtends()) return null;
+    return new JavaAnnotation("org.hibernate.annotations.BatchSize")
+        .param("size", "{0:l}", batchSize);
+  }
+
+  private JavaAnnotation $fetchPlans() {
+    if (fetchPlans == null || fetchPlans.isEmpty() || isTrue(mappedSuperClass)) return null;
+    return new JavaAnnotation("jakarta.persistence.NamedEntityGraphs")
+        .param("value", fetchPlans, x -> x.toJavaAnnotation(this));
+  }
+
   private JavaAnnotation $mappedSuperClass() {
     return isTrue(mappedSuperClass)
         ? new JavaAnnotation("jakarta.persistence.MappedSuperclass")
@@ -634,6 +672,8 @@ public class Entity implements BaseType<Entity> {
     if (notTrue(mappedSuperClass)) {
       all.add($entity());
       all.add($cacheable());
+      all.add($batchSize());
+      all.add($fetchPlans());
     }
 
     if (notTrue(mappedSuperClass) && isTrue(dynamicUpdate)) {
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.tools.code.entity.model;
+
+import static com.axelor.tools.code.entity.model.Utils.*;
+
+import com.axelor.tools.code.JavaAnnotation;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlType
+public class FetchPlan {
+
+  @XmlAttribute(name = "name", required = true)
+  private String name;
+
+  @XmlAttribute(name = "fields", required = true)
+  private String fields;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String value) {
+    this.name = value;
+  }
+
+  public String getFields() {
+    return fields;
+  }
+
+  public void setFields(String value) {
+    this.fields = value;
+  }
+
+  /**
+   * Gets the name of the generated entity graph, prefixed with the entity name as entity graph
+   * names are global to the persistence unit.
+   *
+   * @param entity the entity
+   * @return the entity graph name
+   */
+  public String getGraphName(Entity entity) {
+    return entity.getName() + "." + name;
+  }
+
+  public JavaAnnotation toJavaAnnotation(Entity entity) {
+    for (String field : list(fields)) {
+      Property property = entity.findField(field);
+      if (property == null || property.isVirtual() || isTrue(property.getTransient())) {
+        throw new IllegalArgumentException(
+            "Invalid field '%s' in fetch plan: %s.%s".formatted(field, entity.getName(), name));
+      }
+    }
+    return new JavaAnnotation("jakarta.persistence.NamedEntityGraph")
+        .param("name", "{0:s}", getGraphName(entity))
+        .param(
+            "attributeNodes",
+            list(fields),
+            field ->
+                new JavaAnnotation("jakarta.persistence.NamedAttributeNode")
+                    .param("value", "{0:s}", field));
+  }
+}
@@ -117,6 +117,14 @@ public abstract class Property {
   @XmlAttribute(name = "column2")
   private String column2;
 
+  @Overridable
+  @XmlAttribute(name = "batchSize")
+  private Integer batchSize;
+
+  @Overridable
+  @XmlAttribute(name = "fetch")
+  private String fetch;
+
   @Overridable
   @XmlAttribute(name = "nullable")
   private Boolean nullable;
@@ -501,6 +509,22 @@ public abstract class Property {
     this.column2 = value;
   }
 
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer value) {
+    this.batchSize = value;
+  }
+
+  public String getFetch() {
+    return fetch;
+  }
+
+  public void setFetch(String value) {
+    this.fetch = value;
+  }
+
   public Boolean getNullable() {
     return nullable;
   }
@@ -849,6 +873,7 @@ public abstract class Property {
             $many2many(),
             $joinTable(),
             $orderBy(),
+            $fetch(),
             $sequence(),
             $converter())
         .flatMap(x -> x instanceof Collection<?> c ? c.stream() : Stream.of(x))
@@ -1270,6 +1295,39 @@ public abstract class Property {
         .param("value", "{0:s}", orderBy.replaceAll("-\\s*(\\w+)", "$1 DESC"));
   }
 
+  private List<JavaAnnotation> $fetch() {
+    if (batchSize == null && isBlank(fetch)) return null;
+
+    if (!isCollection()) {
+      throw new IllegalArgumentException(
+          "Invalid use of 'batchSize' or 'fetch' on non-collection field: " + name);
+    }
+
+    final List<JavaAnnotation> all = new ArrayList<>();
+
+    if (batchSize != null) {
+      all.add(
+          new JavaAnnotation("org.hibernate.annotations.BatchSize")
+              .param("size", "{0:l}", batchSize));
+    }
+
+    if (notBlank(fetch)) {
+      final String mode =
+          switch (fetch) {
+            case "select" -> "SELECT";
+            case "subselect" -> "SUBSELECT";
+            default ->
+                throw new IllegalArgumentException(
+                    "Invalid 'fetch' value, should be 'select' or 'subselect' on field: " + name);
+          };
+      all.add(
+          new JavaAnnotation("org.hibernate.annotations.Fetch")
+              .param("value", "{0:m}", "org.hibernate.annotations.FetchMode." + mode));
+    }
+
+    return all;
+  }
+
   private JavaAnnotation $sequence() {
     return isBlank(sequence)
         ? null
@@ -4,10 +4,16 @@
  */
 package com.axelor.tools.code.entity;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class EntityGeneratorTest {
 
@@ -31,4 +37,40 @@ public class EntityGeneratorTest {
 
     gen.start();
   }
+
+  private EntityGenerator incrementalGenerator(File outputPath, File stateFile)
+      throws IOException {
+    EntityGenerator gen = new EntityGenerator(new File("src/test/resources/domains"), outputPath);
+    gen.addLookupSource(new EntityGenerator(new File("src/test/resources/search"), outputPath));
+    gen.setStateFile(stateFile);
+    return gen;
+  }
+
+  @Test
+  public void testIncremental(@TempDir Path tempDir) throws IOException {
+    File outputPath = tempDir.resolve("src-gen").toFile();
+    File stateFile = tempDir.resolve("state.properties").toFile();
+
+    incrementalGenerator(outputPath, stateFile).start();
+
+    File title = new File(outputPath, "com/axelor/contact/db/Title.java");
+    File contact = new File(outputPath, "com/axelor/contact/db/Contact.java");
+    assertTrue(title.exists());
+    assertTrue(contact.exists());
+    assertTrue(stateFile.exists());
+
+    // unchanged types are not rendered again
+    title.setLastModified(1000);
+    contact.delete();
+
+    incrementalGenerator(outputPath, stateFile).start();
+
+    assertEquals(1000, title.lastModified());
+    assertTrue(contact.exists());
+
+    // without state, everything is rendered
+    incrementalGenerator(outputPath, null).start();
+
+    assertNotEquals(1000, title.lastModified());
+  }
 }
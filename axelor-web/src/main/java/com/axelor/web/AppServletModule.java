@@ -12,6 +12,8 @@ import com.axelor.auth.AuthModule;
 import com.axelor.db.JpaModule;
 import com.axelor.db.tenants.TenantFilter;
 import com.axelor.meta.MetaScanner;
+import com.axelor.profiler.Profiler;
+import com.axelor.profiler.ProfilerFilter;
 import com.axelor.quartz.SchedulerModule;
 import com.axelor.rpc.ObjectMapperProvider;
 import com.axelor.rpc.Request;
@@ -91,6 +93,9 @@ public class AppServletModule extends ServletModule {
             filter("*").through(PersistFilter.class);
             filter("*").through(AppFilter.class);
             filter("*").through(GuiceShiroFilter.class);
+            if (Profiler.isEnabled()) {
+              filter("/ws/*").through(ProfilerFilter.class);
+            }
           }
         });
 
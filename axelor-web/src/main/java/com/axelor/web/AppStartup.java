@@ -7,6 +7,7 @@ package com.axelor.web;
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.cache.redisson.RedissonProvider;
+import com.axelor.concurrent.ContextAwareExecutors;
 import com.axelor.event.Event;
 import com.axelor.events.ShutdownEvent;
 import com.axelor.events.StartupEvent;
@@ -63,6 +64,7 @@ public class AppStartup extends HttpServlet {
       shutdownEvent.fire(new ShutdownEvent());
       jobRunner.shutdown();
       ReportExecutor.shutdown();
+      ContextAwareExecutors.shutdown();
       FileStoreFactory.shutdown();
       RedissonProvider.shutdown();
     } catch (Exception e) {
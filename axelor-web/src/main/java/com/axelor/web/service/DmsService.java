@@ -16,6 +16,7 @@ import com.axelor.db.JpaSecurity;
 import com.axelor.db.Model;
 import com.axelor.db.Query;
 import com.axelor.dms.db.DMSFile;
+import com.axelor.dms.db.repo.DMSFileHierarchyRepository;
 import com.axelor.dms.db.repo.DMSFileRepository;
 import com.axelor.file.store.FileStoreFactory;
 import com.axelor.file.temp.TempFiles;
@@ -539,38 +540,55 @@ public class DmsService {
       return Collections.emptyMap();
     }
 
-    String childrenQlString = "self.parent = :parent";
+    if (!Boolean.TRUE.equals(file.getIsDirectory())) {
+      return isDownloadable(file)
+          ? Map.of(base + "/" + getFileName(file), file)
+          : Collections.emptyMap();
+    }
 
+    // load all the content of the folder at once
+    String filter = DMSFileHierarchyRepository.descendantsOf("folder");
     if (!AuthUtils.isAdmin(user)) {
-      childrenQlString += " AND (self.permissions.user = :user OR self.permissions.group = :group)";
-    }
+      filter += " AND (self.permissions.user = :user OR self.permissions.group = :group)";
+    }
+
+    final Map<Long, List<DMSFile>> children = new HashMap<>();
+    repository
+        .all()
+        .filter(filter)
+        .bind("folder", file.getId())
+        .bind("user", user)
+        .bind("group", user.getGroup())
+        .order("id")
+        .fetchStream()
+        .distinct()
+        .forEach(
+            child ->
+                children
+                    .computeIfAbsent(child.getParent().getId(), k -> new ArrayList<>())
+                    .add(child));
 
-    return findFiles(file, base, childrenQlString, user);
+    final Map<String, DMSFile> files = new LinkedHashMap<>();
+    findFiles(file, base, children, files);
+    return files;
   }
 
-  private Map<String, DMSFile> findFiles(
-      DMSFile dmsFile, String base, String childrenQlString, User user) {
-    final Map<String, DMSFile> files = new LinkedHashMap<>();
+  private void findFiles(
+      DMSFile dmsFile,
+      String base,
+      Map<Long, List<DMSFile>> children,
+      Map<String, DMSFile> files) {
     if (Boolean.TRUE.equals(dmsFile.getIsDirectory())) {
-      final List<DMSFile> children =
-          repository
-              .all()
-              .filter(childrenQlString, dmsFile, user, user.getGroup())
-              .bind("parent", dmsFile)
-              .bind("user", user)
-              .bind("group", user.getGroup())
-              .fetch();
       final String path = base + "/" + dmsFile.getFileName();
       files.put(path + "/", null);
-      for (DMSFile child : children) {
-        files.putAll(findFiles(child, path, childrenQlString, user));
+      for (DMSFile child : children.getOrDefault(dmsFile.getId(), List.of())) {
+        findFiles(child, path, children, files);
       }
-      return files;
+      return;
     }
     if (isDownloadable(dmsFile)) {
       files.put(base + "/" + getFileName(dmsFile), dmsFile);
     }
-    return files;
   }
 
   private void writeToZip(ZipOutputStream zos, DMSFile dmsFile) throws IOException {
@@ -13,6 +13,7 @@ import com.axelor.meta.MetaFiles;
 import com.axelor.meta.db.MetaFile;
 import com.axelor.meta.schema.actions.validate.ActionValidateBuilder;
 import com.axelor.meta.schema.actions.validate.validator.ValidatorType;
+import com.axelor.report.PendingReportService;
 import com.axelor.rpc.PendingExportService;
 import com.google.inject.persist.Transactional;
 import com.google.inject.servlet.RequestScoped;
@@ -45,6 +46,8 @@ import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 @RequestScoped
 @Path("/files")
@@ -53,11 +56,16 @@ public class FileService extends AbstractService {
 
   private final MetaFiles files;
   private final PendingExportService pendingExportService;
+  private final PendingReportService pendingReportService;
 
   @Inject
-  public FileService(MetaFiles files, PendingExportService pendingExportService) {
+  public FileService(
+      MetaFiles files,
+      PendingExportService pendingExportService,
+      PendingReportService pendingReportService) {
     this.files = files;
     this.pendingExportService = pendingExportService;
+    this.pendingReportService = pendingReportService;
   }
 
   @HEAD
@@ -155,6 +163,42 @@ public class FileService extends AbstractService {
         .build();
   }
 
+  @GET
+  @Path("report/status")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Hidden
+  public jakarta.ws.rs.core.Response checkReportStatus(@QueryParam("token") final String token) {
+    if (StringUtils.isBlank(token)) {
+      return jakarta.ws.rs.core.Response.status(Status.BAD_REQUEST).build();
+    }
+
+    final Future<Map<String, Object>> future = pendingReportService.get(token);
+    if (future == null) {
+      return jakarta.ws.rs.core.Response.status(Status.NOT_FOUND).build();
+    }
+
+    final Map<String, Object> data = new HashMap<>();
+    if (!future.isDone()) {
+      data.put("status", "pending");
+      return jakarta.ws.rs.core.Response.ok(data).build();
+    }
+
+    pendingReportService.remove(token);
+
+    try {
+      data.putAll(future.get());
+      data.put("status", "done");
+      return jakarta.ws.rs.core.Response.ok(data).build();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return jakarta.ws.rs.core.Response.status(Status.SERVICE_UNAVAILABLE).build();
+    } catch (ExecutionException e) {
+      LOG.error("Error when generating report:", e.getCause());
+      data.put("status", "failed");
+      return jakarta.ws.rs.core.Response.ok(data).build();
+    }
+  }
+
   @DELETE
   @Path("upload/{fileId}")
   @Produces(MediaType.APPLICATION_JSON)
@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.web.service;
+
+import com.axelor.auth.AuthUtils;
+import com.axelor.auth.db.User;
+import com.axelor.metrics.MetricsRegistry;
+import com.axelor.profiler.ActionMetrics;
+import com.axelor.profiler.LatencyHistogram;
+import com.google.inject.servlet.RequestScoped;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequestScoped
+@Path("/metrics")
+@Hidden
+public class MetricsService extends AbstractService {
+
+  @Inject private MetricsRegistry registry;
+
+  private boolean isPermitted() {
+    final User user = AuthUtils.getUser();
+    return user != null && (AuthUtils.isAdmin(user) || AuthUtils.isTechnicalStaff(user));
+  }
+
+  /**
+   * Get the metrics of this node in the Prometheus text exposition format.
+   *
+   * <p>Metrics are only published when <code>application.metrics.enabled</code> is set.
+   */
+  @GET
+  @Produces("text/plain; version=0.0.4")
+  public Response scrape() {
+    if (!MetricsRegistry.isEnabled()) {
+      return Response.status(Status.NOT_FOUND).build();
+    }
+    if (!isPermitted()) {
+      return Response.status(Status.FORBIDDEN).build();
+    }
+    return Response.ok(registry.scrape()).build();
+  }
+
+  /**
+   * Get the latency of the actions executed since startup, slowest in total first.
+   *
+   * <p>Actions are only measured when <code>application.profiler.enabled</code> is set.
+   */
+  @GET
+  @Path("actions")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getActions() {
+    if (!isPermitted()) {
+      return Response.status(Status.FORBIDDEN).build();
+    }
+
+    final List<Map<String, Object>> actions = new ArrayList<>();
+    ActionMetrics.getHistograms().entrySet().stream()
+        .sorted(
+            Comparator.comparingDouble(
+                    (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getSum())
+                .reversed())
+        .forEach(
+            e -> {
+              final LatencyHistogram histogram = e.getValue();
+              final Map<String, Object> action = new LinkedHashMap<>();
+              action.put("name", e.getKey());
+              action.put("count", histogram.getCount());
+              action.put("sum", histogram.getSum());
+              action.put("max", histogram.getMax());
+              action.put("p50", histogram.getPercentile(0.5));
+              action.put("p95", histogram.getPercentile(0.95));
+              action.put("p99", histogram.getPercentile(0.99));
+              actions.add(action);
+            });
+
+    return Response.ok(actions).build();
+  }
+}
@@ -299,6 +299,19 @@ public class RestService extends ResourceService {
     return getResource().updateMass(request);
   }
 
+  @GET
+  @Path("updateMass/{token}")
+  @Tag(name = "Update record")
+  @Operation(
+      summary = "Get the status of a background mass update",
+      description =
+          """
+          This service returns the status of a mass update started with `_background: true` \
+          (`pending`, `done` or `failed`) and the number of records processed so far.""")
+  public Response updateMassStatus(@PathParam("token") String token) {
+    return getResource().updateMassStatus(token);
+  }
+
   @DELETE
   @Path("{id}")
   @Tag(name = "Delete record")
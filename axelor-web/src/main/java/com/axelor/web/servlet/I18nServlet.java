@@ -5,6 +5,8 @@
 package com.axelor.web.servlet;
 
 import com.axelor.app.internal.AppFilter;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
 import com.axelor.i18n.I18n;
 import com.axelor.i18n.I18nBundle;
 import com.axelor.inject.Beans;
@@ -15,9 +17,9 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Locale;
@@ -35,6 +37,21 @@ public class I18nServlet extends HttpServlet {
   private static final String GZIP_ENCODING = "gzip";
   private static final String CONTENT_TYPE = "application/json; charset=utf8";
 
+  /**
+   * Serialized bundles by language tag and hash.
+   *
+   * <p>The bodies are kept in memory on each node: the key changes with the hash, so a node never
+   * serves an outdated bundle even if it missed an invalidation.
+   */
+  private static final AxelorCache<String, Body> bodies =
+      CacheBuilder.newInMemoryBuilder().maximumSize(50).build();
+
+  static {
+    I18nBundle.addInvalidationListener(bodies::invalidateAll);
+  }
+
+  private record Body(byte[] json, byte[] gzip) {}
+
   @Override
   protected void doGet(HttpServletRequest req, HttpServletResponse resp)
       throws ServletException, IOException {
@@ -51,9 +68,11 @@ public class I18nServlet extends HttpServlet {
     }
 
     // Cache control headers
-    String etag = '"' + I18nBundle.getHash(locale) + '"';
+    final String hash = I18nBundle.getHash(locale);
+    final String etag = '"' + hash + '"';
     resp.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=0, must-revalidate");
     resp.setHeader(HttpHeaders.ETAG, etag);
+    resp.setHeader(HttpHeaders.VARY, ACCEPT_ENCODING);
 
     // Check If-None-Match (ETag-based conditional request)
     String ifNoneMatch = req.getHeader(HttpHeaders.IF_NONE_MATCH);
@@ -62,15 +81,47 @@ public class I18nServlet extends HttpServlet {
       return;
     }
 
-    resp.setContentType(CONTENT_TYPE);
+    final Body body;
+    try {
+      body = getBody(locale, hash, bundle);
+    } catch (Exception e) {
+      resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+      return;
+    }
 
-    OutputStream out = resp.getOutputStream();
+    byte[] content = body.json();
     if (req.getHeader(ACCEPT_ENCODING) != null
         && req.getHeader(ACCEPT_ENCODING).toLowerCase().contains(GZIP_ENCODING)) {
       resp.setHeader(CONTENT_ENCODING, GZIP_ENCODING);
-      out = new GZIPOutputStream(out);
+      content = body.gzip();
     }
 
+    resp.setContentType(CONTENT_TYPE);
+    resp.setContentLength(content.length);
+
+    try (OutputStream out = resp.getOutputStream()) {
+      out.write(content);
+    }
+  }
+
+  private Body getBody(Locale locale, String hash, ResourceBundle bundle) throws IOException {
+    final String key = locale.toLanguageTag() + ":" + hash;
+    final Body cached = bodies.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    final Body body = serialize(bundle);
+
+    // messages may have changed while serializing, only cache if the hash is still the same
+    if (hash.equals(I18nBundle.getHash(locale))) {
+      bodies.put(key, body);
+    }
+
+    return body;
+  }
+
+  private Body serialize(ResourceBundle bundle) throws IOException {
     Enumeration<String> keys = bundle.getKeys();
     Map<String, String> messages = new HashMap<>();
 
@@ -79,14 +130,14 @@ public class I18nServlet extends HttpServlet {
       messages.put(key, bundle.getString(key));
     }
 
-    try {
-      final ObjectMapper mapper = Beans.get(ObjectMapper.class);
-      final String json = mapper.writeValueAsString(messages);
-      out.write(json.getBytes(StandardCharsets.UTF_8));
-    } catch (Exception e) {
-      resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-    } finally {
-      out.close();
+    final ObjectMapper mapper = Beans.get(ObjectMapper.class);
+    final byte[] json = mapper.writeValueAsBytes(messages);
+
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(json);
     }
+
+    return new Body(json, compressed.toByteArray());
   }
 }
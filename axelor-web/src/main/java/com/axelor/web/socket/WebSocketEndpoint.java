@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +36,8 @@ public class WebSocketEndpoint {
 
   private static final Map<String, Channel> CHANNELS = new ConcurrentHashMap<>();
 
+  private static final AtomicInteger SESSIONS = new AtomicInteger();
+
   private static final Logger log = LoggerFactory.getLogger(WebSocketEndpoint.class);
 
   @Inject
@@ -55,13 +58,19 @@ public class WebSocketEndpoint {
     CHANNELS.put(name, channel);
   }
 
+  /** Get the number of open sessions of this node. */
+  public static int getSessionCount() {
+    return SESSIONS.get();
+  }
+
   @OnOpen
   public void onOpen(Session session, EndpointConfig config) {
-    // Nothing to do
+    SESSIONS.incrementAndGet();
   }
 
   @OnClose
   public void onClose(Session session, CloseReason reason) {
+    SESSIONS.decrementAndGet();
     CHANNELS.values().forEach(ch -> ch.onUnsubscribe(session));
   }
 
@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.web.socket;
+
+import com.axelor.metrics.MetricsCollector;
+import com.axelor.metrics.MetricsWriter;
+import java.util.Map;
+
+/** The metrics of the websocket endpoint. */
+public class WebSocketMetrics implements MetricsCollector {
+
+  @Override
+  public void collect(MetricsWriter writer) {
+    writer.gauge(
+        "axelor_websocket_sessions",
+        "The number of open websocket sessions",
+        Map.of(),
+        WebSocketEndpoint.getSessionCount());
+  }
+}
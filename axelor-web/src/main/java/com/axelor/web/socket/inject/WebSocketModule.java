@@ -4,8 +4,10 @@
  */
 package com.axelor.web.socket.inject;
 
+import com.axelor.metrics.MetricsCollector;
 import com.axelor.web.socket.Channel;
 import com.axelor.web.socket.WebSocketEndpoint;
+import com.axelor.web.socket.WebSocketMetrics;
 import com.axelor.web.socket.channels.TagsChannel;
 import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
@@ -20,5 +22,9 @@ public class WebSocketModule extends AbstractModule {
     multibinder.addBinding().to(TagsChannel.class);
 
     bind(WebSocketEndpoint.class).asEagerSingleton();
+
+    Multibinder.newSetBinder(binder(), MetricsCollector.class)
+        .addBinding()
+        .to(WebSocketMetrics.class);
   }
 }